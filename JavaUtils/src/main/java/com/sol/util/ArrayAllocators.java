@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * A per-class table of array allocators. The allocator of an array class is
+ * built once, the first time the class is seen, and is reused by every later
+ * allocation of the same class. Repeated allocations therefore skip both
+ * {@link Class#getComponentType()} and the reflective
+ * {@link Array#newInstance(Class, int)} call.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+final class ArrayAllocators {
+
+	/*
+	 * Allocators keyed by array class (not by component class), so that a
+	 * lookup needs nothing more than array.getClass().
+	 */
+	private static final ClassValue<IntFunction<Object[]>> ALLOCATORS =
+			new ClassValue<IntFunction<Object[]>>() {
+		@Override
+		protected IntFunction<Object[]> computeValue(final Class<?> type) {
+			return newAllocator(type);
+		}
+	};
+
+	// Constructor. Class ArrayAllocators is not instantiable.
+	private ArrayAllocators() { }
+
+	/**
+	 * Allocates a new array of the given array class.
+	 * @param arrayClass - class of the new array
+	 * @param length - length for the new array.
+	 * @return A newly allocated array of the given class, initialized with
+	 * nulls
+	 * @throws NegativeArraySizeException if {@code length} is negative
+	 */
+	static <E> E[] allocate(final Class<?> arrayClass, final int length)
+			throws NegativeArraySizeException {
+		assert null != arrayClass : "Array class is null";
+		assert arrayClass.isArray() : "Class is not an array class";
+
+		@SuppressWarnings("unchecked")
+		E[] newArray = (E[]) ALLOCATORS.get(arrayClass).apply(length);
+
+		return newArray;
+	}
+
+	/*
+	 * Creates the allocator of an array class. The common element types get a
+	 * plain array constructor; every other type copies a zero length
+	 * prototype, which the JIT compiles into a direct allocation of the
+	 * prototype's class.
+	 */
+	private static IntFunction<Object[]> newAllocator(final Class<?> arrayClass) {
+		if(Object[].class == arrayClass) {
+			return Object[]::new;
+		} else if(String[].class == arrayClass) {
+			return String[]::new;
+		} else if(Integer[].class == arrayClass) {
+			return Integer[]::new;
+		} else if(Long[].class == arrayClass) {
+			return Long[]::new;
+		} else if(Double[].class == arrayClass) {
+			return Double[]::new;
+		}
+
+		final Object[] prototype = (Object[]) Array.newInstance(
+				arrayClass.getComponentType(), 0);
+		return length -> Arrays.copyOf(prototype, length);
+	}
+
+}
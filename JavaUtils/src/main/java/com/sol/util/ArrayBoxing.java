@@ -0,0 +1,390 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+/**
+ * The boxing and unboxing conversions of this package. Every conversion works
+ * on a range of its source array, and runs through {@link ParallelRanges}:
+ * sequentially for short ranges, and in parallel for long ones.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+final class ArrayBoxing {
+
+	// Constructor. Class ArrayBoxing is not instantiable.
+	private ArrayBoxing() { }
+
+	/**
+	 * Boxes the range {@code [from, to)} of a {@code boolean} array.
+	 * @param array - {@code boolean} array to wrap
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to box in parallel regardless of the length
+	 * @return new array of {@code Booleans} containing the elements of the range
+	 * in the same order
+	 */
+	static Boolean[] box(final boolean[] array, final int from, final int to,
+			final boolean parallel) {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final Boolean[] newArray = new Boolean[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = Boolean.valueOf(array[from + i]);
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Boxes the range {@code [from, to)} of a {@code byte} array.
+	 * @param array - {@code byte} array to wrap
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to box in parallel regardless of the length
+	 * @return new array of {@code Bytes} containing the elements of the range
+	 * in the same order
+	 */
+	static Byte[] box(final byte[] array, final int from, final int to,
+			final boolean parallel) {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final Byte[] newArray = new Byte[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = Byte.valueOf(array[from + i]);
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Boxes the range {@code [from, to)} of a {@code short} array.
+	 * @param array - {@code short} array to wrap
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to box in parallel regardless of the length
+	 * @return new array of {@code Shorts} containing the elements of the range
+	 * in the same order
+	 */
+	static Short[] box(final short[] array, final int from, final int to,
+			final boolean parallel) {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final Short[] newArray = new Short[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = Short.valueOf(array[from + i]);
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Boxes the range {@code [from, to)} of a {@code char} array.
+	 * @param array - {@code char} array to wrap
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to box in parallel regardless of the length
+	 * @return new array of {@code Characters} containing the elements of the range
+	 * in the same order
+	 */
+	static Character[] box(final char[] array, final int from, final int to,
+			final boolean parallel) {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final Character[] newArray = new Character[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = Character.valueOf(array[from + i]);
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Boxes the range {@code [from, to)} of an {@code int} array.
+	 * @param array - {@code int} array to wrap
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to box in parallel regardless of the length
+	 * @return new array of {@code Integers} containing the elements of the range
+	 * in the same order
+	 */
+	static Integer[] box(final int[] array, final int from, final int to,
+			final boolean parallel) {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final Integer[] newArray = new Integer[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = Integer.valueOf(array[from + i]);
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Boxes the range {@code [from, to)} of a {@code long} array.
+	 * @param array - {@code long} array to wrap
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to box in parallel regardless of the length
+	 * @return new array of {@code Longs} containing the elements of the range
+	 * in the same order
+	 */
+	static Long[] box(final long[] array, final int from, final int to,
+			final boolean parallel) {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final Long[] newArray = new Long[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = Long.valueOf(array[from + i]);
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Boxes the range {@code [from, to)} of a {@code float} array.
+	 * @param array - {@code float} array to wrap
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to box in parallel regardless of the length
+	 * @return new array of {@code Floats} containing the elements of the range
+	 * in the same order
+	 */
+	static Float[] box(final float[] array, final int from, final int to,
+			final boolean parallel) {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final Float[] newArray = new Float[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = Float.valueOf(array[from + i]);
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Boxes the range {@code [from, to)} of a {@code double} array.
+	 * @param array - {@code double} array to wrap
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to box in parallel regardless of the length
+	 * @return new array of {@code Doubles} containing the elements of the range
+	 * in the same order
+	 */
+	static Double[] box(final double[] array, final int from, final int to,
+			final boolean parallel) {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final Double[] newArray = new Double[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = Double.valueOf(array[from + i]);
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Unboxes the range {@code [from, to)} of a {@code Boolean} array.
+	 * @param array - {@code Boolean} array to be unboxed
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to unbox in parallel regardless of the length
+	 * @return new array of primitive {@code boolean} containing the values of the
+	 * range in the same order
+	 * @throws NullPointerException if one of the elements is null
+	 */
+	static boolean[] unbox(final Boolean[] array, final int from, final int to,
+			final boolean parallel) throws NullPointerException {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final boolean[] newArray = new boolean[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = array[from + i].booleanValue();
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Unboxes the range {@code [from, to)} of a {@code Byte} array.
+	 * @param array - {@code Byte} array to be unboxed
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to unbox in parallel regardless of the length
+	 * @return new array of primitive {@code byte} containing the values of the
+	 * range in the same order
+	 * @throws NullPointerException if one of the elements is null
+	 */
+	static byte[] unbox(final Byte[] array, final int from, final int to,
+			final boolean parallel) throws NullPointerException {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final byte[] newArray = new byte[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = array[from + i].byteValue();
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Unboxes the range {@code [from, to)} of a {@code Short} array.
+	 * @param array - {@code Short} array to be unboxed
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to unbox in parallel regardless of the length
+	 * @return new array of primitive {@code short} containing the values of the
+	 * range in the same order
+	 * @throws NullPointerException if one of the elements is null
+	 */
+	static short[] unbox(final Short[] array, final int from, final int to,
+			final boolean parallel) throws NullPointerException {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final short[] newArray = new short[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = array[from + i].shortValue();
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Unboxes the range {@code [from, to)} of a {@code Character} array.
+	 * @param array - {@code Character} array to be unboxed
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to unbox in parallel regardless of the length
+	 * @return new array of primitive {@code char} containing the values of the
+	 * range in the same order
+	 * @throws NullPointerException if one of the elements is null
+	 */
+	static char[] unbox(final Character[] array, final int from, final int to,
+			final boolean parallel) throws NullPointerException {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final char[] newArray = new char[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = array[from + i].charValue();
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Unboxes the range {@code [from, to)} of an {@code Integer} array.
+	 * @param array - {@code Integer} array to be unboxed
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to unbox in parallel regardless of the length
+	 * @return new array of primitive {@code int} containing the values of the
+	 * range in the same order
+	 * @throws NullPointerException if one of the elements is null
+	 */
+	static int[] unbox(final Integer[] array, final int from, final int to,
+			final boolean parallel) throws NullPointerException {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final int[] newArray = new int[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = array[from + i].intValue();
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Unboxes the range {@code [from, to)} of a {@code Long} array.
+	 * @param array - {@code Long} array to be unboxed
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to unbox in parallel regardless of the length
+	 * @return new array of primitive {@code long} containing the values of the
+	 * range in the same order
+	 * @throws NullPointerException if one of the elements is null
+	 */
+	static long[] unbox(final Long[] array, final int from, final int to,
+			final boolean parallel) throws NullPointerException {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final long[] newArray = new long[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = array[from + i].longValue();
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Unboxes the range {@code [from, to)} of a {@code Float} array.
+	 * @param array - {@code Float} array to be unboxed
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to unbox in parallel regardless of the length
+	 * @return new array of primitive {@code float} containing the values of the
+	 * range in the same order
+	 * @throws NullPointerException if one of the elements is null
+	 */
+	static float[] unbox(final Float[] array, final int from, final int to,
+			final boolean parallel) throws NullPointerException {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final float[] newArray = new float[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = array[from + i].floatValue();
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Unboxes the range {@code [from, to)} of a {@code Double} array.
+	 * @param array - {@code Double} array to be unboxed
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param parallel - whether to unbox in parallel regardless of the length
+	 * @return new array of primitive {@code double} containing the values of the
+	 * range in the same order
+	 * @throws NullPointerException if one of the elements is null
+	 */
+	static double[] unbox(final Double[] array, final int from, final int to,
+			final boolean parallel) throws NullPointerException {
+		assert 0 <= from && from <= to && to <= array.length : "Bad range";
+
+		final double[] newArray = new double[to - from];
+		ParallelRanges.forEach(newArray.length, parallel, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = array[from + i].doubleValue();
+			}
+		});
+		return newArray;
+	}
+
+}
@@ -0,0 +1,503 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Writes primitive arrays to files, and maps them back into memory as
+ * off-heap arrays such as {@link IntArray}. Mapping a file is close to
+ * instant whatever its size: pages are read on demand, and are shared
+ * through the page cache with every other process mapping the same file.
+ * <p>
+ * A file starts with a 32 byte header, followed by the elements in the byte
+ * order recorded in the header. The header holds, in big endian order:
+ * <ul>
+ * <li>the magic number {@code 0x534F4C41}, as an {@code int}</li>
+ * <li>the format version, as a {@code byte}</li>
+ * <li>the element type: 1 for {@code int}, 2 for {@code long} and 3 for
+ * {@code double}, as a {@code byte}</li>
+ * <li>the byte order of the elements: 0 for big endian and 1 for little
+ * endian, as a {@code byte}</li>
+ * <li>a zero {@code byte}</li>
+ * <li>the number of elements, as a {@code long}</li>
+ * <li>zeros up to the end of the header</li>
+ * </ul>
+ * Elements are written in the native byte order.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+public final class ArrayFiles {
+
+	/*
+	 * Magic number of an array file.
+	 */
+	private static final int MAGIC = 0x534F4C41;
+
+	/*
+	 * Version of the file format.
+	 */
+	private static final byte VERSION = 1;
+
+	/*
+	 * Size of the header, in bytes. Keeps the elements aligned.
+	 */
+	private static final int HEADER_SIZE = 32;
+
+	/*
+	 * Element type codes.
+	 */
+	private static final byte TYPE_INT = 1;
+	private static final byte TYPE_LONG = 2;
+	private static final byte TYPE_DOUBLE = 3;
+
+	/*
+	 * Byte order codes.
+	 */
+	private static final byte BIG_ENDIAN = 0;
+	private static final byte LITTLE_ENDIAN = 1;
+
+	/*
+	 * Size of the buffer used for writing, in bytes.
+	 */
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	/*
+	 * Log2 of the size of a mapped segment, in bytes. Matches the segments
+	 * of OffHeapArray.
+	 */
+	private static final int SEGMENT_SHIFT = 30;
+
+	// Options of a file being written
+	private static final OpenOption[] WRITE_OPTIONS = {StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE};
+
+	// Constructor. Class ArrayFiles is not instantiable.
+	private ArrayFiles() { }
+
+	/**
+	 * Writes an {@code int} array to a file, replacing the file if it exists.
+	 * @param path - path of the file
+	 * @param array - array to write
+	 * @throws IOException if an I/O error occurs
+	 * @throws NullPointerException if {@code path} or {@code array} is
+	 * {@code null}
+	 */
+	public static void write(final Path path, final int[] array)
+			throws IOException, NullPointerException {
+		Objects.requireNonNull(array);
+		try(FileChannel channel = FileChannel.open(path, WRITE_OPTIONS)) {
+			writeHeader(channel, TYPE_INT, array.length);
+			final ByteBuffer buffer = DirectBuffers.allocate(BUFFER_SIZE);
+			try {
+				final IntBuffer view = buffer.asIntBuffer();
+				for(int written = 0; written < array.length;) {
+					final int count = Math.min(view.capacity(), array.length - written);
+					view.clear();
+					view.put(array, written, count);
+					buffer.clear().limit(count << 2);
+					writeFully(channel, buffer);
+					written += count;
+				}
+			} finally {
+				DirectBuffers.free(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Writes an off-heap {@code int} array to a file, replacing the file if it
+	 * exists.
+	 * @param path - path of the file
+	 * @param array - array to write
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalStateException if {@code array} has been closed
+	 * @throws NullPointerException if {@code path} or {@code array} is
+	 * {@code null}
+	 */
+	public static void write(final Path path, final IntArray array)
+			throws IOException, IllegalStateException, NullPointerException {
+		array.checkOpen();
+		try(FileChannel channel = FileChannel.open(path, WRITE_OPTIONS)) {
+			writeHeader(channel, TYPE_INT, array.length());
+			final ByteBuffer buffer = DirectBuffers.allocate(BUFFER_SIZE);
+			try {
+				final IntBuffer view = buffer.asIntBuffer();
+				final int[] chunk = new int[view.capacity()];
+				for(long written = 0; written < array.length();) {
+					final int count = (int) Math.min(chunk.length, array.length() - written);
+					array.copyTo(written, chunk, 0, count);
+					view.clear();
+					view.put(chunk, 0, count);
+					buffer.clear().limit(count << 2);
+					writeFully(channel, buffer);
+					written += count;
+				}
+			} finally {
+				DirectBuffers.free(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Maps a file written by {@link #write(Path, int[])} into memory,
+	 * read only.
+	 * @param path - path of the file
+	 * @return an off-heap array viewing the mapped file
+	 * @throws IOException if an I/O error occurs, or if the file is not an
+	 * array file of {@code int}
+	 * @throws NullPointerException if {@code path} is {@code null}
+	 * @see #mapInts(Path, FileChannel.MapMode)
+	 */
+	public static IntArray mapInts(final Path path)
+			throws IOException, NullPointerException {
+		return mapInts(path, FileChannel.MapMode.READ_ONLY);
+	}
+
+	/**
+	 * Maps a file written by {@link #write(Path, int[])} into memory. The
+	 * returned array reads the file's pages directly; nothing is copied onto
+	 * the heap. Writes to a {@link FileChannel.MapMode#READ_WRITE} mapping go
+	 * to the file; writes to a {@link FileChannel.MapMode#READ_ONLY} mapping
+	 * throw {@link java.nio.ReadOnlyBufferException}. Closing the array unmaps
+	 * the file.
+	 * @param path - path of the file
+	 * @param mode - mapping mode
+	 * @return an off-heap array viewing the mapped file
+	 * @throws IOException if an I/O error occurs, or if the file is not an
+	 * array file of {@code int}
+	 * @throws NullPointerException if {@code path} or {@code mode} is
+	 * {@code null}
+	 */
+	public static IntArray mapInts(final Path path, final FileChannel.MapMode mode)
+			throws IOException, NullPointerException {
+		final Header header = Header.read(path, TYPE_INT, 2);
+		return new IntArray(map(path, mode, header, 2), header.length);
+	}
+
+	/**
+	 * Writes a {@code long} array to a file, replacing the file if it exists.
+	 * @param path - path of the file
+	 * @param array - array to write
+	 * @throws IOException if an I/O error occurs
+	 * @throws NullPointerException if {@code path} or {@code array} is
+	 * {@code null}
+	 */
+	public static void write(final Path path, final long[] array)
+			throws IOException, NullPointerException {
+		Objects.requireNonNull(array);
+		try(FileChannel channel = FileChannel.open(path, WRITE_OPTIONS)) {
+			writeHeader(channel, TYPE_LONG, array.length);
+			final ByteBuffer buffer = DirectBuffers.allocate(BUFFER_SIZE);
+			try {
+				final LongBuffer view = buffer.asLongBuffer();
+				for(int written = 0; written < array.length;) {
+					final int count = Math.min(view.capacity(), array.length - written);
+					view.clear();
+					view.put(array, written, count);
+					buffer.clear().limit(count << 3);
+					writeFully(channel, buffer);
+					written += count;
+				}
+			} finally {
+				DirectBuffers.free(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Writes an off-heap {@code long} array to a file, replacing the file if it
+	 * exists.
+	 * @param path - path of the file
+	 * @param array - array to write
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalStateException if {@code array} has been closed
+	 * @throws NullPointerException if {@code path} or {@code array} is
+	 * {@code null}
+	 */
+	public static void write(final Path path, final LongArray array)
+			throws IOException, IllegalStateException, NullPointerException {
+		array.checkOpen();
+		try(FileChannel channel = FileChannel.open(path, WRITE_OPTIONS)) {
+			writeHeader(channel, TYPE_LONG, array.length());
+			final ByteBuffer buffer = DirectBuffers.allocate(BUFFER_SIZE);
+			try {
+				final LongBuffer view = buffer.asLongBuffer();
+				final long[] chunk = new long[view.capacity()];
+				for(long written = 0; written < array.length();) {
+					final int count = (int) Math.min(chunk.length, array.length() - written);
+					array.copyTo(written, chunk, 0, count);
+					view.clear();
+					view.put(chunk, 0, count);
+					buffer.clear().limit(count << 3);
+					writeFully(channel, buffer);
+					written += count;
+				}
+			} finally {
+				DirectBuffers.free(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Maps a file written by {@link #write(Path, long[])} into memory,
+	 * read only.
+	 * @param path - path of the file
+	 * @return an off-heap array viewing the mapped file
+	 * @throws IOException if an I/O error occurs, or if the file is not an
+	 * array file of {@code long}
+	 * @throws NullPointerException if {@code path} is {@code null}
+	 * @see #mapLongs(Path, FileChannel.MapMode)
+	 */
+	public static LongArray mapLongs(final Path path)
+			throws IOException, NullPointerException {
+		return mapLongs(path, FileChannel.MapMode.READ_ONLY);
+	}
+
+	/**
+	 * Maps a file written by {@link #write(Path, long[])} into memory. The
+	 * returned array reads the file's pages directly; nothing is copied onto
+	 * the heap. Writes to a {@link FileChannel.MapMode#READ_WRITE} mapping go
+	 * to the file; writes to a {@link FileChannel.MapMode#READ_ONLY} mapping
+	 * throw {@link java.nio.ReadOnlyBufferException}. Closing the array unmaps
+	 * the file.
+	 * @param path - path of the file
+	 * @param mode - mapping mode
+	 * @return an off-heap array viewing the mapped file
+	 * @throws IOException if an I/O error occurs, or if the file is not an
+	 * array file of {@code long}
+	 * @throws NullPointerException if {@code path} or {@code mode} is
+	 * {@code null}
+	 */
+	public static LongArray mapLongs(final Path path, final FileChannel.MapMode mode)
+			throws IOException, NullPointerException {
+		final Header header = Header.read(path, TYPE_LONG, 3);
+		return new LongArray(map(path, mode, header, 3), header.length);
+	}
+
+	/**
+	 * Writes a {@code double} array to a file, replacing the file if it exists.
+	 * @param path - path of the file
+	 * @param array - array to write
+	 * @throws IOException if an I/O error occurs
+	 * @throws NullPointerException if {@code path} or {@code array} is
+	 * {@code null}
+	 */
+	public static void write(final Path path, final double[] array)
+			throws IOException, NullPointerException {
+		Objects.requireNonNull(array);
+		try(FileChannel channel = FileChannel.open(path, WRITE_OPTIONS)) {
+			writeHeader(channel, TYPE_DOUBLE, array.length);
+			final ByteBuffer buffer = DirectBuffers.allocate(BUFFER_SIZE);
+			try {
+				final DoubleBuffer view = buffer.asDoubleBuffer();
+				for(int written = 0; written < array.length;) {
+					final int count = Math.min(view.capacity(), array.length - written);
+					view.clear();
+					view.put(array, written, count);
+					buffer.clear().limit(count << 3);
+					writeFully(channel, buffer);
+					written += count;
+				}
+			} finally {
+				DirectBuffers.free(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Writes an off-heap {@code double} array to a file, replacing the file if it
+	 * exists.
+	 * @param path - path of the file
+	 * @param array - array to write
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalStateException if {@code array} has been closed
+	 * @throws NullPointerException if {@code path} or {@code array} is
+	 * {@code null}
+	 */
+	public static void write(final Path path, final DoubleArray array)
+			throws IOException, IllegalStateException, NullPointerException {
+		array.checkOpen();
+		try(FileChannel channel = FileChannel.open(path, WRITE_OPTIONS)) {
+			writeHeader(channel, TYPE_DOUBLE, array.length());
+			final ByteBuffer buffer = DirectBuffers.allocate(BUFFER_SIZE);
+			try {
+				final DoubleBuffer view = buffer.asDoubleBuffer();
+				final double[] chunk = new double[view.capacity()];
+				for(long written = 0; written < array.length();) {
+					final int count = (int) Math.min(chunk.length, array.length() - written);
+					array.copyTo(written, chunk, 0, count);
+					view.clear();
+					view.put(chunk, 0, count);
+					buffer.clear().limit(count << 3);
+					writeFully(channel, buffer);
+					written += count;
+				}
+			} finally {
+				DirectBuffers.free(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Maps a file written by {@link #write(Path, double[])} into memory,
+	 * read only.
+	 * @param path - path of the file
+	 * @return an off-heap array viewing the mapped file
+	 * @throws IOException if an I/O error occurs, or if the file is not an
+	 * array file of {@code double}
+	 * @throws NullPointerException if {@code path} is {@code null}
+	 * @see #mapDoubles(Path, FileChannel.MapMode)
+	 */
+	public static DoubleArray mapDoubles(final Path path)
+			throws IOException, NullPointerException {
+		return mapDoubles(path, FileChannel.MapMode.READ_ONLY);
+	}
+
+	/**
+	 * Maps a file written by {@link #write(Path, double[])} into memory. The
+	 * returned array reads the file's pages directly; nothing is copied onto
+	 * the heap. Writes to a {@link FileChannel.MapMode#READ_WRITE} mapping go
+	 * to the file; writes to a {@link FileChannel.MapMode#READ_ONLY} mapping
+	 * throw {@link java.nio.ReadOnlyBufferException}. Closing the array unmaps
+	 * the file.
+	 * @param path - path of the file
+	 * @param mode - mapping mode
+	 * @return an off-heap array viewing the mapped file
+	 * @throws IOException if an I/O error occurs, or if the file is not an
+	 * array file of {@code double}
+	 * @throws NullPointerException if {@code path} or {@code mode} is
+	 * {@code null}
+	 */
+	public static DoubleArray mapDoubles(final Path path, final FileChannel.MapMode mode)
+			throws IOException, NullPointerException {
+		final Header header = Header.read(path, TYPE_DOUBLE, 3);
+		return new DoubleArray(map(path, mode, header, 3), header.length);
+	}
+
+	// Writes the header of a file
+	private static void writeHeader(final FileChannel channel, final byte type,
+			final long length) throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+				.order(ByteOrder.BIG_ENDIAN)
+				.putInt(MAGIC)
+				.put(VERSION)
+				.put(type)
+				.put(ByteOrder.BIG_ENDIAN == ByteOrder.nativeOrder()
+						? BIG_ENDIAN : LITTLE_ENDIAN)
+				.put((byte) 0)
+				.putLong(length);
+		header.clear();
+		writeFully(channel, header);
+	}
+
+	// Writes every remaining byte of a buffer
+	private static void writeFully(final FileChannel channel,
+			final ByteBuffer buffer) throws IOException {
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	// Maps the elements of a file in segments
+	private static ByteBuffer[] map(final Path path, final FileChannel.MapMode mode,
+			final Header header, final int elementShift) throws IOException {
+		Objects.requireNonNull(mode);
+		final long size = header.length << elementShift;
+		final ByteBuffer[] segments =
+				new ByteBuffer[(int) ((size + (1L << SEGMENT_SHIFT) - 1) >>> SEGMENT_SHIFT)];
+		final OpenOption[] options = FileChannel.MapMode.READ_ONLY == mode
+				? new OpenOption[] {StandardOpenOption.READ}
+				: new OpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE};
+
+		try(FileChannel channel = FileChannel.open(path, options)) {
+			for(int i = 0; i < segments.length; i++) {
+				final long position = (long) i << SEGMENT_SHIFT;
+				final long segmentSize = Math.min(size - position, 1L << SEGMENT_SHIFT);
+				segments[i] = channel.map(mode, HEADER_SIZE + position, segmentSize)
+						.order(header.order);
+			}
+		} catch(IOException | RuntimeException e) {
+			for(final ByteBuffer segment : segments) {
+				if(null != segment) {
+					DirectBuffers.free(segment);
+				}
+			}
+			throw e;
+		}
+		return segments;
+	}
+
+	/*
+	 * The header of an array file.
+	 */
+	private static final class Header {
+		final long length;
+		final ByteOrder order;
+
+		private Header(final long length, final ByteOrder order) {
+			this.length = length;
+			this.order = order;
+		}
+
+		// Reads and checks the header of a file
+		static Header read(final Path path, final byte type,
+				final int elementShift) throws IOException {
+			try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				final ByteBuffer header =
+						ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+				while(header.hasRemaining()) {
+					if(channel.read(header) < 0) {
+						throw new EOFException("Not an array file: " + path);
+					}
+				}
+				header.flip();
+				if(MAGIC != header.getInt()) {
+					throw new IOException("Not an array file: " + path);
+				}
+				if(VERSION != header.get()) {
+					throw new IOException("Unsupported array file version: " + path);
+				}
+				if(type != header.get()) {
+					throw new IOException("Unexpected element type in: " + path);
+				}
+				final byte order = header.get();
+				if(BIG_ENDIAN != order && LITTLE_ENDIAN != order) {
+					throw new IOException("Unknown byte order in: " + path);
+				}
+				header.get();
+				final long length = header.getLong();
+				if(length < 0 || length > (channel.size() - HEADER_SIZE) >> elementShift) {
+					throw new IOException("Truncated array file: " + path);
+				}
+				return new Header(length, BIG_ENDIAN == order
+						? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,689 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A Merkle tree of the hashes of an array: the array is cut into chunks of a
+ * fixed length, every chunk is hashed, and every node of the tree holds the
+ * hash of its two children. Two trees of the same chunk length are compared
+ * by {@link #diff(ArrayHashTree)} from the root down, skipping every subtree
+ * whose hashes match, so the cost of finding the changes of an array is
+ * proportional to the number of changed chunks rather than to its length.
+ * <p>
+ * A tree keeps a reference to its array, and {@link #rehash(int, int)}
+ * rehashes the chunks of a changed range, and their ancestors, from its
+ * current content. Trees of another process are rebuilt from their chunk
+ * hashes with {@link #fromChunkHashes(long[], int, int)}. Chunks are hashed
+ * in parallel if the array is at least
+ * {@link ArrayUtililities#getParallelThreshold()} long. The hashes are not
+ * cryptographic, and the trees are not thread safe.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+public final class ArrayHashTree {
+
+	/**
+	 * Number of elements per chunk when none is given.
+	 */
+	public static final int DEFAULT_CHUNK_LENGTH = 1 << 12;
+
+	/*
+	 * Constants of the chunk hash, from the golden ratio.
+	 */
+	private static final long SEED = 0x6A09E667F3BCC908L;
+	private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+	private static final int ROTATION = 29;
+
+	/**
+	 * Hashes a range of elements of an array.
+	 */
+	@FunctionalInterface
+	interface ChunkHasher {
+		/**
+		 * Returns the hash of the elements of a range.
+		 * @param from - first index of the range, inclusive
+		 * @param to - last index of the range, exclusive
+		 * @return the hash of the range
+		 */
+		long hash(int from, int to);
+	}
+
+	/*
+	 * Length of the array.
+	 */
+	private final int length;
+
+	/*
+	 * Number of elements per chunk. The last chunk may be shorter.
+	 */
+	private final int chunkLength;
+
+	/*
+	 * Number of chunks.
+	 */
+	private final int chunkCount;
+
+	/*
+	 * Number of leaves: the least power of two not below the chunk count.
+	 */
+	private final int leaves;
+
+	/*
+	 * The nodes, with the root at 1 and the children of node n at 2n and
+	 * 2n + 1. Chunk c is the leaf leaves + c; the leaves past the last chunk
+	 * are 0.
+	 */
+	private final long[] nodes;
+
+	/*
+	 * Hashes the chunks of the array, or null for a tree rebuilt from hashes.
+	 */
+	private final ChunkHasher hasher;
+
+	/*
+	 * Constructs a tree whose leaves are all 0.
+	 */
+	private ArrayHashTree(final int length, final int chunkLength,
+			final ChunkHasher hasher)
+			throws IllegalArgumentException {
+		if(chunkLength < 1) {
+			throw new IllegalArgumentException(
+					"Chunk length is not positive: " + chunkLength);
+		}
+		this.length = length;
+		this.chunkLength = chunkLength;
+		this.chunkCount = (int) (((long) length + chunkLength - 1) / chunkLength);
+		this.leaves = chunkCount <= 1 ? 1 : Integer.highestOneBit(chunkCount - 1) << 1;
+		this.nodes = new long[leaves << 1];
+		this.hasher = hasher;
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code boolean}, cut into chunks of
+	 * {@link #DEFAULT_CHUNK_LENGTH} elements.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final boolean[] array) throws NullPointerException {
+		return of(array, DEFAULT_CHUNK_LENGTH);
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code boolean}, cut into chunks of the
+	 * given length.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final boolean[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return hash(array.length, chunkLength, (from, to) -> hash(array, from, to));
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code byte}, cut into chunks of
+	 * {@link #DEFAULT_CHUNK_LENGTH} elements.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final byte[] array) throws NullPointerException {
+		return of(array, DEFAULT_CHUNK_LENGTH);
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code byte}, cut into chunks of the
+	 * given length.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final byte[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return hash(array.length, chunkLength, (from, to) -> hash(array, from, to));
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code short}, cut into chunks of
+	 * {@link #DEFAULT_CHUNK_LENGTH} elements.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final short[] array) throws NullPointerException {
+		return of(array, DEFAULT_CHUNK_LENGTH);
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code short}, cut into chunks of the
+	 * given length.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final short[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return hash(array.length, chunkLength, (from, to) -> hash(array, from, to));
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code char}, cut into chunks of
+	 * {@link #DEFAULT_CHUNK_LENGTH} elements.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final char[] array) throws NullPointerException {
+		return of(array, DEFAULT_CHUNK_LENGTH);
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code char}, cut into chunks of the
+	 * given length.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final char[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return hash(array.length, chunkLength, (from, to) -> hash(array, from, to));
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code int}, cut into chunks of
+	 * {@link #DEFAULT_CHUNK_LENGTH} elements.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final int[] array) throws NullPointerException {
+		return of(array, DEFAULT_CHUNK_LENGTH);
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code int}, cut into chunks of the
+	 * given length.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final int[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return hash(array.length, chunkLength, (from, to) -> hash(array, from, to));
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code long}, cut into chunks of
+	 * {@link #DEFAULT_CHUNK_LENGTH} elements.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final long[] array) throws NullPointerException {
+		return of(array, DEFAULT_CHUNK_LENGTH);
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code long}, cut into chunks of the
+	 * given length.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final long[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return hash(array.length, chunkLength, (from, to) -> hash(array, from, to));
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code float}, cut into chunks of
+	 * {@link #DEFAULT_CHUNK_LENGTH} elements.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final float[] array) throws NullPointerException {
+		return of(array, DEFAULT_CHUNK_LENGTH);
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code float}, cut into chunks of the
+	 * given length.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final float[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return hash(array.length, chunkLength, (from, to) -> hash(array, from, to));
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code double}, cut into chunks of
+	 * {@link #DEFAULT_CHUNK_LENGTH} elements.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final double[] array) throws NullPointerException {
+		return of(array, DEFAULT_CHUNK_LENGTH);
+	}
+
+	/**
+	 * Returns the hash tree of an array of {@code double}, cut into chunks of the
+	 * given length.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final double[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return hash(array.length, chunkLength, (from, to) -> hash(array, from, to));
+	}
+
+	/**
+	 * Returns the hash tree of an array of objects, cut into chunks of
+	 * {@link #DEFAULT_CHUNK_LENGTH} elements. Elements are hashed
+	 * with their {@code hashCode}, so a change which keeps the hash code of an
+	 * element is not detected.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final Object[] array) throws NullPointerException {
+		return of(array, DEFAULT_CHUNK_LENGTH);
+	}
+
+	/**
+	 * Returns the hash tree of an array of objects, cut into chunks of the
+	 * given length. Elements are hashed
+	 * with their {@code hashCode}, so a change which keeps the hash code of an
+	 * element is not detected.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #rehash(int, int)
+	 */
+	public static ArrayHashTree of(final Object[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return hash(array.length, chunkLength, (from, to) -> hash(array, from, to));
+	}
+
+	/**
+	 * Returns a tree rebuilt from the chunk hashes of another tree, such as
+	 * one received from another process. The tree may be compared with
+	 * {@link #diff(ArrayHashTree)}, but not rehashed.
+	 * @param chunkHashes - hashes of the chunks, as returned by
+	 * {@link #chunkHashes()}
+	 * @param length - length of the hashed array
+	 * @param chunkLength - number of elements per chunk
+	 * @return a tree of the given chunk hashes
+	 * @throws IllegalArgumentException if {@code length} is negative,
+	 * {@code chunkLength} is not positive, or the number of chunk hashes does
+	 * not match them
+	 * @throws NullPointerException if {@code chunkHashes} is {@code null}
+	 */
+	public static ArrayHashTree fromChunkHashes(final long[] chunkHashes,
+			final int length, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		Objects.requireNonNull(chunkHashes);
+		if(length < 0) {
+			throw new IllegalArgumentException("Negative length: " + length);
+		}
+		final ArrayHashTree tree = new ArrayHashTree(length, chunkLength, null);
+		if(chunkHashes.length != tree.chunkCount) {
+			throw new IllegalArgumentException("Expected " + tree.chunkCount
+					+ " chunk hashes, got " + chunkHashes.length);
+		}
+		if(tree.chunkCount > 0) {
+			System.arraycopy(chunkHashes, 0, tree.nodes, tree.leaves, tree.chunkCount);
+			tree.hashParents(tree.leaves, tree.leaves + tree.chunkCount - 1);
+		}
+		return tree;
+	}
+
+	/**
+	 * Returns the length of the hashed array.
+	 * @return the length of the hashed array
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Returns the number of elements per chunk. The last chunk may be
+	 * shorter.
+	 * @return the number of elements per chunk
+	 */
+	public int chunkLength() {
+		return chunkLength;
+	}
+
+	/**
+	 * Returns the number of chunks.
+	 * @return the number of chunks
+	 */
+	public int chunkCount() {
+		return chunkCount;
+	}
+
+	/**
+	 * Returns the hash of the whole array, which covers its length as well as
+	 * its elements.
+	 * @return the hash of the whole array
+	 */
+	public long rootHash() {
+		return mix(nodes[1] + length * MULTIPLIER);
+	}
+
+	/**
+	 * Returns the hash of a chunk.
+	 * @param chunk - index of the chunk
+	 * @return the hash of the chunk
+	 * @throws IndexOutOfBoundsException if {@code chunk} is out of bounds
+	 */
+	public long chunkHash(final int chunk) throws IndexOutOfBoundsException {
+		if(chunk < 0 || chunk >= chunkCount) {
+			throw new IndexOutOfBoundsException(
+					"Chunk: " + chunk + ", Chunks: " + chunkCount);
+		}
+		return nodes[leaves + chunk];
+	}
+
+	/**
+	 * Returns a new array holding the hash of every chunk.
+	 * @return a new array of the chunk hashes
+	 * @see #fromChunkHashes(long[], int, int)
+	 */
+	public long[] chunkHashes() {
+		return Arrays.copyOfRange(nodes, leaves, leaves + chunkCount);
+	}
+
+	/**
+	 * Rehashes the chunks which overlap a changed range of the array, and
+	 * their ancestors.
+	 * @param from - first changed index, inclusive
+	 * @param to - last changed index, exclusive
+	 * @throws IllegalStateException if this tree was rebuilt from chunk
+	 * hashes
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public void rehash(final int from, final int to)
+			throws IllegalStateException, IndexOutOfBoundsException {
+		if(null == hasher) {
+			throw new IllegalStateException("Tree has no array to rehash");
+		}
+		ArraySlice.checkRange(length, from, to);
+		if(from < to) {
+			final int first = from / chunkLength;
+			final int last = (to - 1) / chunkLength;
+			hashChunks(first, last + 1);
+			hashParents(leaves + first, leaves + last);
+		}
+	}
+
+	/**
+	 * Returns the ranges of the array in which this tree and another differ,
+	 * in ascending order. The ranges are unions of whole chunks, cut at the
+	 * length of the longer array, and adjacent ranges are merged. Subtrees
+	 * whose hashes match are skipped; trees of different numbers of leaves
+	 * are compared chunk by chunk.
+	 * @param other - tree to compare with
+	 * @return the ranges in which the trees differ, empty if they match
+	 * @throws IllegalArgumentException if the trees have different chunk
+	 * lengths
+	 * @throws NullPointerException if {@code other} is {@code null}
+	 */
+	public List<IndexRange> diff(final ArrayHashTree other)
+			throws IllegalArgumentException, NullPointerException {
+		if(chunkLength != other.chunkLength) {
+			throw new IllegalArgumentException("Chunk lengths differ: "
+					+ chunkLength + ", " + other.chunkLength);
+		}
+		final IntList chunks = new IntList();
+		if(leaves == other.leaves) {
+			diff(other, 1, chunks);
+		} else {
+			final int common = Math.min(chunkCount, other.chunkCount);
+			for(int chunk = 0; chunk < common; chunk++) {
+				if(nodes[leaves + chunk] != other.nodes[other.leaves + chunk]) {
+					chunks.add(chunk);
+				}
+			}
+			final int longest = Math.max(chunkCount, other.chunkCount);
+			for(int chunk = common; chunk < longest; chunk++) {
+				chunks.add(chunk);
+			}
+		}
+		return ranges(chunks, Math.max(length, other.length));
+	}
+
+	/**
+	 * Returns the ranges of the array in which the trees differ.
+	 * @param first - a tree
+	 * @param second - another tree of the same chunk length
+	 * @return the ranges in which the trees differ, empty if they match
+	 * @throws IllegalArgumentException if the trees have different chunk
+	 * lengths
+	 * @throws NullPointerException if either tree is {@code null}
+	 * @see #diff(ArrayHashTree)
+	 */
+	public static List<IndexRange> diff(final ArrayHashTree first,
+			final ArrayHashTree second)
+			throws IllegalArgumentException, NullPointerException {
+		return first.diff(second);
+	}
+
+	// The tree of the array read by the hasher
+	private static ArrayHashTree hash(final int length, final int chunkLength,
+			final ChunkHasher hasher) throws IllegalArgumentException {
+		final ArrayHashTree tree = new ArrayHashTree(length, chunkLength, hasher);
+		if(tree.chunkCount > 0) {
+			tree.hashChunks(0, tree.chunkCount);
+			tree.hashParents(tree.leaves, tree.leaves + tree.chunkCount - 1);
+		}
+		return tree;
+	}
+
+	// Adds the chunks under the node in which the trees differ
+	private void diff(final ArrayHashTree other, final int node, final IntList chunks) {
+		if(nodes[node] == other.nodes[node]) {
+			return;
+		}
+		if(node >= leaves) {
+			chunks.add(node - leaves);
+		} else {
+			diff(other, node << 1, chunks);
+			diff(other, (node << 1) + 1, chunks);
+		}
+	}
+
+	// The index ranges of ascending chunks, merged when adjacent
+	private List<IndexRange> ranges(final IntList chunks, final int end) {
+		final List<IndexRange> ranges = new ArrayList<>();
+		int i = 0;
+		while(i < chunks.size()) {
+			final int first = chunks.get(i);
+			int last = first;
+			while(++i < chunks.size() && chunks.get(i) == last + 1) {
+				last++;
+			}
+			final long to = Math.min(end, ((long) last + 1) * chunkLength);
+			ranges.add(new IndexRange(first * chunkLength, (int) to));
+		}
+		return ranges;
+	}
+
+	// Hashes the chunks [first, last), in parallel for a long array
+	private void hashChunks(final int first, final int last) {
+		final int count = last - first;
+		final long elements = (long) count * chunkLength;
+		final int tasks = ParallelRanges.isParallel(elements)
+				? Math.min(count, ParallelRanges.parallelChunkCount(elements)) : 1;
+		ParallelRanges.forEachChunk(count, tasks, (task, from, to) -> {
+			for(int chunk = first + from; chunk < first + to; chunk++) {
+				final int start = chunk * chunkLength;
+				final int end = (int) Math.min(length, (long) start + chunkLength);
+				nodes[leaves + chunk] = mix(hasher.hash(start, end) + end - start);
+			}
+		});
+	}
+
+	// Rehashes the ancestors of the nodes [first, last] of one level
+	private void hashParents(final int first, final int last) {
+		for(int from = first >> 1, to = last >> 1; from > 0; from >>= 1, to >>= 1) {
+			for(int node = from; node <= to; node++) {
+				nodes[node] = mix(Long.rotateLeft(nodes[node << 1], ROTATION)
+						^ nodes[(node << 1) + 1] * MULTIPLIER);
+			}
+		}
+	}
+
+	// Finalizer of MurmurHash3, spreading every bit over the whole hash
+	private static long mix(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		hash *= 0xC4CEB93FE1A85B45L;
+		return hash ^ hash >>> 33;
+	}
+
+	// Hash of the elements of the range [from, to) of the array
+	private static long hash(final boolean[] array, final int from, final int to) {
+		long hash = SEED;
+		for(int i = from; i < to; i++) {
+			hash = Long.rotateLeft((hash ^ (array[i] ? 1 : 0)) * MULTIPLIER, ROTATION);
+		}
+		return hash;
+	}
+
+	// Hash of the elements of the range [from, to) of the array
+	private static long hash(final byte[] array, final int from, final int to) {
+		long hash = SEED;
+		for(int i = from; i < to; i++) {
+			hash = Long.rotateLeft((hash ^ array[i]) * MULTIPLIER, ROTATION);
+		}
+		return hash;
+	}
+
+	// Hash of the elements of the range [from, to) of the array
+	private static long hash(final short[] array, final int from, final int to) {
+		long hash = SEED;
+		for(int i = from; i < to; i++) {
+			hash = Long.rotateLeft((hash ^ array[i]) * MULTIPLIER, ROTATION);
+		}
+		return hash;
+	}
+
+	// Hash of the elements of the range [from, to) of the array
+	private static long hash(final char[] array, final int from, final int to) {
+		long hash = SEED;
+		for(int i = from; i < to; i++) {
+			hash = Long.rotateLeft((hash ^ array[i]) * MULTIPLIER, ROTATION);
+		}
+		return hash;
+	}
+
+	// Hash of the elements of the range [from, to) of the array
+	private static long hash(final int[] array, final int from, final int to) {
+		long hash = SEED;
+		for(int i = from; i < to; i++) {
+			hash = Long.rotateLeft((hash ^ array[i]) * MULTIPLIER, ROTATION);
+		}
+		return hash;
+	}
+
+	// Hash of the elements of the range [from, to) of the array
+	private static long hash(final long[] array, final int from, final int to) {
+		long hash = SEED;
+		for(int i = from; i < to; i++) {
+			hash = Long.rotateLeft((hash ^ array[i]) * MULTIPLIER, ROTATION);
+		}
+		return hash;
+	}
+
+	// Hash of the elements of the range [from, to) of the array
+	private static long hash(final float[] array, final int from, final int to) {
+		long hash = SEED;
+		for(int i = from; i < to; i++) {
+			final int bits = Float.floatToIntBits(array[i]);
+			hash = Long.rotateLeft((hash ^ bits) * MULTIPLIER, ROTATION);
+		}
+		return hash;
+	}
+
+	// Hash of the elements of the range [from, to) of the array
+	private static long hash(final double[] array, final int from, final int to) {
+		long hash = SEED;
+		for(int i = from; i < to; i++) {
+			final long bits = Double.doubleToLongBits(array[i]);
+			hash = Long.rotateLeft((hash ^ bits) * MULTIPLIER, ROTATION);
+		}
+		return hash;
+	}
+
+	// Hash of the elements of the range [from, to) of the array
+	private static long hash(final Object[] array, final int from, final int to) {
+		long hash = SEED;
+		for(int i = from; i < to; i++) {
+			final int code = Objects.hashCode(array[i]);
+			hash = Long.rotateLeft((hash ^ code) * MULTIPLIER, ROTATION);
+		}
+		return hash;
+	}
+
+}
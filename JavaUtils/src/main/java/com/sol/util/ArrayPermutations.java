@@ -0,0 +1,739 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The reordering operations of this package: reverse, shuffle and in place
+ * permutation of a range of an array.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+final class ArrayPermutations {
+
+	// Constructor. Class ArrayPermutations is not instantiable.
+	private ArrayPermutations() { }
+
+	/**
+	 * Reverses the order of the range {@code [from, to)} of a {@code boolean} array.
+	 * @param array - array to reverse
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 */
+	static void reverse(final boolean[] array, final int from, final int to) {
+		for(int i = from, j = to - 1; i < j; i++, j--) {
+			final boolean tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Shuffles the range {@code [from, to)} of a {@code boolean} array with the
+	 * Fisher-Yates algorithm.
+	 * @param array - array to shuffle
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param random - source of random indexes, see
+	 * {@link ArrayUtililities#shuffle(int[], IntUnaryOperator)}
+	 */
+	static void shuffle(final boolean[] array, final int from, final int to,
+			final IntUnaryOperator random) {
+		for(int i = to - 1; i > from; i--) {
+			final int j = from + random.applyAsInt(i - from + 1);
+			final boolean tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Reorders the range {@code [offset, offset + permutation.length)} of a
+	 * {@code boolean} array in place, so that the element at relative index
+	 * {@code permutation[i]} moves to relative index {@code i}. Each cycle
+	 * of the permutation is followed once; visited entries are marked by
+	 * complementing them, and restored before returning. The permutation is
+	 * checked before any element moves.
+	 * @param array - array to reorder
+	 * @param offset - first index of the range
+	 * @param permutation - permutation of {@code [0, permutation.length)}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation
+	 */
+	static void applyPermutation(final boolean[] array, final int offset,
+			final int[] permutation) throws IllegalArgumentException {
+		checkPermutation(permutation);
+		try {
+			for(int i = 0; i < permutation.length; i++) {
+				if(permutation[i] < 0) {
+					continue;
+				}
+				final boolean tmp = array[offset + i];
+				int j = i;
+				int k = permutation[j];
+				permutation[j] = ~k;
+				while(k != i) {
+					array[offset + j] = array[offset + k];
+					j = k;
+					k = permutation[j];
+					permutation[j] = ~k;
+				}
+				array[offset + j] = tmp;
+			}
+		} finally {
+			unmark(permutation);
+		}
+	}
+
+	/**
+	 * Reverses the order of the range {@code [from, to)} of a {@code byte} array.
+	 * @param array - array to reverse
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 */
+	static void reverse(final byte[] array, final int from, final int to) {
+		for(int i = from, j = to - 1; i < j; i++, j--) {
+			final byte tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Shuffles the range {@code [from, to)} of a {@code byte} array with the
+	 * Fisher-Yates algorithm.
+	 * @param array - array to shuffle
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param random - source of random indexes, see
+	 * {@link ArrayUtililities#shuffle(int[], IntUnaryOperator)}
+	 */
+	static void shuffle(final byte[] array, final int from, final int to,
+			final IntUnaryOperator random) {
+		for(int i = to - 1; i > from; i--) {
+			final int j = from + random.applyAsInt(i - from + 1);
+			final byte tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Reorders the range {@code [offset, offset + permutation.length)} of a
+	 * {@code byte} array in place, so that the element at relative index
+	 * {@code permutation[i]} moves to relative index {@code i}. Each cycle
+	 * of the permutation is followed once; visited entries are marked by
+	 * complementing them, and restored before returning. The permutation is
+	 * checked before any element moves.
+	 * @param array - array to reorder
+	 * @param offset - first index of the range
+	 * @param permutation - permutation of {@code [0, permutation.length)}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation
+	 */
+	static void applyPermutation(final byte[] array, final int offset,
+			final int[] permutation) throws IllegalArgumentException {
+		checkPermutation(permutation);
+		try {
+			for(int i = 0; i < permutation.length; i++) {
+				if(permutation[i] < 0) {
+					continue;
+				}
+				final byte tmp = array[offset + i];
+				int j = i;
+				int k = permutation[j];
+				permutation[j] = ~k;
+				while(k != i) {
+					array[offset + j] = array[offset + k];
+					j = k;
+					k = permutation[j];
+					permutation[j] = ~k;
+				}
+				array[offset + j] = tmp;
+			}
+		} finally {
+			unmark(permutation);
+		}
+	}
+
+	/**
+	 * Reverses the order of the range {@code [from, to)} of a {@code short} array.
+	 * @param array - array to reverse
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 */
+	static void reverse(final short[] array, final int from, final int to) {
+		for(int i = from, j = to - 1; i < j; i++, j--) {
+			final short tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Shuffles the range {@code [from, to)} of a {@code short} array with the
+	 * Fisher-Yates algorithm.
+	 * @param array - array to shuffle
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param random - source of random indexes, see
+	 * {@link ArrayUtililities#shuffle(int[], IntUnaryOperator)}
+	 */
+	static void shuffle(final short[] array, final int from, final int to,
+			final IntUnaryOperator random) {
+		for(int i = to - 1; i > from; i--) {
+			final int j = from + random.applyAsInt(i - from + 1);
+			final short tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Reorders the range {@code [offset, offset + permutation.length)} of a
+	 * {@code short} array in place, so that the element at relative index
+	 * {@code permutation[i]} moves to relative index {@code i}. Each cycle
+	 * of the permutation is followed once; visited entries are marked by
+	 * complementing them, and restored before returning. The permutation is
+	 * checked before any element moves.
+	 * @param array - array to reorder
+	 * @param offset - first index of the range
+	 * @param permutation - permutation of {@code [0, permutation.length)}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation
+	 */
+	static void applyPermutation(final short[] array, final int offset,
+			final int[] permutation) throws IllegalArgumentException {
+		checkPermutation(permutation);
+		try {
+			for(int i = 0; i < permutation.length; i++) {
+				if(permutation[i] < 0) {
+					continue;
+				}
+				final short tmp = array[offset + i];
+				int j = i;
+				int k = permutation[j];
+				permutation[j] = ~k;
+				while(k != i) {
+					array[offset + j] = array[offset + k];
+					j = k;
+					k = permutation[j];
+					permutation[j] = ~k;
+				}
+				array[offset + j] = tmp;
+			}
+		} finally {
+			unmark(permutation);
+		}
+	}
+
+	/**
+	 * Reverses the order of the range {@code [from, to)} of a {@code char} array.
+	 * @param array - array to reverse
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 */
+	static void reverse(final char[] array, final int from, final int to) {
+		for(int i = from, j = to - 1; i < j; i++, j--) {
+			final char tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Shuffles the range {@code [from, to)} of a {@code char} array with the
+	 * Fisher-Yates algorithm.
+	 * @param array - array to shuffle
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param random - source of random indexes, see
+	 * {@link ArrayUtililities#shuffle(int[], IntUnaryOperator)}
+	 */
+	static void shuffle(final char[] array, final int from, final int to,
+			final IntUnaryOperator random) {
+		for(int i = to - 1; i > from; i--) {
+			final int j = from + random.applyAsInt(i - from + 1);
+			final char tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Reorders the range {@code [offset, offset + permutation.length)} of a
+	 * {@code char} array in place, so that the element at relative index
+	 * {@code permutation[i]} moves to relative index {@code i}. Each cycle
+	 * of the permutation is followed once; visited entries are marked by
+	 * complementing them, and restored before returning. The permutation is
+	 * checked before any element moves.
+	 * @param array - array to reorder
+	 * @param offset - first index of the range
+	 * @param permutation - permutation of {@code [0, permutation.length)}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation
+	 */
+	static void applyPermutation(final char[] array, final int offset,
+			final int[] permutation) throws IllegalArgumentException {
+		checkPermutation(permutation);
+		try {
+			for(int i = 0; i < permutation.length; i++) {
+				if(permutation[i] < 0) {
+					continue;
+				}
+				final char tmp = array[offset + i];
+				int j = i;
+				int k = permutation[j];
+				permutation[j] = ~k;
+				while(k != i) {
+					array[offset + j] = array[offset + k];
+					j = k;
+					k = permutation[j];
+					permutation[j] = ~k;
+				}
+				array[offset + j] = tmp;
+			}
+		} finally {
+			unmark(permutation);
+		}
+	}
+
+	/**
+	 * Reverses the order of the range {@code [from, to)} of an {@code int} array.
+	 * @param array - array to reverse
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 */
+	static void reverse(final int[] array, final int from, final int to) {
+		for(int i = from, j = to - 1; i < j; i++, j--) {
+			final int tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Shuffles the range {@code [from, to)} of an {@code int} array with the
+	 * Fisher-Yates algorithm.
+	 * @param array - array to shuffle
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param random - source of random indexes, see
+	 * {@link ArrayUtililities#shuffle(int[], IntUnaryOperator)}
+	 */
+	static void shuffle(final int[] array, final int from, final int to,
+			final IntUnaryOperator random) {
+		for(int i = to - 1; i > from; i--) {
+			final int j = from + random.applyAsInt(i - from + 1);
+			final int tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Reorders the range {@code [offset, offset + permutation.length)} of an
+	 * {@code int} array in place, so that the element at relative index
+	 * {@code permutation[i]} moves to relative index {@code i}. Each cycle
+	 * of the permutation is followed once; visited entries are marked by
+	 * complementing them, and restored before returning. The permutation is
+	 * checked before any element moves.
+	 * @param array - array to reorder
+	 * @param offset - first index of the range
+	 * @param permutation - permutation of {@code [0, permutation.length)}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation
+	 */
+	static void applyPermutation(final int[] array, final int offset,
+			final int[] permutation) throws IllegalArgumentException {
+		checkPermutation(permutation);
+		try {
+			for(int i = 0; i < permutation.length; i++) {
+				if(permutation[i] < 0) {
+					continue;
+				}
+				final int tmp = array[offset + i];
+				int j = i;
+				int k = permutation[j];
+				permutation[j] = ~k;
+				while(k != i) {
+					array[offset + j] = array[offset + k];
+					j = k;
+					k = permutation[j];
+					permutation[j] = ~k;
+				}
+				array[offset + j] = tmp;
+			}
+		} finally {
+			unmark(permutation);
+		}
+	}
+
+	/**
+	 * Reverses the order of the range {@code [from, to)} of a {@code long} array.
+	 * @param array - array to reverse
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 */
+	static void reverse(final long[] array, final int from, final int to) {
+		for(int i = from, j = to - 1; i < j; i++, j--) {
+			final long tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Shuffles the range {@code [from, to)} of a {@code long} array with the
+	 * Fisher-Yates algorithm.
+	 * @param array - array to shuffle
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param random - source of random indexes, see
+	 * {@link ArrayUtililities#shuffle(int[], IntUnaryOperator)}
+	 */
+	static void shuffle(final long[] array, final int from, final int to,
+			final IntUnaryOperator random) {
+		for(int i = to - 1; i > from; i--) {
+			final int j = from + random.applyAsInt(i - from + 1);
+			final long tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Reorders the range {@code [offset, offset + permutation.length)} of a
+	 * {@code long} array in place, so that the element at relative index
+	 * {@code permutation[i]} moves to relative index {@code i}. Each cycle
+	 * of the permutation is followed once; visited entries are marked by
+	 * complementing them, and restored before returning. The permutation is
+	 * checked before any element moves.
+	 * @param array - array to reorder
+	 * @param offset - first index of the range
+	 * @param permutation - permutation of {@code [0, permutation.length)}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation
+	 */
+	static void applyPermutation(final long[] array, final int offset,
+			final int[] permutation) throws IllegalArgumentException {
+		checkPermutation(permutation);
+		try {
+			for(int i = 0; i < permutation.length; i++) {
+				if(permutation[i] < 0) {
+					continue;
+				}
+				final long tmp = array[offset + i];
+				int j = i;
+				int k = permutation[j];
+				permutation[j] = ~k;
+				while(k != i) {
+					array[offset + j] = array[offset + k];
+					j = k;
+					k = permutation[j];
+					permutation[j] = ~k;
+				}
+				array[offset + j] = tmp;
+			}
+		} finally {
+			unmark(permutation);
+		}
+	}
+
+	/**
+	 * Reverses the order of the range {@code [from, to)} of a {@code float} array.
+	 * @param array - array to reverse
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 */
+	static void reverse(final float[] array, final int from, final int to) {
+		for(int i = from, j = to - 1; i < j; i++, j--) {
+			final float tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Shuffles the range {@code [from, to)} of a {@code float} array with the
+	 * Fisher-Yates algorithm.
+	 * @param array - array to shuffle
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param random - source of random indexes, see
+	 * {@link ArrayUtililities#shuffle(int[], IntUnaryOperator)}
+	 */
+	static void shuffle(final float[] array, final int from, final int to,
+			final IntUnaryOperator random) {
+		for(int i = to - 1; i > from; i--) {
+			final int j = from + random.applyAsInt(i - from + 1);
+			final float tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Reorders the range {@code [offset, offset + permutation.length)} of a
+	 * {@code float} array in place, so that the element at relative index
+	 * {@code permutation[i]} moves to relative index {@code i}. Each cycle
+	 * of the permutation is followed once; visited entries are marked by
+	 * complementing them, and restored before returning. The permutation is
+	 * checked before any element moves.
+	 * @param array - array to reorder
+	 * @param offset - first index of the range
+	 * @param permutation - permutation of {@code [0, permutation.length)}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation
+	 */
+	static void applyPermutation(final float[] array, final int offset,
+			final int[] permutation) throws IllegalArgumentException {
+		checkPermutation(permutation);
+		try {
+			for(int i = 0; i < permutation.length; i++) {
+				if(permutation[i] < 0) {
+					continue;
+				}
+				final float tmp = array[offset + i];
+				int j = i;
+				int k = permutation[j];
+				permutation[j] = ~k;
+				while(k != i) {
+					array[offset + j] = array[offset + k];
+					j = k;
+					k = permutation[j];
+					permutation[j] = ~k;
+				}
+				array[offset + j] = tmp;
+			}
+		} finally {
+			unmark(permutation);
+		}
+	}
+
+	/**
+	 * Reverses the order of the range {@code [from, to)} of a {@code double} array.
+	 * @param array - array to reverse
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 */
+	static void reverse(final double[] array, final int from, final int to) {
+		for(int i = from, j = to - 1; i < j; i++, j--) {
+			final double tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Shuffles the range {@code [from, to)} of a {@code double} array with the
+	 * Fisher-Yates algorithm.
+	 * @param array - array to shuffle
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param random - source of random indexes, see
+	 * {@link ArrayUtililities#shuffle(int[], IntUnaryOperator)}
+	 */
+	static void shuffle(final double[] array, final int from, final int to,
+			final IntUnaryOperator random) {
+		for(int i = to - 1; i > from; i--) {
+			final int j = from + random.applyAsInt(i - from + 1);
+			final double tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Reorders the range {@code [offset, offset + permutation.length)} of a
+	 * {@code double} array in place, so that the element at relative index
+	 * {@code permutation[i]} moves to relative index {@code i}. Each cycle
+	 * of the permutation is followed once; visited entries are marked by
+	 * complementing them, and restored before returning. The permutation is
+	 * checked before any element moves.
+	 * @param array - array to reorder
+	 * @param offset - first index of the range
+	 * @param permutation - permutation of {@code [0, permutation.length)}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation
+	 */
+	static void applyPermutation(final double[] array, final int offset,
+			final int[] permutation) throws IllegalArgumentException {
+		checkPermutation(permutation);
+		try {
+			for(int i = 0; i < permutation.length; i++) {
+				if(permutation[i] < 0) {
+					continue;
+				}
+				final double tmp = array[offset + i];
+				int j = i;
+				int k = permutation[j];
+				permutation[j] = ~k;
+				while(k != i) {
+					array[offset + j] = array[offset + k];
+					j = k;
+					k = permutation[j];
+					permutation[j] = ~k;
+				}
+				array[offset + j] = tmp;
+			}
+		} finally {
+			unmark(permutation);
+		}
+	}
+
+	/**
+	 * Reverses the order of the range {@code [from, to)} of an {@code Object} array.
+	 * @param array - array to reverse
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 */
+	static void reverse(final Object[] array, final int from, final int to) {
+		for(int i = from, j = to - 1; i < j; i++, j--) {
+			final Object tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Shuffles the range {@code [from, to)} of an {@code Object} array with the
+	 * Fisher-Yates algorithm.
+	 * @param array - array to shuffle
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param random - source of random indexes, see
+	 * {@link ArrayUtililities#shuffle(int[], IntUnaryOperator)}
+	 */
+	static void shuffle(final Object[] array, final int from, final int to,
+			final IntUnaryOperator random) {
+		for(int i = to - 1; i > from; i--) {
+			final int j = from + random.applyAsInt(i - from + 1);
+			final Object tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * Reorders the range {@code [offset, offset + permutation.length)} of an
+	 * {@code Object} array in place, so that the element at relative index
+	 * {@code permutation[i]} moves to relative index {@code i}. Each cycle
+	 * of the permutation is followed once; visited entries are marked by
+	 * complementing them, and restored before returning. The permutation is
+	 * checked before any element moves.
+	 * @param array - array to reorder
+	 * @param offset - first index of the range
+	 * @param permutation - permutation of {@code [0, permutation.length)}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation
+	 */
+	static void applyPermutation(final Object[] array, final int offset,
+			final int[] permutation) throws IllegalArgumentException {
+		checkPermutation(permutation);
+		try {
+			for(int i = 0; i < permutation.length; i++) {
+				if(permutation[i] < 0) {
+					continue;
+				}
+				final Object tmp = array[offset + i];
+				int j = i;
+				int k = permutation[j];
+				permutation[j] = ~k;
+				while(k != i) {
+					array[offset + j] = array[offset + k];
+					j = k;
+					k = permutation[j];
+					permutation[j] = ~k;
+				}
+				array[offset + j] = tmp;
+			}
+		} finally {
+			unmark(permutation);
+		}
+	}
+
+	/**
+	 * Returns the inverse of a permutation.
+	 * @param permutation - permutation of {@code [0, permutation.length)}
+	 * @return a new array {@code inverse}, for which
+	 * {@code inverse[permutation[i]] == i}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation
+	 */
+	static int[] invert(final int[] permutation) throws IllegalArgumentException {
+		checkRange(permutation);
+		final int[] inverse = new int[permutation.length];
+		// Stores i + 1, so that zero marks an index not seen yet
+		for(int i = 0; i < permutation.length; i++) {
+			if(0 != inverse[permutation[i]]) {
+				throw notAPermutation(permutation[i]);
+			}
+			inverse[permutation[i]] = i + 1;
+		}
+		for(int i = 0; i < inverse.length; i++) {
+			inverse[i]--;
+		}
+		return inverse;
+	}
+
+	// Throws an exception if an entry is out of the range of a permutation
+	private static void checkRange(final int[] permutation)
+			throws IllegalArgumentException {
+		for(final int index : permutation) {
+			if(index < 0 || index >= permutation.length) {
+				throw new IllegalArgumentException(
+						"Not a permutation, index out of range: " + index);
+			}
+		}
+	}
+
+	// Throws an exception if an array is not a permutation, without extra
+	// memory: every index seen is marked by complementing the entry at that
+	// index, and the marks are removed before returning
+	private static void checkPermutation(final int[] permutation)
+			throws IllegalArgumentException {
+		checkRange(permutation);
+		try {
+			for(final int entry : permutation) {
+				final int index = entry < 0 ? ~entry : entry;
+				if(permutation[index] < 0) {
+					throw notAPermutation(index);
+				}
+				permutation[index] = ~permutation[index];
+			}
+		} finally {
+			unmark(permutation);
+		}
+	}
+
+	// Restores the entries marked while following cycles
+	private static void unmark(final int[] permutation) {
+		for(int i = 0; i < permutation.length; i++) {
+			if(permutation[i] < 0) {
+				permutation[i] = ~permutation[i];
+			}
+		}
+	}
+
+	// Exception for an index which appears more than once
+	private static IllegalArgumentException notAPermutation(final int index) {
+		return new IllegalArgumentException(
+				"Not a permutation, repeated index: " + index);
+	}
+
+}
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A pool of recycled arrays, keyed by array class. Arrays are pooled in power
+ * of two size classes. Every thread keeps a small magazine of arrays per size
+ * class, which it uses without any synchronization. Magazines are refilled
+ * from, and spill over to, a shared lock-free depot.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+final class ArrayPool {
+
+	/**
+	 * Largest pooled size class. Arrays longer than {@code 1 << MAX_SIZE_CLASS}
+	 * are never pooled.
+	 */
+	static final int MAX_SIZE_CLASS = 16;
+
+	/*
+	 * Number of arrays a thread keeps per size class.
+	 */
+	private static final int MAGAZINE_CAPACITY = 8;
+
+	/*
+	 * Number of arrays moved between a magazine and the depot at once.
+	 */
+	private static final int TRANSFER_COUNT = MAGAZINE_CAPACITY / 2;
+
+	/*
+	 * Number of arrays the depot keeps per size class.
+	 */
+	private static final int DEPOT_CAPACITY = 64;
+
+	// The pools of the array classes
+	private static final ClassValue<TypePool> POOLS = new ClassValue<TypePool>() {
+		@Override
+		protected TypePool computeValue(final Class<?> type) {
+			return new TypePool(type);
+		}
+	};
+
+	// Constructor. Class ArrayPool is not instantiable.
+	private ArrayPool() { }
+
+	/**
+	 * Returns an array of the given class and of at least the given length,
+	 * from the pool if one is available.
+	 * @param arrayClass - class of the array
+	 * @param length - least length of the array
+	 * @return an array of the given class, with every element set to null
+	 * @throws NegativeArraySizeException if {@code length} is negative
+	 */
+	static <E> E[] acquire(final Class<?> arrayClass, final int length)
+			throws NegativeArraySizeException {
+		if(length < 0) {
+			throw new NegativeArraySizeException();
+		}
+		final int sizeClass = sizeClass(length);
+		if(sizeClass > MAX_SIZE_CLASS) {
+			return ArrayAllocators.allocate(arrayClass, length);
+		}
+
+		@SuppressWarnings("unchecked")
+		final E[] array = (E[]) POOLS.get(arrayClass).acquire(sizeClass);
+
+		return array;
+	}
+
+	/**
+	 * Hands an array back to the pool. Its elements are set to null. Arrays
+	 * which do not have the length of a size class are dropped.
+	 * @param array - array to hand back
+	 */
+	static void release(final Object[] array) {
+		final int sizeClass = sizeClass(array.length);
+		if(sizeClass <= MAX_SIZE_CLASS && array.length == 1 << sizeClass) {
+			Arrays.fill(array, null);
+			POOLS.get(array.getClass()).release(array, sizeClass);
+		}
+	}
+
+	/**
+	 * Returns the size class of a length: the least {@code n} for which
+	 * {@code length <= 1 << n}.
+	 * @param length - non negative length
+	 * @return the size class of the length
+	 */
+	static int sizeClass(final int length) {
+		return length <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(length - 1);
+	}
+
+	/*
+	 * The pool of a single array class.
+	 */
+	private static final class TypePool {
+		private final Class<?> arrayClass;
+		private final Depot[] depots = new Depot[MAX_SIZE_CLASS + 1];
+		private final ThreadLocal<Magazine[]> magazines =
+				ThreadLocal.withInitial(() -> new Magazine[MAX_SIZE_CLASS + 1]);
+
+		TypePool(final Class<?> arrayClass) {
+			this.arrayClass = arrayClass;
+			for(int i = 0; i < depots.length; i++) {
+				depots[i] = new Depot();
+			}
+		}
+
+		Object[] acquire(final int sizeClass) {
+			final Magazine magazine = magazine(sizeClass);
+			if(0 == magazine.count) {
+				magazine.refill(depots[sizeClass]);
+			}
+			if(0 == magazine.count) {
+				return ArrayAllocators.allocate(arrayClass, 1 << sizeClass);
+			}
+			return magazine.pop();
+		}
+
+		void release(final Object[] array, final int sizeClass) {
+			final Magazine magazine = magazine(sizeClass);
+			if(MAGAZINE_CAPACITY == magazine.count) {
+				magazine.spill(depots[sizeClass]);
+			}
+			magazine.push(array);
+		}
+
+		private Magazine magazine(final int sizeClass) {
+			final Magazine[] threadMagazines = magazines.get();
+			Magazine magazine = threadMagazines[sizeClass];
+			if(null == magazine) {
+				magazine = new Magazine();
+				threadMagazines[sizeClass] = magazine;
+			}
+			return magazine;
+		}
+	}
+
+	/*
+	 * The arrays of one size class kept by one thread.
+	 */
+	private static final class Magazine {
+		private final Object[][] arrays = new Object[MAGAZINE_CAPACITY][];
+		private int count;
+
+		Object[] pop() {
+			final Object[] array = arrays[--count];
+			arrays[count] = null;
+			return array;
+		}
+
+		void push(final Object[] array) {
+			arrays[count++] = array;
+		}
+
+		void refill(final Depot depot) {
+			for(Object[] array; count < TRANSFER_COUNT
+					&& null != (array = depot.pop());) {
+				push(array);
+			}
+		}
+
+		void spill(final Depot depot) {
+			for(int i = 0; i < TRANSFER_COUNT; i++) {
+				depot.push(pop());
+			}
+		}
+	}
+
+	/*
+	 * The arrays of one size class shared by all threads: a bounded Treiber
+	 * stack. Nodes are never reused, so the stack is not subject to ABA.
+	 */
+	private static final class Depot {
+		private final AtomicReference<Node> top = new AtomicReference<>();
+		private final AtomicInteger size = new AtomicInteger();
+
+		Object[] pop() {
+			Node node;
+			do {
+				node = top.get();
+				if(null == node) {
+					return null;
+				}
+			} while(!top.compareAndSet(node, node.next));
+			size.decrementAndGet();
+			return node.array;
+		}
+
+		void push(final Object[] array) {
+			if(size.get() >= DEPOT_CAPACITY) {
+				return;
+			}
+			size.incrementAndGet();
+			final Node node = new Node(array);
+			do {
+				node.next = top.get();
+			} while(!top.compareAndSet(node.next, node));
+		}
+	}
+
+	/*
+	 * A node of a depot.
+	 */
+	private static final class Node {
+		final Object[] array;
+		Node next;
+
+		Node(final Object[] array) {
+			this.array = array;
+		}
+	}
+
+}
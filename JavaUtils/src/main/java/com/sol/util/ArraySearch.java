@@ -0,0 +1,587 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Searching in sorted arrays of primitives. The searches return bounds rather
+ * than a match: the lower bound of a key is the index of the first element
+ * which is not less than the key, and its upper bound is the index of the
+ * first element which is greater than the key. Both are the end of the range
+ * when there is no such element.
+ * <p>
+ * The searches are branchless: every step halves the range with a
+ * conditional move rather than a branch, so the processor does not
+ * mispredict, and the number of steps depends only on the length of the
+ * range. Batched searches run several keys in lock step, so that the cache
+ * misses of different keys overlap, and run in parallel when there are at
+ * least {@link ArrayUtililities#getParallelThreshold()} keys.
+ * <p>
+ * {@code double} elements are ordered as by {@link Double#compare}:
+ * {@code -0.0} is less than {@code 0.0}, and NaN is greater than every
+ * other value. The array must be sorted in this order, as
+ * {@link java.util.Arrays#sort(double[])} does; otherwise the results are
+ * undefined.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @see EytzingerIntIndex
+ */
+public final class ArraySearch {
+
+	/**
+	 * Number of keys a batched search runs in lock step.
+	 */
+	static final int INTERLEAVE = 8;
+
+	// Constructor. Class ArraySearch is not instantiable.
+	private ArraySearch() { }
+
+	/**
+	 * Returns the lower bound of a key in a sorted array: the index of the
+	 * first element which is not less than the key.
+	 * @param array - sorted array to search
+	 * @param key - key to search for
+	 * @return the lower bound of {@code key}, or {@code array.length} if every
+	 * element is less
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static int lowerBound(final int[] array, final int key)
+			throws NullPointerException {
+		return lowerBound(array, 0, array.length, key);
+	}
+
+	/**
+	 * Returns the lower bound of a key in the sorted range {@code [from, to)} of
+	 * an array: the index of the first element which is not less than the key.
+	 * @param array - array to search
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param key - key to search for
+	 * @return the lower bound of {@code key}, or {@code to} if every element of
+	 * the range is less
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static int lowerBound(final int[] array, final int from, final int to,
+			final int key) throws IndexOutOfBoundsException, NullPointerException {
+		ArraySlice.checkRange(array.length, from, to);
+		if(from == to) {
+			return from;
+		}
+		int base = from;
+		for(int length = to - from; length > 1;) {
+			final int half = length >>> 1;
+			base = array[base + half - 1] < key ? base + half : base;
+			length -= half;
+		}
+		return array[base] < key ? base + 1 : base;
+	}
+
+	/**
+	 * Returns the lower bounds of many keys in a sorted array. The keys need not
+	 * be sorted.
+	 * @param array - sorted array to search
+	 * @param keys - keys to search for
+	 * @return a new array holding the lower bound of every key, in the order of
+	 * the keys
+	 * @throws NullPointerException if {@code array} or {@code keys} is
+	 * {@code null}
+	 * @see #lowerBound(int[], int)
+	 */
+	public static int[] lowerBound(final int[] array, final int[] keys)
+			throws NullPointerException {
+		Objects.requireNonNull(array);
+		final int[] bounds = new int[keys.length];
+		ParallelRanges.forEach(keys.length, (from, to) ->
+				lowerBounds(array, keys, bounds, from, to));
+		return bounds;
+	}
+
+	/**
+	 * Returns the upper bound of a key in a sorted array: the index of the
+	 * first element which is greater than the key.
+	 * @param array - sorted array to search
+	 * @param key - key to search for
+	 * @return the upper bound of {@code key}, or {@code array.length} if every
+	 * element is less or equal
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static int upperBound(final int[] array, final int key)
+			throws NullPointerException {
+		return upperBound(array, 0, array.length, key);
+	}
+
+	/**
+	 * Returns the upper bound of a key in the sorted range {@code [from, to)} of
+	 * an array: the index of the first element which is greater than the key.
+	 * @param array - array to search
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param key - key to search for
+	 * @return the upper bound of {@code key}, or {@code to} if every element of
+	 * the range is less or equal
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static int upperBound(final int[] array, final int from, final int to,
+			final int key) throws IndexOutOfBoundsException, NullPointerException {
+		ArraySlice.checkRange(array.length, from, to);
+		if(from == to) {
+			return from;
+		}
+		int base = from;
+		for(int length = to - from; length > 1;) {
+			final int half = length >>> 1;
+			base = array[base + half - 1] <= key ? base + half : base;
+			length -= half;
+		}
+		return array[base] <= key ? base + 1 : base;
+	}
+
+	/**
+	 * Returns the upper bounds of many keys in a sorted array. The keys need not
+	 * be sorted.
+	 * @param array - sorted array to search
+	 * @param keys - keys to search for
+	 * @return a new array holding the upper bound of every key, in the order of
+	 * the keys
+	 * @throws NullPointerException if {@code array} or {@code keys} is
+	 * {@code null}
+	 * @see #upperBound(int[], int)
+	 */
+	public static int[] upperBound(final int[] array, final int[] keys)
+			throws NullPointerException {
+		Objects.requireNonNull(array);
+		final int[] bounds = new int[keys.length];
+		ParallelRanges.forEach(keys.length, (from, to) ->
+				upperBounds(array, keys, bounds, from, to));
+		return bounds;
+	}
+
+	// Searches the keys of a range in groups which run in lock step
+	private static void lowerBounds(final int[] array, final int[] keys,
+			final int[] bounds, final int from, final int to) {
+		final int[] bases = new int[INTERLEAVE];
+		for(int i = from; i < to; i += INTERLEAVE) {
+			final int count = Math.min(INTERLEAVE, to - i);
+			if(0 == array.length) {
+				Arrays.fill(bounds, i, i + count, 0);
+				continue;
+			}
+			Arrays.fill(bases, 0);
+			for(int length = array.length; length > 1;) {
+				final int half = length >>> 1;
+				for(int j = 0; j < count; j++) {
+					bases[j] = array[bases[j] + half - 1] < keys[i + j] ? bases[j] + half : bases[j];
+				}
+				length -= half;
+			}
+			for(int j = 0; j < count; j++) {
+				bounds[i + j] = array[bases[j]] < keys[i + j] ? bases[j] + 1 : bases[j];
+			}
+		}
+	}
+
+	// Searches the keys of a range in groups which run in lock step
+	private static void upperBounds(final int[] array, final int[] keys,
+			final int[] bounds, final int from, final int to) {
+		final int[] bases = new int[INTERLEAVE];
+		for(int i = from; i < to; i += INTERLEAVE) {
+			final int count = Math.min(INTERLEAVE, to - i);
+			if(0 == array.length) {
+				Arrays.fill(bounds, i, i + count, 0);
+				continue;
+			}
+			Arrays.fill(bases, 0);
+			for(int length = array.length; length > 1;) {
+				final int half = length >>> 1;
+				for(int j = 0; j < count; j++) {
+					bases[j] = array[bases[j] + half - 1] <= keys[i + j] ? bases[j] + half : bases[j];
+				}
+				length -= half;
+			}
+			for(int j = 0; j < count; j++) {
+				bounds[i + j] = array[bases[j]] <= keys[i + j] ? bases[j] + 1 : bases[j];
+			}
+		}
+	}
+
+	/**
+	 * Returns the lower bound of a key in a sorted array: the index of the
+	 * first element which is not less than the key.
+	 * @param array - sorted array to search
+	 * @param key - key to search for
+	 * @return the lower bound of {@code key}, or {@code array.length} if every
+	 * element is less
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static int lowerBound(final long[] array, final long key)
+			throws NullPointerException {
+		return lowerBound(array, 0, array.length, key);
+	}
+
+	/**
+	 * Returns the lower bound of a key in the sorted range {@code [from, to)} of
+	 * an array: the index of the first element which is not less than the key.
+	 * @param array - array to search
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param key - key to search for
+	 * @return the lower bound of {@code key}, or {@code to} if every element of
+	 * the range is less
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static int lowerBound(final long[] array, final int from, final int to,
+			final long key) throws IndexOutOfBoundsException, NullPointerException {
+		ArraySlice.checkRange(array.length, from, to);
+		if(from == to) {
+			return from;
+		}
+		int base = from;
+		for(int length = to - from; length > 1;) {
+			final int half = length >>> 1;
+			base = array[base + half - 1] < key ? base + half : base;
+			length -= half;
+		}
+		return array[base] < key ? base + 1 : base;
+	}
+
+	/**
+	 * Returns the lower bounds of many keys in a sorted array. The keys need not
+	 * be sorted.
+	 * @param array - sorted array to search
+	 * @param keys - keys to search for
+	 * @return a new array holding the lower bound of every key, in the order of
+	 * the keys
+	 * @throws NullPointerException if {@code array} or {@code keys} is
+	 * {@code null}
+	 * @see #lowerBound(long[], long)
+	 */
+	public static int[] lowerBound(final long[] array, final long[] keys)
+			throws NullPointerException {
+		Objects.requireNonNull(array);
+		final int[] bounds = new int[keys.length];
+		ParallelRanges.forEach(keys.length, (from, to) ->
+				lowerBounds(array, keys, bounds, from, to));
+		return bounds;
+	}
+
+	/**
+	 * Returns the upper bound of a key in a sorted array: the index of the
+	 * first element which is greater than the key.
+	 * @param array - sorted array to search
+	 * @param key - key to search for
+	 * @return the upper bound of {@code key}, or {@code array.length} if every
+	 * element is less or equal
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static int upperBound(final long[] array, final long key)
+			throws NullPointerException {
+		return upperBound(array, 0, array.length, key);
+	}
+
+	/**
+	 * Returns the upper bound of a key in the sorted range {@code [from, to)} of
+	 * an array: the index of the first element which is greater than the key.
+	 * @param array - array to search
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param key - key to search for
+	 * @return the upper bound of {@code key}, or {@code to} if every element of
+	 * the range is less or equal
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static int upperBound(final long[] array, final int from, final int to,
+			final long key) throws IndexOutOfBoundsException, NullPointerException {
+		ArraySlice.checkRange(array.length, from, to);
+		if(from == to) {
+			return from;
+		}
+		int base = from;
+		for(int length = to - from; length > 1;) {
+			final int half = length >>> 1;
+			base = array[base + half - 1] <= key ? base + half : base;
+			length -= half;
+		}
+		return array[base] <= key ? base + 1 : base;
+	}
+
+	/**
+	 * Returns the upper bounds of many keys in a sorted array. The keys need not
+	 * be sorted.
+	 * @param array - sorted array to search
+	 * @param keys - keys to search for
+	 * @return a new array holding the upper bound of every key, in the order of
+	 * the keys
+	 * @throws NullPointerException if {@code array} or {@code keys} is
+	 * {@code null}
+	 * @see #upperBound(long[], long)
+	 */
+	public static int[] upperBound(final long[] array, final long[] keys)
+			throws NullPointerException {
+		Objects.requireNonNull(array);
+		final int[] bounds = new int[keys.length];
+		ParallelRanges.forEach(keys.length, (from, to) ->
+				upperBounds(array, keys, bounds, from, to));
+		return bounds;
+	}
+
+	// Searches the keys of a range in groups which run in lock step
+	private static void lowerBounds(final long[] array, final long[] keys,
+			final int[] bounds, final int from, final int to) {
+		final int[] bases = new int[INTERLEAVE];
+		for(int i = from; i < to; i += INTERLEAVE) {
+			final int count = Math.min(INTERLEAVE, to - i);
+			if(0 == array.length) {
+				Arrays.fill(bounds, i, i + count, 0);
+				continue;
+			}
+			Arrays.fill(bases, 0);
+			for(int length = array.length; length > 1;) {
+				final int half = length >>> 1;
+				for(int j = 0; j < count; j++) {
+					bases[j] = array[bases[j] + half - 1] < keys[i + j] ? bases[j] + half : bases[j];
+				}
+				length -= half;
+			}
+			for(int j = 0; j < count; j++) {
+				bounds[i + j] = array[bases[j]] < keys[i + j] ? bases[j] + 1 : bases[j];
+			}
+		}
+	}
+
+	// Searches the keys of a range in groups which run in lock step
+	private static void upperBounds(final long[] array, final long[] keys,
+			final int[] bounds, final int from, final int to) {
+		final int[] bases = new int[INTERLEAVE];
+		for(int i = from; i < to; i += INTERLEAVE) {
+			final int count = Math.min(INTERLEAVE, to - i);
+			if(0 == array.length) {
+				Arrays.fill(bounds, i, i + count, 0);
+				continue;
+			}
+			Arrays.fill(bases, 0);
+			for(int length = array.length; length > 1;) {
+				final int half = length >>> 1;
+				for(int j = 0; j < count; j++) {
+					bases[j] = array[bases[j] + half - 1] <= keys[i + j] ? bases[j] + half : bases[j];
+				}
+				length -= half;
+			}
+			for(int j = 0; j < count; j++) {
+				bounds[i + j] = array[bases[j]] <= keys[i + j] ? bases[j] + 1 : bases[j];
+			}
+		}
+	}
+
+	/**
+	 * Returns the lower bound of a key in a sorted array: the index of the
+	 * first element which is not less than the key.
+	 * @param array - sorted array to search
+	 * @param key - key to search for
+	 * @return the lower bound of {@code key}, or {@code array.length} if every
+	 * element is less
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static int lowerBound(final double[] array, final double key)
+			throws NullPointerException {
+		return lowerBound(array, 0, array.length, key);
+	}
+
+	/**
+	 * Returns the lower bound of a key in the sorted range {@code [from, to)} of
+	 * an array: the index of the first element which is not less than the key.
+	 * @param array - array to search
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param key - key to search for
+	 * @return the lower bound of {@code key}, or {@code to} if every element of
+	 * the range is less
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static int lowerBound(final double[] array, final int from, final int to,
+			final double key) throws IndexOutOfBoundsException, NullPointerException {
+		ArraySlice.checkRange(array.length, from, to);
+		if(from == to) {
+			return from;
+		}
+		final long k = sortable(key);
+		int base = from;
+		for(int length = to - from; length > 1;) {
+			final int half = length >>> 1;
+			base = sortable(array[base + half - 1]) < k ? base + half : base;
+			length -= half;
+		}
+		return sortable(array[base]) < k ? base + 1 : base;
+	}
+
+	/**
+	 * Returns the lower bounds of many keys in a sorted array. The keys need not
+	 * be sorted.
+	 * @param array - sorted array to search
+	 * @param keys - keys to search for
+	 * @return a new array holding the lower bound of every key, in the order of
+	 * the keys
+	 * @throws NullPointerException if {@code array} or {@code keys} is
+	 * {@code null}
+	 * @see #lowerBound(double[], double)
+	 */
+	public static int[] lowerBound(final double[] array, final double[] keys)
+			throws NullPointerException {
+		Objects.requireNonNull(array);
+		final int[] bounds = new int[keys.length];
+		ParallelRanges.forEach(keys.length, (from, to) ->
+				lowerBounds(array, keys, bounds, from, to));
+		return bounds;
+	}
+
+	/**
+	 * Returns the upper bound of a key in a sorted array: the index of the
+	 * first element which is greater than the key.
+	 * @param array - sorted array to search
+	 * @param key - key to search for
+	 * @return the upper bound of {@code key}, or {@code array.length} if every
+	 * element is less or equal
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static int upperBound(final double[] array, final double key)
+			throws NullPointerException {
+		return upperBound(array, 0, array.length, key);
+	}
+
+	/**
+	 * Returns the upper bound of a key in the sorted range {@code [from, to)} of
+	 * an array: the index of the first element which is greater than the key.
+	 * @param array - array to search
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param key - key to search for
+	 * @return the upper bound of {@code key}, or {@code to} if every element of
+	 * the range is less or equal
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static int upperBound(final double[] array, final int from, final int to,
+			final double key) throws IndexOutOfBoundsException, NullPointerException {
+		ArraySlice.checkRange(array.length, from, to);
+		if(from == to) {
+			return from;
+		}
+		final long k = sortable(key);
+		int base = from;
+		for(int length = to - from; length > 1;) {
+			final int half = length >>> 1;
+			base = sortable(array[base + half - 1]) <= k ? base + half : base;
+			length -= half;
+		}
+		return sortable(array[base]) <= k ? base + 1 : base;
+	}
+
+	/**
+	 * Returns the upper bounds of many keys in a sorted array. The keys need not
+	 * be sorted.
+	 * @param array - sorted array to search
+	 * @param keys - keys to search for
+	 * @return a new array holding the upper bound of every key, in the order of
+	 * the keys
+	 * @throws NullPointerException if {@code array} or {@code keys} is
+	 * {@code null}
+	 * @see #upperBound(double[], double)
+	 */
+	public static int[] upperBound(final double[] array, final double[] keys)
+			throws NullPointerException {
+		Objects.requireNonNull(array);
+		final int[] bounds = new int[keys.length];
+		ParallelRanges.forEach(keys.length, (from, to) ->
+				upperBounds(array, keys, bounds, from, to));
+		return bounds;
+	}
+
+	// Searches the keys of a range in groups which run in lock step
+	private static void lowerBounds(final double[] array, final double[] keys,
+			final int[] bounds, final int from, final int to) {
+		final int[] bases = new int[INTERLEAVE];
+		final long[] sortedKeys = new long[INTERLEAVE];
+		for(int i = from; i < to; i += INTERLEAVE) {
+			final int count = Math.min(INTERLEAVE, to - i);
+			if(0 == array.length) {
+				Arrays.fill(bounds, i, i + count, 0);
+				continue;
+			}
+			Arrays.fill(bases, 0);
+			for(int j = 0; j < count; j++) {
+				sortedKeys[j] = sortable(keys[i + j]);
+			}
+			for(int length = array.length; length > 1;) {
+				final int half = length >>> 1;
+				for(int j = 0; j < count; j++) {
+					bases[j] = sortable(array[bases[j] + half - 1]) < sortedKeys[j]
+							? bases[j] + half : bases[j];
+				}
+				length -= half;
+			}
+			for(int j = 0; j < count; j++) {
+				bounds[i + j] = sortable(array[bases[j]]) < sortedKeys[j] ? bases[j] + 1 : bases[j];
+			}
+		}
+	}
+
+	// Searches the keys of a range in groups which run in lock step
+	private static void upperBounds(final double[] array, final double[] keys,
+			final int[] bounds, final int from, final int to) {
+		final int[] bases = new int[INTERLEAVE];
+		final long[] sortedKeys = new long[INTERLEAVE];
+		for(int i = from; i < to; i += INTERLEAVE) {
+			final int count = Math.min(INTERLEAVE, to - i);
+			if(0 == array.length) {
+				Arrays.fill(bounds, i, i + count, 0);
+				continue;
+			}
+			Arrays.fill(bases, 0);
+			for(int j = 0; j < count; j++) {
+				sortedKeys[j] = sortable(keys[i + j]);
+			}
+			for(int length = array.length; length > 1;) {
+				final int half = length >>> 1;
+				for(int j = 0; j < count; j++) {
+					bases[j] = sortable(array[bases[j] + half - 1]) <= sortedKeys[j]
+							? bases[j] + half : bases[j];
+				}
+				length -= half;
+			}
+			for(int j = 0; j < count; j++) {
+				bounds[i + j] = sortable(array[bases[j]]) <= sortedKeys[j] ? bases[j] + 1 : bases[j];
+			}
+		}
+	}
+
+	/**
+	 * Maps a {@code double} to a {@code long} with the same order as
+	 * {@link Double#compare}. Every NaN maps to the same value.
+	 * @param value - value to map
+	 * @return a {@code long} ordered as {@code value}
+	 */
+	static long sortable(final double value) {
+		final long bits = Double.doubleToLongBits(value);
+		return bits ^ (bits >> 63 & Long.MAX_VALUE);
+	}
+
+}
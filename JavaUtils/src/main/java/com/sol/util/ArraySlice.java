@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+/**
+ * Abstract base class for the slices of this package, such as
+ * {@link IntSlice}. A slice is a window of a fixed offset and length over a
+ * backing array. Nothing is copied when a slice is created, or when a slice
+ * is cut from another slice, and writes through a slice go to the backing
+ * array.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+public abstract class ArraySlice {
+
+	/**
+	 * Index of the first element of this slice in the backing array.
+	 */
+	final int offset;
+
+	/**
+	 * Number of elements in this slice.
+	 */
+	final int length;
+
+	/**
+	 * Constructs a slice over the range {@code [from, to)} of a backing array.
+	 * @param arrayLength - length of the backing array
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	ArraySlice(final int arrayLength, final int from, final int to)
+			throws IndexOutOfBoundsException {
+		checkRange(arrayLength, from, to);
+		this.offset = from;
+		this.length = to - from;
+	}
+
+	/**
+	 * Returns the number of elements in this slice.
+	 * @return the number of elements in this slice
+	 */
+	public final int length() {
+		return length;
+	}
+
+	/**
+	 * Tells whether this slice has no elements.
+	 * @return true if and only if this slice has no elements
+	 */
+	public final boolean isEmpty() {
+		return 0 == length;
+	}
+
+	/**
+	 * Returns the index of the first element of this slice in its backing
+	 * array.
+	 * @return the index of the first element in the backing array
+	 */
+	public final int offset() {
+		return offset;
+	}
+
+	/**
+	 * Returns the index in the backing array of an element of this slice.
+	 * @param index - index of the element in this slice
+	 * @return the index of the element in the backing array
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	final int arrayIndex(final int index) throws IndexOutOfBoundsException {
+		if(index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + index + ", Length: " + length);
+		}
+		return offset + index;
+	}
+
+	/**
+	 * Checks that {@code [from, to)} is a range of an array of the given
+	 * length.
+	 * @param arrayLength - length of the array
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	static void checkRange(final int arrayLength, final int from, final int to)
+			throws IndexOutOfBoundsException {
+		if(from < 0 || from > to || to > arrayLength) {
+			throw new IndexOutOfBoundsException("Range [" + from + ", " + to
+					+ ") out of bounds for length " + arrayLength);
+		}
+	}
+
+}
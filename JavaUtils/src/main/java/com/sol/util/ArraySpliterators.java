@@ -0,0 +1,688 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Spliterators which box or unbox the elements of an array range as they are
+ * consumed, rather than converting the whole range up front. They report
+ * {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED} and
+ * {@link Spliterator#ORDERED}, and split a range in halves, so parallel
+ * streams over them balance well.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+final class ArraySpliterators {
+
+	/*
+	 * Characteristics of the boxing spliterators.
+	 */
+	private static final int BOXING_CHARACTERISTICS = Spliterator.SIZED
+			| Spliterator.SUBSIZED | Spliterator.ORDERED | Spliterator.NONNULL;
+
+	/*
+	 * Characteristics of the unboxing spliterators.
+	 */
+	private static final int UNBOXING_CHARACTERISTICS = Spliterator.SIZED
+			| Spliterator.SUBSIZED | Spliterator.ORDERED;
+
+	// Constructor. Class ArraySpliterators is not instantiable.
+	private ArraySpliterators() { }
+
+	/**
+	 * The range of a spliterator: the index of its next element, and the
+	 * index past its last element.
+	 */
+	private abstract static class Range {
+		int index;
+		final int fence;
+
+		Range(final int index, final int fence) {
+			this.index = index;
+			this.fence = fence;
+		}
+
+		public final long estimateSize() {
+			return fence - index;
+		}
+
+		// Moves the index to the middle and returns the old index, or -1 if
+		// the range is too short to split
+		final int split() {
+			final int low = index;
+			final int middle = (low + fence) >>> 1;
+			if(low >= middle) {
+				return -1;
+			}
+			index = middle;
+			return low;
+		}
+	}
+
+	/**
+	 * Returns a spliterator boxing the elements of the range
+	 * {@code [from, to)} of an array as they are consumed.
+	 * @param array - array of the elements
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a spliterator over the boxed elements
+	 */
+	static Spliterator<Boolean> boxing(final boolean[] array, final int from,
+			final int to) {
+		return new BoxedBooleanSpliterator(array, from, to);
+	}
+
+	/**
+	 * Returns a spliterator boxing the elements of the range
+	 * {@code [from, to)} of an array as they are consumed.
+	 * @param array - array of the elements
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a spliterator over the boxed elements
+	 */
+	static Spliterator<Byte> boxing(final byte[] array, final int from,
+			final int to) {
+		return new BoxedByteSpliterator(array, from, to);
+	}
+
+	/**
+	 * Returns a spliterator boxing the elements of the range
+	 * {@code [from, to)} of an array as they are consumed.
+	 * @param array - array of the elements
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a spliterator over the boxed elements
+	 */
+	static Spliterator<Short> boxing(final short[] array, final int from,
+			final int to) {
+		return new BoxedShortSpliterator(array, from, to);
+	}
+
+	/**
+	 * Returns a spliterator boxing the elements of the range
+	 * {@code [from, to)} of an array as they are consumed.
+	 * @param array - array of the elements
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a spliterator over the boxed elements
+	 */
+	static Spliterator<Character> boxing(final char[] array, final int from,
+			final int to) {
+		return new BoxedCharSpliterator(array, from, to);
+	}
+
+	/**
+	 * Returns a spliterator boxing the elements of the range
+	 * {@code [from, to)} of an array as they are consumed.
+	 * @param array - array of the elements
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a spliterator over the boxed elements
+	 */
+	static Spliterator<Integer> boxing(final int[] array, final int from,
+			final int to) {
+		return new BoxedIntSpliterator(array, from, to);
+	}
+
+	/**
+	 * Returns a spliterator boxing the elements of the range
+	 * {@code [from, to)} of an array as they are consumed.
+	 * @param array - array of the elements
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a spliterator over the boxed elements
+	 */
+	static Spliterator<Long> boxing(final long[] array, final int from,
+			final int to) {
+		return new BoxedLongSpliterator(array, from, to);
+	}
+
+	/**
+	 * Returns a spliterator boxing the elements of the range
+	 * {@code [from, to)} of an array as they are consumed.
+	 * @param array - array of the elements
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a spliterator over the boxed elements
+	 */
+	static Spliterator<Float> boxing(final float[] array, final int from,
+			final int to) {
+		return new BoxedFloatSpliterator(array, from, to);
+	}
+
+	/**
+	 * Returns a spliterator boxing the elements of the range
+	 * {@code [from, to)} of an array as they are consumed.
+	 * @param array - array of the elements
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a spliterator over the boxed elements
+	 */
+	static Spliterator<Double> boxing(final double[] array, final int from,
+			final int to) {
+		return new BoxedDoubleSpliterator(array, from, to);
+	}
+
+	/**
+	 * Returns a spliterator unboxing the elements of the range
+	 * {@code [from, to)} of an array as they are consumed. A null element
+	 * throws {@link NullPointerException} when it is consumed.
+	 * @param array - array of the elements
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a spliterator over the unboxed elements
+	 */
+	static Spliterator.OfInt unboxing(final Integer[] array, final int from,
+			final int to) {
+		return new UnboxedIntSpliterator(array, from, to);
+	}
+
+	/**
+	 * Returns a spliterator unboxing the elements of the range
+	 * {@code [from, to)} of an array as they are consumed. A null element
+	 * throws {@link NullPointerException} when it is consumed.
+	 * @param array - array of the elements
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a spliterator over the unboxed elements
+	 */
+	static Spliterator.OfLong unboxing(final Long[] array, final int from,
+			final int to) {
+		return new UnboxedLongSpliterator(array, from, to);
+	}
+
+	/**
+	 * Returns a spliterator unboxing the elements of the range
+	 * {@code [from, to)} of an array as they are consumed. A null element
+	 * throws {@link NullPointerException} when it is consumed.
+	 * @param array - array of the elements
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a spliterator over the unboxed elements
+	 */
+	static Spliterator.OfDouble unboxing(final Double[] array, final int from,
+			final int to) {
+		return new UnboxedDoubleSpliterator(array, from, to);
+	}
+
+	/*
+	 * Boxes the elements of a boolean array range.
+	 */
+	private static final class BoxedBooleanSpliterator extends Range
+			implements Spliterator<Boolean> {
+		private final boolean[] array;
+
+		BoxedBooleanSpliterator(final boolean[] array, final int from, final int to) {
+			super(from, to);
+			this.array = array;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super Boolean> action) {
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(Boolean.valueOf(array[index++]));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super Boolean> action) {
+			final int end = fence;
+			for(int i = index; i < end; i++) {
+				action.accept(Boolean.valueOf(array[i]));
+			}
+			index = end;
+		}
+
+		@Override
+		public Spliterator<Boolean> trySplit() {
+			final int low = split();
+			return low < 0 ? null : new BoxedBooleanSpliterator(array, low, index);
+		}
+
+		@Override
+		public int characteristics() {
+			return BOXING_CHARACTERISTICS;
+		}
+	}
+
+	/*
+	 * Boxes the elements of a byte array range.
+	 */
+	private static final class BoxedByteSpliterator extends Range
+			implements Spliterator<Byte> {
+		private final byte[] array;
+
+		BoxedByteSpliterator(final byte[] array, final int from, final int to) {
+			super(from, to);
+			this.array = array;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super Byte> action) {
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(Byte.valueOf(array[index++]));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super Byte> action) {
+			final int end = fence;
+			for(int i = index; i < end; i++) {
+				action.accept(Byte.valueOf(array[i]));
+			}
+			index = end;
+		}
+
+		@Override
+		public Spliterator<Byte> trySplit() {
+			final int low = split();
+			return low < 0 ? null : new BoxedByteSpliterator(array, low, index);
+		}
+
+		@Override
+		public int characteristics() {
+			return BOXING_CHARACTERISTICS;
+		}
+	}
+
+	/*
+	 * Boxes the elements of a short array range.
+	 */
+	private static final class BoxedShortSpliterator extends Range
+			implements Spliterator<Short> {
+		private final short[] array;
+
+		BoxedShortSpliterator(final short[] array, final int from, final int to) {
+			super(from, to);
+			this.array = array;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super Short> action) {
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(Short.valueOf(array[index++]));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super Short> action) {
+			final int end = fence;
+			for(int i = index; i < end; i++) {
+				action.accept(Short.valueOf(array[i]));
+			}
+			index = end;
+		}
+
+		@Override
+		public Spliterator<Short> trySplit() {
+			final int low = split();
+			return low < 0 ? null : new BoxedShortSpliterator(array, low, index);
+		}
+
+		@Override
+		public int characteristics() {
+			return BOXING_CHARACTERISTICS;
+		}
+	}
+
+	/*
+	 * Boxes the elements of a char array range.
+	 */
+	private static final class BoxedCharSpliterator extends Range
+			implements Spliterator<Character> {
+		private final char[] array;
+
+		BoxedCharSpliterator(final char[] array, final int from, final int to) {
+			super(from, to);
+			this.array = array;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super Character> action) {
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(Character.valueOf(array[index++]));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super Character> action) {
+			final int end = fence;
+			for(int i = index; i < end; i++) {
+				action.accept(Character.valueOf(array[i]));
+			}
+			index = end;
+		}
+
+		@Override
+		public Spliterator<Character> trySplit() {
+			final int low = split();
+			return low < 0 ? null : new BoxedCharSpliterator(array, low, index);
+		}
+
+		@Override
+		public int characteristics() {
+			return BOXING_CHARACTERISTICS;
+		}
+	}
+
+	/*
+	 * Boxes the elements of a int array range.
+	 */
+	private static final class BoxedIntSpliterator extends Range
+			implements Spliterator<Integer> {
+		private final int[] array;
+
+		BoxedIntSpliterator(final int[] array, final int from, final int to) {
+			super(from, to);
+			this.array = array;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super Integer> action) {
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(Integer.valueOf(array[index++]));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super Integer> action) {
+			final int end = fence;
+			for(int i = index; i < end; i++) {
+				action.accept(Integer.valueOf(array[i]));
+			}
+			index = end;
+		}
+
+		@Override
+		public Spliterator<Integer> trySplit() {
+			final int low = split();
+			return low < 0 ? null : new BoxedIntSpliterator(array, low, index);
+		}
+
+		@Override
+		public int characteristics() {
+			return BOXING_CHARACTERISTICS;
+		}
+	}
+
+	/*
+	 * Boxes the elements of a long array range.
+	 */
+	private static final class BoxedLongSpliterator extends Range
+			implements Spliterator<Long> {
+		private final long[] array;
+
+		BoxedLongSpliterator(final long[] array, final int from, final int to) {
+			super(from, to);
+			this.array = array;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super Long> action) {
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(Long.valueOf(array[index++]));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super Long> action) {
+			final int end = fence;
+			for(int i = index; i < end; i++) {
+				action.accept(Long.valueOf(array[i]));
+			}
+			index = end;
+		}
+
+		@Override
+		public Spliterator<Long> trySplit() {
+			final int low = split();
+			return low < 0 ? null : new BoxedLongSpliterator(array, low, index);
+		}
+
+		@Override
+		public int characteristics() {
+			return BOXING_CHARACTERISTICS;
+		}
+	}
+
+	/*
+	 * Boxes the elements of a float array range.
+	 */
+	private static final class BoxedFloatSpliterator extends Range
+			implements Spliterator<Float> {
+		private final float[] array;
+
+		BoxedFloatSpliterator(final float[] array, final int from, final int to) {
+			super(from, to);
+			this.array = array;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super Float> action) {
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(Float.valueOf(array[index++]));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super Float> action) {
+			final int end = fence;
+			for(int i = index; i < end; i++) {
+				action.accept(Float.valueOf(array[i]));
+			}
+			index = end;
+		}
+
+		@Override
+		public Spliterator<Float> trySplit() {
+			final int low = split();
+			return low < 0 ? null : new BoxedFloatSpliterator(array, low, index);
+		}
+
+		@Override
+		public int characteristics() {
+			return BOXING_CHARACTERISTICS;
+		}
+	}
+
+	/*
+	 * Boxes the elements of a double array range.
+	 */
+	private static final class BoxedDoubleSpliterator extends Range
+			implements Spliterator<Double> {
+		private final double[] array;
+
+		BoxedDoubleSpliterator(final double[] array, final int from, final int to) {
+			super(from, to);
+			this.array = array;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super Double> action) {
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(Double.valueOf(array[index++]));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super Double> action) {
+			final int end = fence;
+			for(int i = index; i < end; i++) {
+				action.accept(Double.valueOf(array[i]));
+			}
+			index = end;
+		}
+
+		@Override
+		public Spliterator<Double> trySplit() {
+			final int low = split();
+			return low < 0 ? null : new BoxedDoubleSpliterator(array, low, index);
+		}
+
+		@Override
+		public int characteristics() {
+			return BOXING_CHARACTERISTICS;
+		}
+	}
+
+	/*
+	 * Unboxes the elements of a Integer array range.
+	 */
+	private static final class UnboxedIntSpliterator extends Range
+			implements Spliterator.OfInt {
+		private final Integer[] array;
+
+		UnboxedIntSpliterator(final Integer[] array, final int from, final int to) {
+			super(from, to);
+			this.array = array;
+		}
+
+		@Override
+		public boolean tryAdvance(final IntConsumer action) {
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(array[index++].intValue());
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final IntConsumer action) {
+			final int end = fence;
+			for(int i = index; i < end; i++) {
+				action.accept(array[i].intValue());
+			}
+			index = end;
+		}
+
+		@Override
+		public Spliterator.OfInt trySplit() {
+			final int low = split();
+			return low < 0 ? null : new UnboxedIntSpliterator(array, low, index);
+		}
+
+		@Override
+		public int characteristics() {
+			return UNBOXING_CHARACTERISTICS;
+		}
+	}
+
+	/*
+	 * Unboxes the elements of a Long array range.
+	 */
+	private static final class UnboxedLongSpliterator extends Range
+			implements Spliterator.OfLong {
+		private final Long[] array;
+
+		UnboxedLongSpliterator(final Long[] array, final int from, final int to) {
+			super(from, to);
+			this.array = array;
+		}
+
+		@Override
+		public boolean tryAdvance(final LongConsumer action) {
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(array[index++].longValue());
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final LongConsumer action) {
+			final int end = fence;
+			for(int i = index; i < end; i++) {
+				action.accept(array[i].longValue());
+			}
+			index = end;
+		}
+
+		@Override
+		public Spliterator.OfLong trySplit() {
+			final int low = split();
+			return low < 0 ? null : new UnboxedLongSpliterator(array, low, index);
+		}
+
+		@Override
+		public int characteristics() {
+			return UNBOXING_CHARACTERISTICS;
+		}
+	}
+
+	/*
+	 * Unboxes the elements of a Double array range.
+	 */
+	private static final class UnboxedDoubleSpliterator extends Range
+			implements Spliterator.OfDouble {
+		private final Double[] array;
+
+		UnboxedDoubleSpliterator(final Double[] array, final int from, final int to) {
+			super(from, to);
+			this.array = array;
+		}
+
+		@Override
+		public boolean tryAdvance(final DoubleConsumer action) {
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(array[index++].doubleValue());
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final DoubleConsumer action) {
+			final int end = fence;
+			for(int i = index; i < end; i++) {
+				action.accept(array[i].doubleValue());
+			}
+			index = end;
+		}
+
+		@Override
+		public Spliterator.OfDouble trySplit() {
+			final int low = split();
+			return low < 0 ? null : new UnboxedDoubleSpliterator(array, low, index);
+		}
+
+		@Override
+		public int characteristics() {
+			return UNBOXING_CHARACTERISTICS;
+		}
+	}
+
+}
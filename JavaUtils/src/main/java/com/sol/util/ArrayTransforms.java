@@ -0,0 +1,705 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * The bulk transforms of this package: map, filter, prefix sums and
+ * reductions over a range of a primitive array. Every transform runs through
+ * {@link ParallelRanges}: as a plain loop for short ranges, and as fork-join
+ * passes over chunks for long ones.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+final class ArrayTransforms {
+
+	// Constructor. Class ArrayTransforms is not instantiable.
+	private ArrayTransforms() { }
+
+	/**
+	 * Applies an operator to every element of the range {@code [from, to)}
+	 * of an {@code int} array.
+	 * @param array - array to map
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param operator - operator to apply
+	 * @return a new array holding the results, in the order of the range
+	 */
+	static int[] map(final int[] array, final int from, final int to,
+			final IntUnaryOperator operator) {
+		final int[] newArray = new int[to - from];
+		ParallelRanges.forEach(newArray.length, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = operator.applyAsInt(array[from + i]);
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Replaces every element of the range {@code [from, to)} of an
+	 * {@code int} array with the result of an operator.
+	 * @param array - array to map
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param operator - operator to apply
+	 */
+	static void mapInPlace(final int[] array, final int from, final int to,
+			final IntUnaryOperator operator) {
+		ParallelRanges.forEach(to - from, (start, end) -> {
+			for(int i = from + start; i < from + end; i++) {
+				array[i] = operator.applyAsInt(array[i]);
+			}
+		});
+	}
+
+	/**
+	 * Returns the elements of the range {@code [from, to)} of an
+	 * {@code int} array which match a predicate. Every chunk first packs its
+	 * matches into a scratch array; the chunk counts are then scanned into
+	 * offsets, and the packed chunks are copied to their offsets.
+	 * @param array - array to filter
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param predicate - predicate to test the elements with
+	 * @return a new array holding the matching elements in the same order
+	 */
+	static int[] filter(final int[] array, final int from, final int to,
+			final IntPredicate predicate) {
+		final int length = to - from;
+		final int chunks = ParallelRanges.chunkCount(length);
+		final int[] scratch = new int[length];
+		final int[] counts = new int[chunks + 1];
+
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+			int count = start;
+			for(int i = start; i < end; i++) {
+				if(predicate.test(array[from + i])) {
+					scratch[count++] = array[from + i];
+				}
+			}
+			counts[chunk + 1] = count - start;
+		});
+		if(1 == chunks) {
+			return Arrays.copyOf(scratch, counts[1]);
+		}
+
+		for(int i = 0; i < chunks; i++) {
+			counts[i + 1] += counts[i];
+		}
+		final int[] newArray = new int[counts[chunks]];
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) ->
+				System.arraycopy(scratch, start, newArray, counts[chunk],
+						counts[chunk + 1] - counts[chunk]));
+		return newArray;
+	}
+
+	/**
+	 * Replaces every element of the range {@code [from, to)} of an
+	 * {@code int} array with the sum of the elements up to and including it.
+	 * Long ranges are summed in two parallel passes: the first sums every
+	 * chunk, and the second adds the sums of the preceding chunks to the
+	 * running sums of every chunk.
+	 * @param array - array to sum
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 */
+	static void inclusivePrefixSum(final int[] array, final int from, final int to) {
+		prefixSum(array, from, to, true);
+	}
+
+	/**
+	 * Replaces every element of the range {@code [from, to)} of an
+	 * {@code int} array with the sum of the elements before it.
+	 * @param array - array to sum
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return the sum of every element of the range
+	 */
+	static int exclusivePrefixSum(final int[] array, final int from, final int to) {
+		return prefixSum(array, from, to, false);
+	}
+
+	/**
+	 * Returns the least element of the range {@code [from, to)} of an
+	 * {@code int} array, as by {@link Math#min(int, int)}.
+	 * @param array - array to search
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return the least element, or an empty {@code OptionalInt} if the range is
+	 * empty
+	 */
+	static OptionalInt min(final int[] array, final int from, final int to) {
+		return extremum(array, from, to, true);
+	}
+
+	/**
+	 * Returns the greatest element of the range {@code [from, to)} of an
+	 * {@code int} array, as by {@link Math#max(int, int)}.
+	 * @param array - array to search
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return the greatest element, or an empty {@code OptionalInt} if the range is
+	 * empty
+	 */
+	static OptionalInt max(final int[] array, final int from, final int to) {
+		return extremum(array, from, to, false);
+	}
+
+	/**
+	 * Returns the sum of the elements of the range {@code [from, to)} of an
+	 * {@code int} array.
+	 * @param array - array to sum
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return the sum of the elements of the range
+	 */
+	static long sum(final int[] array, final int from, final int to) {
+		final int length = to - from;
+		final int chunks = ParallelRanges.chunkCount(length);
+		final long[] sums = new long[chunks];
+
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+			long sum = 0;
+			for(int i = from + start; i < from + end; i++) {
+				sum += array[i];
+			}
+			sums[chunk] = sum;
+		});
+		long sum = 0;
+		for(final long chunkSum : sums) {
+			sum += chunkSum;
+		}
+		return sum;
+	}
+
+	// Inclusive or exclusive prefix sum, returning the total
+	private static int prefixSum(final int[] array, final int from, final int to,
+			final boolean inclusive) {
+		final int length = to - from;
+		final int chunks = ParallelRanges.chunkCount(length);
+		final int[] offsets = new int[chunks + 1];
+
+		if(chunks > 1) {
+			ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+				int sum = 0;
+				for(int i = from + start; i < from + end; i++) {
+					sum += array[i];
+				}
+				offsets[chunk + 1] = sum;
+			});
+			for(int i = 0; i < chunks; i++) {
+				offsets[i + 1] += offsets[i];
+			}
+		}
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+			int sum = offsets[chunk];
+			for(int i = from + start; i < from + end; i++) {
+				final int element = array[i];
+				if(inclusive) {
+					sum += element;
+					array[i] = sum;
+				} else {
+					array[i] = sum;
+					sum += element;
+				}
+			}
+			if(1 == chunks) {
+				offsets[1] = sum;
+			}
+		});
+		return offsets[chunks];
+	}
+
+	// Least or greatest element of a range
+	private static OptionalInt extremum(final int[] array, final int from, final int to,
+			final boolean least) {
+		final int length = to - from;
+		if(0 == length) {
+			return OptionalInt.empty();
+		}
+		final int chunks = ParallelRanges.chunkCount(length);
+		final int[] extrema = new int[chunks];
+
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+			int extremum = array[from + start];
+			for(int i = from + start + 1; i < from + end; i++) {
+				extremum = least ? Math.min(extremum, array[i])
+						: Math.max(extremum, array[i]);
+			}
+			extrema[chunk] = extremum;
+		});
+		int extremum = extrema[0];
+		for(int i = 1; i < chunks; i++) {
+			extremum = least ? Math.min(extremum, extrema[i])
+					: Math.max(extremum, extrema[i]);
+		}
+		return OptionalInt.of(extremum);
+	}
+
+	/**
+	 * Applies an operator to every element of the range {@code [from, to)}
+	 * of a {@code long} array.
+	 * @param array - array to map
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param operator - operator to apply
+	 * @return a new array holding the results, in the order of the range
+	 */
+	static long[] map(final long[] array, final int from, final int to,
+			final LongUnaryOperator operator) {
+		final long[] newArray = new long[to - from];
+		ParallelRanges.forEach(newArray.length, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = operator.applyAsLong(array[from + i]);
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Replaces every element of the range {@code [from, to)} of a
+	 * {@code long} array with the result of an operator.
+	 * @param array - array to map
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param operator - operator to apply
+	 */
+	static void mapInPlace(final long[] array, final int from, final int to,
+			final LongUnaryOperator operator) {
+		ParallelRanges.forEach(to - from, (start, end) -> {
+			for(int i = from + start; i < from + end; i++) {
+				array[i] = operator.applyAsLong(array[i]);
+			}
+		});
+	}
+
+	/**
+	 * Returns the elements of the range {@code [from, to)} of a
+	 * {@code long} array which match a predicate. Every chunk first packs its
+	 * matches into a scratch array; the chunk counts are then scanned into
+	 * offsets, and the packed chunks are copied to their offsets.
+	 * @param array - array to filter
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param predicate - predicate to test the elements with
+	 * @return a new array holding the matching elements in the same order
+	 */
+	static long[] filter(final long[] array, final int from, final int to,
+			final LongPredicate predicate) {
+		final int length = to - from;
+		final int chunks = ParallelRanges.chunkCount(length);
+		final long[] scratch = new long[length];
+		final int[] counts = new int[chunks + 1];
+
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+			int count = start;
+			for(int i = start; i < end; i++) {
+				if(predicate.test(array[from + i])) {
+					scratch[count++] = array[from + i];
+				}
+			}
+			counts[chunk + 1] = count - start;
+		});
+		if(1 == chunks) {
+			return Arrays.copyOf(scratch, counts[1]);
+		}
+
+		for(int i = 0; i < chunks; i++) {
+			counts[i + 1] += counts[i];
+		}
+		final long[] newArray = new long[counts[chunks]];
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) ->
+				System.arraycopy(scratch, start, newArray, counts[chunk],
+						counts[chunk + 1] - counts[chunk]));
+		return newArray;
+	}
+
+	/**
+	 * Replaces every element of the range {@code [from, to)} of a
+	 * {@code long} array with the sum of the elements up to and including it.
+	 * Long ranges are summed in two parallel passes: the first sums every
+	 * chunk, and the second adds the sums of the preceding chunks to the
+	 * running sums of every chunk.
+	 * @param array - array to sum
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 */
+	static void inclusivePrefixSum(final long[] array, final int from, final int to) {
+		prefixSum(array, from, to, true);
+	}
+
+	/**
+	 * Replaces every element of the range {@code [from, to)} of a
+	 * {@code long} array with the sum of the elements before it.
+	 * @param array - array to sum
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return the sum of every element of the range
+	 */
+	static long exclusivePrefixSum(final long[] array, final int from, final int to) {
+		return prefixSum(array, from, to, false);
+	}
+
+	/**
+	 * Returns the least element of the range {@code [from, to)} of a
+	 * {@code long} array, as by {@link Math#min(long, long)}.
+	 * @param array - array to search
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return the least element, or an empty {@code OptionalLong} if the range is
+	 * empty
+	 */
+	static OptionalLong min(final long[] array, final int from, final int to) {
+		return extremum(array, from, to, true);
+	}
+
+	/**
+	 * Returns the greatest element of the range {@code [from, to)} of a
+	 * {@code long} array, as by {@link Math#max(long, long)}.
+	 * @param array - array to search
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return the greatest element, or an empty {@code OptionalLong} if the range is
+	 * empty
+	 */
+	static OptionalLong max(final long[] array, final int from, final int to) {
+		return extremum(array, from, to, false);
+	}
+
+	/**
+	 * Returns the sum of the elements of the range {@code [from, to)} of a
+	 * {@code long} array.
+	 * @param array - array to sum
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return the sum of the elements of the range
+	 */
+	static long sum(final long[] array, final int from, final int to) {
+		final int length = to - from;
+		final int chunks = ParallelRanges.chunkCount(length);
+		final long[] sums = new long[chunks];
+
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+			long sum = 0;
+			for(int i = from + start; i < from + end; i++) {
+				sum += array[i];
+			}
+			sums[chunk] = sum;
+		});
+		long sum = 0;
+		for(final long chunkSum : sums) {
+			sum += chunkSum;
+		}
+		return sum;
+	}
+
+	// Inclusive or exclusive prefix sum, returning the total
+	private static long prefixSum(final long[] array, final int from, final int to,
+			final boolean inclusive) {
+		final int length = to - from;
+		final int chunks = ParallelRanges.chunkCount(length);
+		final long[] offsets = new long[chunks + 1];
+
+		if(chunks > 1) {
+			ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+				long sum = 0;
+				for(int i = from + start; i < from + end; i++) {
+					sum += array[i];
+				}
+				offsets[chunk + 1] = sum;
+			});
+			for(int i = 0; i < chunks; i++) {
+				offsets[i + 1] += offsets[i];
+			}
+		}
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+			long sum = offsets[chunk];
+			for(int i = from + start; i < from + end; i++) {
+				final long element = array[i];
+				if(inclusive) {
+					sum += element;
+					array[i] = sum;
+				} else {
+					array[i] = sum;
+					sum += element;
+				}
+			}
+			if(1 == chunks) {
+				offsets[1] = sum;
+			}
+		});
+		return offsets[chunks];
+	}
+
+	// Least or greatest element of a range
+	private static OptionalLong extremum(final long[] array, final int from, final int to,
+			final boolean least) {
+		final int length = to - from;
+		if(0 == length) {
+			return OptionalLong.empty();
+		}
+		final int chunks = ParallelRanges.chunkCount(length);
+		final long[] extrema = new long[chunks];
+
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+			long extremum = array[from + start];
+			for(int i = from + start + 1; i < from + end; i++) {
+				extremum = least ? Math.min(extremum, array[i])
+						: Math.max(extremum, array[i]);
+			}
+			extrema[chunk] = extremum;
+		});
+		long extremum = extrema[0];
+		for(int i = 1; i < chunks; i++) {
+			extremum = least ? Math.min(extremum, extrema[i])
+					: Math.max(extremum, extrema[i]);
+		}
+		return OptionalLong.of(extremum);
+	}
+
+	/**
+	 * Applies an operator to every element of the range {@code [from, to)}
+	 * of a {@code double} array.
+	 * @param array - array to map
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param operator - operator to apply
+	 * @return a new array holding the results, in the order of the range
+	 */
+	static double[] map(final double[] array, final int from, final int to,
+			final DoubleUnaryOperator operator) {
+		final double[] newArray = new double[to - from];
+		ParallelRanges.forEach(newArray.length, (start, end) -> {
+			for(int i = start; i < end; i++) {
+				newArray[i] = operator.applyAsDouble(array[from + i]);
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Replaces every element of the range {@code [from, to)} of a
+	 * {@code double} array with the result of an operator.
+	 * @param array - array to map
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param operator - operator to apply
+	 */
+	static void mapInPlace(final double[] array, final int from, final int to,
+			final DoubleUnaryOperator operator) {
+		ParallelRanges.forEach(to - from, (start, end) -> {
+			for(int i = from + start; i < from + end; i++) {
+				array[i] = operator.applyAsDouble(array[i]);
+			}
+		});
+	}
+
+	/**
+	 * Returns the elements of the range {@code [from, to)} of a
+	 * {@code double} array which match a predicate. Every chunk first packs its
+	 * matches into a scratch array; the chunk counts are then scanned into
+	 * offsets, and the packed chunks are copied to their offsets.
+	 * @param array - array to filter
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param predicate - predicate to test the elements with
+	 * @return a new array holding the matching elements in the same order
+	 */
+	static double[] filter(final double[] array, final int from, final int to,
+			final DoublePredicate predicate) {
+		final int length = to - from;
+		final int chunks = ParallelRanges.chunkCount(length);
+		final double[] scratch = new double[length];
+		final int[] counts = new int[chunks + 1];
+
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+			int count = start;
+			for(int i = start; i < end; i++) {
+				if(predicate.test(array[from + i])) {
+					scratch[count++] = array[from + i];
+				}
+			}
+			counts[chunk + 1] = count - start;
+		});
+		if(1 == chunks) {
+			return Arrays.copyOf(scratch, counts[1]);
+		}
+
+		for(int i = 0; i < chunks; i++) {
+			counts[i + 1] += counts[i];
+		}
+		final double[] newArray = new double[counts[chunks]];
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) ->
+				System.arraycopy(scratch, start, newArray, counts[chunk],
+						counts[chunk + 1] - counts[chunk]));
+		return newArray;
+	}
+
+	/**
+	 * Replaces every element of the range {@code [from, to)} of a
+	 * {@code double} array with the sum of the elements up to and including it.
+	 * Long ranges are summed in two parallel passes: the first sums every
+	 * chunk, and the second adds the sums of the preceding chunks to the
+	 * running sums of every chunk.
+	 * @param array - array to sum
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 */
+	static void inclusivePrefixSum(final double[] array, final int from, final int to) {
+		prefixSum(array, from, to, true);
+	}
+
+	/**
+	 * Replaces every element of the range {@code [from, to)} of a
+	 * {@code double} array with the sum of the elements before it.
+	 * @param array - array to sum
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return the sum of every element of the range
+	 */
+	static double exclusivePrefixSum(final double[] array, final int from, final int to) {
+		return prefixSum(array, from, to, false);
+	}
+
+	/**
+	 * Returns the least element of the range {@code [from, to)} of a
+	 * {@code double} array, as by {@link Math#min(double, double)}.
+	 * @param array - array to search
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return the least element, or an empty {@code OptionalDouble} if the range is
+	 * empty
+	 */
+	static OptionalDouble min(final double[] array, final int from, final int to) {
+		return extremum(array, from, to, true);
+	}
+
+	/**
+	 * Returns the greatest element of the range {@code [from, to)} of a
+	 * {@code double} array, as by {@link Math#max(double, double)}.
+	 * @param array - array to search
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return the greatest element, or an empty {@code OptionalDouble} if the range is
+	 * empty
+	 */
+	static OptionalDouble max(final double[] array, final int from, final int to) {
+		return extremum(array, from, to, false);
+	}
+
+	/**
+	 * Returns the sum of the elements of the range {@code [from, to)} of a
+	 * {@code double} array.
+	 * @param array - array to sum
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return the sum of the elements of the range
+	 */
+	static double sum(final double[] array, final int from, final int to) {
+		final int length = to - from;
+		final int chunks = ParallelRanges.chunkCount(length);
+		final double[] sums = new double[chunks];
+
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+			double sum = 0;
+			for(int i = from + start; i < from + end; i++) {
+				sum += array[i];
+			}
+			sums[chunk] = sum;
+		});
+		double sum = 0;
+		for(final double chunkSum : sums) {
+			sum += chunkSum;
+		}
+		return sum;
+	}
+
+	// Inclusive or exclusive prefix sum, returning the total
+	private static double prefixSum(final double[] array, final int from, final int to,
+			final boolean inclusive) {
+		final int length = to - from;
+		final int chunks = ParallelRanges.chunkCount(length);
+		final double[] offsets = new double[chunks + 1];
+
+		if(chunks > 1) {
+			ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+				double sum = 0;
+				for(int i = from + start; i < from + end; i++) {
+					sum += array[i];
+				}
+				offsets[chunk + 1] = sum;
+			});
+			for(int i = 0; i < chunks; i++) {
+				offsets[i + 1] += offsets[i];
+			}
+		}
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+			double sum = offsets[chunk];
+			for(int i = from + start; i < from + end; i++) {
+				final double element = array[i];
+				if(inclusive) {
+					sum += element;
+					array[i] = sum;
+				} else {
+					array[i] = sum;
+					sum += element;
+				}
+			}
+			if(1 == chunks) {
+				offsets[1] = sum;
+			}
+		});
+		return offsets[chunks];
+	}
+
+	// Least or greatest element of a range
+	private static OptionalDouble extremum(final double[] array, final int from, final int to,
+			final boolean least) {
+		final int length = to - from;
+		if(0 == length) {
+			return OptionalDouble.empty();
+		}
+		final int chunks = ParallelRanges.chunkCount(length);
+		final double[] extrema = new double[chunks];
+
+		ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+			double extremum = array[from + start];
+			for(int i = from + start + 1; i < from + end; i++) {
+				extremum = least ? Math.min(extremum, array[i])
+						: Math.max(extremum, array[i]);
+			}
+			extrema[chunk] = extremum;
+		});
+		double extremum = extrema[0];
+		for(int i = 1; i < chunks; i++) {
+			extremum = least ? Math.min(extremum, extrema[i])
+					: Math.max(extremum, extrema[i]);
+		}
+		return OptionalDouble.of(extremum);
+	}
+
+}
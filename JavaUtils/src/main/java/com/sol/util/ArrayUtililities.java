@@ -15,11 +15,22 @@
  *******************************************************************************/
 package com.sol.util;
 
-import java.lang.reflect.Array;
-//import java.util.Arrays;
-//import java.util.Objects;
-//import java.util.stream.IntStream;
 import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A class for handling arrays.
@@ -60,7 +71,7 @@ public final class ArrayUtililities {
 			throws NegativeArraySizeException, NullPointerException {
 		/*
 		 * "Unneeded" but better to detect a negative size at this stage rather
-		 * than in Array.newInstance, since the whole class is a JNI wrapper 
+		 * than inside the cached allocator
 		 */		 
 		if(length < 0) {
 			throw new NegativeArraySizeException();
@@ -68,6 +79,60 @@ public final class ArrayUtililities {
 		return createArrayInstance(Objects.requireNonNull(array), length);
 	}
 
+	/**
+	 * Receives an array and creates a new big array with the same type as the
+	 * original array. Unlike {@link #getArrayInstance(Object[], int)}, the
+	 * length may exceed {@link Integer#MAX_VALUE}.
+	 * @param array - array used to get the class for the new array.
+	 * @param length - length for the new array.
+	 * @return A newly allocated big array with the same type as the input
+	 * array. Note that the new array is initialized with nulls.
+	 * @throws NegativeArraySizeException if {@code length} is negative
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see BigObjectArray
+	 */
+	public static <E> BigObjectArray<E> getBigArrayInstance(final E[] array,
+			final long length) throws NegativeArraySizeException, NullPointerException {
+		return new BigObjectArray<>(Objects.requireNonNull(array), length);
+	}
+
+	/**
+	 * Receives an array and returns an array with the same type as the
+	 * original array, recycled from a pool when one is available. Arrays are
+	 * pooled in power of two size classes, so the returned array is
+	 * {@code length} rounded up to the next power of two long. Arrays longer
+	 * than 65536 are not pooled; for them this method is the same as
+	 * {@link #getArrayInstance(Object[], int)}.
+	 * <p>
+	 * Each thread keeps a few arrays of every size class to itself, and
+	 * shares the rest with the other threads. An array should be handed back
+	 * with {@link #releaseArrayInstance(Object[])} once it is no longer used.
+	 * @param array - array used to get the class for the new array.
+	 * @param length - least length for the new array.
+	 * @return An array with the same type as the input array, at least
+	 * {@code length} long. Note that the array is initialized with nulls.
+	 * @throws NegativeArraySizeException if {@code length} is negative
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static <E> E[] getPooledArrayInstance(final E[] array, final int length)
+			throws NegativeArraySizeException, NullPointerException {
+		return ArrayPool.acquire(Objects.requireNonNull(array).getClass(), length);
+	}
+
+	/**
+	 * Hands an array back to the pool of
+	 * {@link #getPooledArrayInstance(Object[], int)}. Every element of the
+	 * array is set to null. The caller must not use the array afterwards, and
+	 * must not release it twice. Arrays which do not have a pooled length are
+	 * left to the garbage collector.
+	 * @param array - array to hand back to the pool
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static void releaseArrayInstance(final Object[] array)
+			throws NullPointerException {
+		ArrayPool.release(Objects.requireNonNull(array));
+	}
+
 	/**
 	 * Creates an array instance with the same class as the source array, with
 	 * length determined by the input.
@@ -82,768 +147,2413 @@ public final class ArrayUtililities {
 		assert null != array : "Array is null";
 		assert length >= 0 : "Array length is negative";
 
-		final Class<?> arrayComponentClass = array.getClass().getComponentType();
-
-		@SuppressWarnings("unchecked")
-		E[] newArray = (E[]) Array.newInstance(arrayComponentClass, length);
-
-		return newArray;		
-	}
-
-	//	/**
-	//	 * Returns an array of {@code Booleans} containing the same elements as
-	//	 * the original {@code boolean} array in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code boolean} array to wrap
-	//	 * @return new array of {@code Booleans} containing the same elements as
-	//	 * as the original {@code boolean} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Boolean[] ParallelToBoxedArray(final boolean[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Boolean[] newArray = new Boolean[array.length];
-	//
-	//		Arrays.parallelSetAll(newArray, index -> Boolean.valueOf(array[index]));
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Bytes} containing the same elements as
-	//	 * the original {@code byte} array in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code byte} array to wrap
-	//	 * @return new array of {@code Bytes} containing the same elements as
-	//	 * as the original {@code byte} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Byte[] ParallelToBoxedArray(final byte[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Byte[] newArray = new Byte[array.length];
-	//
-	//		Arrays.parallelSetAll(newArray, index -> Byte.valueOf(array[index]));
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Shorts} containing the same elements as
-	//	 * the original {@code short} array in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code short} array to wrap
-	//	 * @return new array of {@code Shorts} containing the same elements as
-	//	 * as the original {@code short} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Short[] ParallelToBoxedArray(final short[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Short[] newArray = new Short[array.length];
-	//
-	//		Arrays.parallelSetAll(newArray, index -> Short.valueOf(array[index]));
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Characters} containing the same elements as
-	//	 * the original {@code char} array in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code char} array to wrap
-	//	 * @return new array of {@code Characters} containing the same elements as
-	//	 * as the original {@code char} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Character[] ParallelToBoxedArray(final char[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Character[] newArray = new Character[array.length];
-	//
-	//		Arrays.parallelSetAll(newArray, index -> Character.valueOf(array[index]));
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Integers} containing the same elements as
-	//	 * the original {@code int} array in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code int} array to wrap
-	//	 * @return new array of {@code Integers} containing the same elements as
-	//	 * as the original {@code int} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Integer[] ParallelToBoxedArray(final int[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Integer[] newArray = new Integer[array.length];
-	//
-	//		Arrays.parallelSetAll(newArray, index -> Integer.valueOf(array[index]));
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Longs} containing the same elements as
-	//	 * the original {@code long} array in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code long} array to wrap
-	//	 * @return new array of {@code Longs} containing the same elements as
-	//	 * as the original {@code long} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Long[] ParallelToBoxedArray(final long[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Long[] newArray = new Long[array.length];
-	//
-	//		Arrays.parallelSetAll(newArray, index -> Long.valueOf(array[index]));
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Floats} containing the same elements as
-	//	 * the original {@code float} array in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code float} array to wrap
-	//	 * @return new array of {@code Floats} containing the same elements as
-	//	 * as the original {@code float} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Float[] ParallelToBoxedArray(final float[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Float[] newArray = new Float[array.length];
-	//
-	//		Arrays.parallelSetAll(newArray, index -> Float.valueOf(array[index]));
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Doubles} containing the same elements as
-	//	 * the original {@code double} array in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code double} array to wrap
-	//	 * @return new array of {@code Doubles} containing the same elements as
-	//	 * as the original {@code double} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Double[] ParallelToBoxedArray(final double[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Double[] newArray = new Double[array.length];
-	//
-	//		Arrays.parallelSetAll(newArray, index -> Double.valueOf(array[index]));
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Boolean} and returns a new array of {@code boolean}
-	//	 * containing the same values (unboxed) in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code Boolean} array to be unboxed
-	//	 * @return new array of primitive {@code boolean} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static boolean[] ParallelToPrimitiveArray(final Boolean[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		boolean[] newArray = new boolean[array.length];
-	//
-	//		IntStream.range(0, array.length).parallel()
-	//		.forEach(index -> newArray[index] = array[index].booleanValue());
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Byte} and returns a new array of {@code byte}
-	//	 * containing the same values (unboxed) in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code Byte} array to be unboxed
-	//	 * @return new array of primitive {@code byte} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static byte[] ParallelToPrimitiveArray(final Byte[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		byte[] newArray = new byte[array.length];
-	//
-	//		IntStream.range(0, array.length).parallel()
-	//		.forEach(index -> newArray[index] = array[index].byteValue());
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Short} and returns a new array of {@code short}
-	//	 * containing the same values (unboxed) in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code short} array to be unboxed
-	//	 * @return new array of primitive {@code short} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static short[] ParallelToPrimitiveArray(final Short[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		short[] newArray = new short[array.length];
-	//
-	//		IntStream.range(0, array.length).parallel()
-	//		.forEach(index -> newArray[index] = array[index].shortValue());
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Character} and returns a new array of {@code char}
-	//	 * containing the same values (unboxed) in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code Character} array to be unboxed
-	//	 * @return new array of primitive {@code char} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static char[] ParallelToPrimitiveArray(final Character[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		char[] newArray = new char[array.length];
-	//
-	//		IntStream.range(0, array.length).parallel()
-	//		.forEach(index -> newArray[index] = array[index].charValue());
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Integer} and returns a new array of {@code int}
-	//	 * containing the same values (unboxed) in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code Integer} array to be unboxed
-	//	 * @return new array of primitive {@code int} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static int[] ParallelToPrimitiveArray(final Integer[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		int[] newArray = new int[array.length];
-	//
-	//		Arrays.parallelSetAll(newArray, index -> array[index].intValue());
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Long} and returns a new array of {@code long}
-	//	 * containing the same values (unboxed) in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code Long} array to be unboxed
-	//	 * @return new array of primitive {@code long} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static long[] ParallelToPrimitiveArray(final Long[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		long[] newArray = new long[array.length];
-	//
-	//		Arrays.parallelSetAll(newArray, index -> array[index].longValue());
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Float} and returns a new array of {@code float}
-	//	 * containing the same values (unboxed) in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code Float} array to be unboxed
-	//	 * @return new array of primitive {@code float} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static float[] ParallelToPrimitiveArray(final Float[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		float[] newArray = new float[array.length];
-	//
-	//		IntStream.range(0, array.length).parallel()
-	//		.forEach(index -> newArray[index] = array[index].floatValue());
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Double} and returns a new array of {@code double}
-	//	 * containing the same values (unboxed) in the same order. The new array is
-	//	 * set in parallel
-	//	 * @param array - {@code Double} array to be unboxed
-	//	 * @return new array of primitive {@code double} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static double[] ParallelToPrimitiveArray(final Double[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		double[] newArray = new double[array.length];
-	//
-	//		Arrays.parallelSetAll(newArray, index -> array[index].doubleValue());
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Swap the contents of the two indexes.
-	//	 * @param array - array to have its indexes swapped
-	//	 * @param first - first index to swap
-	//	 * @param second - second index to swap
-	//	 */
-	//	public static void swap(final boolean[] array, final int first, final int second) {
-	//		boolean tmp = array[first];
-	//		array[first] = array[second];
-	//		array[second] = tmp;
-	//	}
-	//
-	//	/**
-	//	 * Swap the contents of the two indexes.
-	//	 * @param array - array to have its indexes swapped
-	//	 * @param first - first index to swap
-	//	 * @param second - second index to swap
-	//	 */
-	//	public static void swap(final byte[] array, final int first, final int second) {
-	//		byte tmp = array[first];
-	//		array[first] = array[second];
-	//		array[second] = tmp;
-	//	}
-	//
-	//	/**
-	//	 * Swap the contents of the two indexes.
-	//	 * @param array - array to have its indexes swapped
-	//	 * @param first - first index to swap
-	//	 * @param second - second index to swap
-	//	 */
-	//	public static void swap(final short[] array, final int first, final int second) {
-	//		short tmp = array[first];
-	//		array[first] = array[second];
-	//		array[second] = tmp;
-	//	}
-	//
-	//	/**
-	//	 * Swap the contents of the two indexes.
-	//	 * @param array - array to have its indexes swapped
-	//	 * @param first - first index to swap
-	//	 * @param second - second index to swap
-	//	 */
-	//	public static void swap(final char[] array, final int first, final int second) {
-	//		char tmp = array[first];
-	//		array[first] = array[second];
-	//		array[second] = tmp;
-	//	}
-	//
-	//	/**
-	//	 * Swap the contents of the two indexes.
-	//	 * @param array - array to have its indexes swapped
-	//	 * @param first - first index to swap
-	//	 * @param second - second index to swap
-	//	 */
-	//	public static void swap(final int[] array, final int first, final int second) {
-	//		int tmp = array[first];
-	//		array[first] = array[second];
-	//		array[second] = tmp;
-	//	}
-	//
-	//	/**
-	//	 * Swap the contents of the two indexes.
-	//	 * @param array - array to have its indexes swapped
-	//	 * @param first - first index to swap
-	//	 * @param second - second index to swap
-	//	 */
-	//	public static void swap(final float[] array, final int first, final int second) {
-	//		float tmp = array[first];
-	//		array[first] = array[second];
-	//		array[second] = tmp;
-	//	}
-	//
-	//	/**
-	//	 * Swap the contents of the two indexes.
-	//	 * @param array - array to have its indexes swapped
-	//	 * @param first - first index to swap
-	//	 * @param second - second index to swap
-	//	 */
-	//	public static void swap(final double[] array, final int first, final int second) {
-	//		double tmp = array[first];
-	//		array[first] = array[second];
-	//		array[second] = tmp;
-	//	}
-	//
-	//	/**
-	//	 * Swap the contents of the two indexes.
-	//	 * @param array - array to have its indexes swapped
-	//	 * @param first - first index to swap
-	//	 * @param second - second index to swap
-	//	 */
-	//	public static void swap(Object[] array, int first, int second) {
-	//		Object tmp = array[first];
-	//		array[first] = array[second];
-	//		array[second] = tmp;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Booleans} containing the same elements as
-	//	 * the original {@code boolean} array in the same order
-	//	 * @param array - {@code boolean} array to wrap
-	//	 * @return new array of {@code Booleans} containing the same elements as
-	//	 * as the original {@code boolean} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Boolean[] toBoxedArray(final boolean[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Boolean[] newArray = new Boolean[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = Boolean.valueOf(array[i]);
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Bytes} containing the same elements as
-	//	 * the original {@code byte} array in the same order
-	//	 * @param array - {@code byte} array to wrap
-	//	 * @return new array of {@code Bytes} containing the same elements as
-	//	 * as the original {@code byte} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Byte[] toBoxedArray(final byte[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Byte[] newArray = new Byte[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = Byte.valueOf(array[i]);
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Shorts} containing the same elements as
-	//	 * the original {@code short} array in the same order
-	//	 * @param array - {@code short} array to wrap
-	//	 * @return new array of {@code Shorts} containing the same elements as
-	//	 * as the original {@code short} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Short[] toBoxedArray(final short[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Short[] newArray = new Short[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = Short.valueOf(array[i]);
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Characters} containing the same elements as
-	//	 * the original {@code char} array in the same order
-	//	 * @param array - {@code char} array to wrap
-	//	 * @return new array of {@code Characters} containing the same elements as
-	//	 * as the original {@code char} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Character[] toBoxedArray(final char[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Character[] newArray = new Character[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = Character.valueOf(array[i]);
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Integers} containing the same elements as
-	//	 * the original {@code int} array in the same order
-	//	 * @param array - {@code int} array to wrap
-	//	 * @return new array of {@code Integers} containing the same elements as
-	//	 * as the original {@code int} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Integer[] toBoxedArray(final int[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Integer[] newArray = new Integer[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = Integer.valueOf(array[i]);
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Longs} containing the same elements as
-	//	 * the original {@code long} array in the same order
-	//	 * @param array - {@code long} array to wrap
-	//	 * @return new array of {@code Longs} containing the same elements as
-	//	 * as the original {@code long} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Long[] toBoxedArray(final long[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Long[] newArray = new Long[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = Long.valueOf(array[i]);
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Floats} containing the same elements as
-	//	 * the original {@code float} array in the same order
-	//	 * @param array - {@code float} array to wrap
-	//	 * @return new array of {@code Floats} containing the same elements as
-	//	 * as the original {@code float} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Float[] toBoxedArray(final float[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Float[] newArray = new Float[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = Float.valueOf(array[i]);
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Returns an array of {@code Doubles} containing the same elements as
-	//	 * the original {@code double} array in the same order
-	//	 * @param array - {@code double} array to wrap
-	//	 * @return new array of {@code Doubles} containing the same elements as
-	//	 * as the original {@code double} array in the same order
-	//	 * @throws NullPointerException if {@code array == null}
-	//	 */
-	//	public static Double[] toBoxedArray(final double[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		Double[] newArray = new Double[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = Double.valueOf(array[i]);
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Boolean} and returns a new array of {@code boolean}
-	//	 * containing the same values in the same order.
-	//	 * @param array - {@code Boolean} array to be unboxed
-	//	 * @return new array of primitive {@code boolean} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static boolean[] toPrimitiveArray(final Boolean[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		boolean[] newArray = new boolean[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = array[i];
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Byte} and returns a new array of {@code byte}
-	//	 * containing the same numbers in the same order.
-	//	 * @param array - {@code Byte} array to be unboxed
-	//	 * @return new array of primitive {@code byte} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static byte[] toPrimitiveArray(final Byte[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		byte[] newArray = new byte[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = array[i];
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Short} and returns a new array of {@code short}
-	//	 * containing the same numbers in the same order.
-	//	 * @param array - {@code short} array to be unboxed
-	//	 * @return new array of primitive {@code short} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static short[] toPrimitiveArray(final Short[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		short[] newArray = new short[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = array[i];
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Character} and returns a new array of {@code char}
-	//	 * containing the same numbers in the same order.
-	//	 * @param array - {@code Character} array to be unboxed
-	//	 * @return new array of primitive {@code char} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static char[] toPrimitiveArray(final Character[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		char[] newArray = new char[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = array[i];
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Integer} and returns a new array of {@code int}
-	//	 * containing the same numbers in the same order.
-	//	 * @param array - {@code Integer} array to be unboxed
-	//	 * @return new array of primitive {@code int} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static int[] toPrimitiveArray(final Integer[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		int[] newArray = new int[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = array[i];
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Long} and returns a new array of {@code long}
-	//	 * containing the same numbers in the same order.
-	//	 * @param array - {@code Long} array to be unboxed
-	//	 * @return new array of primitive {@code long} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static long[] toPrimitiveArray(final Long[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		long[] newArray = new long[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = array[i];
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Float} and returns a new array of {@code float}
-	//	 * containing the same numbers in the same order.
-	//	 * @param array - {@code Float} array to be unboxed
-	//	 * @return new array of primitive {@code float} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static float[] toPrimitiveArray(final Float[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		float[] newArray = new float[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = array[i];
-	//		}
-	//
-	//		return newArray;
-	//	}
-	//
-	//	/**
-	//	 * Takes an array of {@code Double} and returns a new array of {@code double}
-	//	 * containing the same numbers in the same order.
-	//	 * @param array - {@code Double} array to be unboxed
-	//	 * @return new array of primitive {@code double} containing the same
-	//	 * values in the same order as the original array
-	//	 * @throws NullPointerException if {@code array == null} or one of the
-	//	 * elements is null
-	//	 */
-	//	public static double[] toPrimitiveArray(final Double[] array)
-	//			throws NullPointerException {
-	//
-	//		Objects.requireNonNull(array);
-	//		double[] newArray = new double[array.length];
-	//
-	//		for (int i = 0; i < array.length; i++) {
-	//			newArray[i] = array[i];
-	//		}
-	//
-	//		return newArray;
-	//	}
+		return ArrayAllocators.allocate(array.getClass(), length);
+	}
+
+	/**
+	 * Returns the array length from which the adaptive methods of this class,
+	 * such as {@link #toBoxedArray(int[])}, switch from a plain loop to a
+	 * parallel pass over the common {@link java.util.concurrent.ForkJoinPool}.
+	 * The default is 8192, and may be set with the system property
+	 * {@code com.sol.util.parallelThreshold}. Arrays are never processed in
+	 * parallel when the common pool has a single worker.
+	 * @return the length from which arrays are processed in parallel
+	 */
+	public static int getParallelThreshold() {
+		return ParallelRanges.getThreshold();
+	}
+
+	/**
+	 * Sets the array length from which the adaptive methods of this class
+	 * switch from a plain loop to a parallel pass.
+	 * @param threshold - the length from which arrays are processed in parallel
+	 * @throws IllegalArgumentException if {@code threshold} is not positive
+	 * @see #getParallelThreshold()
+	 */
+	public static void setParallelThreshold(final int threshold)
+			throws IllegalArgumentException {
+		ParallelRanges.setThreshold(threshold);
+	}
+
+	/**
+	 * Returns an array of {@code Booleans} containing the same elements as
+	 * the original {@code boolean} array in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code boolean} array to wrap
+	 * @return new array of {@code Booleans} containing the same elements as
+	 * as the original {@code boolean} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static Boolean[] ParallelToBoxedArray(final boolean[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, true);
+	}
+
+	/**
+	 * Returns an array of {@code Bytes} containing the same elements as
+	 * the original {@code byte} array in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code byte} array to wrap
+	 * @return new array of {@code Bytes} containing the same elements as
+	 * as the original {@code byte} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static Byte[] ParallelToBoxedArray(final byte[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, true);
+	}
+
+	/**
+	 * Returns an array of {@code Shorts} containing the same elements as
+	 * the original {@code short} array in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code short} array to wrap
+	 * @return new array of {@code Shorts} containing the same elements as
+	 * as the original {@code short} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static Short[] ParallelToBoxedArray(final short[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, true);
+	}
+
+	/**
+	 * Returns an array of {@code Characters} containing the same elements as
+	 * the original {@code char} array in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code char} array to wrap
+	 * @return new array of {@code Characters} containing the same elements as
+	 * as the original {@code char} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static Character[] ParallelToBoxedArray(final char[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, true);
+	}
+
+	/**
+	 * Returns an array of {@code Integers} containing the same elements as
+	 * the original {@code int} array in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code int} array to wrap
+	 * @return new array of {@code Integers} containing the same elements as
+	 * as the original {@code int} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static Integer[] ParallelToBoxedArray(final int[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, true);
+	}
+
+	/**
+	 * Returns an array of {@code Longs} containing the same elements as
+	 * the original {@code long} array in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code long} array to wrap
+	 * @return new array of {@code Longs} containing the same elements as
+	 * as the original {@code long} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static Long[] ParallelToBoxedArray(final long[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, true);
+	}
+
+	/**
+	 * Returns an array of {@code Floats} containing the same elements as
+	 * the original {@code float} array in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code float} array to wrap
+	 * @return new array of {@code Floats} containing the same elements as
+	 * as the original {@code float} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static Float[] ParallelToBoxedArray(final float[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, true);
+	}
+
+	/**
+	 * Returns an array of {@code Doubles} containing the same elements as
+	 * the original {@code double} array in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code double} array to wrap
+	 * @return new array of {@code Doubles} containing the same elements as
+	 * as the original {@code double} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static Double[] ParallelToBoxedArray(final double[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, true);
+	}
+
+	/**
+	 * Takes an array of {@code Boolean} and returns a new array of {@code boolean}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code Boolean} array to be unboxed
+	 * @return new array of primitive {@code boolean} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 */
+	public static boolean[] ParallelToPrimitiveArray(final Boolean[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, true);
+	}
+
+	/**
+	 * Takes an array of {@code Byte} and returns a new array of {@code byte}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code Byte} array to be unboxed
+	 * @return new array of primitive {@code byte} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 */
+	public static byte[] ParallelToPrimitiveArray(final Byte[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, true);
+	}
+
+	/**
+	 * Takes an array of {@code Short} and returns a new array of {@code short}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code Short} array to be unboxed
+	 * @return new array of primitive {@code short} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 */
+	public static short[] ParallelToPrimitiveArray(final Short[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, true);
+	}
+
+	/**
+	 * Takes an array of {@code Character} and returns a new array of {@code char}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code Character} array to be unboxed
+	 * @return new array of primitive {@code char} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 */
+	public static char[] ParallelToPrimitiveArray(final Character[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, true);
+	}
+
+	/**
+	 * Takes an array of {@code Integer} and returns a new array of {@code int}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code Integer} array to be unboxed
+	 * @return new array of primitive {@code int} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 */
+	public static int[] ParallelToPrimitiveArray(final Integer[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, true);
+	}
+
+	/**
+	 * Takes an array of {@code Long} and returns a new array of {@code long}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code Long} array to be unboxed
+	 * @return new array of primitive {@code long} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 */
+	public static long[] ParallelToPrimitiveArray(final Long[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, true);
+	}
+
+	/**
+	 * Takes an array of {@code Float} and returns a new array of {@code float}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code Float} array to be unboxed
+	 * @return new array of primitive {@code float} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 */
+	public static float[] ParallelToPrimitiveArray(final Float[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, true);
+	}
+
+	/**
+	 * Takes an array of {@code Double} and returns a new array of {@code double}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel
+	 * @param array - {@code Double} array to be unboxed
+	 * @return new array of primitive {@code double} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 */
+	public static double[] ParallelToPrimitiveArray(final Double[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, true);
+	}
+
+	/**
+	 * Swap the contents of the two indexes.
+	 * @param array - array to have its indexes swapped
+	 * @param first - first index to swap
+	 * @param second - second index to swap
+	 */
+	public static void swap(final boolean[] array, final int first, final int second) {
+		boolean tmp = array[first];
+		array[first] = array[second];
+		array[second] = tmp;
+	}
+
+	/**
+	 * Swap the contents of the two indexes.
+	 * @param array - array to have its indexes swapped
+	 * @param first - first index to swap
+	 * @param second - second index to swap
+	 */
+	public static void swap(final byte[] array, final int first, final int second) {
+		byte tmp = array[first];
+		array[first] = array[second];
+		array[second] = tmp;
+	}
+
+	/**
+	 * Swap the contents of the two indexes.
+	 * @param array - array to have its indexes swapped
+	 * @param first - first index to swap
+	 * @param second - second index to swap
+	 */
+	public static void swap(final short[] array, final int first, final int second) {
+		short tmp = array[first];
+		array[first] = array[second];
+		array[second] = tmp;
+	}
+
+	/**
+	 * Swap the contents of the two indexes.
+	 * @param array - array to have its indexes swapped
+	 * @param first - first index to swap
+	 * @param second - second index to swap
+	 */
+	public static void swap(final char[] array, final int first, final int second) {
+		char tmp = array[first];
+		array[first] = array[second];
+		array[second] = tmp;
+	}
+
+	/**
+	 * Swap the contents of the two indexes.
+	 * @param array - array to have its indexes swapped
+	 * @param first - first index to swap
+	 * @param second - second index to swap
+	 */
+	public static void swap(final int[] array, final int first, final int second) {
+		int tmp = array[first];
+		array[first] = array[second];
+		array[second] = tmp;
+	}
+
+	/**
+	 * Swap the contents of the two indexes.
+	 * @param array - array to have its indexes swapped
+	 * @param first - first index to swap
+	 * @param second - second index to swap
+	 */
+	public static void swap(final long[] array, final int first, final int second) {
+		long tmp = array[first];
+		array[first] = array[second];
+		array[second] = tmp;
+	}
+
+	/**
+	 * Swap the contents of the two indexes.
+	 * @param array - array to have its indexes swapped
+	 * @param first - first index to swap
+	 * @param second - second index to swap
+	 */
+	public static void swap(final float[] array, final int first, final int second) {
+		float tmp = array[first];
+		array[first] = array[second];
+		array[second] = tmp;
+	}
+
+	/**
+	 * Swap the contents of the two indexes.
+	 * @param array - array to have its indexes swapped
+	 * @param first - first index to swap
+	 * @param second - second index to swap
+	 */
+	public static void swap(final double[] array, final int first, final int second) {
+		double tmp = array[first];
+		array[first] = array[second];
+		array[second] = tmp;
+	}
+
+	/**
+	 * Swap the contents of the two indexes.
+	 * @param array - array to have its indexes swapped
+	 * @param first - first index to swap
+	 * @param second - second index to swap
+	 */
+	public static void swap(final Object[] array, final int first, final int second) {
+		Object tmp = array[first];
+		array[first] = array[second];
+		array[second] = tmp;
+	}
+
+	/**
+	 * Reverses the order of the elements of a {@code boolean} array in place.
+	 * @param array - array to reverse
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void reverse(final boolean[] array) throws NullPointerException {
+		ArrayPermutations.reverse(array, 0, array.length);
+	}
+
+	/**
+	 * Reverses the order of the elements of a {@code byte} array in place.
+	 * @param array - array to reverse
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void reverse(final byte[] array) throws NullPointerException {
+		ArrayPermutations.reverse(array, 0, array.length);
+	}
+
+	/**
+	 * Reverses the order of the elements of a {@code short} array in place.
+	 * @param array - array to reverse
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void reverse(final short[] array) throws NullPointerException {
+		ArrayPermutations.reverse(array, 0, array.length);
+	}
+
+	/**
+	 * Reverses the order of the elements of a {@code char} array in place.
+	 * @param array - array to reverse
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void reverse(final char[] array) throws NullPointerException {
+		ArrayPermutations.reverse(array, 0, array.length);
+	}
+
+	/**
+	 * Reverses the order of the elements of an {@code int} array in place.
+	 * @param array - array to reverse
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void reverse(final int[] array) throws NullPointerException {
+		ArrayPermutations.reverse(array, 0, array.length);
+	}
+
+	/**
+	 * Reverses the order of the elements of a {@code long} array in place.
+	 * @param array - array to reverse
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void reverse(final long[] array) throws NullPointerException {
+		ArrayPermutations.reverse(array, 0, array.length);
+	}
+
+	/**
+	 * Reverses the order of the elements of a {@code float} array in place.
+	 * @param array - array to reverse
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void reverse(final float[] array) throws NullPointerException {
+		ArrayPermutations.reverse(array, 0, array.length);
+	}
+
+	/**
+	 * Reverses the order of the elements of a {@code double} array in place.
+	 * @param array - array to reverse
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void reverse(final double[] array) throws NullPointerException {
+		ArrayPermutations.reverse(array, 0, array.length);
+	}
+
+	/**
+	 * Reverses the order of the elements of an {@code Object} array in place.
+	 * @param array - array to reverse
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void reverse(final Object[] array) throws NullPointerException {
+		ArrayPermutations.reverse(array, 0, array.length);
+	}
+
+	/**
+	 * Shuffles a {@code boolean} array in place, using
+	 * {@link ThreadLocalRandom} as the source of randomness.
+	 * @param array - array to shuffle
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #shuffle(boolean[], IntUnaryOperator)
+	 */
+	public static void shuffle(final boolean[] array) throws NullPointerException {
+		ArrayPermutations.shuffle(array, 0, array.length,
+				ThreadLocalRandom.current()::nextInt);
+	}
+
+	/**
+	 * Shuffles a {@code boolean} array in place with the Fisher-Yates algorithm.
+	 * The source of randomness is given as an operator which maps a positive
+	 * bound to a uniformly distributed index in {@code [0, bound)}, such as
+	 * {@code random::nextInt} of a {@link java.util.Random} or of a
+	 * {@link java.util.SplittableRandom}.
+	 * @param array - array to shuffle
+	 * @param random - source of random indexes
+	 * @throws NullPointerException if {@code array} or {@code random} is
+	 * {@code null}
+	 * @throws ArrayIndexOutOfBoundsException if {@code random} returns an index
+	 * out of the bounds of the array
+	 */
+	public static void shuffle(final boolean[] array, final IntUnaryOperator random)
+			throws NullPointerException, ArrayIndexOutOfBoundsException {
+		Objects.requireNonNull(random);
+		ArrayPermutations.shuffle(array, 0, array.length, random);
+	}
+
+	/**
+	 * Shuffles a {@code byte} array in place, using
+	 * {@link ThreadLocalRandom} as the source of randomness.
+	 * @param array - array to shuffle
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #shuffle(byte[], IntUnaryOperator)
+	 */
+	public static void shuffle(final byte[] array) throws NullPointerException {
+		ArrayPermutations.shuffle(array, 0, array.length,
+				ThreadLocalRandom.current()::nextInt);
+	}
+
+	/**
+	 * Shuffles a {@code byte} array in place with the Fisher-Yates algorithm.
+	 * The source of randomness is given as an operator which maps a positive
+	 * bound to a uniformly distributed index in {@code [0, bound)}, such as
+	 * {@code random::nextInt} of a {@link java.util.Random} or of a
+	 * {@link java.util.SplittableRandom}.
+	 * @param array - array to shuffle
+	 * @param random - source of random indexes
+	 * @throws NullPointerException if {@code array} or {@code random} is
+	 * {@code null}
+	 * @throws ArrayIndexOutOfBoundsException if {@code random} returns an index
+	 * out of the bounds of the array
+	 */
+	public static void shuffle(final byte[] array, final IntUnaryOperator random)
+			throws NullPointerException, ArrayIndexOutOfBoundsException {
+		Objects.requireNonNull(random);
+		ArrayPermutations.shuffle(array, 0, array.length, random);
+	}
+
+	/**
+	 * Shuffles a {@code short} array in place, using
+	 * {@link ThreadLocalRandom} as the source of randomness.
+	 * @param array - array to shuffle
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #shuffle(short[], IntUnaryOperator)
+	 */
+	public static void shuffle(final short[] array) throws NullPointerException {
+		ArrayPermutations.shuffle(array, 0, array.length,
+				ThreadLocalRandom.current()::nextInt);
+	}
+
+	/**
+	 * Shuffles a {@code short} array in place with the Fisher-Yates algorithm.
+	 * The source of randomness is given as an operator which maps a positive
+	 * bound to a uniformly distributed index in {@code [0, bound)}, such as
+	 * {@code random::nextInt} of a {@link java.util.Random} or of a
+	 * {@link java.util.SplittableRandom}.
+	 * @param array - array to shuffle
+	 * @param random - source of random indexes
+	 * @throws NullPointerException if {@code array} or {@code random} is
+	 * {@code null}
+	 * @throws ArrayIndexOutOfBoundsException if {@code random} returns an index
+	 * out of the bounds of the array
+	 */
+	public static void shuffle(final short[] array, final IntUnaryOperator random)
+			throws NullPointerException, ArrayIndexOutOfBoundsException {
+		Objects.requireNonNull(random);
+		ArrayPermutations.shuffle(array, 0, array.length, random);
+	}
+
+	/**
+	 * Shuffles a {@code char} array in place, using
+	 * {@link ThreadLocalRandom} as the source of randomness.
+	 * @param array - array to shuffle
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #shuffle(char[], IntUnaryOperator)
+	 */
+	public static void shuffle(final char[] array) throws NullPointerException {
+		ArrayPermutations.shuffle(array, 0, array.length,
+				ThreadLocalRandom.current()::nextInt);
+	}
+
+	/**
+	 * Shuffles a {@code char} array in place with the Fisher-Yates algorithm.
+	 * The source of randomness is given as an operator which maps a positive
+	 * bound to a uniformly distributed index in {@code [0, bound)}, such as
+	 * {@code random::nextInt} of a {@link java.util.Random} or of a
+	 * {@link java.util.SplittableRandom}.
+	 * @param array - array to shuffle
+	 * @param random - source of random indexes
+	 * @throws NullPointerException if {@code array} or {@code random} is
+	 * {@code null}
+	 * @throws ArrayIndexOutOfBoundsException if {@code random} returns an index
+	 * out of the bounds of the array
+	 */
+	public static void shuffle(final char[] array, final IntUnaryOperator random)
+			throws NullPointerException, ArrayIndexOutOfBoundsException {
+		Objects.requireNonNull(random);
+		ArrayPermutations.shuffle(array, 0, array.length, random);
+	}
+
+	/**
+	 * Shuffles an {@code int} array in place, using
+	 * {@link ThreadLocalRandom} as the source of randomness.
+	 * @param array - array to shuffle
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #shuffle(int[], IntUnaryOperator)
+	 */
+	public static void shuffle(final int[] array) throws NullPointerException {
+		ArrayPermutations.shuffle(array, 0, array.length,
+				ThreadLocalRandom.current()::nextInt);
+	}
+
+	/**
+	 * Shuffles an {@code int} array in place with the Fisher-Yates algorithm.
+	 * The source of randomness is given as an operator which maps a positive
+	 * bound to a uniformly distributed index in {@code [0, bound)}, such as
+	 * {@code random::nextInt} of a {@link java.util.Random} or of a
+	 * {@link java.util.SplittableRandom}.
+	 * @param array - array to shuffle
+	 * @param random - source of random indexes
+	 * @throws NullPointerException if {@code array} or {@code random} is
+	 * {@code null}
+	 * @throws ArrayIndexOutOfBoundsException if {@code random} returns an index
+	 * out of the bounds of the array
+	 */
+	public static void shuffle(final int[] array, final IntUnaryOperator random)
+			throws NullPointerException, ArrayIndexOutOfBoundsException {
+		Objects.requireNonNull(random);
+		ArrayPermutations.shuffle(array, 0, array.length, random);
+	}
+
+	/**
+	 * Shuffles a {@code long} array in place, using
+	 * {@link ThreadLocalRandom} as the source of randomness.
+	 * @param array - array to shuffle
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #shuffle(long[], IntUnaryOperator)
+	 */
+	public static void shuffle(final long[] array) throws NullPointerException {
+		ArrayPermutations.shuffle(array, 0, array.length,
+				ThreadLocalRandom.current()::nextInt);
+	}
+
+	/**
+	 * Shuffles a {@code long} array in place with the Fisher-Yates algorithm.
+	 * The source of randomness is given as an operator which maps a positive
+	 * bound to a uniformly distributed index in {@code [0, bound)}, such as
+	 * {@code random::nextInt} of a {@link java.util.Random} or of a
+	 * {@link java.util.SplittableRandom}.
+	 * @param array - array to shuffle
+	 * @param random - source of random indexes
+	 * @throws NullPointerException if {@code array} or {@code random} is
+	 * {@code null}
+	 * @throws ArrayIndexOutOfBoundsException if {@code random} returns an index
+	 * out of the bounds of the array
+	 */
+	public static void shuffle(final long[] array, final IntUnaryOperator random)
+			throws NullPointerException, ArrayIndexOutOfBoundsException {
+		Objects.requireNonNull(random);
+		ArrayPermutations.shuffle(array, 0, array.length, random);
+	}
+
+	/**
+	 * Shuffles a {@code float} array in place, using
+	 * {@link ThreadLocalRandom} as the source of randomness.
+	 * @param array - array to shuffle
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #shuffle(float[], IntUnaryOperator)
+	 */
+	public static void shuffle(final float[] array) throws NullPointerException {
+		ArrayPermutations.shuffle(array, 0, array.length,
+				ThreadLocalRandom.current()::nextInt);
+	}
+
+	/**
+	 * Shuffles a {@code float} array in place with the Fisher-Yates algorithm.
+	 * The source of randomness is given as an operator which maps a positive
+	 * bound to a uniformly distributed index in {@code [0, bound)}, such as
+	 * {@code random::nextInt} of a {@link java.util.Random} or of a
+	 * {@link java.util.SplittableRandom}.
+	 * @param array - array to shuffle
+	 * @param random - source of random indexes
+	 * @throws NullPointerException if {@code array} or {@code random} is
+	 * {@code null}
+	 * @throws ArrayIndexOutOfBoundsException if {@code random} returns an index
+	 * out of the bounds of the array
+	 */
+	public static void shuffle(final float[] array, final IntUnaryOperator random)
+			throws NullPointerException, ArrayIndexOutOfBoundsException {
+		Objects.requireNonNull(random);
+		ArrayPermutations.shuffle(array, 0, array.length, random);
+	}
+
+	/**
+	 * Shuffles a {@code double} array in place, using
+	 * {@link ThreadLocalRandom} as the source of randomness.
+	 * @param array - array to shuffle
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #shuffle(double[], IntUnaryOperator)
+	 */
+	public static void shuffle(final double[] array) throws NullPointerException {
+		ArrayPermutations.shuffle(array, 0, array.length,
+				ThreadLocalRandom.current()::nextInt);
+	}
+
+	/**
+	 * Shuffles a {@code double} array in place with the Fisher-Yates algorithm.
+	 * The source of randomness is given as an operator which maps a positive
+	 * bound to a uniformly distributed index in {@code [0, bound)}, such as
+	 * {@code random::nextInt} of a {@link java.util.Random} or of a
+	 * {@link java.util.SplittableRandom}.
+	 * @param array - array to shuffle
+	 * @param random - source of random indexes
+	 * @throws NullPointerException if {@code array} or {@code random} is
+	 * {@code null}
+	 * @throws ArrayIndexOutOfBoundsException if {@code random} returns an index
+	 * out of the bounds of the array
+	 */
+	public static void shuffle(final double[] array, final IntUnaryOperator random)
+			throws NullPointerException, ArrayIndexOutOfBoundsException {
+		Objects.requireNonNull(random);
+		ArrayPermutations.shuffle(array, 0, array.length, random);
+	}
+
+	/**
+	 * Shuffles an {@code Object} array in place, using
+	 * {@link ThreadLocalRandom} as the source of randomness.
+	 * @param array - array to shuffle
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #shuffle(Object[], IntUnaryOperator)
+	 */
+	public static void shuffle(final Object[] array) throws NullPointerException {
+		ArrayPermutations.shuffle(array, 0, array.length,
+				ThreadLocalRandom.current()::nextInt);
+	}
+
+	/**
+	 * Shuffles an {@code Object} array in place with the Fisher-Yates algorithm.
+	 * The source of randomness is given as an operator which maps a positive
+	 * bound to a uniformly distributed index in {@code [0, bound)}, such as
+	 * {@code random::nextInt} of a {@link java.util.Random} or of a
+	 * {@link java.util.SplittableRandom}.
+	 * @param array - array to shuffle
+	 * @param random - source of random indexes
+	 * @throws NullPointerException if {@code array} or {@code random} is
+	 * {@code null}
+	 * @throws ArrayIndexOutOfBoundsException if {@code random} returns an index
+	 * out of the bounds of the array
+	 */
+	public static void shuffle(final Object[] array, final IntUnaryOperator random)
+			throws NullPointerException, ArrayIndexOutOfBoundsException {
+		Objects.requireNonNull(random);
+		ArrayPermutations.shuffle(array, 0, array.length, random);
+	}
+
+	/**
+	 * Reorders a {@code boolean} array in place by a permutation: the element at
+	 * index {@code permutation[i]} moves to index {@code i}. An index array
+	 * returned by an argsort thus sorts the array. The permutation is applied
+	 * by following its cycles, using no memory beyond a few local variables.
+	 * The entries of {@code permutation} are modified while the method runs,
+	 * and restored before it returns, so the permutation must not be used by
+	 * other threads at the same time.
+	 * @param array - array to reorder
+	 * @param permutation - permutation of the indexes of the array
+	 * @throws NullPointerException if {@code array} or {@code permutation}
+	 * is {@code null}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation of the indexes of the array, in which case the array is
+	 * left unchanged
+	 */
+	public static void applyPermutation(final boolean[] array, final int[] permutation)
+			throws NullPointerException, IllegalArgumentException {
+		if(array.length != permutation.length) {
+			throw new IllegalArgumentException("Permutation length "
+					+ permutation.length + " differs from array length " + array.length);
+		}
+		ArrayPermutations.applyPermutation(array, 0, permutation);
+	}
+
+	/**
+	 * Reorders a {@code byte} array in place by a permutation: the element at
+	 * index {@code permutation[i]} moves to index {@code i}. An index array
+	 * returned by an argsort thus sorts the array. The permutation is applied
+	 * by following its cycles, using no memory beyond a few local variables.
+	 * The entries of {@code permutation} are modified while the method runs,
+	 * and restored before it returns, so the permutation must not be used by
+	 * other threads at the same time.
+	 * @param array - array to reorder
+	 * @param permutation - permutation of the indexes of the array
+	 * @throws NullPointerException if {@code array} or {@code permutation}
+	 * is {@code null}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation of the indexes of the array, in which case the array is
+	 * left unchanged
+	 */
+	public static void applyPermutation(final byte[] array, final int[] permutation)
+			throws NullPointerException, IllegalArgumentException {
+		if(array.length != permutation.length) {
+			throw new IllegalArgumentException("Permutation length "
+					+ permutation.length + " differs from array length " + array.length);
+		}
+		ArrayPermutations.applyPermutation(array, 0, permutation);
+	}
+
+	/**
+	 * Reorders a {@code short} array in place by a permutation: the element at
+	 * index {@code permutation[i]} moves to index {@code i}. An index array
+	 * returned by an argsort thus sorts the array. The permutation is applied
+	 * by following its cycles, using no memory beyond a few local variables.
+	 * The entries of {@code permutation} are modified while the method runs,
+	 * and restored before it returns, so the permutation must not be used by
+	 * other threads at the same time.
+	 * @param array - array to reorder
+	 * @param permutation - permutation of the indexes of the array
+	 * @throws NullPointerException if {@code array} or {@code permutation}
+	 * is {@code null}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation of the indexes of the array, in which case the array is
+	 * left unchanged
+	 */
+	public static void applyPermutation(final short[] array, final int[] permutation)
+			throws NullPointerException, IllegalArgumentException {
+		if(array.length != permutation.length) {
+			throw new IllegalArgumentException("Permutation length "
+					+ permutation.length + " differs from array length " + array.length);
+		}
+		ArrayPermutations.applyPermutation(array, 0, permutation);
+	}
+
+	/**
+	 * Reorders a {@code char} array in place by a permutation: the element at
+	 * index {@code permutation[i]} moves to index {@code i}. An index array
+	 * returned by an argsort thus sorts the array. The permutation is applied
+	 * by following its cycles, using no memory beyond a few local variables.
+	 * The entries of {@code permutation} are modified while the method runs,
+	 * and restored before it returns, so the permutation must not be used by
+	 * other threads at the same time.
+	 * @param array - array to reorder
+	 * @param permutation - permutation of the indexes of the array
+	 * @throws NullPointerException if {@code array} or {@code permutation}
+	 * is {@code null}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation of the indexes of the array, in which case the array is
+	 * left unchanged
+	 */
+	public static void applyPermutation(final char[] array, final int[] permutation)
+			throws NullPointerException, IllegalArgumentException {
+		if(array.length != permutation.length) {
+			throw new IllegalArgumentException("Permutation length "
+					+ permutation.length + " differs from array length " + array.length);
+		}
+		ArrayPermutations.applyPermutation(array, 0, permutation);
+	}
+
+	/**
+	 * Reorders an {@code int} array in place by a permutation: the element at
+	 * index {@code permutation[i]} moves to index {@code i}. An index array
+	 * returned by an argsort thus sorts the array. The permutation is applied
+	 * by following its cycles, using no memory beyond a few local variables.
+	 * The entries of {@code permutation} are modified while the method runs,
+	 * and restored before it returns, so the permutation must not be used by
+	 * other threads at the same time.
+	 * @param array - array to reorder
+	 * @param permutation - permutation of the indexes of the array
+	 * @throws NullPointerException if {@code array} or {@code permutation}
+	 * is {@code null}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation of the indexes of the array, in which case the array is
+	 * left unchanged
+	 */
+	public static void applyPermutation(final int[] array, final int[] permutation)
+			throws NullPointerException, IllegalArgumentException {
+		if(array.length != permutation.length) {
+			throw new IllegalArgumentException("Permutation length "
+					+ permutation.length + " differs from array length " + array.length);
+		}
+		ArrayPermutations.applyPermutation(array, 0, permutation);
+	}
+
+	/**
+	 * Reorders a {@code long} array in place by a permutation: the element at
+	 * index {@code permutation[i]} moves to index {@code i}. An index array
+	 * returned by an argsort thus sorts the array. The permutation is applied
+	 * by following its cycles, using no memory beyond a few local variables.
+	 * The entries of {@code permutation} are modified while the method runs,
+	 * and restored before it returns, so the permutation must not be used by
+	 * other threads at the same time.
+	 * @param array - array to reorder
+	 * @param permutation - permutation of the indexes of the array
+	 * @throws NullPointerException if {@code array} or {@code permutation}
+	 * is {@code null}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation of the indexes of the array, in which case the array is
+	 * left unchanged
+	 */
+	public static void applyPermutation(final long[] array, final int[] permutation)
+			throws NullPointerException, IllegalArgumentException {
+		if(array.length != permutation.length) {
+			throw new IllegalArgumentException("Permutation length "
+					+ permutation.length + " differs from array length " + array.length);
+		}
+		ArrayPermutations.applyPermutation(array, 0, permutation);
+	}
+
+	/**
+	 * Reorders a {@code float} array in place by a permutation: the element at
+	 * index {@code permutation[i]} moves to index {@code i}. An index array
+	 * returned by an argsort thus sorts the array. The permutation is applied
+	 * by following its cycles, using no memory beyond a few local variables.
+	 * The entries of {@code permutation} are modified while the method runs,
+	 * and restored before it returns, so the permutation must not be used by
+	 * other threads at the same time.
+	 * @param array - array to reorder
+	 * @param permutation - permutation of the indexes of the array
+	 * @throws NullPointerException if {@code array} or {@code permutation}
+	 * is {@code null}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation of the indexes of the array, in which case the array is
+	 * left unchanged
+	 */
+	public static void applyPermutation(final float[] array, final int[] permutation)
+			throws NullPointerException, IllegalArgumentException {
+		if(array.length != permutation.length) {
+			throw new IllegalArgumentException("Permutation length "
+					+ permutation.length + " differs from array length " + array.length);
+		}
+		ArrayPermutations.applyPermutation(array, 0, permutation);
+	}
+
+	/**
+	 * Reorders a {@code double} array in place by a permutation: the element at
+	 * index {@code permutation[i]} moves to index {@code i}. An index array
+	 * returned by an argsort thus sorts the array. The permutation is applied
+	 * by following its cycles, using no memory beyond a few local variables.
+	 * The entries of {@code permutation} are modified while the method runs,
+	 * and restored before it returns, so the permutation must not be used by
+	 * other threads at the same time.
+	 * @param array - array to reorder
+	 * @param permutation - permutation of the indexes of the array
+	 * @throws NullPointerException if {@code array} or {@code permutation}
+	 * is {@code null}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation of the indexes of the array, in which case the array is
+	 * left unchanged
+	 */
+	public static void applyPermutation(final double[] array, final int[] permutation)
+			throws NullPointerException, IllegalArgumentException {
+		if(array.length != permutation.length) {
+			throw new IllegalArgumentException("Permutation length "
+					+ permutation.length + " differs from array length " + array.length);
+		}
+		ArrayPermutations.applyPermutation(array, 0, permutation);
+	}
+
+	/**
+	 * Reorders an {@code Object} array in place by a permutation: the element at
+	 * index {@code permutation[i]} moves to index {@code i}. An index array
+	 * returned by an argsort thus sorts the array. The permutation is applied
+	 * by following its cycles, using no memory beyond a few local variables.
+	 * The entries of {@code permutation} are modified while the method runs,
+	 * and restored before it returns, so the permutation must not be used by
+	 * other threads at the same time.
+	 * @param array - array to reorder
+	 * @param permutation - permutation of the indexes of the array
+	 * @throws NullPointerException if {@code array} or {@code permutation}
+	 * is {@code null}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation of the indexes of the array, in which case the array is
+	 * left unchanged
+	 */
+	public static void applyPermutation(final Object[] array, final int[] permutation)
+			throws NullPointerException, IllegalArgumentException {
+		if(array.length != permutation.length) {
+			throw new IllegalArgumentException("Permutation length "
+					+ permutation.length + " differs from array length " + array.length);
+		}
+		ArrayPermutations.applyPermutation(array, 0, permutation);
+	}
+
+	/**
+	 * Returns the inverse of a permutation: the array {@code inverse} for which
+	 * {@code inverse[permutation[i]] == i} for every {@code i}.
+	 * @param permutation - permutation of {@code [0, permutation.length)}
+	 * @return a new array holding the inverse permutation
+	 * @throws NullPointerException if {@code permutation == null}
+	 * @throws IllegalArgumentException if {@code permutation} is not a
+	 * permutation
+	 */
+	public static int[] invertPermutation(final int[] permutation)
+			throws NullPointerException, IllegalArgumentException {
+		return ArrayPermutations.invert(permutation);
+	}
+
+	/**
+	 * Returns an array of {@code Booleans} containing the same elements as
+	 * the original {@code boolean} array in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code boolean} array to wrap
+	 * @return new array of {@code Booleans} containing the same elements as
+	 * as the original {@code boolean} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static Boolean[] toBoxedArray(final boolean[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, false);
+	}
+
+	/**
+	 * Returns an array of {@code Bytes} containing the same elements as
+	 * the original {@code byte} array in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code byte} array to wrap
+	 * @return new array of {@code Bytes} containing the same elements as
+	 * as the original {@code byte} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static Byte[] toBoxedArray(final byte[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, false);
+	}
+
+	/**
+	 * Returns an array of {@code Shorts} containing the same elements as
+	 * the original {@code short} array in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code short} array to wrap
+	 * @return new array of {@code Shorts} containing the same elements as
+	 * as the original {@code short} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static Short[] toBoxedArray(final short[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, false);
+	}
+
+	/**
+	 * Returns an array of {@code Characters} containing the same elements as
+	 * the original {@code char} array in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code char} array to wrap
+	 * @return new array of {@code Characters} containing the same elements as
+	 * as the original {@code char} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static Character[] toBoxedArray(final char[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, false);
+	}
+
+	/**
+	 * Returns an array of {@code Integers} containing the same elements as
+	 * the original {@code int} array in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code int} array to wrap
+	 * @return new array of {@code Integers} containing the same elements as
+	 * as the original {@code int} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static Integer[] toBoxedArray(final int[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, false);
+	}
+
+	/**
+	 * Returns an array of {@code Longs} containing the same elements as
+	 * the original {@code long} array in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code long} array to wrap
+	 * @return new array of {@code Longs} containing the same elements as
+	 * as the original {@code long} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static Long[] toBoxedArray(final long[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, false);
+	}
+
+	/**
+	 * Returns an array of {@code Floats} containing the same elements as
+	 * the original {@code float} array in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code float} array to wrap
+	 * @return new array of {@code Floats} containing the same elements as
+	 * as the original {@code float} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static Float[] toBoxedArray(final float[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, false);
+	}
+
+	/**
+	 * Returns an array of {@code Doubles} containing the same elements as
+	 * the original {@code double} array in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code double} array to wrap
+	 * @return new array of {@code Doubles} containing the same elements as
+	 * as the original {@code double} array in the same order
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static Double[] toBoxedArray(final double[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.box(array, 0, array.length, false);
+	}
+
+	/**
+	 * Takes an array of {@code Boolean} and returns a new array of {@code boolean}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code Boolean} array to be unboxed
+	 * @return new array of primitive {@code boolean} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 * @see #setParallelThreshold(int)
+	 */
+	public static boolean[] toPrimitiveArray(final Boolean[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, false);
+	}
+
+	/**
+	 * Takes an array of {@code Byte} and returns a new array of {@code byte}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code Byte} array to be unboxed
+	 * @return new array of primitive {@code byte} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 * @see #setParallelThreshold(int)
+	 */
+	public static byte[] toPrimitiveArray(final Byte[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, false);
+	}
+
+	/**
+	 * Takes an array of {@code Short} and returns a new array of {@code short}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code Short} array to be unboxed
+	 * @return new array of primitive {@code short} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 * @see #setParallelThreshold(int)
+	 */
+	public static short[] toPrimitiveArray(final Short[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, false);
+	}
+
+	/**
+	 * Takes an array of {@code Character} and returns a new array of {@code char}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code Character} array to be unboxed
+	 * @return new array of primitive {@code char} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 * @see #setParallelThreshold(int)
+	 */
+	public static char[] toPrimitiveArray(final Character[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, false);
+	}
+
+	/**
+	 * Takes an array of {@code Integer} and returns a new array of {@code int}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code Integer} array to be unboxed
+	 * @return new array of primitive {@code int} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 * @see #setParallelThreshold(int)
+	 */
+	public static int[] toPrimitiveArray(final Integer[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, false);
+	}
+
+	/**
+	 * Takes an array of {@code Long} and returns a new array of {@code long}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code Long} array to be unboxed
+	 * @return new array of primitive {@code long} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 * @see #setParallelThreshold(int)
+	 */
+	public static long[] toPrimitiveArray(final Long[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, false);
+	}
+
+	/**
+	 * Takes an array of {@code Float} and returns a new array of {@code float}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code Float} array to be unboxed
+	 * @return new array of primitive {@code float} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 * @see #setParallelThreshold(int)
+	 */
+	public static float[] toPrimitiveArray(final Float[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, false);
+	}
+
+	/**
+	 * Takes an array of {@code Double} and returns a new array of {@code double}
+	 * containing the same values (unboxed) in the same order. The new array is
+	 * set in parallel if the array is at least as long as the parallel threshold
+	 * @param array - {@code Double} array to be unboxed
+	 * @return new array of primitive {@code double} containing the same
+	 * values in the same order as the original array
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 * @see #setParallelThreshold(int)
+	 */
+	public static double[] toPrimitiveArray(final Double[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayBoxing.unbox(array, 0, array.length, false);
+	}
+
+	/**
+	 * Returns a sequential stream of the elements of a {@code boolean} array,
+	 * boxed to {@code Booleans} one at a time as the stream consumes them. A
+	 * short-circuiting operation, such as {@link Stream#findFirst()}, only
+	 * boxes the elements it reaches. The stream splits evenly when made
+	 * parallel.
+	 * @param array - {@code boolean} array to stream
+	 * @return a lazily boxing stream of the elements of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #toBoxedArray(boolean[])
+	 */
+	public static Stream<Boolean> boxedStream(final boolean[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return StreamSupport.stream(
+				ArraySpliterators.boxing(array, 0, array.length), false);
+	}
+
+	/**
+	 * Returns a sequential stream of the elements of a {@code byte} array,
+	 * boxed to {@code Bytes} one at a time as the stream consumes them. A
+	 * short-circuiting operation, such as {@link Stream#findFirst()}, only
+	 * boxes the elements it reaches. The stream splits evenly when made
+	 * parallel.
+	 * @param array - {@code byte} array to stream
+	 * @return a lazily boxing stream of the elements of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #toBoxedArray(byte[])
+	 */
+	public static Stream<Byte> boxedStream(final byte[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return StreamSupport.stream(
+				ArraySpliterators.boxing(array, 0, array.length), false);
+	}
+
+	/**
+	 * Returns a sequential stream of the elements of a {@code short} array,
+	 * boxed to {@code Shorts} one at a time as the stream consumes them. A
+	 * short-circuiting operation, such as {@link Stream#findFirst()}, only
+	 * boxes the elements it reaches. The stream splits evenly when made
+	 * parallel.
+	 * @param array - {@code short} array to stream
+	 * @return a lazily boxing stream of the elements of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #toBoxedArray(short[])
+	 */
+	public static Stream<Short> boxedStream(final short[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return StreamSupport.stream(
+				ArraySpliterators.boxing(array, 0, array.length), false);
+	}
+
+	/**
+	 * Returns a sequential stream of the elements of a {@code char} array,
+	 * boxed to {@code Characters} one at a time as the stream consumes them. A
+	 * short-circuiting operation, such as {@link Stream#findFirst()}, only
+	 * boxes the elements it reaches. The stream splits evenly when made
+	 * parallel.
+	 * @param array - {@code char} array to stream
+	 * @return a lazily boxing stream of the elements of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #toBoxedArray(char[])
+	 */
+	public static Stream<Character> boxedStream(final char[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return StreamSupport.stream(
+				ArraySpliterators.boxing(array, 0, array.length), false);
+	}
+
+	/**
+	 * Returns a sequential stream of the elements of a {@code int} array,
+	 * boxed to {@code Integers} one at a time as the stream consumes them. A
+	 * short-circuiting operation, such as {@link Stream#findFirst()}, only
+	 * boxes the elements it reaches. The stream splits evenly when made
+	 * parallel.
+	 * @param array - {@code int} array to stream
+	 * @return a lazily boxing stream of the elements of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #toBoxedArray(int[])
+	 */
+	public static Stream<Integer> boxedStream(final int[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return StreamSupport.stream(
+				ArraySpliterators.boxing(array, 0, array.length), false);
+	}
+
+	/**
+	 * Returns a sequential stream of the elements of a {@code long} array,
+	 * boxed to {@code Longs} one at a time as the stream consumes them. A
+	 * short-circuiting operation, such as {@link Stream#findFirst()}, only
+	 * boxes the elements it reaches. The stream splits evenly when made
+	 * parallel.
+	 * @param array - {@code long} array to stream
+	 * @return a lazily boxing stream of the elements of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #toBoxedArray(long[])
+	 */
+	public static Stream<Long> boxedStream(final long[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return StreamSupport.stream(
+				ArraySpliterators.boxing(array, 0, array.length), false);
+	}
+
+	/**
+	 * Returns a sequential stream of the elements of a {@code float} array,
+	 * boxed to {@code Floats} one at a time as the stream consumes them. A
+	 * short-circuiting operation, such as {@link Stream#findFirst()}, only
+	 * boxes the elements it reaches. The stream splits evenly when made
+	 * parallel.
+	 * @param array - {@code float} array to stream
+	 * @return a lazily boxing stream of the elements of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #toBoxedArray(float[])
+	 */
+	public static Stream<Float> boxedStream(final float[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return StreamSupport.stream(
+				ArraySpliterators.boxing(array, 0, array.length), false);
+	}
+
+	/**
+	 * Returns a sequential stream of the elements of a {@code double} array,
+	 * boxed to {@code Doubles} one at a time as the stream consumes them. A
+	 * short-circuiting operation, such as {@link Stream#findFirst()}, only
+	 * boxes the elements it reaches. The stream splits evenly when made
+	 * parallel.
+	 * @param array - {@code double} array to stream
+	 * @return a lazily boxing stream of the elements of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #toBoxedArray(double[])
+	 */
+	public static Stream<Double> boxedStream(final double[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return StreamSupport.stream(
+				ArraySpliterators.boxing(array, 0, array.length), false);
+	}
+
+	/**
+	 * Returns a sequential {@code IntStream} of the values of an array of
+	 * {@code Integer}, unboxed one at a time as the stream consumes them. A
+	 * short-circuiting operation only unboxes the elements it reaches. The
+	 * stream splits evenly when made parallel.
+	 * @param array - {@code Integer} array to stream
+	 * @return a lazily unboxing stream of the values of the array
+	 * @throws NullPointerException if {@code array == null}; a null element
+	 * throws {@code NullPointerException} once the stream reaches it
+	 * @see #toPrimitiveArray(Integer[])
+	 */
+	public static IntStream unboxedStream(final Integer[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return StreamSupport.intStream(
+				ArraySpliterators.unboxing(array, 0, array.length), false);
+	}
+
+	/**
+	 * Returns a sequential {@code LongStream} of the values of an array of
+	 * {@code Long}, unboxed one at a time as the stream consumes them. A
+	 * short-circuiting operation only unboxes the elements it reaches. The
+	 * stream splits evenly when made parallel.
+	 * @param array - {@code Long} array to stream
+	 * @return a lazily unboxing stream of the values of the array
+	 * @throws NullPointerException if {@code array == null}; a null element
+	 * throws {@code NullPointerException} once the stream reaches it
+	 * @see #toPrimitiveArray(Long[])
+	 */
+	public static LongStream unboxedStream(final Long[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return StreamSupport.longStream(
+				ArraySpliterators.unboxing(array, 0, array.length), false);
+	}
+
+	/**
+	 * Returns a sequential {@code DoubleStream} of the values of an array of
+	 * {@code Double}, unboxed one at a time as the stream consumes them. A
+	 * short-circuiting operation only unboxes the elements it reaches. The
+	 * stream splits evenly when made parallel.
+	 * @param array - {@code Double} array to stream
+	 * @return a lazily unboxing stream of the values of the array
+	 * @throws NullPointerException if {@code array == null}; a null element
+	 * throws {@code NullPointerException} once the stream reaches it
+	 * @see #toPrimitiveArray(Double[])
+	 */
+	public static DoubleStream unboxedStream(final Double[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return StreamSupport.doubleStream(
+				ArraySpliterators.unboxing(array, 0, array.length), false);
+	}
+
+	/**
+	 * Returns a new array holding the result of an operator applied to every
+	 * element of an {@code int} array. The operator is applied in parallel if
+	 * the array is at least as long as the parallel threshold.
+	 * @param array - {@code int} array to map
+	 * @param operator - operator to apply to every element
+	 * @return new array of {@code int} holding the results in the same order
+	 * @throws NullPointerException if {@code array} or {@code operator} is
+	 * {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static int[] map(final int[] array, final IntUnaryOperator operator)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		Objects.requireNonNull(operator);
+		return ArrayTransforms.map(array, 0, array.length, operator);
+	}
+
+	/**
+	 * Replaces every element of an {@code int} array with the result of an
+	 * operator applied to it. The operator is applied in parallel if the
+	 * array is at least as long as the parallel threshold.
+	 * @param array - {@code int} array to map
+	 * @param operator - operator to apply to every element
+	 * @throws NullPointerException if {@code array} or {@code operator} is
+	 * {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static void mapInPlace(final int[] array, final IntUnaryOperator operator)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		Objects.requireNonNull(operator);
+		ArrayTransforms.mapInPlace(array, 0, array.length, operator);
+	}
+
+	/**
+	 * Returns a new array holding the elements of an {@code int} array which
+	 * match a predicate, in the same order. Arrays at least as long as the
+	 * parallel threshold are filtered in parallel chunks, which are then
+	 * compacted by a scan of the chunk counts.
+	 * @param array - {@code int} array to filter
+	 * @param predicate - predicate to test every element with
+	 * @return new array of {@code int} holding the matching elements
+	 * @throws NullPointerException if {@code array} or {@code predicate} is
+	 * {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static int[] filter(final int[] array, final IntPredicate predicate)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		Objects.requireNonNull(predicate);
+		return ArrayTransforms.filter(array, 0, array.length, predicate);
+	}
+
+	/**
+	 * Replaces every element of an {@code int} array with the sum of the
+	 * elements up to and including it. Arrays at least as long as the
+	 * parallel threshold are summed in two parallel passes.
+	 * Sums which do not fit in {@code int} wrap around.
+	 * @param array - {@code int} array to sum
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static void inclusivePrefixSum(final int[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		ArrayTransforms.inclusivePrefixSum(array, 0, array.length);
+	}
+
+	/**
+	 * Replaces every element of an {@code int} array with the sum of the
+	 * elements before it, so that the first element becomes zero. Arrays at
+	 * least as long as the parallel threshold are summed in two parallel
+	 * passes.
+	 * Sums which do not fit in {@code int} wrap around.
+	 * @param array - {@code int} array to sum
+	 * @return the sum of every element of the original array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static int exclusivePrefixSum(final int[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayTransforms.exclusivePrefixSum(array, 0, array.length);
+	}
+
+	/**
+	 * Returns the least element of an {@code int} array, as by
+	 * {@link Math#min(int, int)}. Arrays at least as long as the parallel
+	 * threshold are searched in parallel.
+	 * @param array - {@code int} array to search
+	 * @return an {@code OptionalInt} containing the least element, or an empty
+	 * {@code OptionalInt} if the array is empty
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static OptionalInt min(final int[] array) throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayTransforms.min(array, 0, array.length);
+	}
+
+	/**
+	 * Returns the greatest element of an {@code int} array, as by
+	 * {@link Math#max(int, int)}. Arrays at least as long as the parallel
+	 * threshold are searched in parallel.
+	 * @param array - {@code int} array to search
+	 * @return an {@code OptionalInt} containing the greatest element, or an empty
+	 * {@code OptionalInt} if the array is empty
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static OptionalInt max(final int[] array) throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayTransforms.max(array, 0, array.length);
+	}
+
+	/**
+	 * Returns the sum of the elements of an {@code int} array. Arrays at least
+	 * as long as the parallel threshold are summed in parallel.
+	 * @param array - {@code int} array to sum
+	 * @return the sum of the elements of the array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static long sum(final int[] array) throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayTransforms.sum(array, 0, array.length);
+	}
+
+	/**
+	 * Returns a new array holding the result of an operator applied to every
+	 * element of a {@code long} array. The operator is applied in parallel if
+	 * the array is at least as long as the parallel threshold.
+	 * @param array - {@code long} array to map
+	 * @param operator - operator to apply to every element
+	 * @return new array of {@code long} holding the results in the same order
+	 * @throws NullPointerException if {@code array} or {@code operator} is
+	 * {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static long[] map(final long[] array, final LongUnaryOperator operator)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		Objects.requireNonNull(operator);
+		return ArrayTransforms.map(array, 0, array.length, operator);
+	}
+
+	/**
+	 * Replaces every element of a {@code long} array with the result of an
+	 * operator applied to it. The operator is applied in parallel if the
+	 * array is at least as long as the parallel threshold.
+	 * @param array - {@code long} array to map
+	 * @param operator - operator to apply to every element
+	 * @throws NullPointerException if {@code array} or {@code operator} is
+	 * {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static void mapInPlace(final long[] array, final LongUnaryOperator operator)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		Objects.requireNonNull(operator);
+		ArrayTransforms.mapInPlace(array, 0, array.length, operator);
+	}
+
+	/**
+	 * Returns a new array holding the elements of a {@code long} array which
+	 * match a predicate, in the same order. Arrays at least as long as the
+	 * parallel threshold are filtered in parallel chunks, which are then
+	 * compacted by a scan of the chunk counts.
+	 * @param array - {@code long} array to filter
+	 * @param predicate - predicate to test every element with
+	 * @return new array of {@code long} holding the matching elements
+	 * @throws NullPointerException if {@code array} or {@code predicate} is
+	 * {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static long[] filter(final long[] array, final LongPredicate predicate)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		Objects.requireNonNull(predicate);
+		return ArrayTransforms.filter(array, 0, array.length, predicate);
+	}
+
+	/**
+	 * Replaces every element of a {@code long} array with the sum of the
+	 * elements up to and including it. Arrays at least as long as the
+	 * parallel threshold are summed in two parallel passes.
+	 * Sums which do not fit in {@code long} wrap around.
+	 * @param array - {@code long} array to sum
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static void inclusivePrefixSum(final long[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		ArrayTransforms.inclusivePrefixSum(array, 0, array.length);
+	}
+
+	/**
+	 * Replaces every element of a {@code long} array with the sum of the
+	 * elements before it, so that the first element becomes zero. Arrays at
+	 * least as long as the parallel threshold are summed in two parallel
+	 * passes.
+	 * Sums which do not fit in {@code long} wrap around.
+	 * @param array - {@code long} array to sum
+	 * @return the sum of every element of the original array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static long exclusivePrefixSum(final long[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayTransforms.exclusivePrefixSum(array, 0, array.length);
+	}
+
+	/**
+	 * Returns the least element of a {@code long} array, as by
+	 * {@link Math#min(long, long)}. Arrays at least as long as the parallel
+	 * threshold are searched in parallel.
+	 * @param array - {@code long} array to search
+	 * @return an {@code OptionalLong} containing the least element, or an empty
+	 * {@code OptionalLong} if the array is empty
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static OptionalLong min(final long[] array) throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayTransforms.min(array, 0, array.length);
+	}
+
+	/**
+	 * Returns the greatest element of a {@code long} array, as by
+	 * {@link Math#max(long, long)}. Arrays at least as long as the parallel
+	 * threshold are searched in parallel.
+	 * @param array - {@code long} array to search
+	 * @return an {@code OptionalLong} containing the greatest element, or an empty
+	 * {@code OptionalLong} if the array is empty
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static OptionalLong max(final long[] array) throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayTransforms.max(array, 0, array.length);
+	}
+
+	/**
+	 * Returns the sum of the elements of a {@code long} array. Arrays at least
+	 * as long as the parallel threshold are summed in parallel.
+	 * Sums which do not fit in {@code long} wrap around.
+	 * @param array - {@code long} array to sum
+	 * @return the sum of the elements of the array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static long sum(final long[] array) throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayTransforms.sum(array, 0, array.length);
+	}
+
+	/**
+	 * Returns a new array holding the result of an operator applied to every
+	 * element of a {@code double} array. The operator is applied in parallel if
+	 * the array is at least as long as the parallel threshold.
+	 * @param array - {@code double} array to map
+	 * @param operator - operator to apply to every element
+	 * @return new array of {@code double} holding the results in the same order
+	 * @throws NullPointerException if {@code array} or {@code operator} is
+	 * {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static double[] map(final double[] array, final DoubleUnaryOperator operator)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		Objects.requireNonNull(operator);
+		return ArrayTransforms.map(array, 0, array.length, operator);
+	}
+
+	/**
+	 * Replaces every element of a {@code double} array with the result of an
+	 * operator applied to it. The operator is applied in parallel if the
+	 * array is at least as long as the parallel threshold.
+	 * @param array - {@code double} array to map
+	 * @param operator - operator to apply to every element
+	 * @throws NullPointerException if {@code array} or {@code operator} is
+	 * {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static void mapInPlace(final double[] array, final DoubleUnaryOperator operator)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		Objects.requireNonNull(operator);
+		ArrayTransforms.mapInPlace(array, 0, array.length, operator);
+	}
+
+	/**
+	 * Returns a new array holding the elements of a {@code double} array which
+	 * match a predicate, in the same order. Arrays at least as long as the
+	 * parallel threshold are filtered in parallel chunks, which are then
+	 * compacted by a scan of the chunk counts.
+	 * @param array - {@code double} array to filter
+	 * @param predicate - predicate to test every element with
+	 * @return new array of {@code double} holding the matching elements
+	 * @throws NullPointerException if {@code array} or {@code predicate} is
+	 * {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static double[] filter(final double[] array, final DoublePredicate predicate)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		Objects.requireNonNull(predicate);
+		return ArrayTransforms.filter(array, 0, array.length, predicate);
+	}
+
+	/**
+	 * Replaces every element of a {@code double} array with the sum of the
+	 * elements up to and including it. Arrays at least as long as the
+	 * parallel threshold are summed in two parallel passes.
+	 * Long arrays are summed in chunks, so the rounding of the result may
+	 * differ slightly from that of a sequential sum.
+	 * @param array - {@code double} array to sum
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static void inclusivePrefixSum(final double[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		ArrayTransforms.inclusivePrefixSum(array, 0, array.length);
+	}
+
+	/**
+	 * Replaces every element of a {@code double} array with the sum of the
+	 * elements before it, so that the first element becomes zero. Arrays at
+	 * least as long as the parallel threshold are summed in two parallel
+	 * passes.
+	 * Long arrays are summed in chunks, so the rounding of the result may
+	 * differ slightly from that of a sequential sum.
+	 * @param array - {@code double} array to sum
+	 * @return the sum of every element of the original array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static double exclusivePrefixSum(final double[] array)
+			throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayTransforms.exclusivePrefixSum(array, 0, array.length);
+	}
+
+	/**
+	 * Returns the least element of a {@code double} array, as by
+	 * {@link Math#min(double, double)}. Arrays at least as long as the parallel
+	 * threshold are searched in parallel.
+	 * @param array - {@code double} array to search
+	 * @return an {@code OptionalDouble} containing the least element, or an empty
+	 * {@code OptionalDouble} if the array is empty
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static OptionalDouble min(final double[] array) throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayTransforms.min(array, 0, array.length);
+	}
+
+	/**
+	 * Returns the greatest element of a {@code double} array, as by
+	 * {@link Math#max(double, double)}. Arrays at least as long as the parallel
+	 * threshold are searched in parallel.
+	 * @param array - {@code double} array to search
+	 * @return an {@code OptionalDouble} containing the greatest element, or an empty
+	 * {@code OptionalDouble} if the array is empty
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static OptionalDouble max(final double[] array) throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayTransforms.max(array, 0, array.length);
+	}
+
+	/**
+	 * Returns the sum of the elements of a {@code double} array. Arrays at least
+	 * as long as the parallel threshold are summed in parallel.
+	 * Long arrays are summed in chunks, so the rounding of the result may
+	 * differ slightly from that of a sequential sum.
+	 * @param array - {@code double} array to sum
+	 * @return the sum of the elements of the array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static double sum(final double[] array) throws NullPointerException {
+
+		Objects.requireNonNull(array);
+		return ArrayTransforms.sum(array, 0, array.length);
+	}
+
+	/**
+	 * Sorts an {@code int} array into ascending numerical order, with a least significant
+	 * digit radix sort. The array is sorted sequentially, eight bits per pass, and passes
+	 * on which every element has the same digit are skipped. The sort needs an extra array as long as the
+	 * sorted one.
+	 * @param array - array to sort
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void radixSort(final int[] array) throws NullPointerException {
+		RadixSort.sort(Objects.requireNonNull(array), false);
+	}
+
+	/**
+	 * Sorts an {@code int} array into ascending numerical order, with a least significant
+	 * digit radix sort. Every pass builds per chunk digit histograms and scatters the
+	 * chunks in parallel. Arrays shorter than the parallel threshold are
+	 * sorted sequentially. The sort needs an extra array as long as the
+	 * sorted one.
+	 * @param array - array to sort
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static void parallelRadixSort(final int[] array) throws NullPointerException {
+		RadixSort.sort(Objects.requireNonNull(array), true);
+	}
+
+	/**
+	 * Returns the indexes of an {@code int} array sorted into ascending order of
+	 * their elements, leaving the array itself unchanged. The sort is stable:
+	 * indexes of equal elements stay in ascending order. The result may be
+	 * passed to {@link #applyPermutation(int[], int[])} to sort the array,
+	 * or any other array whose elements match it index by index.
+	 * @param array - array to sort the indexes of
+	 * @return a new array holding the sorted indexes
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static int[] argsort(final int[] array) throws NullPointerException {
+		return RadixSort.argsort(Objects.requireNonNull(array), false);
+	}
+
+	/**
+	 * Returns the indexes of an {@code int} array sorted into ascending order of
+	 * their elements, leaving the array itself unchanged. The sort is stable:
+	 * indexes of equal elements stay in ascending order. The result may be
+	 * passed to {@link #applyPermutation(int[], int[])} to sort the array,
+	 * or any other array whose elements match it index by index. Arrays at least as long as the parallel threshold are sorted in
+	 * parallel.
+	 * @param array - array to sort the indexes of
+	 * @return a new array holding the sorted indexes
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static int[] parallelArgsort(final int[] array) throws NullPointerException {
+		return RadixSort.argsort(Objects.requireNonNull(array), true);
+	}
+
+	/**
+	 * Sorts a {@code long} array into ascending numerical order, with a least significant
+	 * digit radix sort. The array is sorted sequentially, eight bits per pass, and passes
+	 * on which every element has the same digit are skipped. The sort needs an extra array as long as the
+	 * sorted one.
+	 * @param array - array to sort
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void radixSort(final long[] array) throws NullPointerException {
+		RadixSort.sort(Objects.requireNonNull(array), false);
+	}
+
+	/**
+	 * Sorts a {@code long} array into ascending numerical order, with a least significant
+	 * digit radix sort. Every pass builds per chunk digit histograms and scatters the
+	 * chunks in parallel. Arrays shorter than the parallel threshold are
+	 * sorted sequentially. The sort needs an extra array as long as the
+	 * sorted one.
+	 * @param array - array to sort
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static void parallelRadixSort(final long[] array) throws NullPointerException {
+		RadixSort.sort(Objects.requireNonNull(array), true);
+	}
+
+	/**
+	 * Returns the indexes of a {@code long} array sorted into ascending order of
+	 * their elements, leaving the array itself unchanged. The sort is stable:
+	 * indexes of equal elements stay in ascending order. The result may be
+	 * passed to {@link #applyPermutation(long[], int[])} to sort the array,
+	 * or any other array whose elements match it index by index.
+	 * @param array - array to sort the indexes of
+	 * @return a new array holding the sorted indexes
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static int[] argsort(final long[] array) throws NullPointerException {
+		return RadixSort.argsort(Objects.requireNonNull(array), false);
+	}
+
+	/**
+	 * Returns the indexes of a {@code long} array sorted into ascending order of
+	 * their elements, leaving the array itself unchanged. The sort is stable:
+	 * indexes of equal elements stay in ascending order. The result may be
+	 * passed to {@link #applyPermutation(long[], int[])} to sort the array,
+	 * or any other array whose elements match it index by index. Arrays at least as long as the parallel threshold are sorted in
+	 * parallel.
+	 * @param array - array to sort the indexes of
+	 * @return a new array holding the sorted indexes
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static int[] parallelArgsort(final long[] array) throws NullPointerException {
+		return RadixSort.argsort(Objects.requireNonNull(array), true);
+	}
+
+	/**
+	 * Sorts a {@code float} array into the ascending order of {@link Float#compare(float, float)}, which is
+	 * the order of {@link java.util.Arrays#sort(float[])}. NaN values are
+	 * replaced with the canonical NaN, with a least significant
+	 * digit radix sort. The array is sorted sequentially, eight bits per pass, and passes
+	 * on which every element has the same digit are skipped. The sort needs an extra array as long as the
+	 * sorted one.
+	 * @param array - array to sort
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void radixSort(final float[] array) throws NullPointerException {
+		RadixSort.sort(Objects.requireNonNull(array), false);
+	}
+
+	/**
+	 * Sorts a {@code float} array into the ascending order of {@link Float#compare(float, float)}, which is
+	 * the order of {@link java.util.Arrays#sort(float[])}. NaN values are
+	 * replaced with the canonical NaN, with a least significant
+	 * digit radix sort. Every pass builds per chunk digit histograms and scatters the
+	 * chunks in parallel. Arrays shorter than the parallel threshold are
+	 * sorted sequentially. The sort needs an extra array as long as the
+	 * sorted one.
+	 * @param array - array to sort
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static void parallelRadixSort(final float[] array) throws NullPointerException {
+		RadixSort.sort(Objects.requireNonNull(array), true);
+	}
+
+	/**
+	 * Returns the indexes of a {@code float} array sorted into the ascending order of
+	 * {@link Float#compare(float, float)} of
+	 * their elements, leaving the array itself unchanged. The sort is stable:
+	 * indexes of equal elements stay in ascending order. The result may be
+	 * passed to {@link #applyPermutation(float[], int[])} to sort the array,
+	 * or any other array whose elements match it index by index.
+	 * @param array - array to sort the indexes of
+	 * @return a new array holding the sorted indexes
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static int[] argsort(final float[] array) throws NullPointerException {
+		return RadixSort.argsort(Objects.requireNonNull(array), false);
+	}
+
+	/**
+	 * Returns the indexes of a {@code float} array sorted into the ascending order of
+	 * {@link Float#compare(float, float)} of
+	 * their elements, leaving the array itself unchanged. The sort is stable:
+	 * indexes of equal elements stay in ascending order. The result may be
+	 * passed to {@link #applyPermutation(float[], int[])} to sort the array,
+	 * or any other array whose elements match it index by index. Arrays at least as long as the parallel threshold are sorted in
+	 * parallel.
+	 * @param array - array to sort the indexes of
+	 * @return a new array holding the sorted indexes
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static int[] parallelArgsort(final float[] array) throws NullPointerException {
+		return RadixSort.argsort(Objects.requireNonNull(array), true);
+	}
+
+	/**
+	 * Sorts a {@code double} array into the ascending order of {@link Double#compare(double, double)}, which is
+	 * the order of {@link java.util.Arrays#sort(double[])}. NaN values are
+	 * replaced with the canonical NaN, with a least significant
+	 * digit radix sort. The array is sorted sequentially, eight bits per pass, and passes
+	 * on which every element has the same digit are skipped. The sort needs an extra array as long as the
+	 * sorted one.
+	 * @param array - array to sort
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static void radixSort(final double[] array) throws NullPointerException {
+		RadixSort.sort(Objects.requireNonNull(array), false);
+	}
+
+	/**
+	 * Sorts a {@code double} array into the ascending order of {@link Double#compare(double, double)}, which is
+	 * the order of {@link java.util.Arrays#sort(double[])}. NaN values are
+	 * replaced with the canonical NaN, with a least significant
+	 * digit radix sort. Every pass builds per chunk digit histograms and scatters the
+	 * chunks in parallel. Arrays shorter than the parallel threshold are
+	 * sorted sequentially. The sort needs an extra array as long as the
+	 * sorted one.
+	 * @param array - array to sort
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static void parallelRadixSort(final double[] array) throws NullPointerException {
+		RadixSort.sort(Objects.requireNonNull(array), true);
+	}
+
+	/**
+	 * Returns the indexes of a {@code double} array sorted into the ascending order of
+	 * {@link Double#compare(double, double)} of
+	 * their elements, leaving the array itself unchanged. The sort is stable:
+	 * indexes of equal elements stay in ascending order. The result may be
+	 * passed to {@link #applyPermutation(double[], int[])} to sort the array,
+	 * or any other array whose elements match it index by index.
+	 * @param array - array to sort the indexes of
+	 * @return a new array holding the sorted indexes
+	 * @throws NullPointerException if {@code array == null}
+	 */
+	public static int[] argsort(final double[] array) throws NullPointerException {
+		return RadixSort.argsort(Objects.requireNonNull(array), false);
+	}
+
+	/**
+	 * Returns the indexes of a {@code double} array sorted into the ascending order of
+	 * {@link Double#compare(double, double)} of
+	 * their elements, leaving the array itself unchanged. The sort is stable:
+	 * indexes of equal elements stay in ascending order. The result may be
+	 * passed to {@link #applyPermutation(double[], int[])} to sort the array,
+	 * or any other array whose elements match it index by index. Arrays at least as long as the parallel threshold are sorted in
+	 * parallel.
+	 * @param array - array to sort the indexes of
+	 * @return a new array holding the sorted indexes
+	 * @throws NullPointerException if {@code array == null}
+	 * @see #setParallelThreshold(int)
+	 */
+	public static int[] parallelArgsort(final double[] array) throws NullPointerException {
+		return RadixSort.argsort(Objects.requireNonNull(array), true);
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code boolean}, in
+	 * chunks of {@link ArrayHashTree#DEFAULT_CHUNK_LENGTH} elements. The
+	 * chunks are hashed in parallel if the array is at least as long as the
+	 * parallel threshold.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final boolean[] array) throws NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array));
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code boolean}, in
+	 * chunks of the given length. The chunks are hashed in parallel if the
+	 * array is at least as long as the parallel threshold.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final boolean[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array), chunkLength);
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code byte}, in
+	 * chunks of {@link ArrayHashTree#DEFAULT_CHUNK_LENGTH} elements. The
+	 * chunks are hashed in parallel if the array is at least as long as the
+	 * parallel threshold.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final byte[] array) throws NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array));
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code byte}, in
+	 * chunks of the given length. The chunks are hashed in parallel if the
+	 * array is at least as long as the parallel threshold.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final byte[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array), chunkLength);
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code short}, in
+	 * chunks of {@link ArrayHashTree#DEFAULT_CHUNK_LENGTH} elements. The
+	 * chunks are hashed in parallel if the array is at least as long as the
+	 * parallel threshold.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final short[] array) throws NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array));
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code short}, in
+	 * chunks of the given length. The chunks are hashed in parallel if the
+	 * array is at least as long as the parallel threshold.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final short[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array), chunkLength);
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code char}, in
+	 * chunks of {@link ArrayHashTree#DEFAULT_CHUNK_LENGTH} elements. The
+	 * chunks are hashed in parallel if the array is at least as long as the
+	 * parallel threshold.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final char[] array) throws NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array));
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code char}, in
+	 * chunks of the given length. The chunks are hashed in parallel if the
+	 * array is at least as long as the parallel threshold.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final char[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array), chunkLength);
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code int}, in
+	 * chunks of {@link ArrayHashTree#DEFAULT_CHUNK_LENGTH} elements. The
+	 * chunks are hashed in parallel if the array is at least as long as the
+	 * parallel threshold.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final int[] array) throws NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array));
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code int}, in
+	 * chunks of the given length. The chunks are hashed in parallel if the
+	 * array is at least as long as the parallel threshold.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final int[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array), chunkLength);
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code long}, in
+	 * chunks of {@link ArrayHashTree#DEFAULT_CHUNK_LENGTH} elements. The
+	 * chunks are hashed in parallel if the array is at least as long as the
+	 * parallel threshold.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final long[] array) throws NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array));
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code long}, in
+	 * chunks of the given length. The chunks are hashed in parallel if the
+	 * array is at least as long as the parallel threshold.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final long[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array), chunkLength);
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code float}, in
+	 * chunks of {@link ArrayHashTree#DEFAULT_CHUNK_LENGTH} elements. The
+	 * chunks are hashed in parallel if the array is at least as long as the
+	 * parallel threshold.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final float[] array) throws NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array));
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code float}, in
+	 * chunks of the given length. The chunks are hashed in parallel if the
+	 * array is at least as long as the parallel threshold.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final float[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array), chunkLength);
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code double}, in
+	 * chunks of {@link ArrayHashTree#DEFAULT_CHUNK_LENGTH} elements. The
+	 * chunks are hashed in parallel if the array is at least as long as the
+	 * parallel threshold.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final double[] array) throws NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array));
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of {@code double}, in
+	 * chunks of the given length. The chunks are hashed in parallel if the
+	 * array is at least as long as the parallel threshold.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final double[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array), chunkLength);
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of objects, in
+	 * chunks of {@link ArrayHashTree#DEFAULT_CHUNK_LENGTH} elements. The
+	 * chunks are hashed in parallel if the array is at least as long as the
+	 * parallel threshold.
+	 * @param array - array to hash
+	 * @return the hash tree of the array
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final Object[] array) throws NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array));
+	}
+
+	/**
+	 * Returns a Merkle tree of the chunk hashes of an array of objects, in
+	 * chunks of the given length. The chunks are hashed in parallel if the
+	 * array is at least as long as the parallel threshold.
+	 * @param array - array to hash
+	 * @param chunkLength - number of elements per chunk
+	 * @return the hash tree of the array
+	 * @throws IllegalArgumentException if {@code chunkLength} is not positive
+	 * @throws NullPointerException if {@code array == null}
+	 * @see ArrayHashTree#diff(ArrayHashTree)
+	 */
+	public static ArrayHashTree hashTree(final Object[] array, final int chunkLength)
+			throws IllegalArgumentException, NullPointerException {
+		return ArrayHashTree.of(Objects.requireNonNull(array), chunkLength);
+	}
 }
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+/**
+ * Abstract base class for the big heap arrays of this package, such as
+ * {@link BigIntArray}. A big array is indexed with {@code long}, so it may
+ * hold more than {@link Integer#MAX_VALUE} elements. The elements are kept in
+ * segments, which are plain arrays of {@code 1 << SEGMENT_SHIFT} elements
+ * each, but for the last one which is no longer than needed. An index is
+ * split into a segment and an offset with a shift and a mask.
+ * <p>
+ * Bulk operations such as filling and copying run in parallel, over ranges
+ * which may span several segments, once the range is at least as long as
+ * {@link ArrayUtililities#getParallelThreshold()}. Big arrays are not thread
+ * safe otherwise.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+public abstract class BigArray {
+
+	/**
+	 * Log2 of the number of elements in a full segment.
+	 */
+	static final int SEGMENT_SHIFT = 27;
+
+	/**
+	 * Number of elements in a full segment.
+	 */
+	static final int SEGMENT_LENGTH = 1 << SEGMENT_SHIFT;
+
+	/**
+	 * Mask of the offset of an element inside its segment.
+	 */
+	static final int SEGMENT_MASK = SEGMENT_LENGTH - 1;
+
+	/*
+	 * Largest length of a big array: as many full segments as an array of
+	 * segments may hold.
+	 */
+	private static final long MAX_LENGTH = (long) (Integer.MAX_VALUE - 8) << SEGMENT_SHIFT;
+
+	/**
+	 * Number of elements in this array.
+	 */
+	final long length;
+
+	/**
+	 * An action on the range {@code [from, to)} of one segment.
+	 */
+	@FunctionalInterface
+	interface SegmentAction {
+		/**
+		 * Performs this action on the given range of a segment.
+		 * @param segment - index of the segment
+		 * @param from - first offset in the segment, inclusive
+		 * @param to - last offset in the segment, exclusive
+		 */
+		void apply(int segment, int from, int to);
+	}
+
+	/**
+	 * Checks the length of a new array.
+	 * @param length - number of elements
+	 * @throws NegativeArraySizeException if {@code length} is negative
+	 * @throws OutOfMemoryError if {@code length} is too large
+	 */
+	BigArray(final long length)
+			throws NegativeArraySizeException, OutOfMemoryError {
+		if(length < 0) {
+			throw new NegativeArraySizeException();
+		}
+		if(length > MAX_LENGTH) {
+			throw new OutOfMemoryError("Array too long: " + length);
+		}
+		this.length = length;
+	}
+
+	/**
+	 * Returns the number of elements in this array.
+	 * @return the number of elements in this array
+	 */
+	public final long length() {
+		return length;
+	}
+
+	/**
+	 * Returns the number of segments of an array of the given length.
+	 * @param length - number of elements
+	 * @return the number of segments
+	 */
+	static int segmentCount(final long length) {
+		return (int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+	}
+
+	/**
+	 * Returns the length of a segment of an array of the given length.
+	 * @param length - number of elements
+	 * @param segment - index of the segment
+	 * @return the length of the segment
+	 */
+	static int segmentLength(final long length, final int segment) {
+		return (int) Math.min(SEGMENT_LENGTH, length - ((long) segment << SEGMENT_SHIFT));
+	}
+
+	/**
+	 * Returns the segment holding an index.
+	 * @param index - index of an element
+	 * @return the index of the segment
+	 */
+	static int segment(final long index) {
+		return (int) (index >>> SEGMENT_SHIFT);
+	}
+
+	/**
+	 * Returns the offset of an index inside its segment.
+	 * @param index - index of an element
+	 * @return the offset inside the segment
+	 */
+	static int offset(final long index) {
+		return (int) index & SEGMENT_MASK;
+	}
+
+	/**
+	 * Throws an exception if the index is not the index of an element.
+	 * @param index - index to check
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	final void checkIndex(final long index) throws IndexOutOfBoundsException {
+		if(index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + index + ", Length: " + length);
+		}
+	}
+
+	/**
+	 * Checks that {@code [offset, offset + count)} is a range of the indexes
+	 * of this array.
+	 * @param offset - first index of the range
+	 * @param count - number of elements in the range
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	final void checkRange(final long offset, final long count)
+			throws IndexOutOfBoundsException {
+		if(offset < 0 || count < 0 || offset > length - count) {
+			throw new IndexOutOfBoundsException("Range [" + offset + ", "
+					+ offset + " + " + count + ") out of bounds for length " + length);
+		}
+	}
+
+	/**
+	 * Returns the length of a heap array holding every element of this array.
+	 * @return the length of a heap array holding this array
+	 * @throws OutOfMemoryError if this array is too long for a heap array
+	 */
+	final int heapLength() throws OutOfMemoryError {
+		if(length > Integer.MAX_VALUE - 8) {
+			throw new OutOfMemoryError("Array too long for the heap: " + length);
+		}
+		return (int) length;
+	}
+
+	/**
+	 * Performs the action on every segment range of the index range
+	 * {@code [from, to)}. The range is cut into chunks which run in parallel
+	 * if it is long enough; a chunk may span several segments.
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param action - action to perform
+	 */
+	static void forEachSegment(final long from, final long to,
+			final SegmentAction action) {
+		ParallelRanges.forEachLong(to - from, (start, end) -> {
+			long index = from + start;
+			final long last = from + end;
+			while(index < last) {
+				final int offset = offset(index);
+				final int count = (int) Math.min(last - index, SEGMENT_LENGTH - offset);
+				action.apply(segment(index), offset, offset + count);
+				index += count;
+			}
+		});
+	}
+
+}
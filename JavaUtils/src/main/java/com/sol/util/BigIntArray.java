@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A big heap array of {@code int} elements, indexed with {@code long}. The elements
+ * are kept in segments of {@code 1 << 27} elements; see {@link BigArray}.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @see IntArray
+ */
+public final class BigIntArray extends BigArray {
+
+	/*
+	 * The segments holding the elements.
+	 */
+	private final int[][] segments;
+
+	/**
+	 * Allocates a new big array with all its elements set to zero.
+	 * @param length - number of elements
+	 * @throws NegativeArraySizeException if {@code length} is negative
+	 * @throws OutOfMemoryError if {@code length} is too large
+	 */
+	public BigIntArray(final long length)
+			throws NegativeArraySizeException, OutOfMemoryError {
+		super(length);
+		this.segments = new int[segmentCount(length)][];
+		for(int i = 0; i < segments.length; i++) {
+			segments[i] = new int[segmentLength(length, i)];
+		}
+	}
+
+	/**
+	 * Returns a new big array containing the same elements as the given array
+	 * in the same order.
+	 * @param array - array to copy
+	 * @return a new big array containing the elements of {@code array}
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static BigIntArray of(final int... array) throws NullPointerException {
+		final BigIntArray newArray = new BigIntArray(Objects.requireNonNull(array).length);
+		newArray.copyFrom(array, 0, 0, array.length);
+		return newArray;
+	}
+
+	/**
+	 * Returns the element at the given index.
+	 * @param index - index of the element
+	 * @return the element at the given index
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public int get(final long index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return segments[segment(index)][offset(index)];
+	}
+
+	/**
+	 * Sets the element at the given index.
+	 * @param index - index of the element
+	 * @param value - new value of the element
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public void set(final long index, final int value)
+			throws IndexOutOfBoundsException {
+		checkIndex(index);
+		segments[segment(index)][offset(index)] = value;
+	}
+
+	/**
+	 * Sets every element of this array to the given value.
+	 * @param value - value to set
+	 */
+	public void fill(final int value) {
+		fill(0, length, value);
+	}
+
+	/**
+	 * Sets every element of the range {@code [from, to)} to the given value.
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @param value - value to set
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public void fill(final long from, final long to, final int value)
+			throws IndexOutOfBoundsException {
+		checkRange(from, to - from);
+		forEachSegment(from, to, (segment, start, end) ->
+				Arrays.fill(segments[segment], start, end, value));
+	}
+
+	/**
+	 * Copies elements from an array into this array.
+	 * @param source - array to copy from
+	 * @param sourcePosition - first index to copy in {@code source}
+	 * @param position - first index to copy to in this array
+	 * @param count - number of elements to copy
+	 * @throws IndexOutOfBoundsException if one of the ranges is out of bounds
+	 * @throws NullPointerException if {@code source} is {@code null}
+	 */
+	public void copyFrom(final int[] source, final int sourcePosition,
+			final long position, final int count)
+			throws IndexOutOfBoundsException, NullPointerException {
+		OffHeapArray.checkArrayRange(source.length, sourcePosition, count);
+		checkRange(position, count);
+		forEachSegment(position, position + count, (segment, start, end) ->
+				System.arraycopy(source, arrayIndex(segment, start, position,
+						sourcePosition), segments[segment], start, end - start));
+	}
+
+	/**
+	 * Copies elements from this array into an array.
+	 * @param position - first index to copy in this array
+	 * @param destination - array to copy to
+	 * @param destinationPosition - first index to copy to in
+	 * {@code destination}
+	 * @param count - number of elements to copy
+	 * @throws IndexOutOfBoundsException if one of the ranges is out of bounds
+	 * @throws NullPointerException if {@code destination} is {@code null}
+	 */
+	public void copyTo(final long position, final int[] destination,
+			final int destinationPosition, final int count)
+			throws IndexOutOfBoundsException, NullPointerException {
+		OffHeapArray.checkArrayRange(destination.length, destinationPosition, count);
+		checkRange(position, count);
+		forEachSegment(position, position + count, (segment, start, end) ->
+				System.arraycopy(segments[segment], start, destination,
+						arrayIndex(segment, start, position, destinationPosition),
+						end - start));
+	}
+
+	/**
+	 * Copies elements from one big array to another, or to another range of
+	 * the same array. Like {@link System#arraycopy}, overlapping ranges of
+	 * the same array are copied as if through a temporary copy; such copies
+	 * run sequentially.
+	 * @param source - big array to copy from
+	 * @param sourcePosition - first index to copy in {@code source}
+	 * @param destination - big array to copy to
+	 * @param destinationPosition - first index to copy to in
+	 * {@code destination}
+	 * @param count - number of elements to copy
+	 * @throws IndexOutOfBoundsException if one of the ranges is out of bounds
+	 * @throws NullPointerException if {@code source} or {@code destination}
+	 * is {@code null}
+	 */
+	public static void copy(final BigIntArray source, final long sourcePosition,
+			final BigIntArray destination, final long destinationPosition,
+			final long count) throws IndexOutOfBoundsException, NullPointerException {
+		source.checkRange(sourcePosition, count);
+		destination.checkRange(destinationPosition, count);
+
+		if(source == destination && sourcePosition < destinationPosition
+				&& destinationPosition < sourcePosition + count) {
+			copyBackward(source.segments, sourcePosition, destinationPosition, count);
+		} else if(source == destination && destinationPosition < sourcePosition
+				&& sourcePosition < destinationPosition + count) {
+			copyForward(source.segments, sourcePosition, source.segments,
+					destinationPosition, count);
+		} else {
+			forEachSegment(destinationPosition, destinationPosition + count,
+					(segment, start, end) -> copyForward(source.segments,
+							sourcePosition - destinationPosition
+							+ ((long) segment << SEGMENT_SHIFT) + start,
+							destination.segments,
+							((long) segment << SEGMENT_SHIFT) + start, end - start));
+		}
+	}
+
+	/**
+	 * Returns a new array containing the elements of this array in the same
+	 * order.
+	 * @return a new array containing the elements of this array
+	 * @throws OutOfMemoryError if this array is too long for a single array
+	 */
+	public int[] toArray() throws OutOfMemoryError {
+		final int[] newArray = new int[heapLength()];
+		copyTo(0, newArray, 0, newArray.length);
+		return newArray;
+	}
+
+	// Index in a plain array matching an offset in a segment
+	private static int arrayIndex(final int segment, final int offset,
+			final long position, final int arrayPosition) {
+		return (int) (((long) segment << SEGMENT_SHIFT) + offset - position) + arrayPosition;
+	}
+
+	// Copies a range from low to high indexes, across segments
+	private static void copyForward(final int[][] source, final long sourcePosition,
+			final int[][] destination, final long destinationPosition,
+			final long count) {
+		for(long copied = 0; copied < count;) {
+			final long from = sourcePosition + copied;
+			final long to = destinationPosition + copied;
+			final int chunk = (int) Math.min(count - copied, Math.min(
+					SEGMENT_LENGTH - offset(from), SEGMENT_LENGTH - offset(to)));
+			System.arraycopy(source[segment(from)], offset(from),
+					destination[segment(to)], offset(to), chunk);
+			copied += chunk;
+		}
+	}
+
+	// Copies a range within the same segments from high to low indexes
+	private static void copyBackward(final int[][] segments,
+			final long sourcePosition, final long destinationPosition,
+			final long count) {
+		for(long remaining = count; remaining > 0;) {
+			final long from = sourcePosition + remaining - 1;
+			final long to = destinationPosition + remaining - 1;
+			final int chunk = (int) Math.min(remaining,
+					Math.min(offset(from), offset(to)) + 1L);
+			System.arraycopy(segments[segment(from)], offset(from) - chunk + 1,
+					segments[segment(to)], offset(to) - chunk + 1, chunk);
+			remaining -= chunk;
+		}
+	}
+
+}
@@ -0,0 +1,452 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A fixed length array of bits, packed 64 to a {@code long}. It takes an
+ * eighth of the memory of a {@code boolean[]} of the same length, and far
+ * less than a {@code Boolean[]}. Bulk operations work a word at a time, and
+ * run in parallel over ranges of words once there are at least
+ * {@link ArrayUtililities#getParallelThreshold()} words. The array is not
+ * thread safe.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @see java.util.BitSet
+ */
+public final class BitArray {
+
+	/*
+	 * Log2 of the number of bits in a word.
+	 */
+	private static final int WORD_SHIFT = 6;
+
+	/*
+	 * Number of bits in a word.
+	 */
+	private static final int WORD_SIZE = 1 << WORD_SHIFT;
+
+	/*
+	 * The words holding the bits. Bit i is bit (i % 64) of word (i / 64).
+	 * The bits of the last word past the length are always clear.
+	 */
+	private final long[] words;
+
+	/*
+	 * Number of bits in this array.
+	 */
+	private final int length;
+
+	/**
+	 * Constructs an array of the given number of bits, all clear.
+	 * @param length - number of bits
+	 * @throws NegativeArraySizeException if {@code length} is negative
+	 */
+	public BitArray(final int length) throws NegativeArraySizeException {
+		if(length < 0) {
+			throw new NegativeArraySizeException();
+		}
+		this.length = length;
+		this.words = new long[wordCount(length)];
+	}
+
+	/**
+	 * Returns a new bit array holding the values of a {@code boolean} array in
+	 * the same order.
+	 * @param array - array to pack
+	 * @return a new bit array holding the values of {@code array}
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static BitArray of(final boolean... array) throws NullPointerException {
+		final BitArray bits = new BitArray(array.length);
+		ParallelRanges.forEach(bits.words.length, (from, to) -> {
+			for(int word = from; word < to; word++) {
+				final int start = word << WORD_SHIFT;
+				final int end = Math.min(array.length, start + WORD_SIZE);
+				long value = 0;
+				for(int i = end - 1; i >= start; i--) {
+					value = value << 1 | (array[i] ? 1 : 0);
+				}
+				bits.words[word] = value;
+			}
+		});
+		return bits;
+	}
+
+	/**
+	 * Returns a new bit array holding the values (unboxed) of a
+	 * {@code Boolean} array in the same order.
+	 * @param array - {@code Boolean} array to pack
+	 * @return a new bit array holding the values of {@code array}
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 */
+	public static BitArray fromBoxedArray(final Boolean[] array)
+			throws NullPointerException {
+		final BitArray bits = new BitArray(array.length);
+		ParallelRanges.forEach(bits.words.length, (from, to) -> {
+			for(int word = from; word < to; word++) {
+				final int start = word << WORD_SHIFT;
+				final int end = Math.min(array.length, start + WORD_SIZE);
+				long value = 0;
+				for(int i = end - 1; i >= start; i--) {
+					value = value << 1 | (array[i].booleanValue() ? 1 : 0);
+				}
+				bits.words[word] = value;
+			}
+		});
+		return bits;
+	}
+
+	/**
+	 * Returns the number of bits in this array.
+	 * @return the number of bits in this array
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Returns the bit at the given index.
+	 * @param index - index of the bit
+	 * @return true if and only if the bit is set
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public boolean get(final int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return 0 != (words[index >>> WORD_SHIFT] & 1L << index);
+	}
+
+	/**
+	 * Sets the bit at the given index.
+	 * @param index - index of the bit
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public void set(final int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		words[index >>> WORD_SHIFT] |= 1L << index;
+	}
+
+	/**
+	 * Sets the bit at the given index to the given value.
+	 * @param index - index of the bit
+	 * @param value - new value of the bit
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public void set(final int index, final boolean value)
+			throws IndexOutOfBoundsException {
+		if(value) {
+			set(index);
+		} else {
+			clear(index);
+		}
+	}
+
+	/**
+	 * Clears the bit at the given index.
+	 * @param index - index of the bit
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public void clear(final int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		words[index >>> WORD_SHIFT] &= ~(1L << index);
+	}
+
+	/**
+	 * Flips the bit at the given index.
+	 * @param index - index of the bit
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public void flip(final int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		words[index >>> WORD_SHIFT] ^= 1L << index;
+	}
+
+	/**
+	 * Sets every bit of this array to the given value.
+	 * @param value - value to set
+	 */
+	public void fill(final boolean value) {
+		ParallelRanges.forEach(words.length, (from, to) ->
+				Arrays.fill(words, from, to, value ? -1L : 0L));
+		clearTail();
+	}
+
+	/**
+	 * Sets every bit of this array which is set in the other array too.
+	 * @param other - array of the same length
+	 * @throws IllegalArgumentException if the arrays differ in length
+	 * @throws NullPointerException if {@code other} is {@code null}
+	 */
+	public void and(final BitArray other)
+			throws IllegalArgumentException, NullPointerException {
+		final long[] otherWords = checkLength(other).words;
+		ParallelRanges.forEach(words.length, (from, to) -> {
+			for(int i = from; i < to; i++) {
+				words[i] &= otherWords[i];
+			}
+		});
+	}
+
+	/**
+	 * Sets every bit of this array which is set in the other array.
+	 * @param other - array of the same length
+	 * @throws IllegalArgumentException if the arrays differ in length
+	 * @throws NullPointerException if {@code other} is {@code null}
+	 */
+	public void or(final BitArray other)
+			throws IllegalArgumentException, NullPointerException {
+		final long[] otherWords = checkLength(other).words;
+		ParallelRanges.forEach(words.length, (from, to) -> {
+			for(int i = from; i < to; i++) {
+				words[i] |= otherWords[i];
+			}
+		});
+	}
+
+	/**
+	 * Flips every bit of this array which is set in the other array.
+	 * @param other - array of the same length
+	 * @throws IllegalArgumentException if the arrays differ in length
+	 * @throws NullPointerException if {@code other} is {@code null}
+	 */
+	public void xor(final BitArray other)
+			throws IllegalArgumentException, NullPointerException {
+		final long[] otherWords = checkLength(other).words;
+		ParallelRanges.forEach(words.length, (from, to) -> {
+			for(int i = from; i < to; i++) {
+				words[i] ^= otherWords[i];
+			}
+		});
+	}
+
+	/**
+	 * Clears every bit of this array which is set in the other array.
+	 * @param other - array of the same length
+	 * @throws IllegalArgumentException if the arrays differ in length
+	 * @throws NullPointerException if {@code other} is {@code null}
+	 */
+	public void andNot(final BitArray other)
+			throws IllegalArgumentException, NullPointerException {
+		final long[] otherWords = checkLength(other).words;
+		ParallelRanges.forEach(words.length, (from, to) -> {
+			for(int i = from; i < to; i++) {
+				words[i] &= ~otherWords[i];
+			}
+		});
+	}
+
+	/**
+	 * Flips every bit of this array.
+	 */
+	public void not() {
+		ParallelRanges.forEach(words.length, (from, to) -> {
+			for(int i = from; i < to; i++) {
+				words[i] = ~words[i];
+			}
+		});
+		clearTail();
+	}
+
+	/**
+	 * Returns the number of set bits in this array.
+	 * @return the number of set bits
+	 */
+	public int cardinality() {
+		final int chunks = ParallelRanges.chunkCount(words.length);
+		final int[] counts = new int[chunks];
+
+		ParallelRanges.forEachChunk(words.length, chunks, (chunk, from, to) -> {
+			int count = 0;
+			for(int i = from; i < to; i++) {
+				count += Long.bitCount(words[i]);
+			}
+			counts[chunk] = count;
+		});
+		int count = 0;
+		for(final int chunkCount : counts) {
+			count += chunkCount;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the index of the first set bit at or after the given index.
+	 * @param fromIndex - index to start from, inclusive
+	 * @return the index of the next set bit, or -1 if there is none
+	 * @throws IndexOutOfBoundsException if {@code fromIndex} is negative
+	 */
+	public int nextSetBit(final int fromIndex) throws IndexOutOfBoundsException {
+		if(fromIndex < 0) {
+			throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+		}
+		int word = fromIndex >>> WORD_SHIFT;
+		if(word >= words.length) {
+			return -1;
+		}
+		long bits = words[word] & -1L << fromIndex;
+		while(0 == bits) {
+			if(++word == words.length) {
+				return -1;
+			}
+			bits = words[word];
+		}
+		return (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+	}
+
+	/**
+	 * Returns the index of the first clear bit at or after the given index.
+	 * @param fromIndex - index to start from, inclusive
+	 * @return the index of the next clear bit, or the length of this array
+	 * if there is none
+	 * @throws IndexOutOfBoundsException if {@code fromIndex} is negative
+	 */
+	public int nextClearBit(final int fromIndex) throws IndexOutOfBoundsException {
+		if(fromIndex < 0) {
+			throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+		}
+		int word = fromIndex >>> WORD_SHIFT;
+		if(word >= words.length) {
+			return length;
+		}
+		long bits = ~words[word] & -1L << fromIndex;
+		while(0 == bits) {
+			if(++word == words.length) {
+				return length;
+			}
+			bits = ~words[word];
+		}
+		// The clear bits past the length of the last word may be found
+		return Math.min(length, (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits));
+	}
+
+	/**
+	 * Returns a new {@code boolean} array holding the bits of this array in
+	 * the same order.
+	 * @return a new {@code boolean} array holding the bits of this array
+	 */
+	public boolean[] toBooleanArray() {
+		final boolean[] newArray = new boolean[length];
+		ParallelRanges.forEach(words.length, (from, to) -> {
+			for(int word = from; word < to; word++) {
+				final int start = word << WORD_SHIFT;
+				final int end = Math.min(length, start + WORD_SIZE);
+				final long bits = words[word];
+				for(int i = start; i < end; i++) {
+					newArray[i] = 0 != (bits & 1L << i);
+				}
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Returns a new {@code Boolean} array holding the bits of this array in
+	 * the same order.
+	 * @return a new {@code Boolean} array holding the bits of this array
+	 */
+	public Boolean[] toBoxedArray() {
+		final Boolean[] newArray = new Boolean[length];
+		ParallelRanges.forEach(words.length, (from, to) -> {
+			for(int word = from; word < to; word++) {
+				final int start = word << WORD_SHIFT;
+				final int end = Math.min(length, start + WORD_SIZE);
+				final long bits = words[word];
+				for(int i = start; i < end; i++) {
+					newArray[i] = Boolean.valueOf(0 != (bits & 1L << i));
+				}
+			}
+		});
+		return newArray;
+	}
+
+	/**
+	 * Compares this array with another object. They are equal if the object
+	 * is also a {@code BitArray} with the same length and the same bits.
+	 * @param obj - object to compare with
+	 * @return true if and only if the object is equal to this array
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof BitArray)) {
+			return false;
+		}
+		final BitArray other = (BitArray) obj;
+		return length == other.length && Arrays.equals(words, other.words);
+	}
+
+	/**
+	 * Returns a hash code of the length and the bits of this array.
+	 * @return a hash code of this array
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * Integer.hashCode(length) + Arrays.hashCode(words);
+	}
+
+	/**
+	 * Returns the indexes of the set bits of this array, formatted as by
+	 * {@link java.util.BitSet#toString()}.
+	 * @return the indexes of the set bits of this array
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("{");
+		for(int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+			if(builder.length() > 1) {
+				builder.append(", ");
+			}
+			builder.append(i);
+		}
+		return builder.append('}').toString();
+	}
+
+	// Throws an exception if the index is not the index of a bit
+	private void checkIndex(final int index) throws IndexOutOfBoundsException {
+		if(index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + index + ", Length: " + length);
+		}
+	}
+
+	// Returns the other array if it has the same length as this one
+	private BitArray checkLength(final BitArray other)
+			throws IllegalArgumentException, NullPointerException {
+		if(length != Objects.requireNonNull(other).length) {
+			throw new IllegalArgumentException(
+					"Length mismatch: " + length + " and " + other.length);
+		}
+		return other;
+	}
+
+	// Clears the bits of the last word past the length
+	private void clearTail() {
+		if(0 != (length & WORD_SIZE - 1)) {
+			words[words.length - 1] &= -1L >>> -length;
+		}
+	}
+
+	// Number of words holding the given number of bits
+	private static int wordCount(final int length) {
+		return (int) (((long) length + WORD_SIZE - 1) >>> WORD_SHIFT);
+	}
+
+}
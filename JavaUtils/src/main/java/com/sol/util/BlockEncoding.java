@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+/**
+ * Encodings of {@link CompressedIntArray} and {@link CompressedLongArray}.
+ * Every encoding cuts the values into blocks of
+ * {@value CompressedLongArray#BLOCK_SIZE} values, which are encoded and
+ * decoded independently of one another.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+public enum BlockEncoding {
+
+	/**
+	 * Frame of reference: every value of a block is stored as its distance
+	 * from the least value of the block, packed in as many bits as the
+	 * greatest distance needs. Any value of a block is decoded in constant
+	 * time. Suits values which are close to one another, in any order.
+	 */
+	FRAME_OF_REFERENCE,
+
+	/**
+	 * Delta and frame of reference: every value of a block but the first is
+	 * stored as its difference from the previous value, and the differences
+	 * are packed as by {@link #FRAME_OF_REFERENCE}. Decoding a value decodes
+	 * the block up to it. Suits sorted values, such as ids and timestamps.
+	 */
+	DELTA,
+
+	/**
+	 * Variable length: the differences between consecutive values of a
+	 * block are stored in as many 7 bit groups as they need, so that small
+	 * differences take a byte. Decoding a value decodes the block up to it.
+	 * Suits values which are mostly close to one another, with a few
+	 * outliers which would widen a whole block of
+	 * {@link #FRAME_OF_REFERENCE} or {@link #DELTA}.
+	 */
+	VARINT
+
+}
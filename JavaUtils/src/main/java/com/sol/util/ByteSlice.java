@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A slice of a {@code byte} array: a window of a fixed offset and length over a
+ * backing array, which is not copied. Slices are cut from other slices with
+ * {@link #subSlice(int, int)}, also without copying.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @see ArraySlice
+ */
+public final class ByteSlice extends ArraySlice {
+
+	/*
+	 * The backing array.
+	 */
+	private final byte[] array;
+
+	/*
+	 * Constructs a slice over the range [from, to) of an array.
+	 */
+	private ByteSlice(final byte[] array, final int from, final int to)
+			throws IndexOutOfBoundsException {
+		super(array.length, from, to);
+		this.array = array;
+	}
+
+	/**
+	 * Returns a slice over a whole array.
+	 * @param array - backing array
+	 * @return a slice over the whole array
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static ByteSlice of(final byte[] array) throws NullPointerException {
+		return new ByteSlice(array, 0, array.length);
+	}
+
+	/**
+	 * Returns a slice over the range {@code [from, to)} of an array.
+	 * @param array - backing array
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a slice over the range
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 */
+	public static ByteSlice of(final byte[] array, final int from, final int to)
+			throws IndexOutOfBoundsException, NullPointerException {
+		return new ByteSlice(array, from, to);
+	}
+
+	/**
+	 * Returns a slice over a new array holding the same values (unboxed) as
+	 * the given array of {@code Byte} in the same order.
+	 * @param array - {@code Byte} array to be unboxed
+	 * @return a slice over the unboxed values
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 * @see ArrayUtililities#toPrimitiveArray(Byte[])
+	 */
+	public static ByteSlice fromBoxedArray(final Byte[] array)
+			throws NullPointerException {
+		Objects.requireNonNull(array);
+		return of(ArrayBoxing.unbox(array, 0, array.length, false));
+	}
+
+	/**
+	 * Returns the element at the given index of this slice.
+	 * @param index - index of the element
+	 * @return the element at the given index
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public byte get(final int index) throws IndexOutOfBoundsException {
+		return array[arrayIndex(index)];
+	}
+
+	/**
+	 * Sets the element at the given index of this slice, in the backing
+	 * array.
+	 * @param index - index of the element
+	 * @param value - new value of the element
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public void set(final int index, final byte value)
+			throws IndexOutOfBoundsException {
+		array[arrayIndex(index)] = value;
+	}
+
+	/**
+	 * Returns a slice over the range {@code [from, to)} of this slice. The
+	 * new slice shares the backing array of this slice.
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @return a slice over the range
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public ByteSlice subSlice(final int from, final int to)
+			throws IndexOutOfBoundsException {
+		checkRange(length, from, to);
+		return new ByteSlice(array, offset + from, offset + to);
+	}
+
+	/**
+	 * Returns the backing array of this slice. The elements of the slice
+	 * start at {@link #offset()}.
+	 * @return the backing array
+	 */
+	public byte[] array() {
+		return array;
+	}
+
+	/**
+	 * Returns a new array holding the elements of this slice.
+	 * @return a new array holding the elements of this slice
+	 */
+	public byte[] toArray() {
+		return Arrays.copyOfRange(array, offset, offset + length);
+	}
+
+	/**
+	 * Copies the elements of this slice into an array.
+	 * @param destination - array to copy to
+	 * @param position - first index to copy to in {@code destination}
+	 * @throws IndexOutOfBoundsException if {@code destination} is too short
+	 * @throws NullPointerException if {@code destination} is {@code null}
+	 */
+	public void copyTo(final byte[] destination, final int position)
+			throws IndexOutOfBoundsException, NullPointerException {
+		System.arraycopy(array, offset, destination, position, length);
+	}
+
+	/**
+	 * Returns an array of {@code Bytes} containing the elements of this slice
+	 * in the same order. The new array is set in parallel if the slice is at
+	 * least as long as {@link ArrayUtililities#getParallelThreshold()}.
+	 * @return new array of {@code Bytes} containing the elements of this slice
+	 * @see ArrayUtililities#toBoxedArray(byte[])
+	 */
+	public Byte[] toBoxedArray() {
+		return ArrayBoxing.box(array, offset, offset + length, false);
+	}
+
+	/**
+	 * Reverses the order of the elements of this slice, in the backing array.
+	 * @see ArrayUtililities#reverse(byte[])
+	 */
+	public void reverse() {
+		ArrayPermutations.reverse(array, offset, offset + length);
+	}
+
+	/**
+	 * Shuffles the elements of this slice, in the backing array, using
+	 * {@link ThreadLocalRandom} as the source of randomness.
+	 * @see ArrayUtililities#shuffle(byte[])
+	 */
+	public void shuffle() {
+		ArrayPermutations.shuffle(array, offset, offset + length,
+				ThreadLocalRandom.current()::nextInt);
+	}
+
+	/**
+	 * Shuffles the elements of this slice, in the backing array.
+	 * @param random - source of random indexes
+	 * @throws NullPointerException if {@code random} is {@code null}
+	 * @see ArrayUtililities#shuffle(byte[], IntUnaryOperator)
+	 */
+	public void shuffle(final IntUnaryOperator random) throws NullPointerException {
+		Objects.requireNonNull(random);
+		ArrayPermutations.shuffle(array, offset, offset + length, random);
+	}
+
+}
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The names and types of the columns of a {@link ColumnTable}. A schema is
+ * immutable, and built with a {@link Builder}:
+ * <pre>{@code
+ * ColumnSchema schema = ColumnSchema.builder()
+ *         .add("id", ColumnType.LONG)
+ *         .add("latency", ColumnType.DOUBLE)
+ *         .addObject("host", new String[0])
+ *         .build();
+ * }</pre>
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+public final class ColumnSchema {
+
+	/*
+	 * Names of the columns.
+	 */
+	private final String[] names;
+
+	/*
+	 * Types of the columns.
+	 */
+	private final ColumnType[] types;
+
+	/*
+	 * Arrays of the type of every object column, null for the other columns.
+	 */
+	private final Object[][] prototypes;
+
+	/*
+	 * Index of every column by name.
+	 */
+	private final Map<String, Integer> indexes = new HashMap<>();
+
+	/*
+	 * Constructs a schema of the given columns.
+	 */
+	private ColumnSchema(final String[] names, final ColumnType[] types,
+			final Object[][] prototypes) {
+		this.names = names;
+		this.types = types;
+		this.prototypes = prototypes;
+		for(int i = 0; i < names.length; i++) {
+			indexes.put(names[i], i);
+		}
+	}
+
+	/**
+	 * Returns a new builder of a schema.
+	 * @return a new builder with no columns
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the number of columns.
+	 * @return the number of columns
+	 */
+	public int columnCount() {
+		return names.length;
+	}
+
+	/**
+	 * Returns the name of a column.
+	 * @param column - index of the column
+	 * @return the name of the column
+	 * @throws IndexOutOfBoundsException if {@code column} is out of bounds
+	 */
+	public String name(final int column) throws IndexOutOfBoundsException {
+		return names[column];
+	}
+
+	/**
+	 * Returns the type of a column.
+	 * @param column - index of the column
+	 * @return the type of the column
+	 * @throws IndexOutOfBoundsException if {@code column} is out of bounds
+	 */
+	public ColumnType type(final int column) throws IndexOutOfBoundsException {
+		return types[column];
+	}
+
+	/**
+	 * Returns the index of the column with the given name.
+	 * @param name - name of the column
+	 * @return the index of the column, or -1 if there is no such column
+	 */
+	public int indexOf(final String name) {
+		final Integer index = indexes.get(name);
+		return null == index ? -1 : index.intValue();
+	}
+
+	/**
+	 * Returns the columns of this schema, formatted as
+	 * {@code [name TYPE, ...]}.
+	 * @return the columns of this schema
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("[");
+		for(int i = 0; i < names.length; i++) {
+			if(i > 0) {
+				builder.append(", ");
+			}
+			builder.append(names[i]).append(' ').append(types[i]);
+		}
+		return builder.append(']').toString();
+	}
+
+	/**
+	 * Returns an array of the type of an object column.
+	 * @param column - index of an object column
+	 * @return an array of the type of the column
+	 */
+	Object[] prototype(final int column) {
+		return prototypes[column];
+	}
+
+	/**
+	 * Returns a schema of the given columns of this schema, in the given
+	 * order.
+	 * @param columns - indexes of the columns
+	 * @return a schema of the columns
+	 * @throws IllegalArgumentException if a column appears twice
+	 */
+	ColumnSchema project(final int[] columns) throws IllegalArgumentException {
+		final Builder builder = new Builder();
+		for(final int column : columns) {
+			builder.add(names[column], types[column], prototypes[column]);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * A builder of a {@link ColumnSchema}. Columns are added in order.
+	 */
+	public static final class Builder {
+		private final List<String> names = new ArrayList<>();
+		private final List<ColumnType> types = new ArrayList<>();
+		private final List<Object[]> prototypes = new ArrayList<>();
+
+		// Constructor. Builders are created by ColumnSchema.builder().
+		private Builder() { }
+
+		/**
+		 * Adds a primitive column.
+		 * @param name - name of the column
+		 * @param type - type of the column
+		 * @return this builder
+		 * @throws IllegalArgumentException if {@code type} is
+		 * {@link ColumnType#OBJECT}, or a column of this name was added
+		 * @throws NullPointerException if {@code name} or {@code type} is
+		 * {@code null}
+		 * @see #addObject(String, Object[])
+		 */
+		public Builder add(final String name, final ColumnType type)
+				throws IllegalArgumentException, NullPointerException {
+			if(ColumnType.OBJECT == Objects.requireNonNull(type)) {
+				throw new IllegalArgumentException(
+						"Object column " + name + " needs an array type");
+			}
+			return add(name, type, null);
+		}
+
+		/**
+		 * Adds an object column, kept in arrays of the same type as the given
+		 * array.
+		 * @param name - name of the column
+		 * @param array - array used to get the class of the column arrays
+		 * @return this builder
+		 * @throws IllegalArgumentException if a column of this name was added
+		 * @throws NullPointerException if {@code name} or {@code array} is
+		 * {@code null}
+		 * @see ArrayUtililities#getArrayInstance(Object[], int)
+		 */
+		public <E> Builder addObject(final String name, final E[] array)
+				throws IllegalArgumentException, NullPointerException {
+			return add(name, ColumnType.OBJECT, Objects.requireNonNull(array));
+		}
+
+		/**
+		 * Builds a schema of the added columns.
+		 * @return a new schema
+		 */
+		public ColumnSchema build() {
+			return new ColumnSchema(names.toArray(new String[names.size()]),
+					types.toArray(new ColumnType[types.size()]),
+					prototypes.toArray(new Object[prototypes.size()][]));
+		}
+
+		// Adds a column of any type
+		private Builder add(final String name, final ColumnType type,
+				final Object[] prototype) throws IllegalArgumentException {
+			if(names.contains(Objects.requireNonNull(name))) {
+				throw new IllegalArgumentException("Duplicate column: " + name);
+			}
+			names.add(name);
+			types.add(type);
+			prototypes.add(prototype);
+			return this;
+		}
+	}
+
+}
@@ -0,0 +1,738 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.Objects;
+
+/**
+ * A table of rows kept by column: every column of the {@link ColumnSchema}
+ * is kept in an array of its own type, so a row costs the size of its values
+ * and no object header, and scanning a column reads consecutive memory.
+ * Rows are appended at the end; the columns grow together, as an
+ * {@link java.util.ArrayList} does. The table is not thread safe, but
+ * {@link #scan(RowRangeVisitor)} hands ranges of rows to several threads.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+public final class ColumnTable {
+
+	/**
+	 * A visitor of a range of rows of a table.
+	 */
+	@FunctionalInterface
+	public interface RowRangeVisitor {
+		/**
+		 * Visits the rows {@code [from, to)} of a table.
+		 * @param table - the visited table
+		 * @param from - first row of the range, inclusive
+		 * @param to - last row of the range, exclusive
+		 */
+		void visit(ColumnTable table, int from, int to);
+	}
+
+	/*
+	 * Largest capacity of a table. Some VMs reserve header words in arrays.
+	 */
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	/*
+	 * The schema of the rows.
+	 */
+	private final ColumnSchema schema;
+
+	/*
+	 * The column arrays, all as long as the capacity.
+	 */
+	private final Object[] columns;
+
+	/*
+	 * Length of the column arrays.
+	 */
+	private int capacity;
+
+	/*
+	 * Number of rows.
+	 */
+	private int size;
+
+	/**
+	 * Constructs an empty table with the default capacity.
+	 * @param schema - schema of the rows
+	 * @throws NullPointerException if {@code schema} is {@code null}
+	 */
+	public ColumnTable(final ColumnSchema schema) throws NullPointerException {
+		this(schema, PrimitiveList.DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs an empty table with the given capacity.
+	 * @param schema - schema of the rows
+	 * @param initialCapacity - number of rows the table holds before growing
+	 * @throws IllegalArgumentException if {@code initialCapacity} is negative
+	 * @throws NullPointerException if {@code schema} is {@code null}
+	 */
+	public ColumnTable(final ColumnSchema schema, final int initialCapacity)
+			throws IllegalArgumentException, NullPointerException {
+		this.schema = Objects.requireNonNull(schema);
+		this.capacity = PrimitiveList.checkCapacity(initialCapacity);
+		this.columns = new Object[schema.columnCount()];
+		for(int i = 0; i < columns.length; i++) {
+			columns[i] = newColumn(i, initialCapacity);
+		}
+	}
+
+	/**
+	 * Returns the schema of the rows of this table.
+	 * @return the schema of the rows
+	 */
+	public ColumnSchema schema() {
+		return schema;
+	}
+
+	/**
+	 * Returns the number of rows of this table.
+	 * @return the number of rows
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Appends a row with every value set to zero, false or null.
+	 * @return the index of the new row
+	 * @throws OutOfMemoryError if the table would be too long for an array
+	 */
+	public int addRow() throws OutOfMemoryError {
+		if(size == capacity) {
+			grow();
+		}
+		return size++;
+	}
+
+	/**
+	 * Appends a row with the given values, boxed for the primitive columns.
+	 * @param values - value of every column, in the order of the schema
+	 * @return the index of the new row
+	 * @throws ClassCastException if a value does not fit its column
+	 * @throws IllegalArgumentException if the number of values is not the
+	 * number of columns
+	 * @throws NullPointerException if {@code values} is {@code null}, or a
+	 * value of a primitive column is null
+	 * @throws OutOfMemoryError if the table would be too long for an array
+	 */
+	public int addRow(final Object... values) throws ClassCastException,
+			IllegalArgumentException, NullPointerException, OutOfMemoryError {
+		if(values.length != columns.length) {
+			throw new IllegalArgumentException("Expected " + columns.length
+					+ " values, got " + values.length);
+		}
+		// Check every value before changing the table
+		for(int i = 0; i < values.length; i++) {
+			if(ColumnType.OBJECT == schema.type(i)) {
+				schema.prototype(i).getClass().getComponentType().cast(values[i]);
+			} else {
+				checkBoxed(schema.type(i), Objects.requireNonNull(values[i]));
+			}
+		}
+		final int row = addRow();
+		for(int i = 0; i < values.length; i++) {
+			switch(schema.type(i)) {
+			case BOOLEAN:
+				((boolean[]) columns[i])[row] = ((Boolean) values[i]).booleanValue();
+				break;
+			case BYTE:
+				((byte[]) columns[i])[row] = ((Byte) values[i]).byteValue();
+				break;
+			case SHORT:
+				((short[]) columns[i])[row] = ((Short) values[i]).shortValue();
+				break;
+			case CHAR:
+				((char[]) columns[i])[row] = ((Character) values[i]).charValue();
+				break;
+			case INT:
+				((int[]) columns[i])[row] = ((Integer) values[i]).intValue();
+				break;
+			case LONG:
+				((long[]) columns[i])[row] = ((Long) values[i]).longValue();
+				break;
+			case FLOAT:
+				((float[]) columns[i])[row] = ((Float) values[i]).floatValue();
+				break;
+			case DOUBLE:
+				((double[]) columns[i])[row] = ((Double) values[i]).doubleValue();
+				break;
+			default:
+				((Object[]) columns[i])[row] = values[i];
+				break;
+			}
+		}
+		return row;
+	}
+
+	/**
+	 * Returns a {@code boolean} value.
+	 * @param column - index of a {@link ColumnType#BOOLEAN} column
+	 * @param row - index of the row
+	 * @return the value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#BOOLEAN}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public boolean getBoolean(final int column, final int row)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		return ((boolean[]) column(column, ColumnType.BOOLEAN))[row];
+	}
+
+	/**
+	 * Sets a {@code boolean} value.
+	 * @param column - index of a {@link ColumnType#BOOLEAN} column
+	 * @param row - index of the row
+	 * @param value - new value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#BOOLEAN}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public void setBoolean(final int column, final int row, final boolean value)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		((boolean[]) column(column, ColumnType.BOOLEAN))[row] = value;
+	}
+
+	/**
+	 * Returns a slice over the rows of a {@code boolean} column. The slice shares
+	 * the column array, until the table grows and replaces it.
+	 * @param column - index of a {@link ColumnType#BOOLEAN} column
+	 * @return a slice over the rows of the column
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#BOOLEAN}
+	 * @throws IndexOutOfBoundsException if {@code column} is out of bounds
+	 */
+	public BooleanSlice booleanColumn(final int column)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		return BooleanSlice.of((boolean[]) column(column, ColumnType.BOOLEAN), 0, size);
+	}
+
+	/**
+	 * Returns a {@code byte} value.
+	 * @param column - index of a {@link ColumnType#BYTE} column
+	 * @param row - index of the row
+	 * @return the value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#BYTE}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public byte getByte(final int column, final int row)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		return ((byte[]) column(column, ColumnType.BYTE))[row];
+	}
+
+	/**
+	 * Sets a {@code byte} value.
+	 * @param column - index of a {@link ColumnType#BYTE} column
+	 * @param row - index of the row
+	 * @param value - new value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#BYTE}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public void setByte(final int column, final int row, final byte value)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		((byte[]) column(column, ColumnType.BYTE))[row] = value;
+	}
+
+	/**
+	 * Returns a slice over the rows of a {@code byte} column. The slice shares
+	 * the column array, until the table grows and replaces it.
+	 * @param column - index of a {@link ColumnType#BYTE} column
+	 * @return a slice over the rows of the column
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#BYTE}
+	 * @throws IndexOutOfBoundsException if {@code column} is out of bounds
+	 */
+	public ByteSlice byteColumn(final int column)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		return ByteSlice.of((byte[]) column(column, ColumnType.BYTE), 0, size);
+	}
+
+	/**
+	 * Returns a {@code short} value.
+	 * @param column - index of a {@link ColumnType#SHORT} column
+	 * @param row - index of the row
+	 * @return the value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#SHORT}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public short getShort(final int column, final int row)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		return ((short[]) column(column, ColumnType.SHORT))[row];
+	}
+
+	/**
+	 * Sets a {@code short} value.
+	 * @param column - index of a {@link ColumnType#SHORT} column
+	 * @param row - index of the row
+	 * @param value - new value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#SHORT}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public void setShort(final int column, final int row, final short value)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		((short[]) column(column, ColumnType.SHORT))[row] = value;
+	}
+
+	/**
+	 * Returns a slice over the rows of a {@code short} column. The slice shares
+	 * the column array, until the table grows and replaces it.
+	 * @param column - index of a {@link ColumnType#SHORT} column
+	 * @return a slice over the rows of the column
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#SHORT}
+	 * @throws IndexOutOfBoundsException if {@code column} is out of bounds
+	 */
+	public ShortSlice shortColumn(final int column)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		return ShortSlice.of((short[]) column(column, ColumnType.SHORT), 0, size);
+	}
+
+	/**
+	 * Returns a {@code char} value.
+	 * @param column - index of a {@link ColumnType#CHAR} column
+	 * @param row - index of the row
+	 * @return the value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#CHAR}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public char getChar(final int column, final int row)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		return ((char[]) column(column, ColumnType.CHAR))[row];
+	}
+
+	/**
+	 * Sets a {@code char} value.
+	 * @param column - index of a {@link ColumnType#CHAR} column
+	 * @param row - index of the row
+	 * @param value - new value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#CHAR}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public void setChar(final int column, final int row, final char value)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		((char[]) column(column, ColumnType.CHAR))[row] = value;
+	}
+
+	/**
+	 * Returns a slice over the rows of a {@code char} column. The slice shares
+	 * the column array, until the table grows and replaces it.
+	 * @param column - index of a {@link ColumnType#CHAR} column
+	 * @return a slice over the rows of the column
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#CHAR}
+	 * @throws IndexOutOfBoundsException if {@code column} is out of bounds
+	 */
+	public CharSlice charColumn(final int column)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		return CharSlice.of((char[]) column(column, ColumnType.CHAR), 0, size);
+	}
+
+	/**
+	 * Returns a {@code int} value.
+	 * @param column - index of a {@link ColumnType#INT} column
+	 * @param row - index of the row
+	 * @return the value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#INT}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public int getInt(final int column, final int row)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		return ((int[]) column(column, ColumnType.INT))[row];
+	}
+
+	/**
+	 * Sets a {@code int} value.
+	 * @param column - index of a {@link ColumnType#INT} column
+	 * @param row - index of the row
+	 * @param value - new value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#INT}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public void setInt(final int column, final int row, final int value)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		((int[]) column(column, ColumnType.INT))[row] = value;
+	}
+
+	/**
+	 * Returns a slice over the rows of a {@code int} column. The slice shares
+	 * the column array, until the table grows and replaces it.
+	 * @param column - index of a {@link ColumnType#INT} column
+	 * @return a slice over the rows of the column
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#INT}
+	 * @throws IndexOutOfBoundsException if {@code column} is out of bounds
+	 */
+	public IntSlice intColumn(final int column)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		return IntSlice.of((int[]) column(column, ColumnType.INT), 0, size);
+	}
+
+	/**
+	 * Returns a {@code long} value.
+	 * @param column - index of a {@link ColumnType#LONG} column
+	 * @param row - index of the row
+	 * @return the value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#LONG}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public long getLong(final int column, final int row)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		return ((long[]) column(column, ColumnType.LONG))[row];
+	}
+
+	/**
+	 * Sets a {@code long} value.
+	 * @param column - index of a {@link ColumnType#LONG} column
+	 * @param row - index of the row
+	 * @param value - new value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#LONG}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public void setLong(final int column, final int row, final long value)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		((long[]) column(column, ColumnType.LONG))[row] = value;
+	}
+
+	/**
+	 * Returns a slice over the rows of a {@code long} column. The slice shares
+	 * the column array, until the table grows and replaces it.
+	 * @param column - index of a {@link ColumnType#LONG} column
+	 * @return a slice over the rows of the column
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#LONG}
+	 * @throws IndexOutOfBoundsException if {@code column} is out of bounds
+	 */
+	public LongSlice longColumn(final int column)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		return LongSlice.of((long[]) column(column, ColumnType.LONG), 0, size);
+	}
+
+	/**
+	 * Returns a {@code float} value.
+	 * @param column - index of a {@link ColumnType#FLOAT} column
+	 * @param row - index of the row
+	 * @return the value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#FLOAT}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public float getFloat(final int column, final int row)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		return ((float[]) column(column, ColumnType.FLOAT))[row];
+	}
+
+	/**
+	 * Sets a {@code float} value.
+	 * @param column - index of a {@link ColumnType#FLOAT} column
+	 * @param row - index of the row
+	 * @param value - new value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#FLOAT}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public void setFloat(final int column, final int row, final float value)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		((float[]) column(column, ColumnType.FLOAT))[row] = value;
+	}
+
+	/**
+	 * Returns a slice over the rows of a {@code float} column. The slice shares
+	 * the column array, until the table grows and replaces it.
+	 * @param column - index of a {@link ColumnType#FLOAT} column
+	 * @return a slice over the rows of the column
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#FLOAT}
+	 * @throws IndexOutOfBoundsException if {@code column} is out of bounds
+	 */
+	public FloatSlice floatColumn(final int column)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		return FloatSlice.of((float[]) column(column, ColumnType.FLOAT), 0, size);
+	}
+
+	/**
+	 * Returns a {@code double} value.
+	 * @param column - index of a {@link ColumnType#DOUBLE} column
+	 * @param row - index of the row
+	 * @return the value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#DOUBLE}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public double getDouble(final int column, final int row)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		return ((double[]) column(column, ColumnType.DOUBLE))[row];
+	}
+
+	/**
+	 * Sets a {@code double} value.
+	 * @param column - index of a {@link ColumnType#DOUBLE} column
+	 * @param row - index of the row
+	 * @param value - new value of the column in the row
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#DOUBLE}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public void setDouble(final int column, final int row, final double value)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		checkRow(row);
+		((double[]) column(column, ColumnType.DOUBLE))[row] = value;
+	}
+
+	/**
+	 * Returns a slice over the rows of a {@code double} column. The slice shares
+	 * the column array, until the table grows and replaces it.
+	 * @param column - index of a {@link ColumnType#DOUBLE} column
+	 * @return a slice over the rows of the column
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#DOUBLE}
+	 * @throws IndexOutOfBoundsException if {@code column} is out of bounds
+	 */
+	public DoubleSlice doubleColumn(final int column)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		return DoubleSlice.of((double[]) column(column, ColumnType.DOUBLE), 0, size);
+	}
+
+	/**
+	 * Returns an object value.
+	 * @param column - index of a {@link ColumnType#OBJECT} column
+	 * @param row - index of the row
+	 * @return the value of the column in the row
+	 * @throws ClassCastException if the column does not hold {@code E}
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#OBJECT}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	@SuppressWarnings("unchecked")
+	public <E> E getObject(final int column, final int row)
+			throws ClassCastException, IllegalArgumentException,
+			IndexOutOfBoundsException {
+		checkRow(row);
+		return (E) ((Object[]) column(column, ColumnType.OBJECT))[row];
+	}
+
+	/**
+	 * Sets an object value.
+	 * @param column - index of a {@link ColumnType#OBJECT} column
+	 * @param row - index of the row
+	 * @param value - new value of the column in the row
+	 * @throws ArrayStoreException if the value does not fit the column
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#OBJECT}
+	 * @throws IndexOutOfBoundsException if {@code column} or {@code row} is
+	 * out of bounds
+	 */
+	public void setObject(final int column, final int row, final Object value)
+			throws ArrayStoreException, IllegalArgumentException,
+			IndexOutOfBoundsException {
+		checkRow(row);
+		((Object[]) column(column, ColumnType.OBJECT))[row] = value;
+	}
+
+	/**
+	 * Returns a slice over the rows of an object column. The slice shares
+	 * the column array, until the table grows and replaces it.
+	 * @param column - index of a {@link ColumnType#OBJECT} column
+	 * @return a slice over the rows of the column
+	 * @throws IllegalArgumentException if the column is not of type
+	 * {@link ColumnType#OBJECT}
+	 * @throws IndexOutOfBoundsException if {@code column} is out of bounds
+	 */
+	@SuppressWarnings("unchecked")
+	public <E> ObjectSlice<E> objectColumn(final int column)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		return ObjectSlice.of((E[]) column(column, ColumnType.OBJECT), 0, size);
+	}
+
+	/**
+	 * Returns a new table holding a copy of the given columns of this table,
+	 * in the given order.
+	 * @param names - names of the columns
+	 * @return a new table holding the columns
+	 * @throws IllegalArgumentException if a name is not the name of a column,
+	 * or appears twice
+	 * @throws NullPointerException if {@code names} is {@code null}
+	 */
+	public ColumnTable project(final String... names)
+			throws IllegalArgumentException, NullPointerException {
+		final int[] indexes = new int[names.length];
+		for(int i = 0; i < names.length; i++) {
+			indexes[i] = schema.indexOf(names[i]);
+			if(indexes[i] < 0) {
+				throw new IllegalArgumentException("No such column: " + names[i]);
+			}
+		}
+		final ColumnTable projection = new ColumnTable(schema.project(indexes), size);
+		for(int i = 0; i < indexes.length; i++) {
+			System.arraycopy(columns[indexes[i]], 0, projection.columns[i], 0, size);
+		}
+		projection.size = size;
+		return projection;
+	}
+
+	/**
+	 * Hands the rows of this table to a visitor, in ranges which are visited
+	 * in parallel if the table has at least
+	 * {@link ArrayUtililities#getParallelThreshold()} rows. The visitor may
+	 * write to the rows of its range, but must not append rows.
+	 * @param visitor - visitor of the row ranges
+	 * @throws NullPointerException if {@code visitor} is {@code null}
+	 */
+	public void scan(final RowRangeVisitor visitor) throws NullPointerException {
+		Objects.requireNonNull(visitor);
+		ParallelRanges.forEach(size, (from, to) -> visitor.visit(this, from, to));
+	}
+
+	// The array of a column, checked to be of the given type
+	private Object column(final int column, final ColumnType type)
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		if(column < 0 || column >= columns.length) {
+			throw new IndexOutOfBoundsException(
+					"Column: " + column + ", Columns: " + columns.length);
+		}
+		if(type != schema.type(column)) {
+			throw new IllegalArgumentException("Column " + schema.name(column)
+					+ " is " + schema.type(column) + ", not " + type);
+		}
+		return columns[column];
+	}
+
+	// Throws an exception if the row is not the index of a row
+	private void checkRow(final int row) throws IndexOutOfBoundsException {
+		if(row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+		}
+	}
+
+	// Throws an exception if a boxed value does not fit a primitive column
+	private static void checkBoxed(final ColumnType type, final Object value)
+			throws ClassCastException {
+		switch(type) {
+		case BOOLEAN:
+			Boolean.class.cast(value);
+			break;
+		case BYTE:
+			Byte.class.cast(value);
+			break;
+		case SHORT:
+			Short.class.cast(value);
+			break;
+		case CHAR:
+			Character.class.cast(value);
+			break;
+		case INT:
+			Integer.class.cast(value);
+			break;
+		case LONG:
+			Long.class.cast(value);
+			break;
+		case FLOAT:
+			Float.class.cast(value);
+			break;
+		case DOUBLE:
+			Double.class.cast(value);
+			break;
+		default:
+			break;
+		}
+	}
+
+	// Replaces every column array with a longer copy
+	private void grow() throws OutOfMemoryError {
+		if(capacity == MAX_CAPACITY) {
+			throw new OutOfMemoryError("Table too long");
+		}
+		final long grown = Math.max(PrimitiveList.DEFAULT_CAPACITY,
+				capacity + ((long) capacity >> 1));
+		final int newCapacity = (int) Math.min(MAX_CAPACITY, grown);
+		for(int i = 0; i < columns.length; i++) {
+			final Object column = newColumn(i, newCapacity);
+			System.arraycopy(columns[i], 0, column, 0, size);
+			columns[i] = column;
+		}
+		capacity = newCapacity;
+	}
+
+	// A new array for a column
+	private Object newColumn(final int column, final int length) {
+		switch(schema.type(column)) {
+		case BOOLEAN:
+			return new boolean[length];
+		case BYTE:
+			return new byte[length];
+		case SHORT:
+			return new short[length];
+		case CHAR:
+			return new char[length];
+		case INT:
+			return new int[length];
+		case LONG:
+			return new long[length];
+		case FLOAT:
+			return new float[length];
+		case DOUBLE:
+			return new double[length];
+		default:
+			return ArrayUtililities.getArrayInstance(schema.prototype(column), length);
+		}
+	}
+
+}
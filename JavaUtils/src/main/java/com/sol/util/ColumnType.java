@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+/**
+ * Types of the columns of a {@link ColumnTable}. Every primitive type has its
+ * own column type, kept in an array of that primitive; {@link #OBJECT}
+ * columns are kept in an array of their element type.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @see ColumnSchema
+ */
+public enum ColumnType {
+
+	/**
+	 * A column of {@code boolean}, kept in a {@code boolean[]}.
+	 */
+	BOOLEAN,
+
+	/**
+	 * A column of {@code byte}, kept in a {@code byte[]}.
+	 */
+	BYTE,
+
+	/**
+	 * A column of {@code short}, kept in a {@code short[]}.
+	 */
+	SHORT,
+
+	/**
+	 * A column of {@code char}, kept in a {@code char[]}.
+	 */
+	CHAR,
+
+	/**
+	 * A column of {@code int}, kept in a {@code int[]}.
+	 */
+	INT,
+
+	/**
+	 * A column of {@code long}, kept in a {@code long[]}.
+	 */
+	LONG,
+
+	/**
+	 * A column of {@code float}, kept in a {@code float[]}.
+	 */
+	FLOAT,
+
+	/**
+	 * A column of {@code double}, kept in a {@code double[]}.
+	 */
+	DOUBLE,
+
+	/**
+	 * A column of objects, kept in an array of their type.
+	 */
+	OBJECT
+
+}
@@ -0,0 +1,420 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+/**
+ * The blocks of a compressed array of integers, encoded as {@code long}. The
+ * values are cut into blocks of {@link #BLOCK_SIZE} values. Every block
+ * starts on a word boundary, so blocks are encoded and decoded in parallel
+ * without sharing a word.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @see BlockEncoding
+ */
+final class CompressedBlocks {
+
+	/**
+	 * Number of values in a block; the last block may hold fewer.
+	 */
+	static final int BLOCK_SIZE = 128;
+
+	/*
+	 * Log2 of the number of values in a block.
+	 */
+	private static final int BLOCK_SHIFT = 7;
+
+	/*
+	 * The encoding of the blocks.
+	 */
+	private final BlockEncoding encoding;
+
+	/*
+	 * Number of encoded values.
+	 */
+	private final int length;
+
+	/*
+	 * The encoded blocks.
+	 */
+	private final long[] words;
+
+	/*
+	 * The first word of every block, and the number of words at the end.
+	 */
+	private final int[] starts;
+
+	/*
+	 * The value every block is decoded from: its least value for frame of
+	 * reference, and its first value otherwise.
+	 */
+	private final long[] bases;
+
+	/*
+	 * The least difference between consecutive values of every delta block.
+	 */
+	private final long[] references;
+
+	/*
+	 * The number of bits of every packed value of every block.
+	 */
+	private final byte[] widths;
+
+	/*
+	 * Constructs encoded blocks.
+	 */
+	private CompressedBlocks(final BlockEncoding encoding, final int length,
+			final long[] words, final int[] starts, final long[] bases,
+			final long[] references, final byte[] widths) {
+		this.encoding = encoding;
+		this.length = length;
+		this.words = words;
+		this.starts = starts;
+		this.bases = bases;
+		this.references = references;
+		this.widths = widths;
+	}
+
+	/**
+	 * The values to encode. Exposes {@code int} and {@code long} arrays alike.
+	 */
+	@FunctionalInterface
+	interface Values {
+		/**
+		 * Returns the value at the given index.
+		 * @param index - index of the value
+		 * @return the value at the given index
+		 */
+		long get(int index);
+	}
+
+	/**
+	 * Encodes values.
+	 * @param values - values to encode
+	 * @param length - number of values
+	 * @param encoding - encoding of the blocks
+	 * @return the encoded blocks
+	 */
+	static CompressedBlocks encode(final Values values, final int length,
+			final BlockEncoding encoding) {
+		final int blockCount = (int) (((long) length + BLOCK_SIZE - 1) >>> BLOCK_SHIFT);
+		final int[] starts = new int[blockCount + 1];
+		final long[] bases = new long[blockCount];
+		final long[] references = BlockEncoding.DELTA == encoding
+				? new long[blockCount] : null;
+		final byte[] widths = BlockEncoding.VARINT == encoding
+				? null : new byte[blockCount];
+
+		// First pass: the header and the number of words of every block
+		ParallelRanges.forEach(blockCount, (from, to) -> {
+			for(int block = from; block < to; block++) {
+				final int start = block << BLOCK_SHIFT;
+				final int end = Math.min(length, start + BLOCK_SIZE);
+				starts[block + 1] = measure(values, start, end, encoding,
+						block, bases, references, widths);
+			}
+		});
+		for(int block = 0; block < blockCount; block++) {
+			final long end = (long) starts[block] + starts[block + 1];
+			if(end > Integer.MAX_VALUE - 8) {
+				throw new OutOfMemoryError("Encoded array too long");
+			}
+			starts[block + 1] = (int) end;
+		}
+
+		// Second pass: the packed values
+		final long[] words = new long[starts[blockCount]];
+		ParallelRanges.forEach(blockCount, (from, to) -> {
+			for(int block = from; block < to; block++) {
+				final int start = block << BLOCK_SHIFT;
+				final int end = Math.min(length, start + BLOCK_SIZE);
+				write(values, start, end, encoding, words,
+						(long) starts[block] << 6, block, bases, references, widths);
+			}
+		});
+		return new CompressedBlocks(encoding, length, words, starts, bases,
+				references, widths);
+	}
+
+	/**
+	 * Returns the encoding of the blocks.
+	 * @return the encoding of the blocks
+	 */
+	BlockEncoding encoding() {
+		return encoding;
+	}
+
+	/**
+	 * Returns the number of encoded values.
+	 * @return the number of encoded values
+	 */
+	int length() {
+		return length;
+	}
+
+	/**
+	 * Returns the number of blocks.
+	 * @return the number of blocks
+	 */
+	int blockCount() {
+		return bases.length;
+	}
+
+	/**
+	 * Returns the number of bytes of the encoded blocks and their headers.
+	 * @return the size of the encoded blocks, in bytes
+	 */
+	long sizeInBytes() {
+		return 8L * words.length + 4L * starts.length + 8L * bases.length
+				+ (null == references ? 0 : 8L * references.length)
+				+ (null == widths ? 0 : widths.length);
+	}
+
+	/**
+	 * Returns the value at the given index.
+	 * @param index - index of the value
+	 * @return the value at the given index
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	long get(final int index) throws IndexOutOfBoundsException {
+		if(index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + index + ", Length: " + length);
+		}
+		final int block = index >>> BLOCK_SHIFT;
+		final int offset = index & BLOCK_SIZE - 1;
+		final long bit = (long) starts[block] << 6;
+
+		switch(encoding) {
+		case FRAME_OF_REFERENCE:
+			return bases[block] + read(words, bit + (long) offset * widths[block],
+					widths[block]);
+		case DELTA:
+			long value = bases[block];
+			final int width = widths[block];
+			final long reference = references[block];
+			for(int i = 0; i < offset; i++) {
+				value += reference + read(words, bit + (long) i * width, width);
+			}
+			return value;
+		default:
+			long varint = bases[block];
+			long position = bit;
+			for(int i = 0; i < offset; i++) {
+				long zigzag = 0;
+				for(int shift = 0;; shift += 7) {
+					final long group = read(words, position, 8);
+					position += 8;
+					zigzag |= (group & 0x7F) << shift;
+					if(0 == (group & 0x80)) {
+						break;
+					}
+				}
+				varint += zigzag >>> 1 ^ -(zigzag & 1);
+			}
+			return varint;
+		}
+	}
+
+	/**
+	 * Decodes a block.
+	 * @param block - index of the block
+	 * @param destination - array to decode to, at least {@link #BLOCK_SIZE}
+	 * long
+	 * @return the number of values of the block
+	 * @throws IndexOutOfBoundsException if {@code block} is out of bounds
+	 */
+	int decodeBlock(final int block, final long[] destination)
+			throws IndexOutOfBoundsException {
+		if(block < 0 || block >= bases.length) {
+			throw new IndexOutOfBoundsException(
+					"Block: " + block + ", Blocks: " + bases.length);
+		}
+		final int count = Math.min(BLOCK_SIZE, length - (block << BLOCK_SHIFT));
+		final long bit = (long) starts[block] << 6;
+
+		switch(encoding) {
+		case FRAME_OF_REFERENCE: {
+			final long base = bases[block];
+			final int width = widths[block];
+			for(int i = 0; i < count; i++) {
+				destination[i] = base + read(words, bit + (long) i * width, width);
+			}
+			break;
+		}
+		case DELTA: {
+			final long reference = references[block];
+			final int width = widths[block];
+			long value = bases[block];
+			destination[0] = value;
+			for(int i = 1; i < count; i++) {
+				value += reference + read(words, bit + (long) (i - 1) * width, width);
+				destination[i] = value;
+			}
+			break;
+		}
+		default: {
+			long value = bases[block];
+			long position = bit;
+			destination[0] = value;
+			for(int i = 1; i < count; i++) {
+				long zigzag = 0;
+				for(int shift = 0;; shift += 7) {
+					final long group = read(words, position, 8);
+					position += 8;
+					zigzag |= (group & 0x7F) << shift;
+					if(0 == (group & 0x80)) {
+						break;
+					}
+				}
+				value += zigzag >>> 1 ^ -(zigzag & 1);
+				destination[i] = value;
+			}
+			break;
+		}
+		}
+		return count;
+	}
+
+	// Sets the header of a block and returns its number of words
+	private static int measure(final Values values, final int start,
+			final int end, final BlockEncoding encoding, final int block,
+			final long[] bases, final long[] references, final byte[] widths) {
+		switch(encoding) {
+		case FRAME_OF_REFERENCE: {
+			long min = values.get(start);
+			for(int i = start + 1; i < end; i++) {
+				min = Math.min(min, values.get(i));
+			}
+			long distances = 0;
+			for(int i = start; i < end; i++) {
+				distances |= values.get(i) - min;
+			}
+			final int width = Long.SIZE - Long.numberOfLeadingZeros(distances);
+			bases[block] = min;
+			widths[block] = (byte) width;
+			return words((long) width * (end - start));
+		}
+		case DELTA: {
+			long reference = Long.MAX_VALUE;
+			for(int i = start + 1; i < end; i++) {
+				reference = Math.min(reference, values.get(i) - values.get(i - 1));
+			}
+			long distances = 0;
+			for(int i = start + 1; i < end; i++) {
+				distances |= values.get(i) - values.get(i - 1) - reference;
+			}
+			final int width = Long.SIZE - Long.numberOfLeadingZeros(distances);
+			bases[block] = values.get(start);
+			references[block] = reference;
+			widths[block] = (byte) width;
+			return words((long) width * (end - start - 1));
+		}
+		default: {
+			long bits = 0;
+			for(int i = start + 1; i < end; i++) {
+				bits += 8 * varintLength(zigzag(values.get(i) - values.get(i - 1)));
+			}
+			bases[block] = values.get(start);
+			return words(bits);
+		}
+		}
+	}
+
+	// Writes the packed values of a block from the given bit
+	private static void write(final Values values, final int start,
+			final int end, final BlockEncoding encoding, final long[] words,
+			final long bit, final int block, final long[] bases,
+			final long[] references, final byte[] widths) {
+		switch(encoding) {
+		case FRAME_OF_REFERENCE: {
+			final long base = bases[block];
+			final int width = widths[block];
+			for(int i = start; i < end; i++) {
+				write(words, bit + (long) (i - start) * width, width,
+						values.get(i) - base);
+			}
+			break;
+		}
+		case DELTA: {
+			final long reference = references[block];
+			final int width = widths[block];
+			for(int i = start + 1; i < end; i++) {
+				write(words, bit + (long) (i - start - 1) * width, width,
+						values.get(i) - values.get(i - 1) - reference);
+			}
+			break;
+		}
+		default: {
+			long position = bit;
+			for(int i = start + 1; i < end; i++) {
+				long zigzag = zigzag(values.get(i) - values.get(i - 1));
+				while((zigzag & ~0x7FL) != 0) {
+					write(words, position, 8, zigzag & 0x7F | 0x80);
+					position += 8;
+					zigzag >>>= 7;
+				}
+				write(words, position, 8, zigzag);
+				position += 8;
+			}
+			break;
+		}
+		}
+	}
+
+	// Reads a value of the given number of bits from the given bit
+	private static long read(final long[] words, final long bit, final int width) {
+		if(0 == width) {
+			return 0;
+		}
+		final int word = (int) (bit >>> 6);
+		final int shift = (int) bit & 63;
+		long value = words[word] >>> shift;
+		if(shift + width > 64) {
+			value |= words[word + 1] << -shift;
+		}
+		return value & -1L >>> -width;
+	}
+
+	// Writes a value of the given number of bits to the given bit
+	private static void write(final long[] words, final long bit,
+			final int width, final long value) {
+		if(0 == width) {
+			return;
+		}
+		final int word = (int) (bit >>> 6);
+		final int shift = (int) bit & 63;
+		words[word] |= value << shift;
+		if(shift + width > 64) {
+			words[word + 1] |= value >>> -shift;
+		}
+	}
+
+	// Maps signed values to unsigned ones, small magnitudes first
+	private static long zigzag(final long value) {
+		return value << 1 ^ value >> 63;
+	}
+
+	// Number of 7 bit groups of an unsigned value
+	private static int varintLength(final long value) {
+		return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+	}
+
+	// Number of words holding the given number of bits
+	private static int words(final long bits) {
+		return (int) ((bits + 63) >>> 6);
+	}
+
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+
+/**
+ * An immutable, compressed array of {@code int}. The values are cut into
+ * blocks of {@value #BLOCK_SIZE} values, and every block is encoded by one
+ * of the {@link BlockEncoding}s. A value is read by decoding at most its
+ * own block, and the whole array is read by decoding one block after
+ * another, with {@link #iterator()}, or all blocks in parallel, with
+ * {@link #toArray()}. Sorted values such as ids and timestamps typically
+ * take a fraction of the memory of a {@code int[]} when encoded by
+ * {@link BlockEncoding#DELTA}.
+ * <p>
+ * The array may be shared between threads.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+public final class CompressedIntArray {
+
+	/**
+	 * Number of values in a block; the last block may hold fewer.
+	 */
+	public static final int BLOCK_SIZE = CompressedBlocks.BLOCK_SIZE;
+
+	/*
+	 * The encoded values.
+	 */
+	private final CompressedBlocks blocks;
+
+	/*
+	 * Constructs an array of encoded values.
+	 */
+	private CompressedIntArray(final CompressedBlocks blocks) {
+		this.blocks = blocks;
+	}
+
+	/**
+	 * Returns a new compressed array holding the given values in the same
+	 * order. The blocks are encoded in parallel if there are at least
+	 * {@link ArrayUtililities#getParallelThreshold()} of them.
+	 * @param values - values to encode
+	 * @param encoding - encoding of the blocks
+	 * @return a new compressed array holding the values
+	 * @throws NullPointerException if {@code values} or {@code encoding} is
+	 * {@code null}
+	 */
+	public static CompressedIntArray encode(final int[] values, final BlockEncoding encoding)
+			throws NullPointerException {
+		Objects.requireNonNull(encoding);
+		return new CompressedIntArray(CompressedBlocks.encode(i -> values[i],
+				values.length, encoding));
+	}
+
+	/**
+	 * Returns the encoding of the blocks of this array.
+	 * @return the encoding of the blocks
+	 */
+	public BlockEncoding encoding() {
+		return blocks.encoding();
+	}
+
+	/**
+	 * Returns the number of values in this array.
+	 * @return the number of values in this array
+	 */
+	public int length() {
+		return blocks.length();
+	}
+
+	/**
+	 * Returns the number of blocks of this array.
+	 * @return the number of blocks
+	 */
+	public int blockCount() {
+		return blocks.blockCount();
+	}
+
+	/**
+	 * Returns the number of bytes this array holds its values in, not
+	 * counting the object headers.
+	 * @return the size of the encoded values, in bytes
+	 */
+	public long sizeInBytes() {
+		return blocks.sizeInBytes();
+	}
+
+	/**
+	 * Returns the value at the given index. With
+	 * {@link BlockEncoding#FRAME_OF_REFERENCE} the value is decoded alone;
+	 * otherwise its block is decoded up to it.
+	 * @param index - index of the value
+	 * @return the value at the given index
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public int get(final int index) throws IndexOutOfBoundsException {
+		return (int) blocks.get(index);
+	}
+
+	/**
+	 * Decodes a block into an array. Block {@code b} holds the values from
+	 * index {@code b * BLOCK_SIZE}.
+	 * @param block - index of the block
+	 * @param destination - array to decode to
+	 * @param position - first index to decode to in {@code destination}; at
+	 * least {@value #BLOCK_SIZE} elements must follow it
+	 * @return the number of values of the block
+	 * @throws IndexOutOfBoundsException if {@code block} is out of bounds,
+	 * or {@code destination} is too short
+	 * @throws NullPointerException if {@code destination} is {@code null}
+	 */
+	public int decodeBlock(final int block, final int[] destination,
+			final int position) throws IndexOutOfBoundsException, NullPointerException {
+		OffHeapArray.checkArrayRange(destination.length, position, BLOCK_SIZE);
+		final long[] values = new long[BLOCK_SIZE];
+		final int count = blocks.decodeBlock(block, values);
+		for(int i = 0; i < count; i++) {
+			destination[position + i] = (int) values[i];
+		}
+		return count;
+	}
+
+	/**
+	 * Returns an iterator over the values of this array, which decodes one
+	 * block at a time.
+	 * @return an iterator over the values of this array
+	 */
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
+			private final long[] values = new long[BLOCK_SIZE];
+			private int index;
+			private int count;
+			private int next;
+
+			@Override
+			public boolean hasNext() {
+				return next < count || index < blocks.length();
+			}
+
+			@Override
+			public int nextInt() {
+				if(next == count) {
+					if(index >= blocks.length()) {
+						throw new NoSuchElementException();
+					}
+					count = blocks.decodeBlock(index / BLOCK_SIZE, values);
+					index += count;
+					next = 0;
+				}
+				return (int) values[next++];
+			}
+		};
+	}
+
+	/**
+	 * Returns a new array holding the values of this array in the same
+	 * order. The blocks are decoded in parallel if there are at least
+	 * {@link ArrayUtililities#getParallelThreshold()} of them.
+	 * @return a new array holding the values of this array
+	 */
+	public int[] toArray() {
+		final int[] newArray = new int[blocks.length()];
+		ParallelRanges.forEach(blocks.blockCount(), (from, to) -> {
+			final long[] values = new long[BLOCK_SIZE];
+			for(int block = from; block < to; block++) {
+				final int count = blocks.decodeBlock(block, values);
+				for(int i = 0; i < count; i++) {
+					newArray[block * BLOCK_SIZE + i] = (int) values[i];
+				}
+			}
+		});
+		return newArray;
+	}
+
+}
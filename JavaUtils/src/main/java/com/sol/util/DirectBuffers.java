@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Allocates and frees direct byte buffers. The JDK has no public way to free
+ * a direct buffer, so this class looks up the JDK internal one: the buffer's
+ * cleaner on Java 8, and {@code sun.misc.Unsafe#invokeCleaner} on later
+ * versions. When neither is found, freeing a buffer does nothing and its
+ * memory is released by the garbage collector.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+final class DirectBuffers {
+
+	/*
+	 * Releases the memory of a direct buffer.
+	 */
+	@FunctionalInterface
+	private interface Deallocator {
+		void free(ByteBuffer buffer) throws ReflectiveOperationException;
+	}
+
+	// The deallocator found for the running JDK
+	private static final Deallocator DEALLOCATOR = findDeallocator();
+
+	// Constructor. Class DirectBuffers is not instantiable.
+	private DirectBuffers() { }
+
+	/**
+	 * Allocates a new direct buffer in the native byte order.
+	 * @param capacity - capacity of the new buffer, in bytes
+	 * @return the new buffer
+	 * @throws OutOfMemoryError if there is not enough direct memory left
+	 */
+	static ByteBuffer allocate(final int capacity) throws OutOfMemoryError {
+		return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Frees the memory of a direct buffer. The buffer, and every view of it,
+	 * must not be accessed afterwards. Buffers which are not direct, and
+	 * buffers which are views of other buffers, are left alone.
+	 * @param buffer - buffer to free
+	 */
+	static void free(final ByteBuffer buffer) {
+		if(!buffer.isDirect()) {
+			return;
+		}
+		try {
+			DEALLOCATOR.free(buffer);
+		} catch(ReflectiveOperationException | IllegalArgumentException e) {
+			// The buffer is left to the garbage collector
+		}
+	}
+
+	/*
+	 * Finds the deallocator of the running JDK.
+	 */
+	private static Deallocator findDeallocator() {
+		try {
+			// Java 9 and later
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			final Method invokeCleaner =
+					unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			final Object unsafe = theUnsafe.get(null);
+			return buffer -> invoke(invokeCleaner, unsafe, buffer);
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			// Not available, try the Java 8 way
+		}
+		try {
+			// Java 8
+			final Method cleaner =
+					Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+			final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+			return buffer -> {
+				final Object bufferCleaner = invoke(cleaner, buffer);
+				if(null != bufferCleaner) {
+					invoke(clean, bufferCleaner);
+				}
+			};
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			// Not available, leave the buffers to the garbage collector
+		}
+		return buffer -> { };
+	}
+
+	/*
+	 * Invokes a method, rethrowing unchecked exceptions thrown by it.
+	 */
+	private static Object invoke(final Method method, final Object target,
+			final Object... arguments) throws ReflectiveOperationException {
+		try {
+			return method.invoke(target, arguments);
+		} catch(InvocationTargetException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An append-only buffer of {@code double} which many threads may append to at
+ * once, without locking. A writer claims its slot with a single
+ * fetch-and-add on the size of the buffer, then writes to the slot. The
+ * values are kept in segments which double in length, so that the buffer
+ * grows without copying; a segment is created by the first writer to reach
+ * it, and published with a compare-and-set.
+ * <p>
+ * The values are read once the writers are done: {@link #toArray()},
+ * {@link #toBoxedArray()} and {@link #get(int)} see every value appended
+ * before them in the happens-before order, for example by writer threads
+ * which have been joined. Values appended concurrently with a read may be
+ * seen as zero.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+public final class DoubleAppendBuffer {
+
+	/**
+	 * Largest number of values of a buffer.
+	 */
+	public static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+	/*
+	 * Log2 of the length of the first segment.
+	 */
+	private static final int FIRST_SHIFT = 10;
+
+	/*
+	 * Number of segments needed to hold MAX_LENGTH values.
+	 */
+	private static final int SEGMENT_COUNT = segment(MAX_LENGTH - 1) + 1;
+
+	/*
+	 * The segments, created as needed. Segment k holds 1 << (FIRST_SHIFT + k)
+	 * values, but for the last one which ends at MAX_LENGTH.
+	 */
+	private final AtomicReferenceArray<double[]> segments =
+			new AtomicReferenceArray<>(SEGMENT_COUNT);
+
+	/*
+	 * Number of claimed slots. It may exceed MAX_LENGTH after failed appends.
+	 */
+	private final AtomicLong claimed = new AtomicLong();
+
+	/**
+	 * Appends a value.
+	 * @param value - value to append
+	 * @return the index of the value
+	 * @throws IllegalStateException if the buffer is full
+	 */
+	public int add(final double value) throws IllegalStateException {
+		final long index = claimed.getAndIncrement();
+		if(index >= MAX_LENGTH) {
+			throw new IllegalStateException("Buffer is full");
+		}
+		segmentOf(index)[offset(index)] = value;
+		return (int) index;
+	}
+
+	/**
+	 * Appends the values of an array, in the same order and at consecutive
+	 * indexes.
+	 * @param values - values to append
+	 * @return the index of the first value
+	 * @throws IllegalStateException if the buffer cannot hold the values
+	 * @throws NullPointerException if {@code values} is {@code null}
+	 */
+	public int addAll(final double... values)
+			throws IllegalStateException, NullPointerException {
+		Objects.requireNonNull(values);
+		final long start = claimed.getAndAdd(values.length);
+		if(start + values.length > MAX_LENGTH) {
+			throw new IllegalStateException("Buffer is full");
+		}
+		for(int copied = 0; copied < values.length;) {
+			final long index = start + copied;
+			final double[] segment = segmentOf(index);
+			final int offset = offset(index);
+			final int count = Math.min(values.length - copied, segment.length - offset);
+			System.arraycopy(values, copied, segment, offset, count);
+			copied += count;
+		}
+		return (int) start;
+	}
+
+	/**
+	 * Returns the number of values appended to this buffer, including
+	 * values whose writers may not be done yet.
+	 * @return the number of values of this buffer
+	 */
+	public int size() {
+		return (int) Math.min(claimed.get(), MAX_LENGTH);
+	}
+
+	/**
+	 * Returns the value at the given index.
+	 * @param index - index of the value
+	 * @return the value at the given index
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public double get(final int index) throws IndexOutOfBoundsException {
+		final int size = size();
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		return segmentOf(index)[offset(index)];
+	}
+
+	/**
+	 * Returns a new array holding the values of this buffer, in the order of
+	 * their indexes.
+	 * @return a new array holding the values of this buffer
+	 */
+	public double[] toArray() {
+		final double[] newArray = new double[size()];
+		for(int copied = 0; copied < newArray.length;) {
+			final double[] segment = segmentOf(copied);
+			final int count = Math.min(newArray.length - copied, segment.length);
+			System.arraycopy(segment, 0, newArray, copied, count);
+			copied += count;
+		}
+		return newArray;
+	}
+
+	/**
+	 * Returns a new array of {@code Double} holding the values of this buffer,
+	 * in the order of their indexes. The new array is set in parallel if the
+	 * buffer is at least as long as
+	 * {@link ArrayUtililities#getParallelThreshold()}.
+	 * @return a new array of {@code Double} holding the values of this buffer
+	 * @see ArrayUtililities#toBoxedArray(double[])
+	 */
+	public Double[] toBoxedArray() {
+		return ArrayUtililities.toBoxedArray(toArray());
+	}
+
+	// The segment of an index, created if needed
+	private double[] segmentOf(final long index) {
+		final int k = segment(index);
+		double[] segment = segments.get(k);
+		if(null == segment) {
+			final long start = (1L << FIRST_SHIFT + k) - (1L << FIRST_SHIFT);
+			segment = new double[(int) Math.min(1L << FIRST_SHIFT + k, MAX_LENGTH - start)];
+			if(!segments.compareAndSet(k, null, segment)) {
+				segment = segments.get(k);
+			}
+		}
+		return segment;
+	}
+
+	// Index of the segment holding an index
+	private static int segment(final long index) {
+		return Long.SIZE - 1 - Long.numberOfLeadingZeros(index + (1L << FIRST_SHIFT))
+				- FIRST_SHIFT;
+	}
+
+	// Offset of an index inside its segment
+	private static int offset(final long index) {
+		final long shifted = index + (1L << FIRST_SHIFT);
+		return (int) (shifted - Long.highestOneBit(shifted));
+	}
+
+}
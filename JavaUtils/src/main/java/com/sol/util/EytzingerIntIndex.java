@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.Objects;
+
+/**
+ * A search index over a sorted array of {@code int}, laid out in Eytzinger
+ * order. The elements are stored as an implicit binary search tree in
+ * breadth first order: the children of the node at position {@code k} are at
+ * {@code 2k} and {@code 2k + 1}. The first levels of the tree, which every
+ * search goes through, share a few cache lines, and the nodes a search may
+ * visit next are adjacent, so a search misses the cache far less often than
+ * a binary search over the sorted array does.
+ * <p>
+ * Searches return positions in the sorted array, as
+ * {@link ArraySearch} does; the index keeps the sorted position of every
+ * node for that. The index holds a copy of the elements, so later changes to
+ * the sorted array are not seen by the index. An index is immutable and may
+ * be shared between threads.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @see ArraySearch
+ */
+public final class EytzingerIntIndex {
+
+	/**
+	 * Largest number of elements of an index.
+	 */
+	public static final int MAX_LENGTH = (1 << 30) - 1;
+
+	/*
+	 * Log2 of the number of elements in a cache line of 64 bytes. The
+	 * descendants of a node this many levels down share a cache line.
+	 */
+	private static final int PREFETCH_SHIFT = 4;
+
+	/*
+	 * The elements in Eytzinger order, from position 1. Position 0 is unused.
+	 */
+	private final int[] tree;
+
+	/*
+	 * The position in the sorted array of every node of the tree.
+	 */
+	private final int[] ranks;
+
+	/*
+	 * Number of levels of the tree.
+	 */
+	private final int depth;
+
+	/**
+	 * Builds an index over a sorted array.
+	 * @param sortedArray - array sorted in ascending order
+	 * @throws IllegalArgumentException if {@code sortedArray} is not sorted
+	 * or is longer than {@link #MAX_LENGTH}
+	 * @throws NullPointerException if {@code sortedArray} is {@code null}
+	 */
+	public EytzingerIntIndex(final int[] sortedArray)
+			throws IllegalArgumentException, NullPointerException {
+		if(sortedArray.length > MAX_LENGTH) {
+			throw new IllegalArgumentException(
+					"Array too long for an index: " + sortedArray.length);
+		}
+		for(int i = 1; i < sortedArray.length; i++) {
+			if(sortedArray[i - 1] > sortedArray[i]) {
+				throw new IllegalArgumentException("Array is not sorted at index " + i);
+			}
+		}
+		this.tree = new int[sortedArray.length + 1];
+		this.ranks = new int[sortedArray.length + 1];
+		this.depth = Integer.SIZE - Integer.numberOfLeadingZeros(sortedArray.length);
+
+		// In order traversal of the tree visits the sorted elements in order
+		int rank = 0;
+		int node = 1;
+		while(rank < sortedArray.length) {
+			while(node < tree.length) {
+				node <<= 1;
+			}
+			// Back up from the empty child to the next node in order
+			node >>>= Integer.numberOfTrailingZeros(~node) + 1;
+			tree[node] = sortedArray[rank];
+			ranks[node] = rank++;
+			node = 2 * node + 1;
+		}
+	}
+
+	/**
+	 * Returns the number of elements of this index.
+	 * @return the number of elements of this index
+	 */
+	public int length() {
+		return tree.length - 1;
+	}
+
+	/**
+	 * Returns the index of the first element of the sorted array which is not
+	 * less than the key.
+	 * @param key - key to search for
+	 * @return the index of the first element which is not less than
+	 * {@code key}, or the length of the array if there is none
+	 */
+	public int lowerBound(final int key) {
+		return rank(lowerNode(key));
+	}
+
+	/**
+	 * Returns the index of the first element of the sorted array which is
+	 * greater than the key.
+	 * @param key - key to search for
+	 * @return the index of the first element which is greater than
+	 * {@code key}, or the length of the array if there is none
+	 */
+	public int upperBound(final int key) {
+		return rank(upperNode(key));
+	}
+
+	/**
+	 * Tells whether the sorted array holds the key.
+	 * @param key - key to search for
+	 * @return true if and only if one of the elements equals {@code key}
+	 */
+	public boolean contains(final int key) {
+		final int node = lowerNode(key);
+		return 0 != node && tree[node] == key;
+	}
+
+	/**
+	 * Returns the lower bounds of many keys. The keys need not be sorted.
+	 * @param keys - keys to search for
+	 * @return a new array holding the lower bound of every key, in the order
+	 * of the keys
+	 * @throws NullPointerException if {@code keys} is {@code null}
+	 * @see #lowerBound(int)
+	 */
+	public int[] lowerBound(final int[] keys) throws NullPointerException {
+		return bounds(Objects.requireNonNull(keys), false);
+	}
+
+	/**
+	 * Returns the upper bounds of many keys. The keys need not be sorted.
+	 * @param keys - keys to search for
+	 * @return a new array holding the upper bound of every key, in the order
+	 * of the keys
+	 * @throws NullPointerException if {@code keys} is {@code null}
+	 * @see #upperBound(int)
+	 */
+	public int[] upperBound(final int[] keys) throws NullPointerException {
+		return bounds(Objects.requireNonNull(keys), true);
+	}
+
+	// Node of the lower bound of a key, or 0 if it is past the last element
+	private int lowerNode(final int key) {
+		final int[] tree = this.tree;
+		final int prefetchLimit = tree.length >>> PREFETCH_SHIFT;
+		int touched = 0;
+		int node = 1;
+		while(node < tree.length) {
+			// Java has no prefetch: load the node PREFETCH_SHIFT levels down
+			// early, so that the loads of the levels in between overlap its miss
+			if(node < prefetchLimit) {
+				touched ^= tree[node << PREFETCH_SHIFT];
+			}
+			node = 2 * node + (tree[node] < key ? 1 : 0);
+		}
+		// Drop the right turns taken after the last left turn
+		node >>>= Integer.numberOfTrailingZeros(~node) + 1;
+		// Never true, but keeps the early loads from being optimized away
+		return touched == key && node < 0 ? 0 : node;
+	}
+
+	// Node of the upper bound of a key, or 0 if it is past the last element
+	private int upperNode(final int key) {
+		final int[] tree = this.tree;
+		final int prefetchLimit = tree.length >>> PREFETCH_SHIFT;
+		int touched = 0;
+		int node = 1;
+		while(node < tree.length) {
+			// Load the node PREFETCH_SHIFT levels down
+			// early, as lowerNode does
+			if(node < prefetchLimit) {
+				touched ^= tree[node << PREFETCH_SHIFT];
+			}
+			node = 2 * node + (tree[node] <= key ? 1 : 0);
+		}
+		// Drop the right turns taken after the last left turn
+		node >>>= Integer.numberOfTrailingZeros(~node) + 1;
+		return touched == key && node < 0 ? 0 : node;
+	}
+
+	// Sorted position of the bound found at a node
+	private int rank(final int node) {
+		return 0 == node ? tree.length - 1 : ranks[node];
+	}
+
+	// Searches the keys in groups which run in lock step
+	private int[] bounds(final int[] keys, final boolean upper) {
+		final int[] bounds = new int[keys.length];
+		ParallelRanges.forEach(keys.length, (from, to) -> {
+			final int[] nodes = new int[ArraySearch.INTERLEAVE];
+			final int[] groupKeys = new int[ArraySearch.INTERLEAVE];
+			for(int i = from; i < to; i += ArraySearch.INTERLEAVE) {
+				final int count = Math.min(ArraySearch.INTERLEAVE, to - i);
+				for(int j = 0; j < count; j++) {
+					nodes[j] = 1;
+					groupKeys[j] = keys[i + j];
+				}
+				for(int level = 0; level < depth; level++) {
+					for(int j = 0; j < count; j++) {
+						final int node = nodes[j];
+						if(node < tree.length) {
+							nodes[j] = 2 * node + ((upper ? tree[node] <= groupKeys[j]
+									: tree[node] < groupKeys[j]) ? 1 : 0);
+						}
+					}
+				}
+				for(int j = 0; j < count; j++) {
+					bounds[i + j] = rank(nodes[j] >>> Integer.numberOfTrailingZeros(~nodes[j]) + 1);
+				}
+			}
+		});
+		return bounds;
+	}
+
+}
@@ -0,0 +1,310 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A growable list of {@code float}. Unlike a {@code List<Float>}, this list
+ * keeps its elements in a {@code float[]} and does not create an object per
+ * element.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @see ArrayUtililities#toBoxedArray(float[])
+ */
+public final class FloatList extends PrimitiveList {
+
+	/*
+	 * The backing array. Elements past the size are unused.
+	 */
+	private float[] elements;
+
+	/**
+	 * Constructs an empty list with the default capacity.
+	 */
+	public FloatList() {
+		this.elements = new float[DEFAULT_CAPACITY];
+	}
+
+	/**
+	 * Constructs an empty list with the given capacity.
+	 * @param initialCapacity - initial capacity of the list
+	 * @throws IllegalArgumentException if {@code initialCapacity} is negative
+	 */
+	public FloatList(final int initialCapacity) throws IllegalArgumentException {
+		this.elements = new float[checkCapacity(initialCapacity)];
+	}
+
+	/*
+	 * Constructs a list backed by the given array.
+	 */
+	private FloatList(final float[] elements) {
+		this.elements = elements;
+		this.size = elements.length;
+	}
+
+	/**
+	 * Returns a new list containing the given values in the same order.
+	 * @param values - values of the new list
+	 * @return a new list containing the given values
+	 * @throws NullPointerException if {@code values} is {@code null}
+	 */
+	public static FloatList of(final float... values) throws NullPointerException {
+		return new FloatList(Objects.requireNonNull(values).clone());
+	}
+
+	/**
+	 * Returns a new list containing the same values (unboxed) as the given
+	 * array of {@code Float} in the same order.
+	 * @param array - {@code Float} array to be unboxed
+	 * @return a new list containing the values of {@code array}
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 * @see ArrayUtililities#toPrimitiveArray(Float[])
+	 */
+	public static FloatList fromBoxedArray(final Float[] array)
+			throws NullPointerException {
+		Objects.requireNonNull(array);
+		return new FloatList(ArrayBoxing.unbox(array, 0, array.length, false));
+	}
+
+	/**
+	 * Appends a value to the end of this list.
+	 * @param value - value to append
+	 * @throws OutOfMemoryError if the list would be too long for an array
+	 */
+	public void add(final float value) throws OutOfMemoryError {
+		if(size == elements.length) {
+			grow(1);
+		}
+		elements[size++] = value;
+	}
+
+	/**
+	 * Inserts a value at the given position, shifting the elements from that
+	 * position on to the right.
+	 * @param index - position of the new value
+	 * @param value - value to insert
+	 * @throws IndexOutOfBoundsException if {@code index} is negative or
+	 * greater than the size
+	 * @throws OutOfMemoryError if the list would be too long for an array
+	 */
+	public void add(final int index, final float value)
+			throws IndexOutOfBoundsException, OutOfMemoryError {
+		checkPosition(index);
+		if(size == elements.length) {
+			grow(1);
+		}
+		System.arraycopy(elements, index, elements, index + 1, size - index);
+		elements[index] = value;
+		size++;
+	}
+
+	/**
+	 * Appends every value of an array to the end of this list.
+	 * @param values - values to append
+	 * @throws NullPointerException if {@code values} is {@code null}
+	 * @throws OutOfMemoryError if the list would be too long for an array
+	 */
+	public void addAll(final float... values)
+			throws NullPointerException, OutOfMemoryError {
+		grow(values.length);
+		System.arraycopy(values, 0, elements, size, values.length);
+		size += values.length;
+	}
+
+	/**
+	 * Appends every element of another list to the end of this list.
+	 * @param list - list whose elements are appended
+	 * @throws NullPointerException if {@code list} is {@code null}
+	 * @throws OutOfMemoryError if the list would be too long for an array
+	 */
+	public void addAll(final FloatList list)
+			throws NullPointerException, OutOfMemoryError {
+		final int count = list.size;
+		grow(count);
+		System.arraycopy(list.elements, 0, elements, size, count);
+		size += count;
+	}
+
+	/**
+	 * Returns the element at the given position.
+	 * @param index - position of the element
+	 * @return the element at the given position
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public float get(final int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return elements[index];
+	}
+
+	/**
+	 * Replaces the element at the given position.
+	 * @param index - position of the element
+	 * @param value - new value of the element
+	 * @return the previous value of the element
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public float set(final int index, final float value)
+			throws IndexOutOfBoundsException {
+		checkIndex(index);
+		final float previous = elements[index];
+		elements[index] = value;
+		return previous;
+	}
+
+	/**
+	 * Removes the element at the given position, shifting the elements after
+	 * it to the left.
+	 * @param index - position of the element
+	 * @return the removed element
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	public float removeAt(final int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		final float removed = elements[index];
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		size--;
+		return removed;
+	}
+
+	/**
+	 * Removes the last element of this list.
+	 * @return the removed element
+	 * @throws IndexOutOfBoundsException if this list is empty
+	 */
+	public float removeLast() throws IndexOutOfBoundsException {
+		checkIndex(size - 1);
+		return elements[--size];
+	}
+
+	/**
+	 * Returns the position of the first occurrence of a value in this list.
+	 * Values are compared as by {@link Float#equals(Object)}.
+	 * @param value - value to search for
+	 * @return the position of the first occurrence of the value, or -1 if
+	 * this list does not contain it
+	 */
+	public int indexOf(final float value) {
+		for(int i = 0; i < size; i++) {
+			if(Float.floatToIntBits(elements[i]) == Float.floatToIntBits(value)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Tells whether this list contains a value.
+	 * Values are compared as by {@link Float#equals(Object)}.
+	 * @param value - value to search for
+	 * @return true if and only if this list contains the value
+	 */
+	public boolean contains(final float value) {
+		return indexOf(value) >= 0;
+	}
+
+	/**
+	 * Returns a new array containing the elements of this list in the same
+	 * order.
+	 * @return a new array containing the elements of this list
+	 */
+	public float[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * Returns an array of {@code Floats} containing the elements of this list
+	 * in the same order. The new array is set in parallel if the list is at
+	 * least as long as {@link ArrayUtililities#getParallelThreshold()}.
+	 * @return new array of {@code Floats} containing the elements of this list
+	 * @see ArrayUtililities#toBoxedArray(float[])
+	 */
+	public Float[] toBoxedArray() {
+		return ArrayBoxing.box(elements, 0, size, false);
+	}
+
+	/**
+	 * Compares this list with another object. They are equal if the object
+	 * is also a {@code FloatList} with the same elements in the same order.
+	 * Values are compared as by {@link Float#equals(Object)}.
+	 * @param obj - object to compare with
+	 * @return true if and only if the object is equal to this list
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof FloatList)) {
+			return false;
+		}
+		final FloatList other = (FloatList) obj;
+		if(size != other.size) {
+			return false;
+		}
+		for(int i = 0; i < size; i++) {
+			if(Float.floatToIntBits(elements[i])
+					!= Float.floatToIntBits(other.elements[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a hash code of the elements of this list, computed as by
+	 * {@link Arrays#hashCode(float[])}.
+	 * @return a hash code of this list
+	 */
+	@Override
+	public int hashCode() {
+		int hash = 1;
+		for(int i = 0; i < size; i++) {
+			hash = 31 * hash + Float.hashCode(elements[i]);
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns the elements of this list, formatted as by
+	 * {@link Arrays#toString(float[])}.
+	 * @return the elements of this list
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("[");
+		for(int i = 0; i < size; i++) {
+			if(i > 0) {
+				builder.append(", ");
+			}
+			builder.append(elements[i]);
+		}
+		return builder.append(']').toString();
+	}
+
+	@Override
+	int capacity() {
+		return elements.length;
+	}
+
+	@Override
+	void resize(final int capacity) {
+		elements = Arrays.copyOf(elements, capacity);
+	}
+
+}
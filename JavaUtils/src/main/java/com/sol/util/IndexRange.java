@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+/**
+ * An immutable range {@code [from, to)} of array indexes.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @see ArrayHashTree#diff(ArrayHashTree)
+ */
+public final class IndexRange {
+
+	/*
+	 * First index of the range, inclusive.
+	 */
+	private final int from;
+
+	/*
+	 * Last index of the range, exclusive.
+	 */
+	private final int to;
+
+	/**
+	 * Constructs the range {@code [from, to)}.
+	 * @param from - first index of the range, inclusive
+	 * @param to - last index of the range, exclusive
+	 * @throws IllegalArgumentException if {@code from} is negative or greater
+	 * than {@code to}
+	 */
+	public IndexRange(final int from, final int to) throws IllegalArgumentException {
+		if(from < 0 || from > to) {
+			throw new IllegalArgumentException("Illegal range [" + from + ", " + to + ")");
+		}
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Returns the first index of this range, inclusive.
+	 * @return the first index of this range
+	 */
+	public int from() {
+		return from;
+	}
+
+	/**
+	 * Returns the last index of this range, exclusive.
+	 * @return the last index of this range
+	 */
+	public int to() {
+		return to;
+	}
+
+	/**
+	 * Returns the number of indexes in this range.
+	 * @return the number of indexes in this range
+	 */
+	public int length() {
+		return to - from;
+	}
+
+	/**
+	 * Compares this range with another object. They are equal if the object
+	 * is also an {@code IndexRange} with the same bounds.
+	 * @param obj - object to compare with
+	 * @return true if and only if the object is equal to this range
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof IndexRange)) {
+			return false;
+		}
+		final IndexRange other = (IndexRange) obj;
+		return from == other.from && to == other.to;
+	}
+
+	/**
+	 * Returns a hash code of the bounds of this range.
+	 * @return a hash code of this range
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * from + to;
+	}
+
+	/**
+	 * Returns the bounds of this range, formatted as {@code [from, to)}.
+	 * @return the bounds of this range
+	 */
+	@Override
+	public String toString() {
+		return "[" + from + ", " + to + ")";
+	}
+
+}
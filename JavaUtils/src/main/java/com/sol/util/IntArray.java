@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Objects;
+
+/**
+ * An array of {@code int} stored outside the Java heap, in direct
+ * {@link ByteBuffer} segments. Its elements do not add to the work of the
+ * garbage collector, and its memory is freed by {@link #close()}.
+ * <p>
+ * Elements are stored in the native byte order. Single elements may be read
+ * and written by several threads at once, but the memory model gives no
+ * more guarantees than it does for a plain {@code int[]}.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @see ArrayUtililities
+ */
+public final class IntArray extends OffHeapArray {
+
+	/*
+	 * Log2 of the size of an element, in bytes.
+	 */
+	private static final int ELEMENT_SHIFT = 2;
+
+	/*
+	 * {@code int} views of the segments.
+	 */
+	private final IntBuffer[] views;
+
+	/**
+	 * Allocates a new off-heap array with all its elements set to zero.
+	 * @param length - number of elements
+	 * @throws NegativeArraySizeException if {@code length} is negative
+	 * @throws OutOfMemoryError if there is not enough direct memory left
+	 */
+	public IntArray(final long length)
+			throws NegativeArraySizeException, OutOfMemoryError {
+		super(length, ELEMENT_SHIFT);
+		this.views = views(segments());
+	}
+
+	/**
+	 * Wraps existing segments in a new off-heap array.
+	 * @param segments - segments holding the elements
+	 * @param length - number of elements
+	 */
+	IntArray(final ByteBuffer[] segments, final long length) {
+		super(segments, length, ELEMENT_SHIFT);
+		this.views = views(segments());
+	}
+
+	/**
+	 * Returns a new off-heap array containing the same elements as the given
+	 * heap array in the same order.
+	 * @param array - heap array to copy
+	 * @return a new off-heap array containing the elements of {@code array}
+	 * @throws NullPointerException if {@code array} is {@code null}
+	 * @throws OutOfMemoryError if there is not enough direct memory left
+	 */
+	public static IntArray of(final int... array)
+			throws NullPointerException, OutOfMemoryError {
+		final IntArray newArray = new IntArray(Objects.requireNonNull(array).length);
+		newArray.copyFrom(array, 0, 0, array.length);
+		return newArray;
+	}
+
+	/**
+	 * Returns a new off-heap array containing the same values (unboxed) as the
+	 * given array of {@code Integer} in the same order. The values are unboxed in
+	 * parallel if the array is at least as long as
+	 * {@link ArrayUtililities#getParallelThreshold()}.
+	 * @param array - {@code Integer} array to be unboxed
+	 * @return a new off-heap array containing the values of {@code array}
+	 * @throws NullPointerException if {@code array == null} or one of the
+	 * elements is null
+	 * @throws OutOfMemoryError if there is not enough direct memory left
+	 * @see ArrayUtililities#toPrimitiveArray(Integer[])
+	 */
+	public static IntArray fromBoxedArray(final Integer[] array)
+			throws NullPointerException, OutOfMemoryError {
+		final IntArray newArray = new IntArray(Objects.requireNonNull(array).length);
+		try {
+			ParallelRanges.forEach(array.length, (from, to) -> newArray.copyFrom(
+					ArrayBoxing.unbox(array, from, to, false), 0, from, to - from));
+		} catch(RuntimeException e) {
+			newArray.close();
+			throw e;
+		}
+		return newArray;
+	}
+
+	/**
+	 * Returns the element at the given index.
+	 * @param index - index of the element
+	 * @return the element at the given index
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 * @throws IllegalStateException if this array has been closed
+	 */
+	public int get(final long index)
+			throws IndexOutOfBoundsException, IllegalStateException {
+		checkIndex(index);
+		return views[(int) (index >>> segmentShift)].get((int) index & segmentMask);
+	}
+
+	/**
+	 * Sets the element at the given index.
+	 * @param index - index of the element
+	 * @param value - new value of the element
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 * @throws IllegalStateException if this array has been closed
+	 */
+	public void set(final long index, final int value)
+			throws IndexOutOfBoundsException, IllegalStateException {
+		checkIndex(index);
+		views[(int) (index >>> segmentShift)].put((int) index & segmentMask, value);
+	}
+
+	/**
+	 * Copies elements from a heap array into this array.
+	 * @param source - heap array to copy from
+	 * @param sourcePosition - first index to copy in {@code source}
+	 * @param position - first index to copy to in this array
+	 * @param count - number of elements to copy
+	 * @throws IndexOutOfBoundsException if one of the ranges is out of bounds
+	 * @throws IllegalStateException if this array has been closed
+	 * @throws NullPointerException if {@code source} is {@code null}
+	 */
+	public void copyFrom(final int[] source, final int sourcePosition,
+			final long position, final int count)
+			throws IndexOutOfBoundsException, IllegalStateException,
+			NullPointerException {
+		checkArrayRange(source.length, sourcePosition, count);
+		checkRange(position, count);
+
+		int copied = 0;
+		while(copied < count) {
+			final long index = position + copied;
+			final IntBuffer view = views[(int) (index >>> segmentShift)].duplicate();
+			view.position((int) index & segmentMask);
+			final int chunk = Math.min(count - copied, view.remaining());
+			view.put(source, sourcePosition + copied, chunk);
+			copied += chunk;
+		}
+	}
+
+	/**
+	 * Copies elements from this array into a heap array.
+	 * @param position - first index to copy in this array
+	 * @param destination - heap array to copy to
+	 * @param destinationPosition - first index to copy to in
+	 * {@code destination}
+	 * @param count - number of elements to copy
+	 * @throws IndexOutOfBoundsException if one of the ranges is out of bounds
+	 * @throws IllegalStateException if this array has been closed
+	 * @throws NullPointerException if {@code destination} is {@code null}
+	 */
+	public void copyTo(final long position, final int[] destination,
+			final int destinationPosition, final int count)
+			throws IndexOutOfBoundsException, IllegalStateException,
+			NullPointerException {
+		checkArrayRange(destination.length, destinationPosition, count);
+		checkRange(position, count);
+
+		int copied = 0;
+		while(copied < count) {
+			final long index = position + copied;
+			final IntBuffer view = views[(int) (index >>> segmentShift)].duplicate();
+			view.position((int) index & segmentMask);
+			final int chunk = Math.min(count - copied, view.remaining());
+			view.get(destination, destinationPosition + copied, chunk);
+			copied += chunk;
+		}
+	}
+
+	/**
+	 * Returns a new heap array containing the elements of this array in the
+	 * same order.
+	 * @return a new heap array containing the elements of this array
+	 * @throws IllegalStateException if this array has been closed
+	 * @throws OutOfMemoryError if this array is too long for a heap array
+	 */
+	public int[] toArray() throws IllegalStateException, OutOfMemoryError {
+		final int[] newArray = new int[heapLength()];
+		copyTo(0, newArray, 0, newArray.length);
+		return newArray;
+	}
+
+	/**
+	 * Returns an array of {@code Integer} containing the elements of this array
+	 * in the same order. The new array is set in parallel if this array is at
+	 * least as long as {@link ArrayUtililities#getParallelThreshold()}.
+	 * @return a new array of {@code Integer} containing the elements of this
+	 * array
+	 * @throws IllegalStateException if this array has been closed
+	 * @throws OutOfMemoryError if this array is too long for a heap array
+	 * @see ArrayUtililities#toBoxedArray(int[])
+	 */
+	public Integer[] toBoxedArray() throws IllegalStateException, OutOfMemoryError {
+		final Integer[] newArray = new Integer[heapLength()];
+		ParallelRanges.forEach(newArray.length, (from, to) -> {
+			for(int i = from; i < to; i++) {
+				newArray[i] = Integer.valueOf(get(i));
+			}
+		});
+		return newArray;
+	}
+
+	// Creates the int views of the segments
+	private static IntBuffer[] views(final ByteBuffer[] segments) {
+		final IntBuffer[] views = new IntBuffer[segments.length];
+		for(int i = 0; i < segments.length; i++) {
+			views[i] = segments[i].asIntBuffer();
+		}
+		return views;
+	}
+
+}
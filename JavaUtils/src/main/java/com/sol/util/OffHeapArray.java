@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Abstract base class for arrays of primitives stored outside the Java heap.
+ * The elements are kept in direct {@link ByteBuffer} segments of up to 1 GiB
+ * each, so an array may hold more than {@link Integer#MAX_VALUE} elements and
+ * is indexed with {@code long}. Every segment but the last holds the same
+ * power of two number of elements, so an index is split into a segment and
+ * an offset with a shift and a mask.
+ * <p>
+ * The memory of an array is freed by {@link #close()}, without waiting for
+ * the garbage collector. An array must not be accessed once it is closed,
+ * and must not be closed while other threads may still access it.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+public abstract class OffHeapArray implements AutoCloseable {
+
+	/*
+	 * Log2 of the largest segment, in bytes.
+	 */
+	private static final int MAX_SEGMENT_SHIFT = 30;
+
+	/*
+	 * The segments holding the elements.
+	 */
+	private final ByteBuffer[] segments;
+
+	/*
+	 * Number of elements in this array.
+	 */
+	private final long length;
+
+	/**
+	 * Log2 of the number of elements in a full segment.
+	 */
+	final int segmentShift;
+
+	/**
+	 * Mask of the offset of an element inside its segment.
+	 */
+	final int segmentMask;
+
+	// Whether this array has been closed
+	private boolean closed;
+
+	/**
+	 * Allocates a new array with all its elements set to zero.
+	 * @param length - number of elements
+	 * @param elementShift - log2 of the size of an element, in bytes
+	 * @throws NegativeArraySizeException if {@code length} is negative
+	 * @throws OutOfMemoryError if there is not enough direct memory left
+	 */
+	OffHeapArray(final long length, final int elementShift)
+			throws NegativeArraySizeException, OutOfMemoryError {
+		if(length < 0) {
+			throw new NegativeArraySizeException();
+		}
+		this.length = length;
+		this.segmentShift = MAX_SEGMENT_SHIFT - elementShift;
+		this.segmentMask = (1 << segmentShift) - 1;
+		this.segments = new ByteBuffer[segmentCount(length, segmentShift)];
+
+		try {
+			for(int i = 0; i < segments.length; i++) {
+				final long remaining = length - ((long) i << segmentShift);
+				final long elements = Math.min(remaining, 1L << segmentShift);
+				segments[i] = DirectBuffers.allocate((int) (elements << elementShift));
+			}
+		} catch(OutOfMemoryError e) {
+			free();
+			throw e;
+		}
+	}
+
+	/**
+	 * Wraps existing segments in a new array. Every segment but the last must
+	 * hold exactly {@code 1 << (30 - elementShift)} elements.
+	 * @param segments - segments holding the elements
+	 * @param length - number of elements
+	 * @param elementShift - log2 of the size of an element, in bytes
+	 */
+	OffHeapArray(final ByteBuffer[] segments, final long length,
+			final int elementShift) {
+		assert length >= 0 : "Array length is negative";
+		assert segments.length == segmentCount(length,
+				MAX_SEGMENT_SHIFT - elementShift) : "Bad segment count";
+
+		this.length = length;
+		this.segmentShift = MAX_SEGMENT_SHIFT - elementShift;
+		this.segmentMask = (1 << segmentShift) - 1;
+		this.segments = segments.clone();
+	}
+
+	/**
+	 * Returns the number of elements in this array.
+	 * @return the number of elements in this array
+	 */
+	public final long length() {
+		return length;
+	}
+
+	/**
+	 * Tells whether this array has been closed.
+	 * @return true if and only if this array has been closed
+	 */
+	public final boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Frees the memory of this array. Closing an array which is already
+	 * closed has no effect.
+	 */
+	@Override
+	public void close() {
+		if(!closed) {
+			closed = true;
+			free();
+		}
+	}
+
+	/**
+	 * Returns the segments of this array.
+	 * @return the segments of this array
+	 */
+	final ByteBuffer[] segments() {
+		return segments;
+	}
+
+	/**
+	 * Throws an exception if this array has been closed.
+	 * @throws IllegalStateException if this array has been closed
+	 */
+	final void checkOpen() throws IllegalStateException {
+		if(closed) {
+			throw new IllegalStateException("Array is closed");
+		}
+	}
+
+	/**
+	 * Checks that this array is open and that {@code index} is one of its
+	 * indexes.
+	 * @param index - index to check
+	 * @throws IllegalStateException if this array has been closed
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	final void checkIndex(final long index)
+			throws IllegalStateException, IndexOutOfBoundsException {
+		checkOpen();
+		if(index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Index " + index
+					+ " out of bounds for length " + length);
+		}
+	}
+
+	/**
+	 * Checks that this array is open and that {@code [offset, offset + count)}
+	 * is a range of its indexes.
+	 * @param offset - first index of the range
+	 * @param count - number of elements in the range
+	 * @throws IllegalStateException if this array has been closed
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	final void checkRange(final long offset, final long count)
+			throws IllegalStateException, IndexOutOfBoundsException {
+		checkOpen();
+		if(offset < 0 || count < 0 || offset > length - count) {
+			throw new IndexOutOfBoundsException("Range [" + offset + ", "
+					+ offset + " + " + count + ") out of bounds for length " + length);
+		}
+	}
+
+	/**
+	 * Checks that a heap array range {@code [offset, offset + count)} is in
+	 * bounds.
+	 * @param arrayLength - length of the heap array
+	 * @param offset - first index of the range
+	 * @param count - number of elements in the range
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	static void checkArrayRange(final int arrayLength, final int offset,
+			final int count) throws IndexOutOfBoundsException {
+		if(offset < 0 || count < 0 || offset > arrayLength - count) {
+			throw new IndexOutOfBoundsException("Range [" + offset + ", "
+					+ offset + " + " + count + ") out of bounds for length "
+					+ arrayLength);
+		}
+	}
+
+	/**
+	 * Returns the length of a heap array holding every element of this array.
+	 * @return the length of a heap array holding this array
+	 * @throws IllegalStateException if this array has been closed
+	 * @throws OutOfMemoryError if this array is too long for a heap array
+	 */
+	final int heapLength() throws IllegalStateException, OutOfMemoryError {
+		checkOpen();
+		if(length > Integer.MAX_VALUE - 8) {
+			throw new OutOfMemoryError("Array too long for the heap: " + length);
+		}
+		return (int) length;
+	}
+
+	// Frees the allocated segments
+	private void free() {
+		for(final ByteBuffer segment : segments) {
+			if(null != segment) {
+				DirectBuffers.free(segment);
+			}
+		}
+	}
+
+	// Number of segments needed for the given number of elements
+	private static int segmentCount(final long length, final int segmentShift) {
+		return (int) ((length + (1L << segmentShift) - 1) >>> segmentShift);
+	}
+
+}
@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The engine behind the bulk array methods of this package. An index range is
+ * either handed to a plain loop in the calling thread, or cut into chunks
+ * which are run by the common {@link ForkJoinPool}. The range runs in
+ * parallel once its length reaches a tunable threshold, and only if the
+ * common pool has more than one worker.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+final class ParallelRanges {
+
+	/**
+	 * Default length from which ranges run in parallel. It may be overridden
+	 * with the system property {@code com.sol.util.parallelThreshold}.
+	 */
+	static final int DEFAULT_THRESHOLD = 1 << 13;
+
+	/*
+	 * Smallest chunk handed to a single task, so that forced parallel runs of
+	 * short ranges do not drown in task overhead.
+	 */
+	private static final int MIN_CHUNK_LENGTH = 1 << 10;
+
+	/*
+	 * Number of chunks per worker. More than one chunk per worker lets the
+	 * pool balance chunks which take longer than others.
+	 */
+	private static final int CHUNKS_PER_WORKER = 4;
+
+	// Length from which ranges run in parallel
+	private static volatile int threshold = Math.max(1,
+			Integer.getInteger("com.sol.util.parallelThreshold", DEFAULT_THRESHOLD));
+
+	/**
+	 * An action on the index range {@code [from, to)}.
+	 */
+	@FunctionalInterface
+	interface RangeAction {
+		/**
+		 * Performs this action on the given range.
+		 * @param from - first index of the range, inclusive
+		 * @param to - last index of the range, exclusive
+		 */
+		void apply(int from, int to);
+	}
+
+	/**
+	 * An action on one chunk {@code [from, to)} of a range cut into a known
+	 * number of chunks.
+	 */
+	@FunctionalInterface
+	interface ChunkAction {
+		/**
+		 * Performs this action on the given chunk.
+		 * @param chunk - index of the chunk
+		 * @param from - first index of the chunk, inclusive
+		 * @param to - last index of the chunk, exclusive
+		 */
+		void apply(int chunk, int from, int to);
+	}
+
+	/**
+	 * An action on the index range {@code [from, to)} of a range which may be
+	 * longer than {@link Integer#MAX_VALUE}.
+	 */
+	@FunctionalInterface
+	interface LongRangeAction {
+		/**
+		 * Performs this action on the given range.
+		 * @param from - first index of the range, inclusive
+		 * @param to - last index of the range, exclusive
+		 */
+		void apply(long from, long to);
+	}
+
+	// Constructor. Class ParallelRanges is not instantiable.
+	private ParallelRanges() { }
+
+	/**
+	 * Returns the length from which ranges run in parallel.
+	 * @return the length from which ranges run in parallel
+	 */
+	static int getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * Sets the length from which ranges run in parallel.
+	 * @param newThreshold - the new threshold
+	 * @throws IllegalArgumentException if {@code newThreshold} is not positive
+	 */
+	static void setThreshold(final int newThreshold)
+			throws IllegalArgumentException {
+		if(newThreshold < 1) {
+			throw new IllegalArgumentException(
+					"Threshold is not positive: " + newThreshold);
+		}
+		threshold = newThreshold;
+	}
+
+	/**
+	 * Tells whether a range of the given length is run in parallel.
+	 * @param length - length of the range
+	 * @return true if and only if a range of this length is run in parallel
+	 */
+	static boolean isParallel(final long length) {
+		return length >= threshold
+				&& ForkJoinPool.getCommonPoolParallelism() > 1;
+	}
+
+	/**
+	 * Returns the number of chunks a range of the given length is cut into.
+	 * The result is 1 when the range is run sequentially.
+	 * @param length - length of the range
+	 * @return the number of chunks
+	 */
+	static int chunkCount(final int length) {
+		return isParallel(length) ? parallelChunkCount(length) : 1;
+	}
+
+	/**
+	 * Returns the number of chunks a range of the given length is cut into
+	 * when it is run in parallel regardless of the threshold.
+	 * @param length - length of the range
+	 * @return the number of chunks
+	 */
+	static int parallelChunkCount(final long length) {
+		final long maxChunks = (length + MIN_CHUNK_LENGTH - 1) / MIN_CHUNK_LENGTH;
+		final long chunks = (long) ForkJoinPool.getCommonPoolParallelism()
+				* CHUNKS_PER_WORKER;
+		return (int) Math.max(1, Math.min(chunks, maxChunks));
+	}
+
+	/**
+	 * Returns the first index of a chunk. The last index of the chunk is the
+	 * first index of the following chunk.
+	 * @param length - length of the range
+	 * @param chunks - number of chunks
+	 * @param chunk - index of the chunk, at most {@code chunks}
+	 * @return the first index of the chunk
+	 */
+	static int chunkStart(final int length, final int chunks, final int chunk) {
+		return (int) ((long) length * chunk / chunks);
+	}
+
+	/**
+	 * Performs the action on the range {@code [0, length)}, in parallel if
+	 * the range is long enough.
+	 * @param length - length of the range
+	 * @param action - action to perform
+	 */
+	static void forEach(final int length, final RangeAction action) {
+		forEach(length, chunkCount(length), action);
+	}
+
+	/**
+	 * Performs the action on the range {@code [0, length)} in parallel,
+	 * regardless of the threshold.
+	 * @param length - length of the range
+	 * @param action - action to perform
+	 */
+	static void forEachParallel(final int length, final RangeAction action) {
+		forEach(length, parallelChunkCount(length), action);
+	}
+
+	/**
+	 * Performs the action on the range {@code [0, length)}, in parallel if
+	 * {@code parallel} is true, and otherwise if the range is long enough.
+	 * @param length - length of the range
+	 * @param parallel - whether to run in parallel regardless of the threshold
+	 * @param action - action to perform
+	 */
+	static void forEach(final int length, final boolean parallel,
+			final RangeAction action) {
+		if(parallel) {
+			forEachParallel(length, action);
+		} else {
+			forEach(length, action);
+		}
+	}
+
+	/**
+	 * Cuts the range {@code [0, length)} into the given number of chunks and
+	 * performs the action on every chunk. A single chunk is run in the
+	 * calling thread; otherwise the chunks are run by the common
+	 * {@link ForkJoinPool}, with the calling thread taking part.
+	 * @param length - length of the range
+	 * @param chunks - number of chunks, positive
+	 * @param action - action to perform
+	 */
+	static void forEachChunk(final int length, final int chunks,
+			final ChunkAction action) {
+		assert chunks > 0 : "Chunk count is not positive";
+
+		if(1 == chunks) {
+			action.apply(0, 0, length);
+		} else {
+			new ChunkTask(length, chunks, action, 0, chunks).invoke();
+		}
+	}
+
+	/**
+	 * Performs the action on the range {@code [0, length)}, in parallel if
+	 * the range is long enough.
+	 * @param length - length of the range
+	 * @param action - action to perform
+	 */
+	static void forEachLong(final long length, final LongRangeAction action) {
+		final int chunks = isParallel(length) ? parallelChunkCount(length) : 1;
+		if(1 == chunks) {
+			action.apply(0, length);
+		} else {
+			// One unit range per chunk, mapped to long bounds without overflow
+			final long quotient = length / chunks;
+			final long remainder = length % chunks;
+			forEachChunk(chunks, chunks, (chunk, from, to) -> action.apply(
+					quotient * chunk + Math.min(chunk, remainder),
+					quotient * to + Math.min(to, remainder)));
+		}
+	}
+
+	// Runs a range action over the given number of chunks
+	private static void forEach(final int length, final int chunks,
+			final RangeAction action) {
+		if(1 == chunks) {
+			action.apply(0, length);
+		} else {
+			forEachChunk(length, chunks, (chunk, from, to) -> action.apply(from, to));
+		}
+	}
+
+	/*
+	 * Splits a range of chunks in halves until a single chunk is left.
+	 */
+	private static final class ChunkTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int length;
+		private final int chunks;
+		private final ChunkAction action;
+		private final int low;
+		private final int high;
+
+		ChunkTask(final int length, final int chunks, final ChunkAction action,
+				final int low, final int high) {
+			this.length = length;
+			this.chunks = chunks;
+			this.action = action;
+			this.low = low;
+			this.high = high;
+		}
+
+		@Override
+		protected void compute() {
+			if(1 == high - low) {
+				action.apply(low, chunkStart(length, chunks, low),
+						chunkStart(length, chunks, high));
+			} else {
+				final int middle = (low + high) >>> 1;
+				invokeAll(new ChunkTask(length, chunks, action, low, middle),
+						new ChunkTask(length, chunks, action, middle, high));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+/**
+ * Abstract base class for the growable lists of primitives of this package,
+ * such as {@link IntList}. It holds the size of a list and the growth policy
+ * of its backing array, which is the same as that of
+ * {@link java.util.ArrayList}. The lists are not thread safe.
+ * <p>
+ * The eight lists are maintained by hand and differ only in their element
+ * type, except that {@link FloatList} and {@link DoubleList} compare
+ * elements by their bits; a change to one list should be made to all of
+ * them.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+public abstract class PrimitiveList {
+
+	/**
+	 * Capacity of a new list when none is given.
+	 */
+	static final int DEFAULT_CAPACITY = 10;
+
+	/*
+	 * Largest capacity of a list. Some VMs reserve header words in arrays.
+	 */
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	/**
+	 * Number of elements in this list.
+	 */
+	int size;
+
+	// Constructor. Only the lists of this package extend this class.
+	PrimitiveList() { }
+
+	/**
+	 * Returns the number of elements in this list.
+	 * @return the number of elements in this list
+	 */
+	public final int size() {
+		return size;
+	}
+
+	/**
+	 * Tells whether this list has no elements.
+	 * @return true if and only if this list has no elements
+	 */
+	public final boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * Removes every element of this list. The capacity of the list is kept.
+	 */
+	public final void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Increases the capacity of this list, if needed, so that it holds at
+	 * least the given number of elements without growing again.
+	 * @param minCapacity - the desired least capacity
+	 * @throws OutOfMemoryError if the capacity is too large for an array
+	 */
+	public final void ensureCapacity(final int minCapacity)
+			throws OutOfMemoryError {
+		if(minCapacity > capacity()) {
+			resize(newCapacity(minCapacity));
+		}
+	}
+
+	/**
+	 * Trims the capacity of this list to its size.
+	 */
+	public final void trimToSize() {
+		if(size < capacity()) {
+			resize(size);
+		}
+	}
+
+	/**
+	 * Returns the length of the backing array.
+	 * @return the length of the backing array
+	 */
+	abstract int capacity();
+
+	/**
+	 * Replaces the backing array with a copy of the given length.
+	 * @param capacity - length of the new backing array, at least the size
+	 */
+	abstract void resize(int capacity);
+
+	/**
+	 * Makes room for the given number of additional elements.
+	 * @param count - number of elements about to be added
+	 * @throws OutOfMemoryError if the list would be too long for an array
+	 */
+	final void grow(final int count) throws OutOfMemoryError {
+		final int minCapacity = size + count;
+		if(minCapacity < 0) {
+			throw new OutOfMemoryError("List too long");
+		}
+		ensureCapacity(minCapacity);
+	}
+
+	/**
+	 * Throws an exception if the index is not the index of an element.
+	 * @param index - index to check
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	final void checkIndex(final int index) throws IndexOutOfBoundsException {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * Throws an exception if the index is not a position an element may be
+	 * inserted at.
+	 * @param index - index to check
+	 * @throws IndexOutOfBoundsException if {@code index} is out of bounds
+	 */
+	final void checkPosition(final int index) throws IndexOutOfBoundsException {
+		if(index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * Checks a capacity given to a constructor.
+	 * @param initialCapacity - capacity to check
+	 * @return the capacity
+	 * @throws IllegalArgumentException if {@code initialCapacity} is negative
+	 */
+	static int checkCapacity(final int initialCapacity)
+			throws IllegalArgumentException {
+		if(initialCapacity < 0) {
+			throw new IllegalArgumentException(
+					"Illegal capacity: " + initialCapacity);
+		}
+		return initialCapacity;
+	}
+
+	// Capacity after growing to hold at least minCapacity elements
+	private int newCapacity(final int minCapacity) throws OutOfMemoryError {
+		if(minCapacity > MAX_CAPACITY) {
+			throw new OutOfMemoryError("List too long");
+		}
+		final int current = capacity();
+		final long grown = Math.max(DEFAULT_CAPACITY, current + ((long) current >> 1));
+		return (int) Math.min(MAX_CAPACITY, Math.max(grown, minCapacity));
+	}
+
+}
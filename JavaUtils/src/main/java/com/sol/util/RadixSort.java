@@ -0,0 +1,359 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util;
+
+import java.util.Arrays;
+
+/**
+ * Least significant digit radix sort of fixed width keys, eight bits per
+ * pass. Signed keys are sorted by flipping the sign bit of their top digit;
+ * floating point keys are first mapped to integers whose unsigned order is
+ * the order of {@link Float#compare(float, float)} and
+ * {@link Double#compare(double, double)}. A pass whose digit is the same for
+ * every key is skipped.
+ * <p>
+ * The parallel sort cuts the array into chunks. For every pass, each chunk
+ * builds a histogram of its digits; the histograms are turned into per chunk
+ * offsets, and each chunk scatters its keys to its own offsets. The sort is
+ * therefore stable, which the argsorts rely on.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+final class RadixSort {
+
+	/*
+	 * Number of bits of a digit.
+	 */
+	private static final int DIGIT_BITS = 8;
+
+	/*
+	 * Number of distinct digits.
+	 */
+	private static final int RADIX = 1 << DIGIT_BITS;
+
+	/*
+	 * Mask of a digit.
+	 */
+	private static final int DIGIT_MASK = RADIX - 1;
+
+	// Constructor. Class RadixSort is not instantiable.
+	private RadixSort() { }
+
+	/**
+	 * Sorts an {@code int} array into ascending order.
+	 * @param array - array to sort
+	 * @param parallel - whether to sort long arrays in parallel
+	 */
+	static void sort(final int[] array, final boolean parallel) {
+		sort(array, null, true, parallel);
+	}
+
+	/**
+	 * Sorts a {@code long} array into ascending order.
+	 * @param array - array to sort
+	 * @param parallel - whether to sort long arrays in parallel
+	 */
+	static void sort(final long[] array, final boolean parallel) {
+		sort(array, null, true, parallel);
+	}
+
+	/**
+	 * Sorts a {@code float} array into the ascending order of
+	 * {@link Float#compare(float, float)}. NaN values are replaced with the
+	 * canonical NaN.
+	 * @param array - array to sort
+	 * @param parallel - whether to sort long arrays in parallel
+	 */
+	static void sort(final float[] array, final boolean parallel) {
+		final int[] keys = toKeys(array, parallel);
+		sort(keys, null, false, parallel);
+		forEach(array.length, parallel, (from, to) -> {
+			for(int i = from; i < to; i++) {
+				array[i] = Float.intBitsToFloat(fromKey(keys[i]));
+			}
+		});
+	}
+
+	/**
+	 * Sorts a {@code double} array into the ascending order of
+	 * {@link Double#compare(double, double)}. NaN values are replaced with the
+	 * canonical NaN.
+	 * @param array - array to sort
+	 * @param parallel - whether to sort long arrays in parallel
+	 */
+	static void sort(final double[] array, final boolean parallel) {
+		final long[] keys = toKeys(array, parallel);
+		sort(keys, null, false, parallel);
+		forEach(array.length, parallel, (from, to) -> {
+			for(int i = from; i < to; i++) {
+				array[i] = Double.longBitsToDouble(fromKey(keys[i]));
+			}
+		});
+	}
+
+	/**
+	 * Returns the indexes of an {@code int} array in the ascending order of
+	 * their elements. Equal elements keep the order of their indexes.
+	 * @param array - array to sort the indexes of
+	 * @param parallel - whether to sort long arrays in parallel
+	 * @return a new array of indexes
+	 */
+	static int[] argsort(final int[] array, final boolean parallel) {
+		final int[] indexes = identity(array.length, parallel);
+		sort(array.clone(), indexes, true, parallel);
+		return indexes;
+	}
+
+	/**
+	 * Returns the indexes of a {@code long} array in the ascending order of
+	 * their elements. Equal elements keep the order of their indexes.
+	 * @param array - array to sort the indexes of
+	 * @param parallel - whether to sort long arrays in parallel
+	 * @return a new array of indexes
+	 */
+	static int[] argsort(final long[] array, final boolean parallel) {
+		final int[] indexes = identity(array.length, parallel);
+		sort(array.clone(), indexes, true, parallel);
+		return indexes;
+	}
+
+	/**
+	 * Returns the indexes of a {@code float} array in the ascending order of
+	 * {@link Float#compare(float, float)}. Equal elements keep the order of
+	 * their indexes.
+	 * @param array - array to sort the indexes of
+	 * @param parallel - whether to sort long arrays in parallel
+	 * @return a new array of indexes
+	 */
+	static int[] argsort(final float[] array, final boolean parallel) {
+		final int[] indexes = identity(array.length, parallel);
+		sort(toKeys(array, parallel), indexes, false, parallel);
+		return indexes;
+	}
+
+	/**
+	 * Returns the indexes of a {@code double} array in the ascending order of
+	 * {@link Double#compare(double, double)}. Equal elements keep the order of
+	 * their indexes.
+	 * @param array - array to sort the indexes of
+	 * @param parallel - whether to sort long arrays in parallel
+	 * @return a new array of indexes
+	 */
+	static int[] argsort(final double[] array, final boolean parallel) {
+		final int[] indexes = identity(array.length, parallel);
+		sort(toKeys(array, parallel), indexes, false, parallel);
+		return indexes;
+	}
+
+	/*
+	 * Sorts int keys, and the payload along with them when there is one. The
+	 * keys are compared as unsigned, unless signed is true.
+	 */
+	private static void sort(final int[] keys, final int[] payload,
+			final boolean signed, final boolean parallel) {
+		final int length = keys.length;
+		if(length < 2) {
+			return;
+		}
+		final int chunks = parallel ? ParallelRanges.chunkCount(length) : 1;
+		final int[][] counts = new int[chunks][RADIX];
+		int[] source = keys;
+		int[] target = new int[length];
+		int[] sourcePayload = payload;
+		int[] targetPayload = null == payload ? null : new int[length];
+
+		for(int shift = 0; shift < 32; shift += DIGIT_BITS) {
+			final int digitShift = shift;
+			final int flip = signed && 24 == shift ? RADIX >>> 1 : 0;
+			final int[] from = source;
+			final int[] to = target;
+			final int[] fromPayload = sourcePayload;
+			final int[] toPayload = targetPayload;
+
+			ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+				final int[] count = counts[chunk];
+				Arrays.fill(count, 0);
+				for(int i = start; i < end; i++) {
+					count[from[i] >>> digitShift & DIGIT_MASK ^ flip]++;
+				}
+			});
+			if(!toOffsets(counts, length)) {
+				continue;
+			}
+			ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+				final int[] offset = counts[chunk];
+				for(int i = start; i < end; i++) {
+					final int position =
+							offset[from[i] >>> digitShift & DIGIT_MASK ^ flip]++;
+					to[position] = from[i];
+					if(null != toPayload) {
+						toPayload[position] = fromPayload[i];
+					}
+				}
+			});
+			source = to;
+			target = from;
+			sourcePayload = toPayload;
+			targetPayload = fromPayload;
+		}
+
+		if(source != keys) {
+			System.arraycopy(source, 0, keys, 0, length);
+			if(null != payload) {
+				System.arraycopy(sourcePayload, 0, payload, 0, length);
+			}
+		}
+	}
+
+	/*
+	 * Sorts long keys, and the payload along with them when there is one. The
+	 * keys are compared as unsigned, unless signed is true.
+	 */
+	private static void sort(final long[] keys, final int[] payload,
+			final boolean signed, final boolean parallel) {
+		final int length = keys.length;
+		if(length < 2) {
+			return;
+		}
+		final int chunks = parallel ? ParallelRanges.chunkCount(length) : 1;
+		final int[][] counts = new int[chunks][RADIX];
+		long[] source = keys;
+		long[] target = new long[length];
+		int[] sourcePayload = payload;
+		int[] targetPayload = null == payload ? null : new int[length];
+
+		for(int shift = 0; shift < 64; shift += DIGIT_BITS) {
+			final int digitShift = shift;
+			final int flip = signed && 56 == shift ? RADIX >>> 1 : 0;
+			final long[] from = source;
+			final long[] to = target;
+			final int[] fromPayload = sourcePayload;
+			final int[] toPayload = targetPayload;
+
+			ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+				final int[] count = counts[chunk];
+				Arrays.fill(count, 0);
+				for(int i = start; i < end; i++) {
+					count[(int) (from[i] >>> digitShift) & DIGIT_MASK ^ flip]++;
+				}
+			});
+			if(!toOffsets(counts, length)) {
+				continue;
+			}
+			ParallelRanges.forEachChunk(length, chunks, (chunk, start, end) -> {
+				final int[] offset = counts[chunk];
+				for(int i = start; i < end; i++) {
+					final int position =
+							offset[(int) (from[i] >>> digitShift) & DIGIT_MASK ^ flip]++;
+					to[position] = from[i];
+					if(null != toPayload) {
+						toPayload[position] = fromPayload[i];
+					}
+				}
+			});
+			source = to;
+			target = from;
+			sourcePayload = toPayload;
+			targetPayload = fromPayload;
+		}
+
+		if(source != keys) {
+			System.arraycopy(source, 0, keys, 0, length);
+			if(null != payload) {
+				System.arraycopy(sourcePayload, 0, payload, 0, length);
+			}
+		}
+	}
+
+	/*
+	 * Turns per chunk digit counts into per chunk scatter offsets. Returns
+	 * false, leaving the counts alone, if every key has the same digit.
+	 */
+	private static boolean toOffsets(final int[][] counts, final int length) {
+		int offset = 0;
+		for(int digit = 0; digit < RADIX; digit++) {
+			int total = 0;
+			for(final int[] count : counts) {
+				total += count[digit];
+			}
+			if(total == length) {
+				return false;
+			}
+			for(final int[] count : counts) {
+				final int chunkCount = count[digit];
+				count[digit] = offset;
+				offset += chunkCount;
+			}
+		}
+		return true;
+	}
+
+	// Maps floats to keys with the same unsigned order
+	private static int[] toKeys(final float[] array, final boolean parallel) {
+		final int[] keys = new int[array.length];
+		forEach(array.length, parallel, (from, to) -> {
+			for(int i = from; i < to; i++) {
+				final int bits = Float.floatToIntBits(array[i]);
+				keys[i] = bits ^ (bits >> 31 | Integer.MIN_VALUE);
+			}
+		});
+		return keys;
+	}
+
+	// Maps doubles to keys with the same unsigned order
+	private static long[] toKeys(final double[] array, final boolean parallel) {
+		final long[] keys = new long[array.length];
+		forEach(array.length, parallel, (from, to) -> {
+			for(int i = from; i < to; i++) {
+				final long bits = Double.doubleToLongBits(array[i]);
+				keys[i] = bits ^ (bits >> 63 | Long.MIN_VALUE);
+			}
+		});
+		return keys;
+	}
+
+	// Inverse of the float key mapping
+	private static int fromKey(final int key) {
+		return key ^ ((key >>> 31) - 1 | Integer.MIN_VALUE);
+	}
+
+	// Inverse of the double key mapping
+	private static long fromKey(final long key) {
+		return key ^ ((key >>> 63) - 1 | Long.MIN_VALUE);
+	}
+
+	// The identity permutation
+	private static int[] identity(final int length, final boolean parallel) {
+		final int[] indexes = new int[length];
+		forEach(length, parallel, (from, to) -> {
+			for(int i = from; i < to; i++) {
+				indexes[i] = i;
+			}
+		});
+		return indexes;
+	}
+
+	// Runs a range action, in parallel only if asked to and the range is long
+	private static void forEach(final int length, final boolean parallel,
+			final ParallelRanges.RangeAction action) {
+		if(parallel) {
+			ParallelRanges.forEach(length, action);
+		} else {
+			action.apply(0, length);
+		}
+	}
+
+}
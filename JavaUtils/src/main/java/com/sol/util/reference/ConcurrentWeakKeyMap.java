@@ -0,0 +1,546 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util.reference;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A concurrent map whose keys are held by weak references, so an entry
+ * disappears once its key is no longer strongly reachable, as in
+ * {@link java.util.WeakHashMap}. Keys are compared by identity or with
+ * {@code equals}, as chosen by the {@link Equivalence} of the map.
+ * <p>
+ * The map is cut into segments by the hash of the keys, each with its own
+ * lock, so writes to different segments do not contend. Reads take no lock:
+ * the chains of a bucket are never changed in place, and removals copy the
+ * entries in front of the removed one. Every key is kept in a
+ * {@link WeakReferenceContainer} registered with a queue shared by the map,
+ * and its reference carries the hash of the key. Writes drain the queue in
+ * bounded batches and remove the entries of collected keys from their
+ * segments, without scanning.
+ * <p>
+ * Values are held strongly, so a value which refers to its own key keeps the
+ * entry alive. Neither keys nor values may be {@code null}.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @param <K> - type of the keys
+ * @param <V> - type of the values
+ * @see ReferenceQueueContainer
+ */
+public final class ConcurrentWeakKeyMap<K, V> {
+
+	/**
+	 * How keys of a {@link ConcurrentWeakKeyMap} are compared.
+	 */
+	public enum Equivalence {
+
+		/**
+		 * Keys are the same key only if they are the same object, and are hashed
+		 * with {@link System#identityHashCode(Object)}.
+		 */
+		IDENTITY,
+
+		/**
+		 * Keys are compared with {@code equals} and hashed with
+		 * {@code hashCode}.
+		 */
+		EQUALS
+
+	}
+
+	/*
+	 * Largest number of cleared references a write removes.
+	 */
+	private static final int WRITE_BATCH = 64;
+
+	/*
+	 * Number of segments when none is given.
+	 */
+	private static final int DEFAULT_CONCURRENCY = 16;
+
+	/*
+	 * Largest number of segments.
+	 */
+	private static final int MAX_SEGMENTS = 1 << 16;
+
+	/*
+	 * Initial number of buckets of a segment.
+	 */
+	private static final int INITIAL_CAPACITY = 8;
+
+	/*
+	 * Largest number of buckets of a segment.
+	 */
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	/*
+	 * How keys are compared.
+	 */
+	private final Equivalence equivalence;
+
+	/*
+	 * The segments, chosen by the high bits of the hash of a key.
+	 */
+	private final Segment<K, V>[] segments;
+
+	/*
+	 * Shift of a hash which leaves the index of its segment.
+	 */
+	private final int segmentShift;
+
+	/*
+	 * The queue the references of the keys are registered with.
+	 */
+	private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+	/*
+	 * The queue, as polled by this map.
+	 */
+	private final ReferenceQueueContainer<K> queueContainer =
+			new ReferenceQueueContainer<>(queue);
+
+	/**
+	 * Constructs an empty map which compares keys with {@code equals}.
+	 */
+	public ConcurrentWeakKeyMap() {
+		this(Equivalence.EQUALS);
+	}
+
+	/**
+	 * Constructs an empty map which compares keys as given.
+	 * @param equivalence - how keys are compared
+	 * @throws NullPointerException if {@code equivalence} is {@code null}
+	 */
+	public ConcurrentWeakKeyMap(final Equivalence equivalence)
+			throws NullPointerException {
+		this(equivalence, DEFAULT_CONCURRENCY);
+	}
+
+	/**
+	 * Constructs an empty map which compares keys as given, with a segment for
+	 * every expected concurrent writer.
+	 * @param equivalence - how keys are compared
+	 * @param concurrencyLevel - expected number of concurrent writers, rounded
+	 * up to a power of two
+	 * @throws IllegalArgumentException if {@code concurrencyLevel} is not
+	 * positive
+	 * @throws NullPointerException if {@code equivalence} is {@code null}
+	 */
+	public ConcurrentWeakKeyMap(final Equivalence equivalence,
+			final int concurrencyLevel)
+			throws IllegalArgumentException, NullPointerException {
+		if(concurrencyLevel < 1) {
+			throw new IllegalArgumentException(
+					"Concurrency level is not positive: " + concurrencyLevel);
+		}
+		this.equivalence = Objects.requireNonNull(equivalence);
+		final int level = Math.min(concurrencyLevel, MAX_SEGMENTS);
+		final int count = Integer.highestOneBit((level << 1) - 1);
+		this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+		@SuppressWarnings("unchecked")
+		final Segment<K, V>[] newSegments = (Segment<K, V>[]) new Segment<?, ?>[count];
+		for(int i = 0; i < count; i++) {
+			newSegments[i] = new Segment<>(Equivalence.IDENTITY == equivalence);
+		}
+		this.segments = newSegments;
+	}
+
+	/**
+	 * Returns how this map compares keys.
+	 * @return how this map compares keys
+	 */
+	public Equivalence equivalence() {
+		return equivalence;
+	}
+
+	/**
+	 * Returns the value mapped from a key.
+	 * @param key - key of the value
+	 * @return an {@code Optional} of the value, empty if the key is not mapped
+	 * @throws NullPointerException if {@code key} is {@code null}
+	 */
+	public Optional<V> get(final K key) throws NullPointerException {
+		final int hash = hash(key);
+		final Entry<K, V> entry = segmentFor(hash).find(key, hash);
+		return null == entry ? Optional.empty() : Optional.of(entry.value);
+	}
+
+	/**
+	 * Tells whether a key is mapped.
+	 * @param key - key to look for
+	 * @return true if and only if the key is mapped
+	 * @throws NullPointerException if {@code key} is {@code null}
+	 */
+	public boolean containsKey(final K key) throws NullPointerException {
+		final int hash = hash(key);
+		return null != segmentFor(hash).find(key, hash);
+	}
+
+	/**
+	 * Maps a key to a value, replacing any previous value.
+	 * @param key - key of the value
+	 * @param value - value of the key
+	 * @return an {@code Optional} of the previous value, empty if there was
+	 * none
+	 * @throws NullPointerException if {@code key} or {@code value} is
+	 * {@code null}
+	 */
+	public Optional<V> put(final K key, final V value) throws NullPointerException {
+		return put(key, value, false);
+	}
+
+	/**
+	 * Maps a key to a value, unless the key is already mapped.
+	 * @param key - key of the value
+	 * @param value - value of the key
+	 * @return an {@code Optional} of the current value, empty if the key was
+	 * not mapped and is now mapped to {@code value}
+	 * @throws NullPointerException if {@code key} or {@code value} is
+	 * {@code null}
+	 */
+	public Optional<V> putIfAbsent(final K key, final V value)
+			throws NullPointerException {
+		return put(key, value, true);
+	}
+
+	/**
+	 * Returns the value mapped from a key, computing and mapping it if the
+	 * key is not mapped. The function runs at most once at a time for a key,
+	 * under the lock of its segment, so it should be short and must not update
+	 * this map.
+	 * @param key - key of the value
+	 * @param function - function computing the value of the key
+	 * @return the current or computed value, or {@code null} if the function
+	 * returned {@code null}, in which case nothing is mapped
+	 * @throws NullPointerException if {@code key} or {@code function} is
+	 * {@code null}
+	 */
+	public V computeIfAbsent(final K key,
+			final Function<? super K, ? extends V> function)
+			throws NullPointerException {
+		Objects.requireNonNull(function);
+		final int hash = hash(key);
+		final Segment<K, V> segment = segmentFor(hash);
+		final Entry<K, V> entry = segment.find(key, hash);
+		if(null != entry) {
+			return entry.value;
+		}
+		removeCleared(WRITE_BATCH);
+		return segment.computeIfAbsent(key, hash, function, queue);
+	}
+
+	/**
+	 * Removes the mapping of a key.
+	 * @param key - key of the mapping
+	 * @return an {@code Optional} of the removed value, empty if there was
+	 * none
+	 * @throws NullPointerException if {@code key} is {@code null}
+	 */
+	public Optional<V> remove(final K key) throws NullPointerException {
+		final int hash = hash(key);
+		removeCleared(WRITE_BATCH);
+		return Optional.ofNullable(segmentFor(hash).remove(key, hash));
+	}
+
+	/**
+	 * Returns the number of entries of this map, after removing those whose
+	 * keys were found collected. Keys may be collected at any time, so the
+	 * result is an upper bound.
+	 * @return the number of entries
+	 */
+	public int size() {
+		removeCleared();
+		long size = 0;
+		for(final Segment<K, V> segment : segments) {
+			size += segment.count;
+		}
+		return (int) Math.min(Integer.MAX_VALUE, size);
+	}
+
+	/**
+	 * Tells whether this map has no entries.
+	 * @return true if and only if this map has no entries
+	 */
+	public boolean isEmpty() {
+		return 0 == size();
+	}
+
+	/**
+	 * Removes every entry of this map.
+	 */
+	public void clear() {
+		for(final Segment<K, V> segment : segments) {
+			segment.clear();
+		}
+		removeCleared();
+	}
+
+	/**
+	 * Removes the entries whose keys were collected, by draining the queue of
+	 * their references. Writes to the map do this on their own; this method
+	 * lets a map which is only read release its dead entries.
+	 * @return the number of removed entries
+	 */
+	public int removeCleared() {
+		return removeCleared(Integer.MAX_VALUE);
+	}
+
+	// Removes the entries of up to maxBatch collected keys
+	private int removeCleared(final int maxBatch) {
+		final int[] removed = new int[1];
+		queueContainer.drainTo(reference -> {
+			final WeakKeyReference<?> key = (WeakKeyReference<?>) reference;
+			if(segmentFor(key.hash).removeReference(key)) {
+				removed[0]++;
+			}
+		}, maxBatch);
+		return removed[0];
+	}
+
+	// Maps a key to a value, replacing any previous value unless asked not to
+	private Optional<V> put(final K key, final V value, final boolean onlyIfAbsent)
+			throws NullPointerException {
+		Objects.requireNonNull(value);
+		final int hash = hash(key);
+		removeCleared(WRITE_BATCH);
+		return Optional.ofNullable(
+				segmentFor(hash).put(key, hash, value, onlyIfAbsent, queue));
+	}
+
+	// The segment of a hash
+	private Segment<K, V> segmentFor(final int hash) {
+		return segments[(int) ((hash & 0xFFFFFFFFL) >>> segmentShift)];
+	}
+
+	// Hash of a key, spread so that both its high and low bits are mixed
+	private int hash(final K key) throws NullPointerException {
+		final int hash = Equivalence.IDENTITY == equivalence
+				? System.identityHashCode(Objects.requireNonNull(key))
+				: key.hashCode();
+		final int spread = hash * 0x9E3779B9;
+		return spread ^ spread >>> 16;
+	}
+
+	/*
+	 * A weak reference to a key, which carries the hash of the key.
+	 */
+	private static final class WeakKeyReference<K> extends WeakReference<K> {
+		private final int hash;
+
+		WeakKeyReference(final K key, final int hash,
+				final ReferenceQueue<? super K> queue) {
+			super(key, queue);
+			this.hash = hash;
+		}
+	}
+
+	/*
+	 * An entry of a bucket chain. Only the value changes once the entry is
+	 * published.
+	 */
+	private static final class Entry<K, V> {
+		private final WeakReferenceContainer<K> key;
+		private final int hash;
+		private final Entry<K, V> next;
+		private volatile V value;
+
+		Entry(final WeakReferenceContainer<K> key, final int hash, final V value,
+				final Entry<K, V> next) {
+			this.key = key;
+			this.hash = hash;
+			this.value = value;
+			this.next = next;
+		}
+	}
+
+	/*
+	 * A hash table of its own lock. Readers take no lock: they read the
+	 * volatile table and its buckets, whose chains are never changed.
+	 */
+	private static final class Segment<K, V> extends ReentrantLock {
+		private static final long serialVersionUID = 1L;
+
+		private final boolean identity;
+		private volatile AtomicReferenceArray<Entry<K, V>> table =
+				new AtomicReferenceArray<>(INITIAL_CAPACITY);
+		private volatile int count;
+
+		Segment(final boolean identity) {
+			this.identity = identity;
+		}
+
+		// The entry of a key, or null
+		Entry<K, V> find(final K key, final int hash) {
+			final AtomicReferenceArray<Entry<K, V>> buckets = table;
+			for(Entry<K, V> entry = buckets.get(hash & buckets.length() - 1);
+					null != entry; entry = entry.next) {
+				if(hash == entry.hash && matches(entry, key)) {
+					return entry;
+				}
+			}
+			return null;
+		}
+
+		// Maps a key to a value, returning the previous value or null
+		V put(final K key, final int hash, final V value, final boolean onlyIfAbsent,
+				final ReferenceQueue<K> queue) {
+			lock();
+			try {
+				final Entry<K, V> entry = find(key, hash);
+				if(null != entry) {
+					final V previous = entry.value;
+					if(!onlyIfAbsent) {
+						entry.value = value;
+					}
+					return previous;
+				}
+				insert(key, hash, value, queue);
+				return null;
+			} finally {
+				unlock();
+			}
+		}
+
+		// The value of a key, computed and mapped if it is not mapped
+		V computeIfAbsent(final K key, final int hash,
+				final Function<? super K, ? extends V> function,
+				final ReferenceQueue<K> queue) {
+			lock();
+			try {
+				final Entry<K, V> entry = find(key, hash);
+				if(null != entry) {
+					return entry.value;
+				}
+				final V value = function.apply(key);
+				if(null != value) {
+					insert(key, hash, value, queue);
+				}
+				return value;
+			} finally {
+				unlock();
+			}
+		}
+
+		// Removes the mapping of a key, returning its value or null
+		V remove(final K key, final int hash) {
+			lock();
+			try {
+				final Entry<K, V> entry = find(key, hash);
+				if(null == entry) {
+					return null;
+				}
+				unlink(entry);
+				return entry.value;
+			} finally {
+				unlock();
+			}
+		}
+
+		// Removes the entry of a queued reference, if it is still mapped
+		boolean removeReference(final WeakKeyReference<?> reference) {
+			lock();
+			try {
+				final AtomicReferenceArray<Entry<K, V>> buckets = table;
+				final int index = reference.hash & buckets.length() - 1;
+				for(Entry<K, V> entry = buckets.get(index); null != entry;
+						entry = entry.next) {
+					if(entry.key.reference() == reference) {
+						unlink(entry);
+						return true;
+					}
+				}
+				return false;
+			} finally {
+				unlock();
+			}
+		}
+
+		// Removes every entry
+		void clear() {
+			lock();
+			try {
+				table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+				count = 0;
+			} finally {
+				unlock();
+			}
+		}
+
+		// Whether an entry holds the key. Its key may have been collected.
+		private boolean matches(final Entry<K, V> entry, final K key) {
+			final K candidate = entry.key.reference().get();
+			return identity ? key == candidate : key.equals(candidate);
+		}
+
+		// Adds an entry in front of its bucket, growing the table first if full
+		private void insert(final K key, final int hash, final V value,
+				final ReferenceQueue<K> queue) {
+			AtomicReferenceArray<Entry<K, V>> buckets = table;
+			if(count >= buckets.length() - (buckets.length() >> 2)
+					&& buckets.length() < MAX_CAPACITY) {
+				buckets = grow(buckets);
+			}
+			final int index = hash & buckets.length() - 1;
+			final WeakReferenceContainer<K> container = new WeakReferenceContainer<>(
+					new WeakKeyReference<>(key, hash, queue));
+			buckets.set(index, new Entry<>(container, hash, value, buckets.get(index)));
+			count++;
+		}
+
+		// Replaces the table with one twice as long, leaving the old one intact
+		// for the readers still using it. Entries of collected keys are dropped.
+		private AtomicReferenceArray<Entry<K, V>> grow(
+				final AtomicReferenceArray<Entry<K, V>> buckets) {
+			final AtomicReferenceArray<Entry<K, V>> grown =
+					new AtomicReferenceArray<>(buckets.length() << 1);
+			int live = 0;
+			for(int i = 0; i < buckets.length(); i++) {
+				for(Entry<K, V> entry = buckets.get(i); null != entry;
+						entry = entry.next) {
+					if(null != entry.key.reference().get()) {
+						final int index = entry.hash & grown.length() - 1;
+						grown.set(index, new Entry<>(entry.key, entry.hash, entry.value,
+								grown.get(index)));
+						live++;
+					}
+				}
+			}
+			count = live;
+			table = grown;
+			return grown;
+		}
+
+		// Removes an entry by copying the entries in front of it in its chain
+		private void unlink(final Entry<K, V> removed) {
+			final AtomicReferenceArray<Entry<K, V>> buckets = table;
+			final int index = removed.hash & buckets.length() - 1;
+			Entry<K, V> head = removed.next;
+			for(Entry<K, V> entry = buckets.get(index); entry != removed;
+					entry = entry.next) {
+				head = new Entry<>(entry.key, entry.hash, entry.value, head);
+			}
+			buckets.set(index, head);
+			count--;
+		}
+	}
+
+}
@@ -0,0 +1,565 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util.reference;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * A cache which keeps its memory within a heap budget, in two tiers. The hot
+ * tier holds its values strongly, in least recently used order, up to a total
+ * weight given by a weigher, typically the size of the values in bytes.
+ * Values evicted from the hot tier are demoted to a cold tier, a
+ * {@link SoftValueCache}, and promoted back when they are read.
+ * <p>
+ * Rather than leave the cold tier to the garbage collector, which clears
+ * soft references only once the heap is full, and then clears them all, the
+ * cache watches the heap pools which support
+ * {@link MemoryPoolMXBean#setCollectionUsageThreshold(long) collection usage
+ * thresholds}. When the heap left in use after a collection passes the given
+ * fraction of its maximum, the cache sheds a step: a quarter of the cold tier,
+ * then the coldest quarter of the weight of the hot tier, which is dropped
+ * rather than demoted. While the heap stays above the fraction, writes shed
+ * another step at most every {@value #SHED_INTERVAL_MILLIS} milliseconds, so
+ * memory is released early and in small steps.
+ * <p>
+ * The thresholds of the pools are shared by the whole VM: a cache lowers
+ * them to its own fraction, and never raises them. The cache is thread safe:
+ * both tiers are updated under a single lock, so the reads and writes of a
+ * key are atomic. The weigher runs under that lock and should be fast.
+ * {@link #close()} stops watching the heap; a cache which is no longer
+ * reachable stops on its own.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @param <K> - type of the keys
+ * @param <V> - type of the values
+ * @see SoftValueCache
+ */
+public final class HeapBudgetCache<K, V> implements AutoCloseable {
+
+	/**
+	 * Shortest time between two steps of shedding under memory pressure.
+	 */
+	public static final long SHED_INTERVAL_MILLIS = 100;
+
+	/*
+	 * Fraction of the entries shed by every step.
+	 */
+	private static final double SHED_FRACTION = 0.25;
+
+	/*
+	 * A value of the hot tier and its weight.
+	 */
+	private static final class Weighted<V> {
+		private final V value;
+		private final long weight;
+
+		Weighted(final V value, final long weight) {
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	/*
+	 * The hot tier, from the least to the most recently used entry. Its lock
+	 * guards the changes of both tiers.
+	 */
+	private final LinkedHashMap<K, Weighted<V>> hot =
+			new LinkedHashMap<>(16, 0.75f, true);
+
+	/*
+	 * The cold tier.
+	 */
+	private final SoftValueCache<K, V> cold = new SoftValueCache<>();
+
+	/*
+	 * Largest total weight of the hot tier.
+	 */
+	private final long maxHotWeight;
+
+	/*
+	 * Weight of an entry.
+	 */
+	private final ToLongBiFunction<? super K, ? super V> weigher;
+
+	/*
+	 * Fraction of the heap in use from which entries are shed.
+	 */
+	private final double heapFraction;
+
+	/*
+	 * Highest fraction of the watched heap pools in use.
+	 */
+	private final DoubleSupplier heapUsage;
+
+	/*
+	 * The listener of the threshold notifications, or null when the heap
+	 * pools are not watched.
+	 */
+	private final PressureListener listener;
+
+	/*
+	 * Total weight of the hot tier. Guarded by hot.
+	 */
+	private long hotWeight;
+
+	/*
+	 * Whether the heap was last found above the fraction.
+	 */
+	private volatile boolean underPressure;
+
+	/*
+	 * Time of the last step of shedding, from System.nanoTime().
+	 */
+	private volatile long lastShedNanos;
+
+	/**
+	 * Constructs an empty cache.
+	 * @param maxHotWeight - largest total weight of the hot tier
+	 * @param weigher - weight of an entry, such as the size of its value in
+	 * bytes, which must not be negative
+	 * @param heapFraction - fraction of the heap in use after a collection
+	 * from which entries are shed, greater than 0 and at most 1
+	 * @throws IllegalArgumentException if {@code maxHotWeight} is negative,
+	 * or {@code heapFraction} is out of bounds
+	 * @throws NullPointerException if {@code weigher} is {@code null}
+	 */
+	public HeapBudgetCache(final long maxHotWeight,
+			final ToLongBiFunction<? super K, ? super V> weigher,
+			final double heapFraction)
+			throws IllegalArgumentException, NullPointerException {
+		this(maxHotWeight, weigher, heapFraction, null);
+	}
+
+	/**
+	 * Constructs an empty cache which reads the fraction of the heap in use
+	 * from the given probe, or watches the heap pools if it is {@code null}.
+	 * A cache with a probe is told of memory pressure only through
+	 * {@link #onThresholdExceeded(MemoryUsage)}.
+	 * @param maxHotWeight - largest total weight of the hot tier
+	 * @param weigher - weight of an entry
+	 * @param heapFraction - fraction of the heap in use from which entries
+	 * are shed
+	 * @param heapUsage - probe of the fraction of the heap in use, or
+	 * {@code null} to watch the heap pools
+	 * @throws IllegalArgumentException if {@code maxHotWeight} is negative,
+	 * or {@code heapFraction} is out of bounds
+	 * @throws NullPointerException if {@code weigher} is {@code null}
+	 */
+	HeapBudgetCache(final long maxHotWeight,
+			final ToLongBiFunction<? super K, ? super V> weigher,
+			final double heapFraction, final DoubleSupplier heapUsage)
+			throws IllegalArgumentException, NullPointerException {
+		if(maxHotWeight < 0) {
+			throw new IllegalArgumentException("Negative weight: " + maxHotWeight);
+		}
+		if(!(heapFraction > 0 && heapFraction <= 1)) {
+			throw new IllegalArgumentException("Illegal heap fraction: " + heapFraction);
+		}
+		this.maxHotWeight = maxHotWeight;
+		this.weigher = Objects.requireNonNull(weigher);
+		this.heapFraction = heapFraction;
+		if(null == heapUsage) {
+			final List<MemoryPoolMXBean> pools = heapPools();
+			for(final MemoryPoolMXBean pool : pools) {
+				lowerThreshold(pool, heapFraction);
+			}
+			this.heapUsage = () -> heapUsage(pools);
+			this.listener = new PressureListener(this);
+			emitter().addNotificationListener(listener, null, null);
+		} else {
+			this.heapUsage = heapUsage;
+			this.listener = null;
+		}
+	}
+
+	/**
+	 * Returns the value mapped from a key, promoting it to the hot tier if it
+	 * was found in the cold tier.
+	 * @param key - key of the value
+	 * @return an {@code Optional} of the value, empty if the key is not
+	 * mapped or its value was collected
+	 * @throws NullPointerException if {@code key} is {@code null}
+	 */
+	public Optional<V> get(final K key) throws NullPointerException {
+		Objects.requireNonNull(key);
+		synchronized(hot) {
+			return lookup(key);
+		}
+	}
+
+	/**
+	 * Maps a key to a value, replacing any previous value. The entry enters
+	 * the hot tier, unless it alone is heavier than the hot tier may be.
+	 * @param key - key of the value
+	 * @param value - value to cache
+	 * @return an {@code Optional} of the previous value, empty if there was
+	 * none or it was collected
+	 * @throws IllegalArgumentException if the weigher returns a negative
+	 * weight
+	 * @throws NullPointerException if {@code key} or {@code value} is
+	 * {@code null}
+	 */
+	public Optional<V> put(final K key, final V value)
+			throws IllegalArgumentException, NullPointerException {
+		Objects.requireNonNull(key);
+		final long weight = weigh(key, Objects.requireNonNull(value));
+		relievePressure();
+		synchronized(hot) {
+			final Optional<V> previous = cold.remove(key);
+			final Optional<V> replaced = insert(key, value, weight);
+			return replaced.isPresent() ? replaced : previous;
+		}
+	}
+
+	/**
+	 * Returns the value mapped from a key, loading and caching it if the key
+	 * is not mapped or its value was collected. The loader runs without a
+	 * lock, so concurrent callers may load the same key; the first value
+	 * cached is returned to all of them.
+	 * @param key - key of the value
+	 * @param loader - function loading the value of the key
+	 * @return the cached or loaded value, or {@code null} if the loader
+	 * returned {@code null}, in which case nothing is cached
+	 * @throws IllegalArgumentException if the weigher returns a negative
+	 * weight
+	 * @throws NullPointerException if {@code key} or {@code loader} is
+	 * {@code null}
+	 */
+	public V computeIfAbsent(final K key, final Function<? super K, ? extends V> loader)
+			throws IllegalArgumentException, NullPointerException {
+		Objects.requireNonNull(loader);
+		final Optional<V> cached = get(key);
+		if(cached.isPresent()) {
+			return cached.get();
+		}
+		final V loaded = loader.apply(key);
+		if(null == loaded) {
+			return null;
+		}
+		final long weight = weigh(key, loaded);
+		relievePressure();
+		synchronized(hot) {
+			// Another thread may have cached the key while this one loaded it
+			final Optional<V> raced = lookup(key);
+			if(raced.isPresent()) {
+				return raced.get();
+			}
+			insert(key, loaded, weight);
+			return loaded;
+		}
+	}
+
+	/**
+	 * Removes the mapping of a key from both tiers.
+	 * @param key - key of the mapping
+	 * @return an {@code Optional} of the removed value, empty if there was
+	 * none or it was collected
+	 * @throws NullPointerException if {@code key} is {@code null}
+	 */
+	public Optional<V> remove(final K key) throws NullPointerException {
+		Objects.requireNonNull(key);
+		synchronized(hot) {
+			final Weighted<V> removed = hot.remove(key);
+			final Optional<V> coldValue = cold.remove(key);
+			if(null == removed) {
+				return coldValue;
+			}
+			hotWeight -= removed.weight;
+			return Optional.of(removed.value);
+		}
+	}
+
+	/**
+	 * Returns the number of entries of the hot tier.
+	 * @return the number of hot entries
+	 */
+	public int hotSize() {
+		synchronized(hot) {
+			return hot.size();
+		}
+	}
+
+	/**
+	 * Returns the total weight of the hot tier.
+	 * @return the weight of the hot tier
+	 */
+	public long hotWeight() {
+		synchronized(hot) {
+			return hotWeight;
+		}
+	}
+
+	/**
+	 * Returns the number of entries of the cold tier, an upper bound since
+	 * their values may be collected at any time.
+	 * @return the number of cold entries
+	 */
+	public int coldSize() {
+		return cold.size();
+	}
+
+	/**
+	 * Tells whether the heap in use was last found above the fraction given
+	 * to this cache.
+	 * @return true if and only if the cache is shedding entries
+	 */
+	public boolean isUnderPressure() {
+		return underPressure;
+	}
+
+	/**
+	 * Sheds the given fraction of the entries: that fraction of the cold
+	 * tier, in no particular order, and then the least recently used entries
+	 * of the hot tier, until its weight is down by the fraction. Shed entries
+	 * are dropped, not demoted.
+	 * @param fraction - fraction of the entries to shed, from 0 to 1
+	 * @throws IllegalArgumentException if {@code fraction} is out of bounds
+	 */
+	public void shed(final double fraction) throws IllegalArgumentException {
+		if(!(fraction >= 0 && fraction <= 1)) {
+			throw new IllegalArgumentException("Illegal fraction: " + fraction);
+		}
+		lastShedNanos = System.nanoTime();
+		synchronized(hot) {
+			cold.shed(fraction);
+			evict((long) (hotWeight * (1 - fraction)));
+		}
+	}
+
+	/**
+	 * Removes every entry of both tiers.
+	 */
+	public void clear() {
+		synchronized(hot) {
+			hot.clear();
+			hotWeight = 0;
+			cold.clear();
+		}
+	}
+
+	/**
+	 * Stops watching the heap. The cache keeps working, but no longer sheds
+	 * entries on its own. The thresholds of the heap pools are left as they
+	 * are, since other caches may rely on them.
+	 */
+	@Override
+	public void close() {
+		if(null != listener) {
+			listener.remove();
+		}
+		underPressure = false;
+	}
+
+	// The value of a key, promoted from the cold tier if found there.
+	// Called with the lock of the hot tier held.
+	private Optional<V> lookup(final K key) {
+		final Weighted<V> entry = hot.get(key);
+		if(null != entry) {
+			return Optional.of(entry.value);
+		}
+		final Optional<V> value = cold.remove(key);
+		value.ifPresent(promoted -> insert(key, promoted, weigh(key, promoted)));
+		return value;
+	}
+
+	// Caches an entry of the given weight in the hot tier, demoting the
+	// entries it evicts, or dropping them under pressure. Called with the
+	// lock of the hot tier held.
+	private Optional<V> insert(final K key, final V value, final long weight) {
+		final Weighted<V> replaced;
+		if(weight > maxHotWeight) {
+			replaced = hot.remove(key);
+			if(null != replaced) {
+				hotWeight -= replaced.weight;
+			}
+			cold.put(key, value);
+		} else {
+			replaced = hot.put(key, new Weighted<>(value, weight));
+			hotWeight += weight - (null == replaced ? 0 : replaced.weight);
+			final List<Map.Entry<K, Weighted<V>>> evicted = evict(maxHotWeight);
+			if(!underPressure) {
+				for(final Map.Entry<K, Weighted<V>> entry : evicted) {
+					cold.put(entry.getKey(), entry.getValue().value);
+				}
+			}
+		}
+		return null == replaced ? Optional.empty() : Optional.of(replaced.value);
+	}
+
+	// Evicts the least recently used hot entries down to the given weight.
+	// Called with the lock of the hot tier held.
+	private List<Map.Entry<K, Weighted<V>>> evict(final long weight) {
+		if(hotWeight <= weight) {
+			return Collections.emptyList();
+		}
+		final List<Map.Entry<K, Weighted<V>>> evicted = new ArrayList<>();
+		final Iterator<Map.Entry<K, Weighted<V>>> iterator = hot.entrySet().iterator();
+		while(hotWeight > weight && iterator.hasNext()) {
+			final Map.Entry<K, Weighted<V>> entry = iterator.next();
+			iterator.remove();
+			hotWeight -= entry.getValue().weight;
+			evicted.add(entry);
+		}
+		return evicted;
+	}
+
+	// Sheds another step if the heap is still above the fraction, or ends
+	// the pressure once it is below
+	private void relievePressure() {
+		if(underPressure && System.nanoTime() - lastShedNanos
+				>= SHED_INTERVAL_MILLIS * 1_000_000L) {
+			if(heapUsage.getAsDouble() >= heapFraction) {
+				shed(SHED_FRACTION);
+			} else {
+				underPressure = false;
+			}
+		}
+	}
+
+	/**
+	 * Sheds a step of entries and starts shedding on writes, if a heap pool
+	 * which passed its threshold is above the fraction of this cache.
+	 * @param usage - usage of the pool
+	 */
+	void onThresholdExceeded(final MemoryUsage usage) {
+		if(usage.getMax() > 0
+				&& (double) usage.getUsed() / usage.getMax() >= heapFraction) {
+			underPressure = true;
+			shed(SHED_FRACTION);
+		}
+	}
+
+	// Highest fraction of a pool in use, after its last collection where
+	// known
+	private static double heapUsage(final List<MemoryPoolMXBean> pools) {
+		double highest = 0;
+		for(final MemoryPoolMXBean pool : pools) {
+			MemoryUsage usage = pool.isCollectionUsageThresholdSupported()
+					? pool.getCollectionUsage() : null;
+			if(null == usage) {
+				usage = pool.getUsage();
+			}
+			if(usage.getMax() > 0) {
+				highest = Math.max(highest, (double) usage.getUsed() / usage.getMax());
+			}
+		}
+		return highest;
+	}
+
+	// Weight of an entry, checked not to be negative
+	private long weigh(final K key, final V value) throws IllegalArgumentException {
+		final long weight = weigher.applyAsLong(key, value);
+		if(weight < 0) {
+			throw new IllegalArgumentException("Negative weight: " + weight);
+		}
+		return weight;
+	}
+
+	// The heap pools which hold long lived objects, with a bounded size
+	private static List<MemoryPoolMXBean> heapPools() {
+		final List<MemoryPoolMXBean> pools = new ArrayList<>();
+		for(final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if(MemoryType.HEAP == pool.getType() && pool.isUsageThresholdSupported()
+					&& pool.getUsage().getMax() > 0) {
+				pools.add(pool);
+			}
+		}
+		return pools;
+	}
+
+	// Lowers the threshold of a pool to the fraction of its maximum
+	private static void lowerThreshold(final MemoryPoolMXBean pool,
+			final double fraction) {
+		final long threshold = (long) (pool.getUsage().getMax() * fraction);
+		synchronized(HeapBudgetCache.class) {
+			if(pool.isCollectionUsageThresholdSupported()) {
+				final long current = pool.getCollectionUsageThreshold();
+				if(0 == current || threshold < current) {
+					pool.setCollectionUsageThreshold(threshold);
+				}
+			} else {
+				final long current = pool.getUsageThreshold();
+				if(0 == current || threshold < current) {
+					pool.setUsageThreshold(threshold);
+				}
+			}
+		}
+	}
+
+	// The emitter of the memory notifications
+	private static NotificationEmitter emitter() {
+		return (NotificationEmitter) ManagementFactory.getMemoryMXBean();
+	}
+
+	/*
+	 * Listener of the threshold notifications, which holds its cache weakly
+	 * so the cache may be collected without being closed.
+	 */
+	private static final class PressureListener implements NotificationListener {
+		private final WeakReferenceContainer<HeapBudgetCache<?, ?>> cache;
+
+		PressureListener(final HeapBudgetCache<?, ?> cache) {
+			this.cache = new WeakReferenceContainer<>(cache);
+		}
+
+		@Override
+		public void handleNotification(final Notification notification,
+				final Object handback) {
+			final String type = notification.getType();
+			if(!MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(type)
+					&& !MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(type)) {
+				return;
+			}
+			final Optional<HeapBudgetCache<?, ?>> target = cache.get();
+			if(target.isPresent()) {
+				target.get().onThresholdExceeded(MemoryNotificationInfo.from(
+						(CompositeData) notification.getUserData()).getUsage());
+			} else {
+				remove();
+			}
+		}
+
+		// Stops listening
+		void remove() {
+			try {
+				emitter().removeNotificationListener(this);
+			} catch(final ListenerNotFoundException e) {
+				// Already removed
+			}
+		}
+	}
+
+}
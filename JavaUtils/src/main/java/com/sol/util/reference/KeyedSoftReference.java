@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util.reference;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+
+/**
+ * A soft reference which carries the key it is mapped from, so that the
+ * consumer of its queue can remove the mapping once the referent is
+ * collected, without searching for it.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @param <K> - type of the key
+ * @param <V> - type of the referent
+ */
+final class KeyedSoftReference<K, V> extends SoftReference<V> {
+
+	/*
+	 * The key the reference is mapped from.
+	 */
+	private final K key;
+
+	/**
+	 * Creates a soft reference to the given object, registered with the
+	 * given queue.
+	 * @param key - key the reference is mapped from
+	 * @param referent - object the reference refers to
+	 * @param queue - queue the reference is registered with
+	 */
+	KeyedSoftReference(final K key, final V referent,
+			final ReferenceQueue<? super V> queue) {
+		super(referent, queue);
+		this.key = key;
+	}
+
+	/**
+	 * Returns the key the reference is mapped from.
+	 * @return the key of the reference
+	 */
+	K key() {
+		return key;
+	}
+
+}
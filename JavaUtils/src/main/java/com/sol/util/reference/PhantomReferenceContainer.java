@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util.reference;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * This class is a container for phantom references, which ties an action to
+ * the reachability of an object, such as freeing the native resource it
+ * owns. The action runs on a {@link ReferenceReaper} once the object is
+ * phantom reachable, or at once in the calling thread when the container is
+ * closed, which frees the resource without waiting for the garbage collector.
+ * Either way the action runs at most once.
+ * <p>
+ * As with {@link PhantomReference}, the referent is never returned, so
+ * {@link #get()} always returns an empty {@link Optional}. The action must
+ * not refer to the referent, or the referent never becomes unreachable.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @param <T> - type of contained objects
+ * @see Reference
+ */
+public final class PhantomReferenceContainer<T> extends ReferenceContainer<T>
+		implements AutoCloseable {
+
+	/*
+	 * Cleanup of the referent, or null for a container registered with a
+	 * queue of its own.
+	 */
+	private final ReferenceReaper.Cleanable cleanable;
+
+	/**
+	 * Creates a new phantom reference that refers to the given object and is
+	 * registered with the given queue. Closing the container clears it.
+	 * @param referent - object the new phantom reference will refer to
+	 * @param queue - the queue with which the reference is to be registered
+	 */
+	public PhantomReferenceContainer(final T referent,
+			final ReferenceQueue<? super T> queue) {
+		super(new PhantomReference<>(Objects.requireNonNull(referent),
+				Objects.requireNonNull(queue)));
+		this.cleanable = null;
+	}
+
+	/**
+	 * Creates a new phantom reference that refers to the given object, whose
+	 * action runs on the {@link ReferenceReaper#getDefault() default reaper}.
+	 * @param referent - object the new phantom reference will refer to
+	 * @param action - action cleaning up after the object
+	 */
+	public PhantomReferenceContainer(final T referent, final Runnable action) {
+		this(referent, action, ReferenceReaper.getDefault());
+	}
+
+	/**
+	 * Creates a new phantom reference that refers to the given object, whose
+	 * action runs on the given reaper.
+	 * @param referent - object the new phantom reference will refer to
+	 * @param action - action cleaning up after the object
+	 * @param reaper - reaper running the action
+	 * @throws IllegalStateException if the reaper is closed
+	 */
+	public PhantomReferenceContainer(final T referent, final Runnable action,
+			final ReferenceReaper reaper) throws IllegalStateException {
+		this(reaper.registerReference(referent, action));
+	}
+
+	/*
+	 * Stores the reference of an object registered with a reaper.
+	 */
+	private PhantomReferenceContainer(
+			final ReferenceReaper.CleanupReference<T> reference) {
+		super(reference);
+		this.cleanable = reference;
+	}
+
+	/**
+	 * Runs the action of this container now, in the calling thread, unless
+	 * it has already run or been canceled, and unregisters it from its
+	 * reaper. A container registered with a queue of its own is cleared.
+	 * Closing a container more than once has no effect.
+	 */
+	@Override
+	public void close() {
+		if(null == cleanable) {
+			clear();
+		} else {
+			cleanable.clean();
+		}
+	}
+
+	/**
+	 * Clears this reference object, and cancels its action unless it has
+	 * already run, so the action never runs.
+	 */
+	@Override
+	public void clear() {
+		super.clear();
+		if(null != cleanable) {
+			cleanable.cancel();
+		}
+	}
+
+}
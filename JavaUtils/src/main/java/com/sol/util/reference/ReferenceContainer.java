@@ -49,6 +49,15 @@ public abstract class ReferenceContainer<T> {
 		this.reference = Objects.requireNonNull(reference);
 	}
 
+	/**
+	 * Returns the stored reference, for the classes of this package which
+	 * keep track of the references they hand to a queue.
+	 * @return the stored reference
+	 */
+	final Reference<T> reference() {
+		return reference;
+	}
+
 	/**
 	 * Clears this reference object. Invoking this method will not cause this
 	 * object to be enqueued.
@@ -17,8 +17,12 @@ package com.sol.util.reference;
 
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * This class is a container for soft references.
@@ -37,6 +41,18 @@ public final class ReferenceQueueContainer<T> {
 	 */
 	private final ReferenceQueue<T> queue;
 
+	/*
+	 * Handlers of the batches drained by the drainer thread.
+	 */
+	private final List<Consumer<? super List<Reference<? extends T>>>> handlers =
+			new CopyOnWriteArrayList<>();
+
+	/*
+	 * The drainer thread, or null when this queue is not drained by one.
+	 * Guarded by this.
+	 */
+	private Thread drainer;
+
 	/**
 	 * Constructs a new reference-object queue.
 	 * @param queue - reference queue to be contained
@@ -86,4 +102,136 @@ public final class ReferenceQueueContainer<T> {
 		return queue.remove();
 	}
 
+	/**
+	 * Removes every reference object available in this queue without delay
+	 * and hands it to the consumer, without wrapping it in an {@code Optional}.
+	 * @param consumer - consumer of the removed reference objects
+	 * @return the number of removed reference objects
+	 * @throws NullPointerException - if the consumer is {@code null}
+	 */
+	public int drainTo(final Consumer<? super Reference<? extends T>> consumer)
+			throws NullPointerException {
+		return drainTo(consumer, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Removes up to the given number of reference objects available in this
+	 * queue without delay and hands each to the consumer, without wrapping it
+	 * in an {@code Optional}. Bounding the batch bounds the time a caller,
+	 * such as a cache write, spends cleaning up.
+	 * @param consumer - consumer of the removed reference objects
+	 * @param maxBatch - largest number of reference objects to remove
+	 * @return the number of removed reference objects
+	 * @throws IllegalArgumentException - if {@code maxBatch} is not positive
+	 * @throws NullPointerException - if the consumer is {@code null}
+	 */
+	public int drainTo(final Consumer<? super Reference<? extends T>> consumer,
+			final int maxBatch) throws IllegalArgumentException, NullPointerException {
+		Objects.requireNonNull(consumer);
+		if(maxBatch < 1) {
+			throw new IllegalArgumentException("Batch is not positive: " + maxBatch);
+		}
+		int drained = 0;
+		for(Reference<? extends T> reference; drained < maxBatch
+				&& null != (reference = queue.poll()); drained++) {
+			consumer.accept(reference);
+		}
+		return drained;
+	}
+
+	/**
+	 * Registers a handler of the batches of reference objects removed by the
+	 * drainer thread. Every batch is handed to every handler, which must not
+	 * change it, nor keep it past the call.
+	 * @param handler - handler of the batches
+	 * @throws NullPointerException - if the handler is {@code null}
+	 * @see #startDraining(int)
+	 */
+	public void addHandler(final Consumer<? super List<Reference<? extends T>>> handler)
+			throws NullPointerException {
+		handlers.add(Objects.requireNonNull(handler));
+	}
+
+	/**
+	 * Unregisters a handler of the batches removed by the drainer thread.
+	 * @param handler - handler to unregister
+	 * @return true if the handler was registered
+	 */
+	public boolean removeHandler(
+			final Consumer<? super List<Reference<? extends T>>> handler) {
+		return handlers.remove(handler);
+	}
+
+	/**
+	 * Starts a daemon thread which blocks on this queue, removes reference
+	 * objects in batches of up to the given size, and hands every batch to
+	 * the registered handlers. A handler which throws an exception is reported
+	 * to the uncaught exception handler of the thread, and the thread goes on.
+	 * Reference objects removed while no handler is registered are dropped.
+	 * @param maxBatch - largest number of reference objects per batch
+	 * @throws IllegalArgumentException - if {@code maxBatch} is not positive
+	 * @throws IllegalStateException - if the thread is already running
+	 * @see #addHandler(Consumer)
+	 * @see #stopDraining()
+	 */
+	public synchronized void startDraining(final int maxBatch)
+			throws IllegalArgumentException, IllegalStateException {
+		if(maxBatch < 1) {
+			throw new IllegalArgumentException("Batch is not positive: " + maxBatch);
+		}
+		if(null != drainer) {
+			throw new IllegalStateException("Queue is already drained");
+		}
+		drainer = new Thread(() -> drain(maxBatch), "ReferenceQueueContainer drainer");
+		drainer.setDaemon(true);
+		drainer.start();
+	}
+
+	/**
+	 * Stops the drainer thread, once it is done handling its current batch.
+	 * @return true if the thread was running
+	 */
+	public synchronized boolean stopDraining() {
+		if(null == drainer) {
+			return false;
+		}
+		drainer.interrupt();
+		drainer = null;
+		return true;
+	}
+
+	/**
+	 * Tells whether a drainer thread is running.
+	 * @return true if and only if a drainer thread is running
+	 * @see #startDraining(int)
+	 */
+	public synchronized boolean isDraining() {
+		return null != drainer;
+	}
+
+	// Body of the drainer thread
+	private void drain(final int maxBatch) {
+		final Thread thread = Thread.currentThread();
+		try {
+			while(!thread.isInterrupted()) {
+				final List<Reference<? extends T>> batch =
+						new ArrayList<>(Math.min(maxBatch, 64));
+				batch.add(queue.remove());
+				if(maxBatch > 1) {
+					drainTo(batch::add, maxBatch - 1);
+				}
+				for(final Consumer<? super List<Reference<? extends T>>> handler
+						: handlers) {
+					try {
+						handler.accept(batch);
+					} catch(final RuntimeException e) {
+						thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+					}
+				}
+			}
+		} catch(final InterruptedException e) {
+			// Stopped by stopDraining()
+		}
+	}
+
 }
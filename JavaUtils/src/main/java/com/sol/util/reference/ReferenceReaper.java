@@ -0,0 +1,529 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util.reference;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A service which cleans up after the references of any number of queues
+ * with a single daemon thread, instead of a thread or polling loop per queue.
+ * <p>
+ * Objects registered with {@link #register(Object, Runnable)} carry their
+ * own cleanup action, which runs on the reaper thread once the object is
+ * phantom reachable. Their references share a queue of the reaper, which the
+ * thread blocks on, so their actions run as soon as the references are
+ * queued. Queues registered with
+ * {@link #register(String, ReferenceQueueContainer, Consumer)} are drained in
+ * batches between these waits. The waits grow from
+ * {@value #MIN_WAIT_MILLIS} to {@value #MAX_WAIT_MILLIS} milliseconds while
+ * the queues are idle, and shrink back as soon as one has references.
+ * <p>
+ * {@link #stats()} tells how far behind every queue is. Cleanup actions and
+ * handlers should be short; one which throws an exception is reported to the
+ * uncaught exception handler of the thread, and the thread goes on.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @see ReferenceQueueContainer#drainTo(Consumer, int)
+ */
+public final class ReferenceReaper implements AutoCloseable {
+
+	/**
+	 * Shortest wait of the thread between drains of the registered queues.
+	 */
+	public static final long MIN_WAIT_MILLIS = 1;
+
+	/**
+	 * Longest wait of the thread between drains of the registered queues.
+	 */
+	public static final long MAX_WAIT_MILLIS = 256;
+
+	/*
+	 * Largest number of references removed from a queue in one drain.
+	 */
+	private static final int BATCH = 256;
+
+	/*
+	 * Name of the statistics of the cleanup actions.
+	 */
+	private static final String CLEANUP_NAME = "cleanup actions";
+
+	/**
+	 * Cleanup of a registered object.
+	 */
+	public interface Cleanable {
+
+		/**
+		 * Runs the cleanup action now, in the calling thread, unless it has
+		 * already run or been canceled. The action runs at most once.
+		 */
+		void clean();
+
+		/**
+		 * Cancels the cleanup action, unless it has already run.
+		 */
+		void cancel();
+
+	}
+
+	/**
+	 * A snapshot of the progress of the reaper on a queue.
+	 */
+	public static final class QueueStats {
+		private final String name;
+		private final long drained;
+		private final int lastBatch;
+		private final long lagMillis;
+		private final boolean behind;
+
+		// Constructor. Snapshots are taken by the reaper.
+		private QueueStats(final String name, final long drained,
+				final int lastBatch, final long lagMillis, final boolean behind) {
+			this.name = name;
+			this.drained = drained;
+			this.lastBatch = lastBatch;
+			this.lagMillis = Math.max(0, lagMillis);
+			this.behind = behind;
+		}
+
+		/**
+		 * Returns the name the queue was registered with.
+		 * @return the name of the queue
+		 */
+		public String name() {
+			return name;
+		}
+
+		/**
+		 * Returns the number of references removed from the queue.
+		 * @return the number of removed references
+		 */
+		public long drained() {
+			return drained;
+		}
+
+		/**
+		 * Returns the number of references removed by the last drain.
+		 * @return the size of the last batch
+		 */
+		public int lastBatch() {
+			return lastBatch;
+		}
+
+		/**
+		 * Returns the time since the reaper last found the queue empty.
+		 * This is at most about {@link #MAX_WAIT_MILLIS} for a queue the reaper
+		 * keeps up with, and grows while it does not.
+		 * @return the lag of the reaper on the queue, in milliseconds
+		 */
+		public long lagMillis() {
+			return lagMillis;
+		}
+
+		/**
+		 * Tells whether the last drain of the queue filled a whole batch, so
+		 * references were left behind.
+		 * @return true if and only if the reaper is behind on the queue
+		 */
+		public boolean isBehind() {
+			return behind;
+		}
+
+		/**
+		 * Returns the statistics of the queue, formatted for a log.
+		 * @return the statistics of the queue
+		 */
+		@Override
+		public String toString() {
+			return name + ": drained=" + drained + ", lastBatch=" + lastBatch
+					+ ", lagMillis=" + lagMillis + ", behind=" + behind;
+		}
+	}
+
+	/*
+	 * The reaper returned by getDefault(), created on first use.
+	 */
+	private static final class DefaultHolder {
+		private static final ReferenceReaper INSTANCE =
+				new ReferenceReaper("ReferenceReaper", false);
+	}
+
+	/*
+	 * The queue of the references of the registered objects, and of the
+	 * references which wake the thread up.
+	 */
+	private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+	/*
+	 * The same queue, as drained by the thread.
+	 */
+	private final ReferenceQueueContainer<Object> queueContainer =
+			new ReferenceQueueContainer<>(queue);
+
+	/*
+	 * References of the registered objects whose actions have not run. Keeps
+	 * the references reachable until they are queued.
+	 */
+	private final Set<CleanupReference<?>> pending = ConcurrentHashMap.newKeySet();
+
+	/*
+	 * Progress on the cleanup actions.
+	 */
+	private final Progress cleanups = new Progress(CLEANUP_NAME);
+
+	/*
+	 * The registered queues.
+	 */
+	private final List<Source<?>> sources = new CopyOnWriteArrayList<>();
+
+	/*
+	 * Whether close() may stop the thread.
+	 */
+	private final boolean closeable;
+
+	/*
+	 * The reaper thread.
+	 */
+	private final Thread thread;
+
+	/*
+	 * Set by close().
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * Constructs a reaper and starts its daemon thread.
+	 * @param name - name of the thread
+	 * @throws NullPointerException if {@code name} is {@code null}
+	 */
+	public ReferenceReaper(final String name) throws NullPointerException {
+		this(name, true);
+	}
+
+	/*
+	 * Constructs a reaper and starts its thread.
+	 */
+	private ReferenceReaper(final String name, final boolean closeable) {
+		this.closeable = closeable;
+		this.thread = new Thread(this::reap, Objects.requireNonNull(name));
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Returns a reaper shared by the whole VM, which cannot be closed.
+	 * @return the shared reaper
+	 */
+	public static ReferenceReaper getDefault() {
+		return DefaultHolder.INSTANCE;
+	}
+
+	/**
+	 * Registers an object and the action which cleans up after it. The action
+	 * runs on the reaper thread once the object is phantom reachable, unless
+	 * it is run or canceled first through the returned {@code Cleanable}.
+	 * The action must not refer to the object, or the object never becomes
+	 * unreachable.
+	 * @param referent - object to clean up after
+	 * @param action - action cleaning up after the object
+	 * @return the cleanup of the object
+	 * @throws IllegalStateException if this reaper is closed
+	 * @throws NullPointerException if {@code referent} or {@code action} is
+	 * {@code null}
+	 */
+	public Cleanable register(final Object referent, final Runnable action)
+			throws IllegalStateException, NullPointerException {
+		return registerReference(referent, action);
+	}
+
+	/**
+	 * Registers an object and the action which cleans up after it, as by
+	 * {@link #register(Object, Runnable)}, returning the phantom reference
+	 * of the object.
+	 * @param referent - object to clean up after
+	 * @param action - action cleaning up after the object
+	 * @return the phantom reference of the object, which is also its cleanup
+	 * @throws IllegalStateException if this reaper is closed
+	 * @throws NullPointerException if {@code referent} or {@code action} is
+	 * {@code null}
+	 */
+	<T> CleanupReference<T> registerReference(final T referent, final Runnable action)
+			throws IllegalStateException, NullPointerException {
+		checkOpen();
+		final CleanupReference<T> reference = new CleanupReference<>(
+				Objects.requireNonNull(referent), Objects.requireNonNull(action));
+		pending.add(reference);
+		return reference;
+	}
+
+	/**
+	 * Registers a queue, to be drained in batches by the reaper thread. Every
+	 * removed reference is handed to the handler.
+	 * @param name - name of the queue in the statistics
+	 * @param queue - queue to drain
+	 * @param handler - handler of the removed references
+	 * @throws IllegalArgumentException if the queue is already registered
+	 * @throws IllegalStateException if this reaper is closed
+	 * @throws NullPointerException if an argument is {@code null}
+	 * @see #unregister(ReferenceQueueContainer)
+	 */
+	public <T> void register(final String name, final ReferenceQueueContainer<T> queue,
+			final Consumer<? super Reference<? extends T>> handler)
+			throws IllegalArgumentException, IllegalStateException,
+			NullPointerException {
+		checkOpen();
+		final Source<T> source = new Source<>(Objects.requireNonNull(name),
+				Objects.requireNonNull(queue), Objects.requireNonNull(handler));
+		synchronized(sources) {
+			for(final Source<?> registered : sources) {
+				if(registered.queue == queue) {
+					throw new IllegalArgumentException("Queue is already registered: "
+							+ registered.progress.name);
+				}
+			}
+			sources.add(source);
+		}
+		// Wake the thread up, which may be blocked with no queue to drain
+		wake();
+	}
+
+	/**
+	 * Unregisters a queue. The reaper stops draining it once its current
+	 * batch is done.
+	 * @param queue - queue to unregister
+	 * @return true if the queue was registered
+	 */
+	public boolean unregister(final ReferenceQueueContainer<?> queue) {
+		synchronized(sources) {
+			for(final Source<?> source : sources) {
+				if(source.queue == queue) {
+					return sources.remove(source);
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the statistics of the cleanup actions, named
+	 * {@code "cleanup actions"}, followed by those of the registered queues.
+	 * @return a snapshot of the statistics of every queue
+	 */
+	public List<QueueStats> stats() {
+		final long now = System.nanoTime();
+		final List<QueueStats> stats = new ArrayList<>(sources.size() + 1);
+		stats.add(cleanups.snapshot(now));
+		for(final Source<?> source : sources) {
+			stats.add(source.progress.snapshot(now));
+		}
+		return stats;
+	}
+
+	/**
+	 * Stops the reaper thread. The cleanup actions which have not run do not
+	 * run, and the registered queues are no longer drained.
+	 * @throws UnsupportedOperationException if this is the default reaper
+	 */
+	@Override
+	public void close() throws UnsupportedOperationException {
+		if(!closeable) {
+			throw new UnsupportedOperationException(
+					"The default reaper cannot be closed");
+		}
+		closed = true;
+		wake();
+	}
+
+	/**
+	 * Tells whether this reaper is closed.
+	 * @return true if and only if this reaper is closed
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	// Body of the reaper thread
+	private void reap() {
+		long wait = MIN_WAIT_MILLIS;
+		try {
+			while(!closed) {
+				// With no queue to poll, block until a reference is queued
+				cleanups.waiting = true;
+				final Reference<?> first;
+				try {
+					first = queueContainer.remove(sources.isEmpty() ? 0 : wait);
+				} finally {
+					cleanups.waiting = false;
+				}
+				int work = drainOwn(first);
+				for(final Source<?> source : sources) {
+					work += source.drain();
+				}
+				wait = work > 0 ? MIN_WAIT_MILLIS : Math.min(MAX_WAIT_MILLIS, wait << 1);
+			}
+		} catch(final InterruptedException e) {
+			// Stopped
+		}
+	}
+
+	// Runs the actions of the references of this reaper's queue, starting
+	// with one already removed, if any. Only cleanup references are counted
+	// as drained, not those queued by wake().
+	private int drainOwn(final Reference<?> first) {
+		final int[] cleaned = new int[1];
+		final Consumer<Reference<?>> handler = reference -> {
+			if(reference instanceof CleanupReference) {
+				cleaned[0]++;
+				handle(CleanupReference::clean, (CleanupReference<?>) reference);
+			}
+		};
+		int removed = 0;
+		if(null != first) {
+			handler.accept(first);
+			removed = 1 + queueContainer.drainTo(handler, BATCH - 1);
+		}
+		cleanups.record(cleaned[0], BATCH == removed);
+		return removed;
+	}
+
+	// Wakes the thread up by queuing a reference with no action
+	private void wake() {
+		new PhantomReference<>(new Object(), queue).enqueue();
+	}
+
+	// Throws an exception if this reaper is closed
+	private void checkOpen() throws IllegalStateException {
+		if(closed) {
+			throw new IllegalStateException("Reaper is closed");
+		}
+	}
+
+	// Hands a reference to a handler, reporting its exceptions
+	private static <R> void handle(final Consumer<? super R> handler, final R reference) {
+		try {
+			handler.accept(reference);
+		} catch(final RuntimeException e) {
+			final Thread current = Thread.currentThread();
+			current.getUncaughtExceptionHandler().uncaughtException(current, e);
+		}
+	}
+
+	/*
+	 * Progress of the reaper on a queue. Written by the reaper thread only.
+	 */
+	private static final class Progress {
+		private final String name;
+		private volatile long drained;
+		private volatile int lastBatch;
+		private volatile long caughtUpNanos = System.nanoTime();
+		private volatile boolean behind;
+
+		// Set while the thread blocks on the queue, and so is caught up
+		private volatile boolean waiting;
+
+		Progress(final String name) {
+			this.name = name;
+		}
+
+		// Drains a queue
+		<T> int drain(final ReferenceQueueContainer<T> queue,
+				final Consumer<? super Reference<? extends T>> handler) {
+			final int count = queue.drainTo(
+					reference -> handle(handler, reference), BATCH);
+			record(count, count == BATCH);
+			return count;
+		}
+
+		// Records a drain
+		void record(final int count, final boolean full) {
+			drained += count;
+			if(count > 0) {
+				lastBatch = count;
+			}
+			behind = full;
+			if(!full) {
+				caughtUpNanos = System.nanoTime();
+			}
+		}
+
+		QueueStats snapshot(final long now) {
+			final long lagNanos = waiting ? 0 : now - caughtUpNanos;
+			return new QueueStats(name, drained, lastBatch,
+					TimeUnit.NANOSECONDS.toMillis(lagNanos), behind);
+		}
+	}
+
+	/*
+	 * A registered queue and its handler.
+	 */
+	private static final class Source<T> {
+		private final ReferenceQueueContainer<T> queue;
+		private final Consumer<? super Reference<? extends T>> handler;
+		private final Progress progress;
+
+		Source(final String name, final ReferenceQueueContainer<T> queue,
+				final Consumer<? super Reference<? extends T>> handler) {
+			this.queue = queue;
+			this.handler = handler;
+			this.progress = new Progress(name);
+		}
+
+		int drain() {
+			return progress.drain(queue, handler);
+		}
+	}
+
+	/**
+	 * The phantom reference of a registered object, which runs its action
+	 * at most once.
+	 * @param <T> - type of the registered object
+	 */
+	final class CleanupReference<T> extends PhantomReference<T>
+			implements Cleanable {
+		private final Runnable action;
+
+		// Constructor. References are created by registerReference().
+		private CleanupReference(final T referent, final Runnable action) {
+			super(referent, queue);
+			this.action = action;
+		}
+
+		@Override
+		public void clean() {
+			if(pending.remove(this)) {
+				clear();
+				action.run();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if(pending.remove(this)) {
+				clear();
+			}
+		}
+	}
+
+}
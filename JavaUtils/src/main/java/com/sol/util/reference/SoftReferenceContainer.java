@@ -56,4 +56,13 @@ public final class SoftReferenceContainer<T> extends ReferenceContainer<T> {
 				Objects.requireNonNull(queue)));
 	}
 
+	/**
+	 * Stores the given soft reference, such as a subclass which carries more
+	 * data for the consumer of its queue.
+	 * @param reference - the soft reference to be stored
+	 */
+	SoftReferenceContainer(final SoftReference<T> reference) {
+		super(reference);
+	}
+
 }
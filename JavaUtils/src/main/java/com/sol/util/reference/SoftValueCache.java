@@ -0,0 +1,260 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.util.reference;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * A concurrent cache whose values are held by soft references, so the
+ * garbage collector may reclaim them when memory runs low. Every value is
+ * kept in a {@link SoftReferenceContainer} registered with a queue shared by
+ * the cache, and its reference carries its key. Writes drain the queue in
+ * bounded batches and remove the entries of the collected values by key, so
+ * dead entries do not accumulate and are never searched for.
+ * <p>
+ * Keys are held strongly and compared with {@code equals}. Neither keys nor
+ * values may be {@code null}.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ * @param <K> - type of the keys
+ * @param <V> - type of the values
+ * @see ReferenceQueueContainer
+ */
+public final class SoftValueCache<K, V> {
+
+	/*
+	 * Largest number of cleared references a write removes.
+	 */
+	private static final int WRITE_BATCH = 64;
+
+	/*
+	 * The entries, some of whose values may have been collected.
+	 */
+	private final ConcurrentMap<K, SoftReferenceContainer<V>> map;
+
+	/*
+	 * The queue the references of the values are registered with.
+	 */
+	private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+	/*
+	 * The queue, as polled by this cache.
+	 */
+	private final ReferenceQueueContainer<V> queueContainer =
+			new ReferenceQueueContainer<>(queue);
+
+	/**
+	 * Constructs an empty cache.
+	 */
+	public SoftValueCache() {
+		this.map = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Constructs an empty cache sized for the given number of entries.
+	 * @param initialCapacity - number of entries the cache holds before
+	 * resizing
+	 * @throws IllegalArgumentException if {@code initialCapacity} is negative
+	 */
+	public SoftValueCache(final int initialCapacity) throws IllegalArgumentException {
+		this.map = new ConcurrentHashMap<>(initialCapacity);
+	}
+
+	/**
+	 * Returns the value mapped from a key, if it has not been collected.
+	 * @param key - key of the value
+	 * @return an {@code Optional} of the value, empty if the key is not
+	 * mapped or its value was collected
+	 * @throws NullPointerException if {@code key} is {@code null}
+	 */
+	public Optional<V> get(final K key) throws NullPointerException {
+		final SoftReferenceContainer<V> container = map.get(key);
+		return null == container ? Optional.empty() : container.get();
+	}
+
+	/**
+	 * Maps a key to a value, replacing any previous value.
+	 * @param key - key of the value
+	 * @param value - value to cache
+	 * @return an {@code Optional} of the previous value, empty if there was
+	 * none or it was collected
+	 * @throws NullPointerException if {@code key} or {@code value} is
+	 * {@code null}
+	 */
+	public Optional<V> put(final K key, final V value) throws NullPointerException {
+		removeCleared(WRITE_BATCH);
+		final SoftReferenceContainer<V> previous = map.put(key, newContainer(key, value));
+		return clear(previous);
+	}
+
+	/**
+	 * Returns the value mapped from a key, loading and caching it if the key
+	 * is not mapped or its value was collected. As in
+	 * {@link ConcurrentHashMap#computeIfAbsent(Object, Function)}, the loader
+	 * runs at most once at a time for a key, while other updates of the key
+	 * wait for it, so it should be short and must not update this cache.
+	 * @param key - key of the value
+	 * @param loader - function loading the value of the key
+	 * @return the cached or loaded value, or {@code null} if the loader
+	 * returned {@code null}, in which case nothing is cached
+	 * @throws NullPointerException if {@code key} or {@code loader} is
+	 * {@code null}
+	 */
+	public V computeIfAbsent(final K key, final Function<? super K, ? extends V> loader)
+			throws NullPointerException {
+		Objects.requireNonNull(loader);
+		final SoftReferenceContainer<V> cached = map.get(key);
+		if(null != cached) {
+			// The strong reference keeps the value alive once it is seen
+			final V value = cached.reference().get();
+			if(null != value) {
+				return value;
+			}
+		}
+		removeCleared(WRITE_BATCH);
+		final Object[] result = new Object[1];
+		map.compute(key, (k, container) -> {
+			final V value = null == container ? null : container.reference().get();
+			if(null != value) {
+				result[0] = value;
+				return container;
+			}
+			final V loaded = loader.apply(k);
+			result[0] = loaded;
+			return null == loaded ? null : newContainer(k, loaded);
+		});
+		@SuppressWarnings("unchecked")
+		final V value = (V) result[0];
+		return value;
+	}
+
+	/**
+	 * Removes the mapping of a key.
+	 * @param key - key of the mapping
+	 * @return an {@code Optional} of the removed value, empty if there was
+	 * none or it was collected
+	 * @throws NullPointerException if {@code key} is {@code null}
+	 */
+	public Optional<V> remove(final K key) throws NullPointerException {
+		removeCleared(WRITE_BATCH);
+		return clear(map.remove(key));
+	}
+
+	/**
+	 * Returns the number of entries of this cache, after removing those whose
+	 * values were found collected. Values may be collected at any time, so
+	 * the result is an upper bound.
+	 * @return the number of entries
+	 */
+	public int size() {
+		removeCleared();
+		return map.size();
+	}
+
+	/**
+	 * Removes every entry of this cache.
+	 */
+	public void clear() {
+		for(final K key : map.keySet()) {
+			clear(map.remove(key));
+		}
+		removeCleared();
+	}
+
+	/**
+	 * Removes the entries whose values were collected, by draining the queue
+	 * of their references. Writes to the cache do this on their own; this
+	 * method lets a cache which is only read release its dead entries.
+	 * @return the number of removed entries
+	 */
+	public int removeCleared() {
+		return removeCleared(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Removes about the given fraction of the entries, before the garbage
+	 * collector would clear them, for a cache which sheds memory in steps.
+	 * The entries are removed in no particular order.
+	 * @param fraction - fraction of the entries to remove, from 0 to 1
+	 * @return the number of removed entries
+	 */
+	int shed(final double fraction) {
+		removeCleared();
+		final long target = (long) Math.ceil(map.size() * fraction);
+		int removed = 0;
+		for(final Iterator<SoftReferenceContainer<V>> iterator = map.values().iterator();
+				removed < target && iterator.hasNext(); removed++) {
+			final SoftReferenceContainer<V> container = iterator.next();
+			iterator.remove();
+			container.clear();
+		}
+		return removed;
+	}
+
+	// Removes the entries of up to maxBatch collected values
+	private int removeCleared(final int maxBatch) {
+		final int[] removed = new int[1];
+		queueContainer.drainTo(reference -> {
+			if(removeEntry((KeyedSoftReference<?, ?>) reference)) {
+				removed[0]++;
+			}
+		}, maxBatch);
+		return removed[0];
+	}
+
+	// Removes the entry of a queued reference, unless it was replaced
+	private boolean removeEntry(final KeyedSoftReference<?, ?> reference) {
+		final boolean[] removed = new boolean[1];
+		map.computeIfPresent(keyOf(reference), (key, container) -> {
+			if(container.reference() == reference) {
+				removed[0] = true;
+				return null;
+			}
+			return container;
+		});
+		return removed[0];
+	}
+
+	// The key of one of the references of this cache
+	@SuppressWarnings("unchecked")
+	private K keyOf(final KeyedSoftReference<?, ?> reference) {
+		return (K) reference.key();
+	}
+
+	// A container of the value, whose reference carries the key
+	private SoftReferenceContainer<V> newContainer(final K key, final V value)
+			throws NullPointerException {
+		return new SoftReferenceContainer<>(new KeyedSoftReference<>(
+				Objects.requireNonNull(key), Objects.requireNonNull(value), queue));
+	}
+
+	// Clears the reference of a removed container, which need not be queued
+	private Optional<V> clear(final SoftReferenceContainer<V> container) {
+		if(null == container) {
+			return Optional.empty();
+		}
+		final Optional<V> value = container.get();
+		container.clear();
+		return value;
+	}
+
+}
@@ -56,4 +56,13 @@ public final class WeakReferenceContainer<T> extends ReferenceContainer<T> {
 				Objects.requireNonNull(queue)));
 	}
 
+	/**
+	 * Stores the given weak reference, such as a subclass which carries more
+	 * data for the consumer of its queue.
+	 * @param reference - the weak reference to be stored
+	 */
+	WeakReferenceContainer(final WeakReference<T> reference) {
+		super(reference);
+	}
+
 }
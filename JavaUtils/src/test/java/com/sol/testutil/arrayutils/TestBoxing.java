@@ -0,0 +1,90 @@
+package com.sol.testutil.arrayutils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.ArrayUtililities;
+
+public class TestBoxing {
+	private final int largeLength = 100_000;
+
+	private int[] largeIntArray() {
+		int[] array = new int[largeLength];
+		for(int i = 0; i < array.length; i++) {
+			array[i] = i * 31 - 7;
+		}
+		return array;
+	}
+
+	@Test(description = "Test toBoxedArray(int[]) and toPrimitiveArray(Integer[]) "
+			+ "with a short array")
+	public void testShortIntRoundTrip() {
+		int[] array = {3, -1, 0, Integer.MAX_VALUE, Integer.MIN_VALUE};
+		Integer[] boxed = ArrayUtililities.toBoxedArray(array);
+
+		Assert.assertEquals(boxed, new Integer[] {3, -1, 0, Integer.MAX_VALUE,
+				Integer.MIN_VALUE});
+		Assert.assertEquals(ArrayUtililities.toPrimitiveArray(boxed), array);
+	}
+
+	@Test(description = "Test toBoxedArray(int[]) with an array longer than "
+			+ "the parallel threshold")
+	public void testLongIntRoundTrip() {
+		int[] array = largeIntArray();
+		Integer[] boxed = ArrayUtililities.toBoxedArray(array);
+
+		Assert.assertEquals(boxed.length, array.length);
+		for(int i = 0; i < array.length; i++) {
+			Assert.assertEquals(boxed[i].intValue(), array[i]);
+		}
+		Assert.assertEquals(ArrayUtililities.toPrimitiveArray(boxed), array);
+	}
+
+	@Test(description = "Test ParallelToBoxedArray(double[]) and "
+			+ "ParallelToPrimitiveArray(Double[])")
+	public void testParallelDoubleRoundTrip() {
+		double[] array = new double[largeLength];
+		for(int i = 0; i < array.length; i++) {
+			array[i] = i / 3.0;
+		}
+		Double[] boxed = ArrayUtililities.ParallelToBoxedArray(array);
+
+		Assert.assertEquals(ArrayUtililities.ParallelToPrimitiveArray(boxed), array);
+	}
+
+	@Test(description = "Test toBoxedArray(char[]) and toBoxedArray(boolean[])")
+	public void testCharAndBoolean() {
+		Assert.assertEquals(ArrayUtililities.toBoxedArray(new char[] {'a', 'b'}),
+				new Character[] {'a', 'b'});
+		Assert.assertEquals(ArrayUtililities.toPrimitiveArray(
+				new Boolean[] {true, false}), new boolean[] {true, false});
+	}
+
+	@Test(description = "Test toBoxedArray(int[]) with an empty array")
+	public void testEmptyArray() {
+		Assert.assertEquals(ArrayUtililities.toBoxedArray(new int[0]).length, 0);
+	}
+
+	@Test(description = "Test toBoxedArray(long[]) with null")
+	public void testNull() {
+		Assert.assertThrows(NullPointerException.class,
+				() -> ArrayUtililities.toBoxedArray((long[]) null));
+	}
+
+	@Test(description = "Test toPrimitiveArray(Integer[]) with a null element "
+			+ "in a long array")
+	public void testNullElement() {
+		Integer[] boxed = ArrayUtililities.toBoxedArray(largeIntArray());
+		boxed[largeLength - 1] = null;
+
+		Assert.assertThrows(NullPointerException.class,
+				() -> ArrayUtililities.toPrimitiveArray(boxed));
+	}
+
+	@Test(description = "Test setParallelThreshold(int) with a non positive "
+			+ "threshold")
+	public void testNonPositiveThreshold() {
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> ArrayUtililities.setParallelThreshold(0));
+	}
+
+}
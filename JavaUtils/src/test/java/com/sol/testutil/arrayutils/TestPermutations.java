@@ -0,0 +1,101 @@
+package com.sol.testutil.arrayutils;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.ArrayUtililities;
+
+public class TestPermutations {
+
+	@Test(description = "Test swap(array, first, second)")
+	public void testSwap() {
+		long[] array = {1, 2, 3};
+		ArrayUtililities.swap(array, 0, 2);
+
+		Assert.assertEquals(array, new long[] {3, 2, 1});
+	}
+
+	@Test(description = "Test applyPermutation(array, permutation) gathers "
+			+ "the elements and restores the permutation")
+	public void testApplyPermutation() {
+		String[] array = {"a", "b", "c", "d", "e"};
+		int[] permutation = {3, 0, 4, 1, 2};
+		ArrayUtililities.applyPermutation(array, permutation);
+
+		Assert.assertEquals(array, new String[] {"d", "a", "e", "b", "c"});
+		Assert.assertEquals(permutation, new int[] {3, 0, 4, 1, 2});
+	}
+
+	@Test(description = "Test applyPermutation(array, permutation) with a "
+			+ "repeated index")
+	public void testApplyNonPermutation() {
+		int[] permutation = {1, 1, 0};
+
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> ArrayUtililities.applyPermutation(new int[3], permutation));
+		Assert.assertEquals(permutation, new int[] {1, 1, 0});
+	}
+
+	@Test(description = "Test applyPermutation(array, permutation) leaves the "
+			+ "array unchanged when the permutation is invalid")
+	public void testApplyNonPermutationKeepsArray() {
+		int[] ints = {10, 20, 30};
+		String[] strings = {"a", "b", "c", "d"};
+		int[][] invalid = {{1, 1, 0}, {2, 0, 0}, {0, 3, 1}, {1, 2, 3, 1}};
+
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> ArrayUtililities.applyPermutation(ints, invalid[0]));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> ArrayUtililities.applyPermutation(ints, invalid[1]));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> ArrayUtililities.applyPermutation(strings, invalid[3]));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> ArrayUtililities.applyPermutation(ints, invalid[2]));
+		Assert.assertEquals(ints, new int[] {10, 20, 30});
+		Assert.assertEquals(strings, new String[] {"a", "b", "c", "d"});
+		Assert.assertEquals(invalid[3], new int[] {1, 2, 3, 1});
+
+		// A valid permutation still applies after the failures
+		ArrayUtililities.applyPermutation(strings, new int[] {0, 2, 1, 3});
+		Assert.assertEquals(strings, new String[] {"a", "c", "b", "d"});
+	}
+
+	@Test(description = "Test invertPermutation(permutation) undoes "
+			+ "applyPermutation(array, permutation)")
+	public void testInvertPermutation() {
+		int[] array = {10, 11, 12, 13, 14, 15};
+		int[] permutation = {5, 2, 0, 1, 4, 3};
+		ArrayUtililities.applyPermutation(array, permutation);
+		ArrayUtililities.applyPermutation(array,
+				ArrayUtililities.invertPermutation(permutation));
+
+		Assert.assertEquals(array, new int[] {10, 11, 12, 13, 14, 15});
+	}
+
+	@Test(description = "Test shuffle(array, random) keeps the elements")
+	public void testShuffle() {
+		int[] array = new int[1000];
+		Arrays.setAll(array, i -> i);
+		ArrayUtililities.shuffle(array, new Random(42)::nextInt);
+		int[] sorted = array.clone();
+		Arrays.sort(sorted);
+
+		Assert.assertFalse(Arrays.equals(array, sorted));
+		for(int i = 0; i < sorted.length; i++) {
+			Assert.assertEquals(sorted[i], i);
+		}
+	}
+
+	@Test(description = "Test reverse(array) with odd and even lengths")
+	public void testReverse() {
+		char[] odd = {'a', 'b', 'c'};
+		double[] even = {1, 2, 3, 4};
+		ArrayUtililities.reverse(odd);
+		ArrayUtililities.reverse(even);
+
+		Assert.assertEquals(odd, new char[] {'c', 'b', 'a'});
+		Assert.assertEquals(even, new double[] {4, 3, 2, 1});
+	}
+
+}
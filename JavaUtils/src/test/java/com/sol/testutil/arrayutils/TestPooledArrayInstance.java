@@ -0,0 +1,52 @@
+package com.sol.testutil.arrayutils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.ArrayUtililities;
+
+public class TestPooledArrayInstance {
+	private final String[] regularArray = {"This", "array", "is", "not", "empty"};
+
+	@Test(description = "Test getPooledArrayInstance(array, length) rounds the "
+			+ "length up to a power of two")
+	public void testRoundedLength() {
+		String[] newArray = ArrayUtililities.getPooledArrayInstance(regularArray, 5);
+
+		Assert.assertEquals(newArray.length, 8);
+		Assert.assertTrue(newArray.getClass().isInstance(regularArray));
+	}
+
+	@Test(description = "Test a released array is recycled and cleared")
+	public void testReleasedArrayIsRecycled() {
+		String[] first = ArrayUtililities.getPooledArrayInstance(regularArray, 100);
+		first[0] = "used";
+		ArrayUtililities.releaseArrayInstance(first);
+		String[] second = ArrayUtililities.getPooledArrayInstance(regularArray, 100);
+
+		Assert.assertSame(second, first);
+		Assert.assertNull(second[0]);
+	}
+
+	@Test(description = "Test getPooledArrayInstance(array, length) with a "
+			+ "length above the largest size class")
+	public void testUnpooledLength() {
+		String[] newArray =
+				ArrayUtililities.getPooledArrayInstance(regularArray, 100_000);
+
+		Assert.assertEquals(newArray.length, 100_000);
+	}
+
+	@Test(description = "Test getPooledArrayInstance(array, length) with a "
+			+ "negative length")
+	public void testNegativeLength() {
+		Assert.assertThrows(NegativeArraySizeException.class,
+				() -> ArrayUtililities.getPooledArrayInstance(regularArray, -1));
+	}
+
+	@Test(description = "Test getPooledArrayInstance(array, length) with null")
+	public void testNull() {
+		Assert.assertThrows(NullPointerException.class,
+				() -> ArrayUtililities.getPooledArrayInstance(null, 1));
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.sol.testutil.arrayutils;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.ArrayUtililities;
+
+public class TestRadixSort {
+	private final int largeLength = 50_000;
+
+	@Test(description = "Test radixSort(int[]) and parallelRadixSort(int[]) "
+			+ "with negative numbers")
+	public void testIntSort() {
+		int[] array = new Random(1).ints(largeLength).toArray();
+		int[] expected = array.clone();
+		int[] parallel = array.clone();
+		Arrays.sort(expected);
+		ArrayUtililities.radixSort(array);
+		ArrayUtililities.parallelRadixSort(parallel);
+
+		Assert.assertEquals(array, expected);
+		Assert.assertEquals(parallel, expected);
+	}
+
+	@Test(description = "Test parallelRadixSort(long[])")
+	public void testLongSort() {
+		long[] array = new Random(2).longs(largeLength).toArray();
+		long[] expected = array.clone();
+		Arrays.sort(expected);
+		ArrayUtililities.parallelRadixSort(array);
+
+		Assert.assertEquals(array, expected);
+	}
+
+	@Test(description = "Test radixSort(double[]) with signed zeros, "
+			+ "infinities and NaN")
+	public void testDoubleSort() {
+		double[] array = {3.5, -0.0, Double.NaN, 0.0, Double.NEGATIVE_INFINITY,
+				-2.25, Double.POSITIVE_INFINITY, Double.MIN_VALUE, -1e300};
+		double[] expected = array.clone();
+		Arrays.sort(expected);
+		ArrayUtililities.radixSort(array);
+
+		Assert.assertEquals(array, expected);
+	}
+
+	@Test(description = "Test parallelRadixSort(float[])")
+	public void testFloatSort() {
+		Random random = new Random(3);
+		float[] array = new float[largeLength];
+		for(int i = 0; i < array.length; i++) {
+			array[i] = (random.nextFloat() - 0.5f) * 1e6f;
+		}
+		float[] expected = array.clone();
+		Arrays.sort(expected);
+		ArrayUtililities.parallelRadixSort(array);
+
+		Assert.assertEquals(array, expected);
+	}
+
+	@Test(description = "Test argsort(int[]) is stable and leaves the array "
+			+ "unchanged")
+	public void testArgsort() {
+		int[] array = {5, -1, 5, 3, -1};
+		int[] indexes = ArrayUtililities.argsort(array);
+
+		Assert.assertEquals(indexes, new int[] {1, 4, 3, 0, 2});
+		Assert.assertEquals(array, new int[] {5, -1, 5, 3, -1});
+	}
+
+	@Test(description = "Test parallelArgsort(double[]) sorts a column with "
+			+ "applyPermutation(array, permutation)")
+	public void testParallelArgsort() {
+		double[] array = new Random(4).doubles(largeLength).toArray();
+		double[] expected = array.clone();
+		Arrays.sort(expected);
+		ArrayUtililities.applyPermutation(array,
+				ArrayUtililities.parallelArgsort(array));
+
+		Assert.assertEquals(array, expected);
+	}
+
+}
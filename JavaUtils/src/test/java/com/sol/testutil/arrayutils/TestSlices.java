@@ -0,0 +1,64 @@
+package com.sol.testutil.arrayutils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.IntSlice;
+import com.sol.util.ObjectSlice;
+
+public class TestSlices {
+
+	@Test(description = "Test a slice writes through to its backing array")
+	public void testWriteThrough() {
+		int[] array = {0, 1, 2, 3, 4, 5, 6, 7};
+		IntSlice slice = IntSlice.of(array, 2, 6);
+		slice.set(0, 42);
+
+		Assert.assertEquals(slice.length(), 4);
+		Assert.assertEquals(array[2], 42);
+		Assert.assertSame(slice.array(), array);
+	}
+
+	@Test(description = "Test subSlice(from, to) is relative to the slice")
+	public void testSubSlice() {
+		int[] array = {0, 1, 2, 3, 4, 5, 6, 7};
+		IntSlice slice = IntSlice.of(array, 2, 7).subSlice(1, 3);
+
+		Assert.assertEquals(slice.offset(), 3);
+		Assert.assertEquals(slice.toArray(), new int[] {3, 4});
+	}
+
+	@Test(description = "Test bulk operations only touch the slice")
+	public void testBulkOperations() {
+		int[] array = {1, 1, 1, 1, 1, 1};
+		IntSlice slice = IntSlice.of(array, 1, 5);
+		slice.inclusivePrefixSum();
+
+		Assert.assertEquals(array, new int[] {1, 1, 2, 3, 4, 1});
+		Assert.assertEquals(slice.sum(), 10L);
+		Assert.assertEquals(slice.max().getAsInt(), 4);
+		Assert.assertEquals(slice.filter(x -> x % 2 == 0), new int[] {2, 4});
+		Assert.assertEquals(slice.toBoxedArray(), new Integer[] {1, 2, 3, 4});
+	}
+
+	@Test(description = "Test reverse() of an object slice")
+	public void testObjectReverse() {
+		String[] array = {"a", "b", "c", "d"};
+		ObjectSlice<String> slice = ObjectSlice.of(array, 0, 3);
+		slice.reverse();
+
+		Assert.assertEquals(array, new String[] {"c", "b", "a", "d"});
+		Assert.assertEquals(slice.toArray().getClass(), String[].class);
+	}
+
+	@Test(description = "Test out of bounds slices and indexes")
+	public void testOutOfBounds() {
+		int[] array = new int[4];
+		Assert.assertThrows(IndexOutOfBoundsException.class,
+				() -> IntSlice.of(array, 3, 5));
+		Assert.assertThrows(IndexOutOfBoundsException.class,
+				() -> IntSlice.of(array, 1, 3).get(2));
+		Assert.assertThrows(IndexOutOfBoundsException.class,
+				() -> IntSlice.of(array, 1, 3).subSlice(1, 3));
+	}
+
+}
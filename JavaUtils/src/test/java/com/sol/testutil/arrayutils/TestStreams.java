@@ -0,0 +1,57 @@
+package com.sol.testutil.arrayutils;
+
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.ArrayUtililities;
+
+public class TestStreams {
+
+	@Test(description = "Test boxedStream(array) boxes the elements in order")
+	public void testBoxedStream() {
+		char[] array = {'a', 'b', 'c'};
+
+		Assert.assertEquals(ArrayUtililities.boxedStream(array)
+				.map(String::valueOf).collect(Collectors.joining()), "abc");
+	}
+
+	@Test(description = "Test unboxedStream(array) only unboxes the elements "
+			+ "it reaches")
+	public void testUnboxedStreamIsLazy() {
+		Integer[] array = {1, 2, 3, null};
+
+		Assert.assertEquals(ArrayUtililities.unboxedStream(array)
+				.filter(x -> x > 1).findFirst().getAsInt(), 2);
+		Assert.assertThrows(NullPointerException.class,
+				() -> ArrayUtililities.unboxedStream(array).sum());
+	}
+
+	@Test(description = "Test a parallel boxed stream visits every element once")
+	public void testParallelStream() {
+		int[] array = new int[100_000];
+		for(int i = 0; i < array.length; i++) {
+			array[i] = i;
+		}
+		AtomicInteger count = new AtomicInteger();
+
+		long sum = ArrayUtililities.boxedStream(array).parallel()
+				.peek(x -> count.incrementAndGet()).mapToLong(Integer::longValue).sum();
+		Assert.assertEquals(sum, 99_999L * 100_000L / 2);
+		Assert.assertEquals(count.get(), array.length);
+	}
+
+	@Test(description = "Test the spliterators are sized and split evenly")
+	public void testSpliterator() {
+		Spliterator<Long> spliterator =
+				ArrayUtililities.boxedStream(new long[10]).spliterator();
+
+		Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED
+				| Spliterator.SUBSIZED | Spliterator.ORDERED));
+		Spliterator<Long> prefix = spliterator.trySplit();
+		Assert.assertEquals(prefix.estimateSize(), 5L);
+		Assert.assertEquals(spliterator.estimateSize(), 5L);
+	}
+
+}
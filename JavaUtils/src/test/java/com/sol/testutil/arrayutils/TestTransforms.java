@@ -0,0 +1,86 @@
+package com.sol.testutil.arrayutils;
+
+import java.util.OptionalInt;
+import java.util.stream.IntStream;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.ArrayUtililities;
+
+public class TestTransforms {
+	private final int largeLength = 100_003;
+
+	private int[] largeIntArray() {
+		return IntStream.range(0, largeLength).map(i -> (i * 7919) % 1000 - 500)
+				.toArray();
+	}
+
+	@Test(description = "Test map(array, operator) and mapInPlace(array, "
+			+ "operator) with an array longer than the parallel threshold")
+	public void testMap() {
+		int[] array = largeIntArray();
+		int[] expected = IntStream.of(array).map(i -> i * 2 + 1).toArray();
+
+		Assert.assertEquals(ArrayUtililities.map(array, i -> i * 2 + 1), expected);
+		ArrayUtililities.mapInPlace(array, i -> i * 2 + 1);
+		Assert.assertEquals(array, expected);
+	}
+
+	@Test(description = "Test filter(array, predicate) keeps the order of "
+			+ "the matching elements")
+	public void testFilter() {
+		int[] array = largeIntArray();
+
+		Assert.assertEquals(ArrayUtililities.filter(array, i -> i % 3 == 0),
+				IntStream.of(array).filter(i -> i % 3 == 0).toArray());
+		Assert.assertEquals(ArrayUtililities.filter(new int[] {1, 2, 3, 4},
+				i -> i > 2), new int[] {3, 4});
+	}
+
+	@Test(description = "Test inclusivePrefixSum(array) and "
+			+ "exclusivePrefixSum(array)")
+	public void testPrefixSums() {
+		int[] array = largeIntArray();
+		int[] inclusive = array.clone();
+		int[] exclusive = array.clone();
+		int[] expected = new int[array.length];
+		int sum = 0;
+		for(int i = 0; i < array.length; i++) {
+			sum += array[i];
+			expected[i] = sum;
+		}
+
+		ArrayUtililities.inclusivePrefixSum(inclusive);
+		Assert.assertEquals(inclusive, expected);
+		Assert.assertEquals(ArrayUtililities.exclusivePrefixSum(exclusive), sum);
+		Assert.assertEquals(exclusive[0], 0);
+		for(int i = 1; i < array.length; i++) {
+			Assert.assertEquals(exclusive[i], expected[i - 1]);
+		}
+	}
+
+	@Test(description = "Test min(array), max(array) and sum(array)")
+	public void testReductions() {
+		int[] array = largeIntArray();
+
+		Assert.assertEquals(ArrayUtililities.min(array),
+				IntStream.of(array).min());
+		Assert.assertEquals(ArrayUtililities.max(array),
+				IntStream.of(array).max());
+		Assert.assertEquals(ArrayUtililities.sum(array),
+				IntStream.of(array).asLongStream().sum());
+		Assert.assertEquals(ArrayUtililities.sum(new double[] {0.5, 0.25}),
+				0.75, 0.0);
+	}
+
+	@Test(description = "Test min(array) with an empty array")
+	public void testMinOfEmptyArray() {
+		Assert.assertEquals(ArrayUtililities.min(new int[0]), OptionalInt.empty());
+	}
+
+	@Test(description = "Test filter(array, predicate) with a null predicate")
+	public void testNullPredicate() {
+		Assert.assertThrows(NullPointerException.class,
+				() -> ArrayUtililities.filter(new long[1], null));
+	}
+
+}
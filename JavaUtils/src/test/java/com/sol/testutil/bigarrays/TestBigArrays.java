@@ -0,0 +1,62 @@
+package com.sol.testutil.bigarrays;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.ArrayUtililities;
+import com.sol.util.BigIntArray;
+import com.sol.util.BigLongArray;
+import com.sol.util.BigObjectArray;
+
+public class TestBigArrays {
+
+	@Test(description = "Test get and set with long indexes")
+	public void testGetSet() {
+		BigLongArray array = new BigLongArray(100_000L);
+		array.set(99_999L, Long.MAX_VALUE);
+
+		Assert.assertEquals(array.length(), 100_000L);
+		Assert.assertEquals(array.get(99_999L), Long.MAX_VALUE);
+		Assert.assertEquals(array.get(0L), 0L);
+	}
+
+	@Test(description = "Test fill(from, to, value) only fills the range")
+	public void testFillRange() {
+		BigIntArray array = new BigIntArray(50_000L);
+		array.fill(10L, 40_000L, 7);
+
+		Assert.assertEquals(array.get(9L), 0);
+		Assert.assertEquals(array.get(10L), 7);
+		Assert.assertEquals(array.get(39_999L), 7);
+		Assert.assertEquals(array.get(40_000L), 0);
+	}
+
+	@Test(description = "Test copy(...) of overlapping ranges of one array")
+	public void testOverlappingCopy() {
+		BigIntArray array = BigIntArray.of(1, 2, 3, 4, 5);
+		BigIntArray.copy(array, 0L, array, 1L, 4L);
+
+		Assert.assertEquals(array.toArray(), new int[] {1, 1, 2, 3, 4});
+	}
+
+	@Test(description = "Test getBigArrayInstance(array, length) keeps the "
+			+ "array type")
+	public void testBigArrayInstance() {
+		BigObjectArray<String> array =
+				ArrayUtililities.getBigArrayInstance(new String[0], 3L);
+		array.set(1L, "big");
+
+		Assert.assertEquals(array.toArray(), new String[] {null, "big", null});
+		Assert.assertEquals(array.toArray().getClass(), String[].class);
+	}
+
+	@Test(description = "Test out of bounds indexes and negative lengths")
+	public void testOutOfBounds() {
+		Assert.assertThrows(IndexOutOfBoundsException.class,
+				() -> new BigIntArray(10L).get(10L));
+		Assert.assertThrows(IndexOutOfBoundsException.class,
+				() -> new BigIntArray(10L).fill(5L, 11L, 1));
+		Assert.assertThrows(NegativeArraySizeException.class,
+				() -> new BigLongArray(-1L));
+	}
+
+}
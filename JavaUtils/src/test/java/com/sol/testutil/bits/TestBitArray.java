@@ -0,0 +1,66 @@
+package com.sol.testutil.bits;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.BitArray;
+
+public class TestBitArray {
+	private final boolean[] flags = {true, false, false, true, true, false, true};
+
+	@Test(description = "Test of(boolean...) and toBooleanArray() round trip")
+	public void testBooleanRoundTrip() {
+		BitArray bits = BitArray.of(flags);
+
+		Assert.assertEquals(bits.length(), flags.length);
+		Assert.assertEquals(bits.toBooleanArray(), flags);
+		Assert.assertEquals(bits.cardinality(), 4);
+	}
+
+	@Test(description = "Test fromBoxedArray(Boolean[]) and toBoxedArray()")
+	public void testBoxedRoundTrip() {
+		Boolean[] boxed = {false, true, true};
+
+		Assert.assertEquals(BitArray.fromBoxedArray(boxed).toBoxedArray(), boxed);
+		Assert.assertThrows(NullPointerException.class,
+				() -> BitArray.fromBoxedArray(new Boolean[] {true, null}));
+	}
+
+	@Test(description = "Test word-at-a-time and, or, xor and andNot")
+	public void testBitwiseOperations() {
+		BitArray bits = BitArray.of(true, true, false, false);
+		BitArray mask = BitArray.of(true, false, true, false);
+
+		bits.xor(mask);
+		Assert.assertEquals(bits, BitArray.of(false, true, true, false));
+		bits.and(mask);
+		Assert.assertEquals(bits, BitArray.of(false, false, true, false));
+		bits.or(mask);
+		Assert.assertEquals(bits, mask);
+		bits.andNot(mask);
+		Assert.assertEquals(bits.cardinality(), 0);
+	}
+
+	@Test(description = "Test nextSetBit and nextClearBit across words")
+	public void testNextBits() {
+		BitArray bits = new BitArray(200);
+		bits.set(130);
+		bits.fill(true);
+		bits.clear(150);
+
+		Assert.assertEquals(bits.nextClearBit(0), 150);
+		Assert.assertEquals(bits.nextClearBit(151), 200);
+		bits.fill(false);
+		bits.set(199);
+		Assert.assertEquals(bits.nextSetBit(65), 199);
+		Assert.assertEquals(bits.toString(), "{199}");
+	}
+
+	@Test(description = "Test operations on arrays of different lengths")
+	public void testLengthMismatch() {
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> new BitArray(10).and(new BitArray(11)));
+		Assert.assertThrows(IndexOutOfBoundsException.class,
+				() -> new BitArray(10).get(10));
+	}
+
+}
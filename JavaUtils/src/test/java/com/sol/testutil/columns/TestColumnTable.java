@@ -0,0 +1,120 @@
+package com.sol.testutil.columns;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.ColumnSchema;
+import com.sol.util.ColumnTable;
+import com.sol.util.ColumnType;
+
+public class TestColumnTable {
+	private final ColumnSchema schema = ColumnSchema.builder()
+			.add("id", ColumnType.LONG)
+			.add("latency", ColumnType.DOUBLE)
+			.add("ok", ColumnType.BOOLEAN)
+			.addObject("host", new String[0])
+			.build();
+
+	@Test(description = "Test rows appended by value are read back by column")
+	public void testAddRow() {
+		ColumnTable table = new ColumnTable(schema, 0);
+		for(int i = 0; i < 100; i++) {
+			Assert.assertEquals(table.addRow((long) i, i / 2.0, 0 == i % 2, "h" + i), i);
+		}
+
+		Assert.assertEquals(table.size(), 100);
+		Assert.assertEquals(table.getLong(0, 42), 42L);
+		Assert.assertEquals(table.getDouble(1, 42), 21.0);
+		Assert.assertTrue(table.getBoolean(2, 42));
+		Assert.assertEquals(table.<String>getObject(3, 42), "h42");
+		Assert.assertEquals(table.longColumn(0).length(), 100);
+		Assert.assertEquals(table.<String>objectColumn(3).array().getClass(),
+				String[].class);
+	}
+
+	@Test(description = "Test addRow() appends a row of defaults which setters fill")
+	public void testSetters() {
+		ColumnTable table = new ColumnTable(schema);
+		int row = table.addRow();
+		Assert.assertEquals(table.getLong(0, row), 0L);
+		Assert.assertNull(table.getObject(3, row));
+
+		table.setLong(0, row, 7L);
+		table.setObject(3, row, "seven");
+
+		Assert.assertEquals(table.getLong(0, row), 7L);
+		Assert.assertEquals(table.<String>getObject(3, row), "seven");
+	}
+
+	@Test(description = "Test a bad row does not change the table")
+	public void testBadRow() {
+		ColumnTable table = new ColumnTable(schema);
+
+		Assert.assertThrows(ClassCastException.class,
+				() -> table.addRow(1, 1.0, true, "host"));
+		Assert.assertThrows(ClassCastException.class,
+				() -> table.addRow(1L, 1.0, true, 1));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> table.addRow(1L, 1.0));
+		Assert.assertEquals(table.size(), 0);
+	}
+
+	@Test(description = "Test typed accessors check the type of the column and the row")
+	public void testWrongColumn() {
+		ColumnTable table = new ColumnTable(schema);
+		table.addRow();
+
+		Assert.assertThrows(IllegalArgumentException.class, () -> table.getInt(0, 0));
+		Assert.assertThrows(IndexOutOfBoundsException.class, () -> table.getLong(0, 1));
+		Assert.assertThrows(IndexOutOfBoundsException.class, () -> table.getLong(9, 0));
+	}
+
+	@Test(description = "Test project(names) copies the columns in the given order")
+	public void testProject() {
+		ColumnTable table = new ColumnTable(schema);
+		table.addRow(1L, 0.5, true, "a");
+		table.addRow(2L, 1.5, false, "b");
+		ColumnTable projection = table.project("host", "id");
+		table.setLong(0, 0, 100L);
+
+		Assert.assertEquals(projection.schema().toString(), "[host OBJECT, id LONG]");
+		Assert.assertEquals(projection.size(), 2);
+		Assert.assertEquals(projection.<String>getObject(0, 1), "b");
+		Assert.assertEquals(projection.getLong(1, 0), 1L);
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> table.project("missing"));
+	}
+
+	@Test(description = "Test scan(visitor) visits every row once")
+	public void testScan() {
+		ColumnTable table = new ColumnTable(schema);
+		int rows = 1 << 18;
+		long expected = 0;
+		for(int i = 0; i < rows; i++) {
+			table.addRow((long) i, 0.0, false, null);
+			expected += i;
+		}
+		LongAdder sum = new LongAdder();
+		table.scan((t, from, to) -> {
+			long partial = 0;
+			for(long id : t.longColumn(0).subSlice(from, to).toArray()) {
+				partial += id;
+			}
+			sum.add(partial);
+		});
+
+		Assert.assertEquals(sum.sum(), expected);
+	}
+
+	@Test(description = "Test the schema builder rejects bad columns")
+	public void testSchemaBuilder() {
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> ColumnSchema.builder().add("a", ColumnType.OBJECT));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> ColumnSchema.builder().add("a", ColumnType.INT)
+						.add("a", ColumnType.LONG));
+		Assert.assertEquals(schema.indexOf("latency"), 1);
+		Assert.assertEquals(schema.indexOf("missing"), -1);
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.sol.testutil.compression;
+
+import java.util.PrimitiveIterator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.BlockEncoding;
+import com.sol.util.CompressedIntArray;
+import com.sol.util.CompressedLongArray;
+
+public class TestCompressedArrays {
+
+	private static long[] timestamps(final int length) {
+		long[] values = new long[length];
+		long timestamp = 1_460_000_000_000L;
+		for(int i = 0; i < length; i++) {
+			timestamp += i % 7;
+			values[i] = timestamp;
+		}
+		return values;
+	}
+
+	@Test(description = "Test every encoding decodes to the encoded values")
+	public void testRoundTrip() {
+		long[] values = timestamps(1000);
+		values[500] = Long.MIN_VALUE;
+		values[501] = Long.MAX_VALUE;
+
+		for(BlockEncoding encoding : BlockEncoding.values()) {
+			CompressedLongArray array = CompressedLongArray.encode(values, encoding);
+
+			Assert.assertEquals(array.toArray(), values, encoding.name());
+			Assert.assertEquals(array.get(501), Long.MAX_VALUE, encoding.name());
+			Assert.assertEquals(array.get(999), values[999], encoding.name());
+		}
+	}
+
+	@Test(description = "Test sorted values compress with DELTA")
+	public void testDeltaCompresses() {
+		long[] values = timestamps(10_000);
+		CompressedLongArray array = CompressedLongArray.encode(values, BlockEncoding.DELTA);
+
+		Assert.assertTrue(array.sizeInBytes() * 8 < 8L * values.length);
+	}
+
+	@Test(description = "Test the iterator and decodeBlock(...) of an int array")
+	public void testStreamingDecode() {
+		int[] values = new int[300];
+		for(int i = 0; i < values.length; i++) {
+			values[i] = (i * 37) % 101 - 50;
+		}
+		CompressedIntArray array =
+				CompressedIntArray.encode(values, BlockEncoding.VARINT);
+
+		PrimitiveIterator.OfInt iterator = array.iterator();
+		for(int value : values) {
+			Assert.assertEquals(iterator.nextInt(), value);
+		}
+		Assert.assertFalse(iterator.hasNext());
+
+		int[] block = new int[CompressedIntArray.BLOCK_SIZE];
+		Assert.assertEquals(array.blockCount(), 3);
+		Assert.assertEquals(array.decodeBlock(2, block, 0), 44);
+		Assert.assertEquals(block[43], values[299]);
+	}
+
+	@Test(description = "Test out of bounds indexes and blocks")
+	public void testOutOfBounds() {
+		CompressedIntArray array = CompressedIntArray.encode(new int[10],
+				BlockEncoding.FRAME_OF_REFERENCE);
+
+		Assert.assertThrows(IndexOutOfBoundsException.class, () -> array.get(10));
+		Assert.assertThrows(IndexOutOfBoundsException.class,
+				() -> array.decodeBlock(1, new int[CompressedIntArray.BLOCK_SIZE], 0));
+	}
+
+}
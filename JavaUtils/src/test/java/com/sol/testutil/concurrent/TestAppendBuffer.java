@@ -0,0 +1,62 @@
+package com.sol.testutil.concurrent;
+
+import java.util.Arrays;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.DoubleAppendBuffer;
+import com.sol.util.IntAppendBuffer;
+import com.sol.util.LongAppendBuffer;
+
+public class TestAppendBuffer {
+
+	@Test(description = "Test concurrent writers each get their own slots")
+	public void testConcurrentAdd() throws InterruptedException {
+		final LongAppendBuffer buffer = new LongAppendBuffer();
+		final int perThread = 50_000;
+		Thread[] writers = new Thread[4];
+		for(int t = 0; t < writers.length; t++) {
+			final long first = (long) t * perThread;
+			writers[t] = new Thread(() -> {
+				for(int i = 0; i < perThread; i++) {
+					buffer.add(first + i);
+				}
+			});
+			writers[t].start();
+		}
+		for(Thread writer : writers) {
+			writer.join();
+		}
+
+		long[] values = buffer.toArray();
+		Arrays.sort(values);
+		Assert.assertEquals(buffer.size(), writers.length * perThread);
+		for(int i = 0; i < values.length; i++) {
+			Assert.assertEquals(values[i], (long) i);
+		}
+	}
+
+	@Test(description = "Test addAll(values) across segment boundaries")
+	public void testAddAll() {
+		IntAppendBuffer buffer = new IntAppendBuffer();
+		int[] values = new int[5000];
+		for(int i = 0; i < values.length; i++) {
+			values[i] = i * 3;
+		}
+		buffer.add(-1);
+
+		Assert.assertEquals(buffer.addAll(values), 1);
+		Assert.assertEquals(buffer.get(5000), values[4999]);
+		Assert.assertEquals(Arrays.copyOfRange(buffer.toArray(), 1, 5001), values);
+	}
+
+	@Test(description = "Test toBoxedArray() and out of bounds reads")
+	public void testToBoxedArray() {
+		DoubleAppendBuffer buffer = new DoubleAppendBuffer();
+		buffer.add(0.5);
+		buffer.add(-2.0);
+
+		Assert.assertEquals(buffer.toBoxedArray(), new Double[] {0.5, -2.0});
+		Assert.assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(2));
+	}
+
+}
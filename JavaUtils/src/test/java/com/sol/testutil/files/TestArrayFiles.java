@@ -0,0 +1,207 @@
+package com.sol.testutil.files;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import com.sol.util.ArrayFiles;
+import com.sol.util.DoubleArray;
+import com.sol.util.IntArray;
+import com.sol.util.LongArray;
+
+public class TestArrayFiles {
+
+	private Path path;
+
+	@BeforeMethod
+	public void createFile() throws IOException {
+		path = Files.createTempFile("TestArrayFiles", ".bin");
+	}
+
+	@AfterMethod
+	public void deleteFile() throws IOException {
+		Files.deleteIfExists(path);
+	}
+
+	// Overwrites bytes of the file at the given position
+	private void overwrite(long position, byte... bytes) throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(bytes), position);
+		}
+	}
+
+	@Test(description = "Test int arrays written to a file are mapped back unchanged")
+	public void testIntRoundTrip() throws IOException {
+		int[] array = {1, -2, Integer.MAX_VALUE, Integer.MIN_VALUE, 0};
+		ArrayFiles.write(path, array);
+		try(IntArray mapped = ArrayFiles.mapInts(path)) {
+			Assert.assertEquals(mapped.length(), (long) array.length);
+			Assert.assertEquals(mapped.toArray(), array);
+		}
+
+		try(IntArray offHeap = IntArray.of(7, 8, 9)) {
+			ArrayFiles.write(path, offHeap);
+		}
+		try(IntArray mapped = ArrayFiles.mapInts(path)) {
+			Assert.assertEquals(mapped.toArray(), new int[] {7, 8, 9});
+		}
+	}
+
+	@Test(description = "Test long arrays written to a file are mapped back unchanged")
+	public void testLongRoundTrip() throws IOException {
+		long[] array = {1L, -2L, Long.MAX_VALUE, Long.MIN_VALUE, 0L};
+		ArrayFiles.write(path, array);
+		try(LongArray mapped = ArrayFiles.mapLongs(path)) {
+			Assert.assertEquals(mapped.length(), (long) array.length);
+			Assert.assertEquals(mapped.toArray(), array);
+		}
+
+		try(LongArray offHeap = LongArray.of(7L, 8L, 9L)) {
+			ArrayFiles.write(path, offHeap);
+		}
+		try(LongArray mapped = ArrayFiles.mapLongs(path)) {
+			Assert.assertEquals(mapped.toArray(), new long[] {7L, 8L, 9L});
+		}
+	}
+
+	@Test(description = "Test double arrays written to a file are mapped back unchanged")
+	public void testDoubleRoundTrip() throws IOException {
+		double[] array = {1.5, -2.25, Double.MAX_VALUE, Double.NaN, -0.0};
+		ArrayFiles.write(path, array);
+		try(DoubleArray mapped = ArrayFiles.mapDoubles(path)) {
+			Assert.assertEquals(mapped.length(), (long) array.length);
+			double[] read = mapped.toArray();
+			for(int i = 0; i < array.length; i++) {
+				Assert.assertEquals(Double.doubleToRawLongBits(read[i]),
+						Double.doubleToRawLongBits(array[i]));
+			}
+		}
+
+		try(DoubleArray offHeap = DoubleArray.of(7.0, 8.0, 9.0)) {
+			ArrayFiles.write(path, offHeap);
+		}
+		try(DoubleArray mapped = ArrayFiles.mapDoubles(path)) {
+			Assert.assertEquals(mapped.toArray(), new double[] {7.0, 8.0, 9.0});
+		}
+	}
+
+	@Test(description = "Test an empty array is written and mapped back")
+	public void testEmpty() throws IOException {
+		ArrayFiles.write(path, new int[0]);
+		Assert.assertEquals(Files.size(path), 32L);
+		try(IntArray mapped = ArrayFiles.mapInts(path)) {
+			Assert.assertEquals(mapped.length(), 0L);
+		}
+	}
+
+	@Test(description = "Test a file with a bad magic number is rejected")
+	public void testBadMagic() throws IOException {
+		ArrayFiles.write(path, new int[] {1, 2, 3});
+		overwrite(0, (byte) 0);
+
+		Assert.assertThrows(IOException.class, () -> ArrayFiles.mapInts(path));
+	}
+
+	@Test(description = "Test a file of another element type is rejected")
+	public void testWrongType() throws IOException {
+		ArrayFiles.write(path, new long[] {1L, 2L, 3L});
+
+		Assert.assertThrows(IOException.class, () -> ArrayFiles.mapInts(path));
+		Assert.assertThrows(IOException.class, () -> ArrayFiles.mapDoubles(path));
+		try(LongArray mapped = ArrayFiles.mapLongs(path)) {
+			Assert.assertEquals(mapped.length(), 3L);
+		}
+	}
+
+	@Test(description = "Test truncated files are rejected")
+	public void testTruncated() throws IOException {
+		ArrayFiles.write(path, new int[] {1, 2, 3});
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.truncate(Files.size(path) - 1);
+		}
+		Assert.assertThrows(IOException.class, () -> ArrayFiles.mapInts(path));
+
+		// A file shorter than the header
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.truncate(16);
+		}
+		Assert.assertThrows(EOFException.class, () -> ArrayFiles.mapInts(path));
+	}
+
+	@Test(description = "Test the header records the native byte order, and a file "
+			+ "in the other byte order is read in its own order")
+	public void testByteOrder() throws IOException {
+		ArrayFiles.write(path, new int[] {0x01020304});
+		ByteBuffer written = ByteBuffer.wrap(Files.readAllBytes(path));
+		Assert.assertEquals(written.getInt(0), 0x534F4C41);
+		Assert.assertEquals(written.get(6),
+				(byte) (ByteOrder.BIG_ENDIAN == ByteOrder.nativeOrder() ? 0 : 1));
+		Assert.assertEquals(written.order(ByteOrder.nativeOrder()).getInt(32), 0x01020304);
+
+		// Rewrite the file in the other byte order
+		boolean bigEndian = ByteOrder.BIG_ENDIAN != ByteOrder.nativeOrder();
+		ByteBuffer file = ByteBuffer.allocate(40);
+		file.putInt(0x534F4C41).put((byte) 1).put((byte) 1)
+				.put((byte) (bigEndian ? 0 : 1)).put((byte) 0).putLong(2);
+		file.position(32);
+		file.order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN)
+				.putInt(0x01020304).putInt(-5);
+		Files.write(path, file.array());
+
+		try(IntArray mapped = ArrayFiles.mapInts(path)) {
+			Assert.assertEquals(mapped.toArray(), new int[] {0x01020304, -5});
+		}
+	}
+
+	@Test(description = "Test a read only mapping rejects writes")
+	public void testReadOnly() throws IOException {
+		ArrayFiles.write(path, new long[] {1L, 2L});
+		try(LongArray mapped = ArrayFiles.mapLongs(path, FileChannel.MapMode.READ_ONLY)) {
+			Assert.assertThrows(ReadOnlyBufferException.class, () -> mapped.set(0, 5L));
+			Assert.assertThrows(ReadOnlyBufferException.class,
+					() -> mapped.copyFrom(new long[] {5L}, 0, 1, 1));
+			Assert.assertEquals(mapped.toArray(), new long[] {1L, 2L});
+		}
+	}
+
+	@Test(description = "Test writes to a read write mapping go to the file")
+	public void testReadWrite() throws IOException {
+		ArrayFiles.write(path, new double[] {1.0, 2.0});
+		try(DoubleArray mapped = ArrayFiles.mapDoubles(path, FileChannel.MapMode.READ_WRITE)) {
+			mapped.set(1, 3.5);
+		}
+		try(DoubleArray mapped = ArrayFiles.mapDoubles(path)) {
+			Assert.assertEquals(mapped.toArray(), new double[] {1.0, 3.5});
+		}
+	}
+
+	@Test(description = "Test closing a mapped array unmaps the file")
+	public void testCloseUnmaps() throws IOException {
+		ArrayFiles.write(path, new int[] {1, 2, 3});
+		IntArray mapped = ArrayFiles.mapInts(path);
+		mapped.close();
+		mapped.close();
+
+		Assert.assertTrue(mapped.isClosed());
+		Assert.assertThrows(IllegalStateException.class, () -> mapped.get(0));
+		Assert.assertThrows(IllegalStateException.class, () -> ArrayFiles.write(path, mapped));
+
+		// The unmapped file may be replaced and deleted
+		ArrayFiles.write(path, new int[] {4});
+		try(IntArray remapped = ArrayFiles.mapInts(path)) {
+			Assert.assertEquals(remapped.toArray(), new int[] {4});
+		}
+		Files.delete(path);
+		Assert.assertFalse(Files.exists(path));
+	}
+
+}
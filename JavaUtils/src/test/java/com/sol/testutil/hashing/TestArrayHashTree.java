@@ -0,0 +1,107 @@
+package com.sol.testutil.hashing;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.ArrayHashTree;
+import com.sol.util.ArrayUtililities;
+import com.sol.util.IndexRange;
+
+public class TestArrayHashTree {
+
+	private static int[] sequence(int length) {
+		int[] array = new int[length];
+		for(int i = 0; i < length; i++) {
+			array[i] = i;
+		}
+		return array;
+	}
+
+	@Test(description = "Test equal arrays have equal trees and no differences")
+	public void testEqualArrays() {
+		ArrayHashTree first = ArrayUtililities.hashTree(sequence(100_000), 1000);
+		ArrayHashTree second = ArrayUtililities.hashTree(sequence(100_000), 1000);
+
+		Assert.assertEquals(first.chunkCount(), 100);
+		Assert.assertEquals(first.rootHash(), second.rootHash());
+		Assert.assertEquals(first.diff(second), Collections.emptyList());
+	}
+
+	@Test(description = "Test diff(other) finds the changed chunks and merges "
+			+ "adjacent ones")
+	public void testDiff() {
+		int[] array = sequence(100_000);
+		ArrayHashTree before = ArrayHashTree.of(array, 1000);
+		array[5] = -1;
+		array[42_999] = -1;
+		array[43_000] = -1;
+		array[99_999] = -1;
+		ArrayHashTree after = ArrayHashTree.of(array, 1000);
+
+		Assert.assertTrue(before.rootHash() != after.rootHash());
+		Assert.assertEquals(before.diff(after), Arrays.asList(
+				new IndexRange(0, 1000), new IndexRange(42_000, 44_000),
+				new IndexRange(99_000, 100_000)));
+	}
+
+	@Test(description = "Test rehash(from, to) brings a tree up to date")
+	public void testRehash() {
+		double[] array = new double[50_000];
+		ArrayHashTree tree = ArrayHashTree.of(array, 512);
+		long before = tree.rootHash();
+		array[20_000] = 1.0;
+		tree.rehash(20_000, 20_001);
+
+		Assert.assertEquals(tree.rootHash(), ArrayHashTree.of(array, 512).rootHash());
+		array[20_000] = 0.0;
+		tree.rehash(0, array.length);
+		Assert.assertEquals(tree.rootHash(), before);
+	}
+
+	@Test(description = "Test arrays of different lengths differ past the shorter one")
+	public void testDifferentLengths() {
+		ArrayHashTree shorter = ArrayHashTree.of(sequence(2500), 1000);
+		ArrayHashTree longer = ArrayHashTree.of(sequence(9000), 1000);
+
+		Assert.assertEquals(shorter.diff(longer),
+				Collections.singletonList(new IndexRange(2000, 9000)));
+		Assert.assertEquals(longer.diff(shorter), shorter.diff(longer));
+	}
+
+	@Test(description = "Test a tree rebuilt from chunk hashes matches the original")
+	public void testFromChunkHashes() {
+		String[] array = {"a", "b", "c", null, "e"};
+		ArrayHashTree tree = ArrayHashTree.of(array, 2);
+		ArrayHashTree copy = ArrayHashTree.fromChunkHashes(tree.chunkHashes(), 5, 2);
+		List<IndexRange> none = copy.diff(tree);
+
+		Assert.assertEquals(copy.rootHash(), tree.rootHash());
+		Assert.assertTrue(none.isEmpty());
+		Assert.assertThrows(IllegalStateException.class, () -> copy.rehash(0, 1));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> ArrayHashTree.fromChunkHashes(new long[2], 5, 2));
+	}
+
+	@Test(description = "Test trees of different chunk lengths are not compared")
+	public void testChunkLengthMismatch() {
+		ArrayHashTree first = ArrayHashTree.of(new long[10], 2);
+		ArrayHashTree second = ArrayHashTree.of(new long[10], 5);
+
+		Assert.assertThrows(IllegalArgumentException.class, () -> first.diff(second));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> ArrayHashTree.of(new long[10], 0));
+	}
+
+	@Test(description = "Test hashTree(array) of an empty array")
+	public void testEmptyArray() {
+		ArrayHashTree empty = ArrayUtililities.hashTree(new boolean[0]);
+
+		Assert.assertEquals(empty.chunkCount(), 0);
+		Assert.assertTrue(empty.diff(ArrayUtililities.hashTree(new boolean[0])).isEmpty());
+		Assert.assertEquals(empty.diff(ArrayUtililities.hashTree(new boolean[3])),
+				Collections.singletonList(new IndexRange(0, 3)));
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.sol.testutil.lists;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.DoubleList;
+import com.sol.util.IntList;
+
+public class TestPrimitiveList {
+
+	@Test(description = "Test add(value) grows the list past its capacity")
+	public void testAddGrows() {
+		IntList list = new IntList(0);
+		for(int i = 0; i < 100; i++) {
+			list.add(i);
+		}
+
+		Assert.assertEquals(list.size(), 100);
+		Assert.assertEquals(list.get(99), 99);
+	}
+
+	@Test(description = "Test add(index, value) and removeAt(index)")
+	public void testInsertAndRemove() {
+		IntList list = IntList.of(1, 3);
+		list.add(1, 2);
+
+		Assert.assertEquals(list.toArray(), new int[] {1, 2, 3});
+		Assert.assertEquals(list.removeAt(0), 1);
+		Assert.assertEquals(list.toArray(), new int[] {2, 3});
+		Assert.assertEquals(list.removeLast(), 3);
+		Assert.assertEquals(list.size(), 1);
+	}
+
+	@Test(description = "Test toBoxedArray() and fromBoxedArray(array)")
+	public void testBoxedRoundTrip() {
+		IntList list = IntList.of(5, -4, 7);
+
+		Assert.assertEquals(list.toBoxedArray(), new Integer[] {5, -4, 7});
+		Assert.assertEquals(IntList.fromBoxedArray(list.toBoxedArray()), list);
+	}
+
+	@Test(description = "Test get(index) with an index past the size")
+	public void testGetOutOfBounds() {
+		IntList list = new IntList();
+		list.add(1);
+
+		Assert.assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+	}
+
+	@Test(description = "Test indexOf(value) with NaN")
+	public void testIndexOfNaN() {
+		DoubleList list = DoubleList.of(1.0, Double.NaN);
+
+		Assert.assertEquals(list.indexOf(Double.NaN), 1);
+	}
+
+	@Test(description = "Test the constructor with a negative capacity")
+	public void testNegativeCapacity() {
+		Assert.assertThrows(IllegalArgumentException.class, () -> new IntList(-1));
+	}
+
+}
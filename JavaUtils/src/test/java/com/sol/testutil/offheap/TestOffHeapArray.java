@@ -0,0 +1,253 @@
+package com.sol.testutil.offheap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.ArrayFiles;
+import com.sol.util.ArrayUtililities;
+import com.sol.util.DoubleArray;
+import com.sol.util.IntArray;
+import com.sol.util.LongArray;
+
+public class TestOffHeapArray {
+
+	// Number of bytes in a full segment
+	private static final long SEGMENT_BYTES = 1L << 30;
+
+	// Creates a sparse array file of zeros, so an array spanning two segments
+	// is mapped without allocating them
+	private static Path sparseFile(byte type, long length, int elementSize) throws IOException {
+		Path path = Files.createTempFile("TestOffHeapArray", ".bin");
+		ByteBuffer header = ByteBuffer.allocate(32);
+		header.putInt(0x534F4C41).put((byte) 1).put(type)
+				.put((byte) (ByteOrder.BIG_ENDIAN == ByteOrder.nativeOrder() ? 0 : 1))
+				.put((byte) 0).putLong(length);
+		header.clear();
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.write(header);
+			channel.write(ByteBuffer.allocate(1), 32 + length * elementSize - 1);
+		}
+		return path;
+	}
+
+	@Test(description = "Test get, set, copyFrom and copyTo across a segment boundary "
+			+ "of an int array")
+	public void testIntSegmentBoundary() throws IOException {
+		long boundary = SEGMENT_BYTES / 4;
+		Path path = sparseFile((byte) 1, boundary + 4, 4);
+		try(IntArray array = ArrayFiles.mapInts(path, FileChannel.MapMode.READ_WRITE)) {
+			array.set(boundary - 1, 1);
+			array.set(boundary, 2);
+			array.set(boundary + 3, 3);
+			Assert.assertEquals(array.get(boundary - 1), 1);
+			Assert.assertEquals(array.get(boundary), 2);
+			Assert.assertEquals(array.get(boundary + 3), 3);
+			Assert.assertEquals(array.get(boundary + 1), 0);
+
+			array.copyFrom(new int[] {9, 10, 11, 12, 13}, 1, boundary - 2, 4);
+			int[] copy = new int[8];
+			array.copyTo(boundary - 3, copy, 1, 7);
+			Assert.assertEquals(copy, new int[] {0, 0, 10, 11, 12, 13, 0, 3});
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyTo(boundary, new int[8], 0, 5));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test(description = "Test get, set, copyFrom and copyTo across a segment boundary "
+			+ "of a long array")
+	public void testLongSegmentBoundary() throws IOException {
+		long boundary = SEGMENT_BYTES / 8;
+		Path path = sparseFile((byte) 2, boundary + 4, 8);
+		try(LongArray array = ArrayFiles.mapLongs(path, FileChannel.MapMode.READ_WRITE)) {
+			array.set(boundary - 1, Long.MIN_VALUE);
+			array.set(boundary, Long.MAX_VALUE);
+			Assert.assertEquals(array.get(boundary - 1), Long.MIN_VALUE);
+			Assert.assertEquals(array.get(boundary), Long.MAX_VALUE);
+
+			array.copyFrom(new long[] {10L, 11L, 12L, 13L}, 0, boundary - 2, 4);
+			long[] copy = new long[6];
+			array.copyTo(boundary - 3, copy, 0, 6);
+			Assert.assertEquals(copy, new long[] {0L, 10L, 11L, 12L, 13L, 0L});
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test(description = "Test get, set, copyFrom and copyTo across a segment boundary "
+			+ "of a double array")
+	public void testDoubleSegmentBoundary() throws IOException {
+		long boundary = SEGMENT_BYTES / 8;
+		Path path = sparseFile((byte) 3, boundary + 4, 8);
+		try(DoubleArray array = ArrayFiles.mapDoubles(path, FileChannel.MapMode.READ_WRITE)) {
+			array.set(boundary - 1, -1.5);
+			array.set(boundary, 2.5);
+			Assert.assertEquals(array.get(boundary - 1), -1.5);
+			Assert.assertEquals(array.get(boundary), 2.5);
+
+			array.copyFrom(new double[] {10.0, 11.0, 12.0, 13.0}, 0, boundary - 2, 4);
+			double[] copy = new double[6];
+			array.copyTo(boundary - 3, copy, 0, 6);
+			Assert.assertEquals(copy, new double[] {0.0, 10.0, 11.0, 12.0, 13.0, 0.0});
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test(description = "Test new arrays are zeroed and negative lengths are rejected")
+	public void testAllocate() {
+		try(IntArray ints = new IntArray(5); LongArray longs = new LongArray(5);
+				DoubleArray doubles = new DoubleArray(5)) {
+			Assert.assertEquals(ints.length(), 5L);
+			Assert.assertEquals(ints.toArray(), new int[5]);
+			Assert.assertEquals(longs.toArray(), new long[5]);
+			Assert.assertEquals(doubles.toArray(), new double[5]);
+		}
+		try(IntArray empty = new IntArray(0)) {
+			Assert.assertEquals(empty.toArray(), new int[0]);
+		}
+		Assert.assertThrows(NegativeArraySizeException.class, () -> new IntArray(-1));
+		Assert.assertThrows(NegativeArraySizeException.class, () -> new LongArray(-1));
+		Assert.assertThrows(NegativeArraySizeException.class, () -> new DoubleArray(-1));
+	}
+
+	@Test(description = "Test copyFrom and copyTo reject ranges out of bounds")
+	public void testCopyBounds() {
+		try(IntArray array = IntArray.of(1, 2, 3, 4)) {
+			int[] heap = new int[4];
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyFrom(heap, -1, 0, 1));
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyFrom(heap, 2, 0, 3));
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyFrom(heap, 0, -1, 1));
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyFrom(heap, 0, 2, 3));
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyFrom(heap, 0, 0, -1));
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyTo(0, heap, 3, 2));
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyTo(3, heap, 0, 2));
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyTo(Long.MAX_VALUE, heap, 0, 1));
+			Assert.assertThrows(NullPointerException.class,
+					() -> array.copyTo(0, null, 0, 1));
+			Assert.assertThrows(IndexOutOfBoundsException.class, () -> array.get(4));
+			Assert.assertThrows(IndexOutOfBoundsException.class, () -> array.get(-1));
+
+			// A failed copy leaves the array unchanged
+			Assert.assertEquals(array.toArray(), new int[] {1, 2, 3, 4});
+			array.copyTo(2, heap, 0, 2);
+			array.copyFrom(heap, 0, 0, 0);
+			Assert.assertEquals(heap, new int[] {3, 4, 0, 0});
+		}
+		try(LongArray array = LongArray.of(1L, 2L)) {
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyFrom(new long[3], 0, 0, 3));
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyTo(1, new long[2], 0, 2));
+		}
+		try(DoubleArray array = DoubleArray.of(1.0, 2.0)) {
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyFrom(new double[3], 0, 0, 3));
+			Assert.assertThrows(IndexOutOfBoundsException.class,
+					() -> array.copyTo(1, new double[2], 0, 2));
+		}
+	}
+
+	@Test(description = "Test get and set reject negative, length and huge indexes "
+			+ "without touching any element")
+	public void testIndexBounds() {
+		long[] indexes = {-1L, 4L, 1L << 60, Long.MIN_VALUE, -(1L << 28), 1L << 32};
+		try(IntArray ints = IntArray.of(1, 2, 3, 4);
+				LongArray longs = LongArray.of(1L, 2L, 3L, 4L);
+				DoubleArray doubles = DoubleArray.of(1.0, 2.0, 3.0, 4.0)) {
+			for(long index : indexes) {
+				Assert.assertThrows(IndexOutOfBoundsException.class, () -> ints.get(index));
+				Assert.assertThrows(IndexOutOfBoundsException.class, () -> ints.set(index, 9));
+				Assert.assertThrows(IndexOutOfBoundsException.class, () -> longs.get(index));
+				Assert.assertThrows(IndexOutOfBoundsException.class, () -> longs.set(index, 9L));
+				Assert.assertThrows(IndexOutOfBoundsException.class, () -> doubles.get(index));
+				Assert.assertThrows(IndexOutOfBoundsException.class,
+						() -> doubles.set(index, 9.0));
+			}
+			Assert.assertEquals(ints.toArray(), new int[] {1, 2, 3, 4});
+			Assert.assertEquals(longs.toArray(), new long[] {1L, 2L, 3L, 4L});
+			Assert.assertEquals(doubles.toArray(), new double[] {1.0, 2.0, 3.0, 4.0});
+		}
+	}
+
+	@Test(description = "Test close() is idempotent and a closed array rejects access")
+	public void testClose() {
+		IntArray ints = IntArray.of(1, 2);
+		LongArray longs = LongArray.of(1L, 2L);
+		DoubleArray doubles = DoubleArray.of(1.0, 2.0);
+		Assert.assertFalse(ints.isClosed());
+		ints.close();
+		ints.close();
+		longs.close();
+		longs.close();
+		doubles.close();
+		doubles.close();
+
+		Assert.assertTrue(ints.isClosed());
+		Assert.assertEquals(ints.length(), 2L);
+		Assert.assertThrows(IllegalStateException.class, () -> ints.get(0));
+		Assert.assertThrows(IllegalStateException.class, () -> ints.set(0, 1));
+		Assert.assertThrows(IllegalStateException.class,
+				() -> ints.copyFrom(new int[1], 0, 0, 1));
+		Assert.assertThrows(IllegalStateException.class,
+				() -> ints.copyTo(0, new int[1], 0, 1));
+		Assert.assertThrows(IllegalStateException.class, () -> ints.toArray());
+		Assert.assertThrows(IllegalStateException.class, () -> ints.toBoxedArray());
+
+		Assert.assertTrue(longs.isClosed());
+		Assert.assertThrows(IllegalStateException.class, () -> longs.get(0));
+		Assert.assertThrows(IllegalStateException.class, () -> longs.set(0, 1L));
+		Assert.assertThrows(IllegalStateException.class, () -> longs.toArray());
+
+		Assert.assertTrue(doubles.isClosed());
+		Assert.assertThrows(IllegalStateException.class, () -> doubles.get(0));
+		Assert.assertThrows(IllegalStateException.class, () -> doubles.set(0, 1.0));
+		Assert.assertThrows(IllegalStateException.class, () -> doubles.toArray());
+	}
+
+	@Test(description = "Test boxed arrays are converted to and from off-heap arrays, "
+			+ "sequentially and in parallel")
+	public void testBoxed() {
+		int[] lengths = {5, ArrayUtililities.getParallelThreshold() + 5};
+		for(int length : lengths) {
+			Integer[] ints = new Integer[length];
+			Long[] longs = new Long[length];
+			Double[] doubles = new Double[length];
+			for(int i = 0; i < length; i++) {
+				ints[i] = i - 2;
+				longs[i] = (long) i << 33;
+				doubles[i] = i / 4.0;
+			}
+			try(IntArray array = IntArray.fromBoxedArray(ints)) {
+				Assert.assertEquals(array.get(length - 1), length - 3);
+				Assert.assertEquals(array.toBoxedArray(), ints);
+			}
+			try(LongArray array = LongArray.fromBoxedArray(longs)) {
+				Assert.assertEquals(array.toBoxedArray(), longs);
+			}
+			try(DoubleArray array = DoubleArray.fromBoxedArray(doubles)) {
+				Assert.assertEquals(array.toBoxedArray(), doubles);
+			}
+		}
+		Assert.assertThrows(NullPointerException.class,
+				() -> IntArray.fromBoxedArray(new Integer[] {1, null}));
+		Assert.assertThrows(NullPointerException.class,
+				() -> LongArray.fromBoxedArray(null));
+	}
+
+}
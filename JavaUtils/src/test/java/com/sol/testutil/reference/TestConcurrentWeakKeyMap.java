@@ -0,0 +1,95 @@
+package com.sol.testutil.reference;
+
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.reference.ConcurrentWeakKeyMap;
+import com.sol.util.reference.ConcurrentWeakKeyMap.Equivalence;
+
+public class TestConcurrentWeakKeyMap {
+
+	@Test(description = "Test put(key, value), get(key) and remove(key)")
+	public void testPutGetRemove() {
+		ConcurrentWeakKeyMap<String, Integer> map = new ConcurrentWeakKeyMap<>();
+
+		Assert.assertEquals(map.put("a", 1), Optional.empty());
+		Assert.assertEquals(map.put("a", 2), Optional.of(1));
+		Assert.assertEquals(map.putIfAbsent("a", 3), Optional.of(2));
+		Assert.assertEquals(map.get(new String("a")), Optional.of(2));
+		Assert.assertTrue(map.containsKey("a"));
+		Assert.assertEquals(map.remove("a"), Optional.of(2));
+		Assert.assertFalse(map.containsKey("a"));
+		Assert.assertTrue(map.isEmpty());
+	}
+
+	@Test(description = "Test an identity map tells equal keys apart")
+	public void testIdentity() {
+		ConcurrentWeakKeyMap<String, Integer> map =
+				new ConcurrentWeakKeyMap<>(Equivalence.IDENTITY);
+		String first = new String("key");
+		String second = new String("key");
+		map.put(first, 1);
+		map.put(second, 2);
+
+		Assert.assertEquals(map.size(), 2);
+		Assert.assertEquals(map.get(first), Optional.of(1));
+		Assert.assertEquals(map.get(second), Optional.of(2));
+		Assert.assertEquals(map.get(new String("key")), Optional.empty());
+	}
+
+	@Test(description = "Test concurrent writers over many segments and resizes")
+	public void testConcurrentWrites() {
+		ConcurrentWeakKeyMap<Integer, Integer> map =
+				new ConcurrentWeakKeyMap<>(Equivalence.EQUALS, 4);
+		Integer[] keys = IntStream.range(0, 50_000).boxed().toArray(Integer[]::new);
+
+		IntStream.range(0, keys.length).parallel()
+				.forEach(i -> map.computeIfAbsent(keys[i], key -> key * 2));
+		IntStream.range(0, keys.length).parallel().filter(i -> 0 == i % 2)
+				.forEach(i -> map.remove(keys[i]));
+
+		Assert.assertEquals(map.size(), keys.length / 2);
+		for(int i = 0; i < keys.length; i++) {
+			Assert.assertEquals(map.get(keys[i]),
+					0 == i % 2 ? Optional.empty() : Optional.of(i * 2));
+		}
+	}
+
+	@Test(description = "Test entries of collected keys are removed")
+	public void testCollectedKeys() throws InterruptedException {
+		ConcurrentWeakKeyMap<Object, Integer> map = new ConcurrentWeakKeyMap<>();
+		Object kept = new Object();
+		map.put(kept, -1);
+		for(int i = 0; i < 1000; i++) {
+			map.put(new Object(), i);
+		}
+		for(int i = 0; i < 50 && map.size() > 1; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		Assert.assertEquals(map.size(), 1);
+		Assert.assertEquals(map.get(kept), Optional.of(-1));
+	}
+
+	@Test(description = "Test null keys and values and a bad concurrency level")
+	public void testIllegalArguments() {
+		ConcurrentWeakKeyMap<String, String> map = new ConcurrentWeakKeyMap<>();
+
+		Assert.assertThrows(NullPointerException.class, () -> map.put(null, "a"));
+		Assert.assertThrows(NullPointerException.class, () -> map.put("a", null));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> new ConcurrentWeakKeyMap<String, String>(Equivalence.EQUALS, 0));
+	}
+
+	@Test(description = "Test a huge concurrency level is capped")
+	public void testHugeConcurrencyLevel() {
+		ConcurrentWeakKeyMap<String, String> map =
+				new ConcurrentWeakKeyMap<>(Equivalence.EQUALS, Integer.MAX_VALUE);
+		map.put("a", "b");
+
+		Assert.assertEquals(map.get("a"), Optional.of("b"));
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.sol.testutil.reference;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongBiFunction;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.reference.HeapBudgetCache;
+
+public class TestHeapBudgetCache {
+
+	// A cache of byte arrays weighed by their length, watching 99% of the heap
+	private static HeapBudgetCache<Integer, byte[]> newCache(long maxHotWeight) {
+		return new HeapBudgetCache<>(maxHotWeight, (key, value) -> value.length, 0.99);
+	}
+
+	@Test(description = "Test the hot tier is bounded by weight and demotes its "
+			+ "least recently used entries")
+	public void testHotTierBound() {
+		try(HeapBudgetCache<Integer, byte[]> cache = newCache(100)) {
+			for(int i = 0; i < 10; i++) {
+				cache.put(i, new byte[20]);
+			}
+			Assert.assertEquals(cache.hotSize(), 5);
+			Assert.assertEquals(cache.hotWeight(), 100L);
+			Assert.assertEquals(cache.coldSize(), 5);
+
+			// Reading a cold entry promotes it, demoting the least recently used
+			byte[] first = cache.get(0).get();
+			Assert.assertEquals(first.length, 20);
+			Assert.assertEquals(cache.hotSize(), 5);
+			Assert.assertEquals(cache.coldSize(), 5);
+			Assert.assertTrue(cache.get(5).isPresent());
+		}
+	}
+
+	@Test(description = "Test an entry heavier than the hot tier goes to the cold tier")
+	public void testHeavyEntry() {
+		try(HeapBudgetCache<Integer, byte[]> cache = newCache(100)) {
+			cache.put(1, new byte[200]);
+
+			Assert.assertEquals(cache.hotSize(), 0);
+			Assert.assertEquals(cache.coldSize(), 1);
+			Assert.assertEquals(cache.remove(1).get().length, 200);
+			Assert.assertEquals(cache.remove(1), Optional.empty());
+		}
+	}
+
+	@Test(description = "Test shed(fraction) drops the coldest entries")
+	public void testShed() {
+		try(HeapBudgetCache<Integer, byte[]> cache = newCache(1000)) {
+			for(int i = 0; i < 10; i++) {
+				cache.put(i, new byte[10]);
+			}
+			cache.get(0);
+			cache.shed(0.5);
+
+			Assert.assertEquals(cache.hotWeight(), 50L);
+			Assert.assertTrue(cache.get(0).isPresent());
+			Assert.assertFalse(cache.get(1).isPresent());
+			Assert.assertEquals(cache.coldSize(), 0);
+		}
+	}
+
+	@Test(description = "Test computeIfAbsent(key, loader) caches the loaded value")
+	public void testComputeIfAbsent() {
+		try(HeapBudgetCache<Integer, byte[]> cache = newCache(1000)) {
+			byte[] loaded = cache.computeIfAbsent(1, key -> new byte[key]);
+
+			Assert.assertSame(cache.computeIfAbsent(1, key -> new byte[2]), loaded);
+			Assert.assertNull(cache.computeIfAbsent(2, key -> null));
+			Assert.assertEquals(cache.hotSize(), 1);
+		}
+	}
+
+	@Test(description = "Test a reader promoting a cold entry never overwrites a newer value")
+	public void testConcurrentPutGet() throws InterruptedException {
+		final Thread writer = Thread.currentThread();
+		final CountDownLatch promoting = new CountDownLatch(1);
+		final CountDownLatch written = new CountDownLatch(1);
+		// The reader pauses while weighing the value it promotes, until the
+		// writer has written or a timeout if the writer waits on the reader
+		ToLongBiFunction<Integer, byte[]> weigher = (key, value) -> {
+			if(Thread.currentThread() != writer) {
+				promoting.countDown();
+				try {
+					written.await(200, TimeUnit.MILLISECONDS);
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return value.length;
+		};
+		try(HeapBudgetCache<Integer, byte[]> cache = new HeapBudgetCache<>(20, weigher, 0.99)) {
+			cache.put(1, new byte[10]);
+			cache.put(2, new byte[20]);
+			Assert.assertEquals(cache.coldSize(), 1);
+
+			Thread reader = new Thread(() -> cache.get(1));
+			reader.start();
+			promoting.await();
+			Assert.assertEquals(cache.put(1, new byte[11]).get().length, 10);
+			written.countDown();
+			reader.join();
+
+			Assert.assertEquals(cache.get(1).get().length, 11);
+		}
+	}
+
+	@Test(description = "Test illegal arguments are rejected")
+	public void testIllegalArguments() {
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> new HeapBudgetCache<Integer, byte[]>(-1, (key, value) -> 1, 0.5));
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> new HeapBudgetCache<Integer, byte[]>(1, (key, value) -> 1, 0));
+		try(HeapBudgetCache<Integer, byte[]> cache =
+				new HeapBudgetCache<>(10, (key, value) -> -1, 0.99)) {
+			Assert.assertThrows(IllegalArgumentException.class,
+					() -> cache.put(1, new byte[1]));
+			Assert.assertThrows(IllegalArgumentException.class, () -> cache.shed(2));
+		}
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.sol.testutil.reference;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.reference.PhantomReferenceContainer;
+import com.sol.util.reference.ReferenceReaper;
+
+public class TestPhantomReferenceContainer {
+
+	@Test(description = "Test close() runs the action once, in the calling thread")
+	public void testClose() {
+		AtomicInteger runs = new AtomicInteger();
+		Thread caller = Thread.currentThread();
+		Object referent = new Object();
+		PhantomReferenceContainer<Object> container = new PhantomReferenceContainer<>(
+				referent, () -> {
+					Assert.assertSame(Thread.currentThread(), caller);
+					runs.incrementAndGet();
+				});
+		container.close();
+		container.close();
+
+		Assert.assertEquals(runs.get(), 1);
+		Assert.assertEquals(container.get(), Optional.empty());
+	}
+
+	@Test(description = "Test the action runs on the reaper once the referent is collected")
+	public void testCollected() throws InterruptedException {
+		try(ReferenceReaper reaper = new ReferenceReaper("test reaper")) {
+			CountDownLatch cleaned = new CountDownLatch(1);
+			PhantomReferenceContainer<Object> container =
+					new PhantomReferenceContainer<>(new Object(), cleaned::countDown, reaper);
+			for(int i = 0; i < 50 && cleaned.getCount() > 0; i++) {
+				System.gc();
+				cleaned.await(20, TimeUnit.MILLISECONDS);
+			}
+
+			Assert.assertEquals(cleaned.getCount(), 0L);
+			Assert.assertNotNull(container);
+		}
+	}
+
+	@Test(description = "Test clear() cancels the action")
+	public void testClear() {
+		AtomicInteger runs = new AtomicInteger();
+		PhantomReferenceContainer<Object> container =
+				new PhantomReferenceContainer<>(new Object(), runs::incrementAndGet);
+		container.clear();
+		container.close();
+
+		Assert.assertEquals(runs.get(), 0);
+	}
+
+	@Test(description = "Test a container of a queue of its own is queued when closed")
+	public void testQueue() {
+		ReferenceQueue<Object> queue = new ReferenceQueue<>();
+		PhantomReferenceContainer<Object> container =
+				new PhantomReferenceContainer<>(new Object(), queue);
+
+		Assert.assertTrue(container.enqueue());
+		Assert.assertNotNull(queue.poll());
+		container.close();
+		Assert.assertEquals(container.get(), Optional.empty());
+	}
+
+}
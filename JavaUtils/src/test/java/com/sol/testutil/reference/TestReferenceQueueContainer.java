@@ -0,0 +1,68 @@
+package com.sol.testutil.reference;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.reference.ReferenceQueueContainer;
+import com.sol.util.reference.WeakReferenceContainer;
+
+public class TestReferenceQueueContainer {
+
+	// Enqueues the given number of references on the queue
+	private static List<WeakReferenceContainer<Object>> enqueue(
+			ReferenceQueue<Object> queue, int count) {
+		List<WeakReferenceContainer<Object>> containers = new ArrayList<>();
+		for(int i = 0; i < count; i++) {
+			WeakReferenceContainer<Object> container =
+					new WeakReferenceContainer<>(new Object(), queue);
+			container.enqueue();
+			containers.add(container);
+		}
+		return containers;
+	}
+
+	@Test(description = "Test drainTo(consumer, maxBatch) removes at most a batch")
+	public void testDrainTo() {
+		ReferenceQueue<Object> queue = new ReferenceQueue<>();
+		ReferenceQueueContainer<Object> container = new ReferenceQueueContainer<>(queue);
+		enqueue(queue, 10);
+		List<Reference<?>> drained = new ArrayList<>();
+
+		Assert.assertEquals(container.drainTo(drained::add, 4), 4);
+		Assert.assertEquals(container.drainTo(drained::add), 6);
+		Assert.assertEquals(container.drainTo(drained::add), 0);
+		Assert.assertEquals(drained.size(), 10);
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> container.drainTo(drained::add, 0));
+	}
+
+	@Test(description = "Test the drainer thread hands batches to the handlers")
+	public void testDrainer() throws InterruptedException {
+		ReferenceQueue<Object> queue = new ReferenceQueue<>();
+		ReferenceQueueContainer<Object> container = new ReferenceQueueContainer<>(queue);
+		CountDownLatch done = new CountDownLatch(100);
+		AtomicInteger largestBatch = new AtomicInteger();
+		container.addHandler(batch -> {
+			largestBatch.accumulateAndGet(batch.size(), Math::max);
+			for(int i = 0; i < batch.size(); i++) {
+				done.countDown();
+			}
+		});
+		enqueue(queue, 100);
+		container.startDraining(16);
+
+		Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+		Assert.assertTrue(largestBatch.get() <= 16);
+		Assert.assertTrue(container.isDraining());
+		Assert.assertThrows(IllegalStateException.class, () -> container.startDraining(16));
+		Assert.assertTrue(container.stopDraining());
+		Assert.assertFalse(container.isDraining());
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.sol.testutil.reference;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.reference.ReferenceQueueContainer;
+import com.sol.util.reference.ReferenceReaper;
+import com.sol.util.reference.ReferenceReaper.Cleanable;
+import com.sol.util.reference.ReferenceReaper.QueueStats;
+import com.sol.util.reference.WeakReferenceContainer;
+
+public class TestReferenceReaper {
+
+	@Test(description = "Test the action of a collected object runs on the reaper")
+	public void testCleanupAction() throws InterruptedException {
+		try(ReferenceReaper reaper = new ReferenceReaper("test reaper")) {
+			CountDownLatch cleaned = new CountDownLatch(1);
+			reaper.register(new Object(), cleaned::countDown);
+			for(int i = 0; i < 50 && cleaned.getCount() > 0; i++) {
+				System.gc();
+				cleaned.await(20, TimeUnit.MILLISECONDS);
+			}
+
+			Assert.assertEquals(cleaned.getCount(), 0L);
+		}
+	}
+
+	@Test(description = "Test clean() runs an action once and cancel() skips it")
+	public void testCleanAndCancel() {
+		try(ReferenceReaper reaper = new ReferenceReaper("test reaper")) {
+			AtomicInteger runs = new AtomicInteger();
+			Object referent = new Object();
+			Cleanable cleaned = reaper.register(referent, runs::incrementAndGet);
+			Cleanable canceled = reaper.register(referent, runs::incrementAndGet);
+			cleaned.clean();
+			cleaned.clean();
+			canceled.cancel();
+			canceled.clean();
+
+			Assert.assertEquals(runs.get(), 1);
+		}
+	}
+
+	@Test(description = "Test registered queues are drained and reported")
+	public void testRegisteredQueue() throws InterruptedException {
+		try(ReferenceReaper reaper = new ReferenceReaper("test reaper")) {
+			ReferenceQueue<Object> queue = new ReferenceQueue<>();
+			ReferenceQueueContainer<Object> container = new ReferenceQueueContainer<>(queue);
+			CountDownLatch handled = new CountDownLatch(1000);
+			reaper.register("test queue", container, reference -> handled.countDown());
+			for(int i = 0; i < 1000; i++) {
+				new WeakReferenceContainer<>(new Object(), queue).enqueue();
+			}
+
+			Assert.assertTrue(handled.await(10, TimeUnit.SECONDS));
+			// The statistics are recorded once a batch is handled
+			List<QueueStats> stats = reaper.stats();
+			for(int i = 0; i < 100 && stats.get(1).drained() < 1000; i++) {
+				Thread.sleep(10);
+				stats = reaper.stats();
+			}
+			Assert.assertEquals(stats.size(), 2);
+			Assert.assertEquals(stats.get(1).name(), "test queue");
+			Assert.assertEquals(stats.get(1).drained(), 1000L);
+			Assert.assertThrows(IllegalArgumentException.class,
+					() -> reaper.register("again", container, reference -> { }));
+			Assert.assertTrue(reaper.unregister(container));
+			Assert.assertFalse(reaper.unregister(container));
+		}
+	}
+
+	@Test(description = "Test an idle reaper reports no lag and no drained wake-ups")
+	public void testIdleStats() throws InterruptedException {
+		try(ReferenceReaper reaper = new ReferenceReaper("test reaper")) {
+			ReferenceQueueContainer<Object> container =
+					new ReferenceQueueContainer<>(new ReferenceQueue<>());
+			reaper.register("idle queue", container, reference -> { });
+			reaper.unregister(container);
+			Thread.sleep(3 * ReferenceReaper.MAX_WAIT_MILLIS);
+			QueueStats cleanups = reaper.stats().get(0);
+
+			Assert.assertEquals(cleanups.drained(), 0L);
+			Assert.assertTrue(cleanups.lagMillis() <= 2 * ReferenceReaper.MAX_WAIT_MILLIS,
+					cleanups.toString());
+			Assert.assertFalse(cleanups.isBehind());
+		}
+	}
+
+	@Test(description = "Test a closed reaper refuses registrations")
+	public void testClose() {
+		ReferenceReaper reaper = new ReferenceReaper("test reaper");
+		reaper.close();
+
+		Assert.assertTrue(reaper.isClosed());
+		Assert.assertThrows(IllegalStateException.class,
+				() -> reaper.register(new Object(), () -> { }));
+		Assert.assertThrows(UnsupportedOperationException.class,
+				() -> ReferenceReaper.getDefault().close());
+	}
+
+}
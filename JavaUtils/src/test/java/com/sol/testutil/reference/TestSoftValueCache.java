@@ -0,0 +1,69 @@
+package com.sol.testutil.reference;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.reference.SoftValueCache;
+
+public class TestSoftValueCache {
+
+	@Test(description = "Test put(key, value), get(key) and remove(key)")
+	public void testPutGetRemove() {
+		SoftValueCache<String, String> cache = new SoftValueCache<>();
+
+		Assert.assertEquals(cache.put("a", "first"), Optional.empty());
+		Assert.assertEquals(cache.put("a", "second"), Optional.of("first"));
+		Assert.assertEquals(cache.get("a"), Optional.of("second"));
+		Assert.assertEquals(cache.size(), 1);
+		Assert.assertEquals(cache.remove("a"), Optional.of("second"));
+		Assert.assertEquals(cache.get("a"), Optional.empty());
+		Assert.assertEquals(cache.size(), 0);
+	}
+
+	@Test(description = "Test computeIfAbsent(key, loader) loads a key once")
+	public void testComputeIfAbsent() {
+		SoftValueCache<Integer, String> cache = new SoftValueCache<>();
+		AtomicInteger loads = new AtomicInteger();
+
+		IntStream.range(0, 10_000).parallel().forEach(i -> Assert.assertEquals(
+				cache.computeIfAbsent(i % 100, key -> {
+					loads.incrementAndGet();
+					return "value" + key;
+				}), "value" + i % 100));
+		Assert.assertEquals(loads.get(), 100);
+		Assert.assertEquals(cache.size(), 100);
+	}
+
+	@Test(description = "Test computeIfAbsent(key, loader) caches nothing for null")
+	public void testNullLoad() {
+		SoftValueCache<String, String> cache = new SoftValueCache<>();
+
+		Assert.assertNull(cache.computeIfAbsent("a", key -> null));
+		Assert.assertEquals(cache.size(), 0);
+	}
+
+	@Test(description = "Test null keys and values are rejected")
+	public void testNulls() {
+		SoftValueCache<String, String> cache = new SoftValueCache<>();
+
+		Assert.assertThrows(NullPointerException.class, () -> cache.put(null, "a"));
+		Assert.assertThrows(NullPointerException.class, () -> cache.put("a", null));
+		Assert.assertThrows(NullPointerException.class,
+				() -> cache.computeIfAbsent("a", null));
+	}
+
+	@Test(description = "Test clear() removes every entry")
+	public void testClear() {
+		SoftValueCache<Integer, Integer> cache = new SoftValueCache<>(16);
+		for(int i = 0; i < 10; i++) {
+			cache.put(i, i);
+		}
+		cache.clear();
+
+		Assert.assertEquals(cache.size(), 0);
+		Assert.assertEquals(cache.removeCleared(), 0);
+	}
+
+}
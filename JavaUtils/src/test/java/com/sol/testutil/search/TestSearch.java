@@ -0,0 +1,229 @@
+package com.sol.testutil.search;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.sol.util.ArraySearch;
+import com.sol.util.EytzingerDoubleIndex;
+import com.sol.util.EytzingerIntIndex;
+import com.sol.util.EytzingerLongIndex;
+
+public class TestSearch {
+	private final int[] sortedArray = {1, 3, 3, 3, 5, 8, 13, 21};
+	private final int[] keys = {0, 1, 2, 3, 4, 21, 22};
+	private final int[] lowerBounds = {0, 0, 1, 1, 4, 7, 8};
+	private final int[] upperBounds = {0, 1, 1, 4, 4, 8, 8};
+
+	// Array lengths checked against a linear scan: every length up to 300,
+	// and lengths around powers of two
+	private static int[] lengths() {
+		int[] lengths = new int[301 + 3 * 4];
+		for(int i = 0; i <= 300; i++) {
+			lengths[i] = i;
+		}
+		int next = 301;
+		for(int power : new int[] {511, 1023, 4095, 16383}) {
+			lengths[next++] = power;
+			lengths[next++] = power + 1;
+			lengths[next++] = power + 2;
+		}
+		return lengths;
+	}
+
+	// Number of elements of the array less than the key, or not greater
+	// than the key if inclusive
+	private static int linearBound(int[] array, int from, int to, int key,
+			boolean inclusive) {
+		int bound = from;
+		while(bound < to && (array[bound] < key || inclusive && array[bound] == key)) {
+			bound++;
+		}
+		return bound;
+	}
+
+	private static int linearBound(long[] array, long key, boolean inclusive) {
+		int bound = 0;
+		while(bound < array.length
+				&& (array[bound] < key || inclusive && array[bound] == key)) {
+			bound++;
+		}
+		return bound;
+	}
+
+	private static int linearBound(double[] array, double key, boolean inclusive) {
+		int bound = 0;
+		while(bound < array.length && (Double.compare(array[bound], key) < 0
+				|| inclusive && Double.compare(array[bound], key) == 0)) {
+			bound++;
+		}
+		return bound;
+	}
+
+	@Test(description = "Test lowerBound(array, key) and upperBound(array, key)")
+	public void testBounds() {
+		for(int i = 0; i < keys.length; i++) {
+			Assert.assertEquals(ArraySearch.lowerBound(sortedArray, keys[i]),
+					lowerBounds[i]);
+			Assert.assertEquals(ArraySearch.upperBound(sortedArray, keys[i]),
+					upperBounds[i]);
+		}
+	}
+
+	@Test(description = "Test batched lowerBound(array, keys)")
+	public void testBatchedBounds() {
+		Assert.assertEquals(ArraySearch.lowerBound(sortedArray, keys), lowerBounds);
+		Assert.assertEquals(ArraySearch.upperBound(sortedArray, keys), upperBounds);
+	}
+
+	@Test(description = "Test bounds in a range of an array")
+	public void testRangeBounds() {
+		Assert.assertEquals(ArraySearch.lowerBound(sortedArray, 2, 6, 1), 2);
+		Assert.assertEquals(ArraySearch.lowerBound(sortedArray, 2, 6, 100), 6);
+		Assert.assertThrows(IndexOutOfBoundsException.class,
+				() -> ArraySearch.lowerBound(sortedArray, 2, 9, 1));
+	}
+
+	@Test(description = "Test an Eytzinger index returns sorted positions")
+	public void testEytzingerIndex() {
+		EytzingerIntIndex index = new EytzingerIntIndex(sortedArray);
+
+		for(int i = 0; i < keys.length; i++) {
+			Assert.assertEquals(index.lowerBound(keys[i]), lowerBounds[i]);
+			Assert.assertEquals(index.upperBound(keys[i]), upperBounds[i]);
+		}
+		Assert.assertEquals(index.lowerBound(keys), lowerBounds);
+		Assert.assertEquals(index.upperBound(keys), upperBounds);
+		Assert.assertTrue(index.contains(13));
+		Assert.assertFalse(index.contains(4));
+	}
+
+	@Test(description = "Test doubles are ordered as by Double.compare")
+	public void testDoubleOrder() {
+		double[] array = {Double.NEGATIVE_INFINITY, -0.0, 0.0, 1.0, Double.NaN};
+		EytzingerDoubleIndex index = new EytzingerDoubleIndex(array);
+
+		Assert.assertEquals(ArraySearch.lowerBound(array, 0.0), 2);
+		Assert.assertEquals(ArraySearch.lowerBound(array, Double.NaN), 4);
+		Assert.assertEquals(index.upperBound(-0.0), 2);
+		Assert.assertTrue(index.contains(Double.NaN));
+	}
+
+	@Test(description = "Test int bounds and the Eytzinger index against a linear "
+			+ "scan, over many lengths with runs of duplicates and keys out of range")
+	public void testRandomIntBounds() {
+		Random random = new Random(42);
+		for(int length : lengths()) {
+			// Few distinct values give runs of duplicates
+			int spread = 1 + random.nextInt(length + 1);
+			int[] array = new int[length];
+			for(int i = 0; i < length; i++) {
+				array[i] = random.nextInt(spread) * 2 - spread;
+			}
+			Arrays.sort(array);
+			EytzingerIntIndex index = new EytzingerIntIndex(array);
+			int[] keys = new int[34];
+			for(int i = 0; i < 30; i++) {
+				keys[i] = random.nextInt(2 * spread + 7) - spread - 3;
+			}
+			keys[30] = Integer.MIN_VALUE;
+			keys[31] = Integer.MAX_VALUE;
+			keys[32] = -spread - 1;
+			keys[33] = spread + 1;
+
+			int[] lower = new int[keys.length];
+			int[] upper = new int[keys.length];
+			for(int i = 0; i < keys.length; i++) {
+				lower[i] = linearBound(array, 0, length, keys[i], false);
+				upper[i] = linearBound(array, 0, length, keys[i], true);
+				Assert.assertEquals(ArraySearch.lowerBound(array, keys[i]), lower[i]);
+				Assert.assertEquals(ArraySearch.upperBound(array, keys[i]), upper[i]);
+				Assert.assertEquals(index.lowerBound(keys[i]), lower[i]);
+				Assert.assertEquals(index.upperBound(keys[i]), upper[i]);
+				Assert.assertEquals(index.contains(keys[i]), lower[i] != upper[i]);
+			}
+			Assert.assertEquals(ArraySearch.lowerBound(array, keys), lower);
+			Assert.assertEquals(ArraySearch.upperBound(array, keys), upper);
+			Assert.assertEquals(index.lowerBound(keys), lower);
+			Assert.assertEquals(index.upperBound(keys), upper);
+
+			// A random range of the array
+			int from = random.nextInt(length + 1);
+			int to = from + random.nextInt(length - from + 1);
+			for(int key : keys) {
+				Assert.assertEquals(ArraySearch.lowerBound(array, from, to, key),
+						linearBound(array, from, to, key, false));
+				Assert.assertEquals(ArraySearch.upperBound(array, from, to, key),
+						linearBound(array, from, to, key, true));
+			}
+		}
+	}
+
+	@Test(description = "Test long bounds and the Eytzinger index against a linear "
+			+ "scan, over many lengths with runs of duplicates and keys out of range")
+	public void testRandomLongBounds() {
+		Random random = new Random(43);
+		for(int length : lengths()) {
+			int spread = 1 + random.nextInt(length + 1);
+			long[] array = new long[length];
+			for(int i = 0; i < length; i++) {
+				array[i] = (random.nextInt(spread) * 2L - spread) << 32;
+			}
+			Arrays.sort(array);
+			EytzingerLongIndex index = new EytzingerLongIndex(array);
+			long[] keys = new long[24];
+			for(int i = 0; i < 16; i++) {
+				keys[i] = (random.nextInt(spread + 3) - spread - 1L) << 32;
+			}
+			long[] edges = {Long.MIN_VALUE, Long.MAX_VALUE, 0L, -1L, 1L,
+					(-spread - 2L) << 32, (spread + 2L) << 32, random.nextLong()};
+			System.arraycopy(edges, 0, keys, 16, edges.length);
+
+			for(long key : keys) {
+				int lower = linearBound(array, key, false);
+				int upper = linearBound(array, key, true);
+				Assert.assertEquals(ArraySearch.lowerBound(array, key), lower);
+				Assert.assertEquals(ArraySearch.upperBound(array, key), upper);
+				Assert.assertEquals(index.lowerBound(key), lower);
+				Assert.assertEquals(index.upperBound(key), upper);
+			}
+			Assert.assertEquals(index.lowerBound(keys),
+					ArraySearch.lowerBound(array, keys));
+			Assert.assertEquals(index.upperBound(keys),
+					ArraySearch.upperBound(array, keys));
+		}
+	}
+
+	@Test(description = "Test double bounds and the Eytzinger index against a linear "
+			+ "scan, with signed zeros, infinities and NaN")
+	public void testRandomDoubleBounds() {
+		Random random = new Random(44);
+		double[] specials = {Double.NEGATIVE_INFINITY, -0.0, 0.0,
+				Double.POSITIVE_INFINITY, Double.NaN, -1.5, 1.5};
+		for(int length : lengths()) {
+			double[] array = new double[length];
+			for(int i = 0; i < length; i++) {
+				array[i] = specials[random.nextInt(specials.length)];
+			}
+			Arrays.sort(array);
+			EytzingerDoubleIndex index = new EytzingerDoubleIndex(array);
+
+			for(double key : new double[] {Double.NEGATIVE_INFINITY, -2.0, -0.0, 0.0,
+					1.0, Double.POSITIVE_INFINITY, Double.NaN}) {
+				int lower = linearBound(array, key, false);
+				int upper = linearBound(array, key, true);
+				Assert.assertEquals(ArraySearch.lowerBound(array, key), lower);
+				Assert.assertEquals(ArraySearch.upperBound(array, key), upper);
+				Assert.assertEquals(index.lowerBound(key), lower);
+				Assert.assertEquals(index.upperBound(key), upper);
+			}
+		}
+	}
+
+	@Test(description = "Test an Eytzinger index rejects an unsorted array")
+	public void testUnsorted() {
+		Assert.assertThrows(IllegalArgumentException.class,
+				() -> new EytzingerIntIndex(new int[] {2, 1}));
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.sol.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TestDirectBuffers {
+
+	@Test(description = "Test allocate(capacity) returns a zeroed direct buffer in the "
+			+ "native byte order")
+	public void testAllocate() {
+		ByteBuffer buffer = DirectBuffers.allocate(64);
+		try {
+			Assert.assertTrue(buffer.isDirect());
+			Assert.assertEquals(buffer.order(), ByteOrder.nativeOrder());
+			Assert.assertEquals(buffer.capacity(), 64);
+			for(int i = 0; i < 64; i++) {
+				Assert.assertEquals(buffer.get(i), (byte) 0);
+			}
+		} finally {
+			DirectBuffers.free(buffer);
+		}
+	}
+
+	@Test(description = "Test free(buffer) leaves heap buffers and views alone")
+	public void testFree() {
+		ByteBuffer heap = ByteBuffer.allocate(8);
+		DirectBuffers.free(heap);
+		heap.putLong(0, 1L);
+		Assert.assertEquals(heap.getLong(0), 1L);
+
+		ByteBuffer buffer = DirectBuffers.allocate(16);
+		ByteBuffer view = buffer.duplicate();
+		DirectBuffers.free(view);
+		buffer.putLong(8, 2L);
+		Assert.assertEquals(buffer.getLong(8), 2L);
+		DirectBuffers.free(buffer);
+	}
+
+}
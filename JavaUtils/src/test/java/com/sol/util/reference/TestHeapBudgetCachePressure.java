@@ -0,0 +1,69 @@
+package com.sol.util.reference;
+
+import java.lang.management.MemoryUsage;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TestHeapBudgetCachePressure {
+
+	// A pool with the given percent of its maximum in use
+	private static MemoryUsage usage(long percent) {
+		return new MemoryUsage(0, percent, 100, 100);
+	}
+
+	@Test(description = "Test a threshold notification below the fraction is ignored")
+	public void testBelowFraction() {
+		try(HeapBudgetCache<Integer, byte[]> cache =
+				new HeapBudgetCache<>(100, (key, value) -> value.length, 0.5, () -> 0.4)) {
+			for(int i = 0; i < 10; i++) {
+				cache.put(i, new byte[10]);
+			}
+			cache.onThresholdExceeded(usage(40));
+
+			Assert.assertFalse(cache.isUnderPressure());
+			Assert.assertEquals(cache.hotWeight(), 100L);
+		}
+	}
+
+	@Test(description = "Test pressure sheds a step, drops evicted entries, sheds at "
+			+ "most a step per interval, and ends once the heap is below the fraction")
+	public void testPressure() throws InterruptedException {
+		final double[] heapUsage = {0.6};
+		try(HeapBudgetCache<Integer, byte[]> cache =
+				new HeapBudgetCache<>(100, (key, value) -> value.length, 0.5, () -> heapUsage[0])) {
+			for(int i = 0; i < 10; i++) {
+				cache.put(i, new byte[10]);
+			}
+			cache.onThresholdExceeded(usage(60));
+
+			// A step sheds a quarter of the hot tier
+			Assert.assertTrue(cache.isUnderPressure());
+			Assert.assertEquals(cache.hotWeight(), 70L);
+			Assert.assertEquals(cache.coldSize(), 0);
+
+			// Under pressure, entries evicted from the hot tier are dropped, and
+			// no step is shed before the interval elapses
+			cache.put(10, new byte[40]);
+			Assert.assertEquals(cache.hotWeight(), 100L);
+			Assert.assertEquals(cache.coldSize(), 0);
+			Assert.assertFalse(cache.get(0).isPresent());
+
+			// After the interval, a write sheds another step
+			Thread.sleep(HeapBudgetCache.SHED_INTERVAL_MILLIS + 10);
+			cache.put(11, new byte[10]);
+			Assert.assertTrue(cache.isUnderPressure());
+			Assert.assertEquals(cache.hotWeight(), 80L);
+			Assert.assertEquals(cache.coldSize(), 0);
+
+			// Once the heap is below the fraction, pressure ends and evicted
+			// entries are demoted again
+			heapUsage[0] = 0.4;
+			Thread.sleep(HeapBudgetCache.SHED_INTERVAL_MILLIS + 10);
+			cache.put(12, new byte[30]);
+			Assert.assertFalse(cache.isUnderPressure());
+			Assert.assertEquals(cache.hotWeight(), 100L);
+			Assert.assertTrue(cache.coldSize() > 0);
+		}
+	}
+
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.benchmarks;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sol.util.ArrayUtililities;
+
+/**
+ * Measures {@link ArrayUtililities#getArrayInstance(Object[], int)} against a
+ * plain {@code new} expression and against the reflective
+ * {@link Array#newInstance(Class, int)} it used to call, and measures the
+ * pooled variant.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayInstanceBenchmark {
+
+	/**
+	 * Length of the new arrays.
+	 */
+	@Param({"16", "1024", "65536"})
+	public int length;
+
+	// Prototype array of the new arrays
+	private final String[] prototype = new String[0];
+
+	/**
+	 * Allocates with a plain {@code new} expression.
+	 * @return the new array
+	 */
+	@Benchmark
+	public String[] newExpression() {
+		return new String[length];
+	}
+
+	/**
+	 * Allocates as {@code getArrayInstance} did before its allocators were
+	 * cached: by looking up the component type and calling
+	 * {@link Array#newInstance(Class, int)}.
+	 * @return the new array
+	 */
+	@Benchmark
+	public String[] reflective() {
+		return (String[]) Array.newInstance(
+				prototype.getClass().getComponentType(), length);
+	}
+
+	/**
+	 * Allocates with {@link ArrayUtililities#getArrayInstance(Object[], int)}.
+	 * @return the new array
+	 */
+	@Benchmark
+	public String[] getArrayInstance() {
+		return ArrayUtililities.getArrayInstance(prototype, length);
+	}
+
+	/**
+	 * Takes an array from the pool and hands it back.
+	 * @return the pooled array
+	 */
+	@Benchmark
+	public String[] getPooledArrayInstance() {
+		final String[] array = ArrayUtililities.getPooledArrayInstance(prototype, length);
+		ArrayUtililities.releaseArrayInstance(array);
+		return array;
+	}
+
+}
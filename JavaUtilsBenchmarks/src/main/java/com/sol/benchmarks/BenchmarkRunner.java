@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.benchmarks;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks once per thread count, and writes the results of every
+ * run as JSON to {@code <directory>/threads-<count>.json}.
+ * <p>
+ * Usage: {@code java -jar benchmarks.jar [threads] [directory] [regexp]},
+ * where {@code threads} is a comma separated list of thread counts (default
+ * {@code 1,2,4}), {@code directory} is the directory of the results (default
+ * {@code results}) and {@code regexp} selects the benchmarks to run (default
+ * all of them).
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+public final class BenchmarkRunner {
+
+	// Constructor. Class BenchmarkRunner is not instantiable.
+	private BenchmarkRunner() { }
+
+	/**
+	 * Runs the benchmarks.
+	 * @param args - thread counts, result directory and benchmark regexp, all
+	 * optional
+	 * @throws NumberFormatException if a thread count is not a number
+	 * @throws RunnerException if a benchmark fails
+	 */
+	public static void main(final String[] args)
+			throws NumberFormatException, RunnerException {
+		final String threads = args.length > 0 ? args[0] : "1,2,4";
+		final File directory = new File(args.length > 1 ? args[1] : "results");
+		final String include = args.length > 2 ? args[2]
+				: BenchmarkRunner.class.getPackage().getName() + ".*Benchmark";
+
+		if(!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IllegalArgumentException("Cannot create " + directory);
+		}
+		for(final String count : threads.split(",")) {
+			final int threadCount = Integer.parseInt(count.trim());
+			final Options options = new OptionsBuilder()
+					.include(include)
+					.threads(threadCount)
+					.resultFormat(ResultFormatType.JSON)
+					.result(new File(directory, "threads-" + threadCount + ".json").getPath())
+					.build();
+			new Runner(options).run();
+		}
+	}
+
+}
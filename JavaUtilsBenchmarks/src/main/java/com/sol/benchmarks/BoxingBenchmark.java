@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sol.util.ArrayUtililities;
+
+/**
+ * Measures the boxing and unboxing conversions of {@link ArrayUtililities},
+ * adaptive and forced parallel, against a plain loop.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoxingBenchmark {
+
+	/**
+	 * Length of the converted arrays.
+	 */
+	@Param({"1000", "100000", "1000000"})
+	public int length;
+
+	// Array of primitives to box
+	private int[] primitives;
+
+	// Array of boxed values to unbox
+	private Integer[] boxed;
+
+	/**
+	 * Fills the arrays to convert.
+	 */
+	@Setup
+	public void setUp() {
+		primitives = new int[length];
+		boxed = new Integer[length];
+		for(int i = 0; i < length; i++) {
+			primitives[i] = i;
+			boxed[i] = Integer.valueOf(i);
+		}
+	}
+
+	/**
+	 * Boxes in a plain loop.
+	 * @return the boxed array
+	 */
+	@Benchmark
+	public Integer[] boxLoop() {
+		final Integer[] array = new Integer[primitives.length];
+		for(int i = 0; i < array.length; i++) {
+			array[i] = Integer.valueOf(primitives[i]);
+		}
+		return array;
+	}
+
+	/**
+	 * Boxes with {@link ArrayUtililities#toBoxedArray(int[])}.
+	 * @return the boxed array
+	 */
+	@Benchmark
+	public Integer[] toBoxedArray() {
+		return ArrayUtililities.toBoxedArray(primitives);
+	}
+
+	/**
+	 * Boxes with {@link ArrayUtililities#ParallelToBoxedArray(int[])}.
+	 * @return the boxed array
+	 */
+	@Benchmark
+	public Integer[] parallelToBoxedArray() {
+		return ArrayUtililities.ParallelToBoxedArray(primitives);
+	}
+
+	/**
+	 * Unboxes in a plain loop.
+	 * @return the unboxed array
+	 */
+	@Benchmark
+	public int[] unboxLoop() {
+		final int[] array = new int[boxed.length];
+		for(int i = 0; i < array.length; i++) {
+			array[i] = boxed[i].intValue();
+		}
+		return array;
+	}
+
+	/**
+	 * Unboxes with {@link ArrayUtililities#toPrimitiveArray(Integer[])}.
+	 * @return the unboxed array
+	 */
+	@Benchmark
+	public int[] toPrimitiveArray() {
+		return ArrayUtililities.toPrimitiveArray(boxed);
+	}
+
+	/**
+	 * Unboxes with {@link ArrayUtililities#ParallelToPrimitiveArray(Integer[])}.
+	 * @return the unboxed array
+	 */
+	@Benchmark
+	public int[] parallelToPrimitiveArray() {
+		return ArrayUtililities.ParallelToPrimitiveArray(boxed);
+	}
+
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sol.factory.GenericFactory;
+
+/**
+ * Measures {@link GenericFactory#newInstance(Object, Object)} against calling
+ * the registered function directly.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenericFactoryBenchmark {
+
+	/**
+	 * Number of functions registered with the factory.
+	 */
+	@Param({"1", "16", "1024"})
+	public int keys;
+
+	// The factory under test
+	private final GenericFactory<String, Integer, StringBuilder> factory =
+			new GenericFactory<>();
+
+	// The function registered under the looked up key
+	private final Function<Integer, StringBuilder> function = StringBuilder::new;
+
+	// The looked up key
+	private String key;
+
+	/**
+	 * Registers the functions with the factory.
+	 */
+	@Setup
+	public void setUp() {
+		for(int i = 0; i < keys; i++) {
+			factory.put("key" + i, function);
+		}
+		key = "key" + (keys - 1);
+	}
+
+	/**
+	 * Calls the function directly.
+	 * @return the new instance
+	 */
+	@Benchmark
+	public StringBuilder direct() {
+		return function.apply(16);
+	}
+
+	/**
+	 * Calls the function through the factory.
+	 * @return the new instance
+	 */
+	@Benchmark
+	public StringBuilder newInstance() {
+		return factory.newInstance(key, 16);
+	}
+
+}
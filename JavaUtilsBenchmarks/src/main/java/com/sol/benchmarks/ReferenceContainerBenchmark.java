@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Shlomi Reuveni.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.sol.benchmarks;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sol.util.reference.SoftReferenceContainer;
+import com.sol.util.reference.WeakReferenceContainer;
+
+/**
+ * Measures creating and reading the reference containers of
+ * {@link com.sol.util.reference} against the references they wrap.
+ * @author Shlomi Reuveni
+ * @version %I%, %G%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceContainerBenchmark {
+
+	// Referent of every reference; strongly reachable so it is never cleared
+	private final Object referent = new Object();
+
+	// References read by the get benchmarks
+	private final SoftReference<Object> softReference = new SoftReference<>(referent);
+	private final SoftReferenceContainer<Object> softContainer =
+			new SoftReferenceContainer<>(referent);
+	private final WeakReference<Object> weakReference = new WeakReference<>(referent);
+	private final WeakReferenceContainer<Object> weakContainer =
+			new WeakReferenceContainer<>(referent);
+
+	/**
+	 * Creates a plain soft reference.
+	 * @return the new reference
+	 */
+	@Benchmark
+	public SoftReference<Object> newSoftReference() {
+		return new SoftReference<>(referent);
+	}
+
+	/**
+	 * Creates a soft reference container.
+	 * @return the new container
+	 */
+	@Benchmark
+	public SoftReferenceContainer<Object> newSoftContainer() {
+		return new SoftReferenceContainer<>(referent);
+	}
+
+	/**
+	 * Creates a plain weak reference.
+	 * @return the new reference
+	 */
+	@Benchmark
+	public WeakReference<Object> newWeakReference() {
+		return new WeakReference<>(referent);
+	}
+
+	/**
+	 * Creates a weak reference container.
+	 * @return the new container
+	 */
+	@Benchmark
+	public WeakReferenceContainer<Object> newWeakContainer() {
+		return new WeakReferenceContainer<>(referent);
+	}
+
+	/**
+	 * Reads a plain soft reference.
+	 * @return the referent
+	 */
+	@Benchmark
+	public Object getSoftReference() {
+		return softReference.get();
+	}
+
+	/**
+	 * Reads a soft reference container.
+	 * @return the referent, in an {@code Optional}
+	 */
+	@Benchmark
+	public Optional<Object> getSoftContainer() {
+		return softContainer.get();
+	}
+
+	/**
+	 * Reads a plain weak reference.
+	 * @return the referent
+	 */
+	@Benchmark
+	public Object getWeakReference() {
+		return weakReference.get();
+	}
+
+	/**
+	 * Reads a weak reference container.
+	 * @return the referent, in an {@code Optional}
+	 */
+	@Benchmark
+	public Optional<Object> getWeakContainer() {
+		return weakContainer.get();
+	}
+
+}